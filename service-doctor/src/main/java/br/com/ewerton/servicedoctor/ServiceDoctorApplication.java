@@ -3,9 +3,11 @@ package br.com.ewerton.servicedoctor;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 
 @EnableDiscoveryClient
+@EnableScheduling
 @SpringBootApplication
 public class ServiceDoctorApplication {
 
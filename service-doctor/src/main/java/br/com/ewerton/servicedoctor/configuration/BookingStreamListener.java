@@ -0,0 +1,33 @@
+package br.com.ewerton.servicedoctor.configuration;
+
+import br.com.ewerton.servicedoctor.dto.PatientDTO;
+import br.com.ewerton.servicedoctor.service.BookingStreamService;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ouvinte dos agendamentos gravados, distribuídos a todas as réplicas do serviço.
+ * <p>
+ * Cada réplica consome a exchange do stream de agendamentos pela sua própria fila anônima ({@code bookingStreamQueue}),
+ * de modo que todas recebem todos os agendamentos e os enviam às conexões abertas nelas.
+ *
+ * @author Ewerton Rodrigues
+ * @version 1.0
+ */
+@Component
+public class BookingStreamListener {
+
+    @Autowired
+    private BookingStreamService bookingStreamService;
+
+    /**
+     * Envia o agendamento às conexões do médico abertas nesta réplica.
+     *
+     * @param booking O agendamento gravado.
+     */
+    @RabbitListener(queues = "#{bookingStreamQueue.name}")
+    public void onBooking(PatientDTO booking) {
+        bookingStreamService.publish(booking);
+    }
+}
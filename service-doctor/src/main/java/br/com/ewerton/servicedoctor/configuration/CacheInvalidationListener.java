@@ -0,0 +1,33 @@
+package br.com.ewerton.servicedoctor.configuration;
+
+import br.com.ewerton.servicedoctor.dto.CacheInvalidationDTO;
+import br.com.ewerton.servicedoctor.service.CacheInvalidationBus;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ouvinte das mensagens de invalidação de cache publicadas pelas réplicas do serviço.
+ * <p>
+ * Cada réplica consome a exchange de invalidação pela sua própria fila anônima ({@code cacheInvalidationQueue}),
+ * de modo que todas recebem todas as mensagens.
+ *
+ * @author Ewerton Rodrigues
+ * @version 1.0
+ */
+@Component
+public class CacheInvalidationListener {
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    /**
+     * Remove dos caches locais as chaves invalidadas por outra réplica.
+     *
+     * @param message A mensagem de invalidação.
+     */
+    @RabbitListener(queues = "#{cacheInvalidationQueue.name}")
+    public void onCacheInvalidation(CacheInvalidationDTO message) {
+        cacheInvalidationBus.apply(message);
+    }
+}
@@ -0,0 +1,130 @@
+package br.com.ewerton.servicedoctor.configuration;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Destino das mensagens (agendamentos e pedidos de liberação de reservas) cujo processamento falhou.
+ * <p>
+ * A mensagem que falha é enviada à próxima fila de retentativa da fila de onde foi consumida, conforme o cabeçalho
+ * {@value #ATTEMPT_HEADER};
+ * esgotadas as tentativas, vai para a fila de estacionamento com a última exceção no cabeçalho
+ * {@value #EXCEPTION_HEADER}. Mensagens que não podem ser convertidas vão direto para a fila de dead-letter, pois
+ * nenhuma retentativa as corrigiria.
+ * <p>
+ * Uma nova entrega do mesmo agendamento não é enviada outra vez às conexões dos médicos: o
+ * {@link br.com.ewerton.servicedoctor.service.AvailabilityService#recordBooking} só a considera gravada na primeira vez.
+ *
+ * @author Ewerton Rodrigues
+ * @version 1.0
+ */
+@Component
+public class DoctorRetryRecoverer implements MessageRecoverer {
+
+    private static final Logger log = LoggerFactory.getLogger(DoctorRetryRecoverer.class);
+
+    /**
+     * Cabeçalho com a quantidade de retentativas já feitas.
+     */
+    public static final String ATTEMPT_HEADER = "x-retry-attempt";
+
+    /**
+     * Cabeçalho com a última exceção, nas mensagens de estacionamento e de dead-letter.
+     */
+    public static final String EXCEPTION_HEADER = "x-exception";
+
+    private static final int MAX_EXCEPTION_LENGTH = 1000;
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Value("${doctor.retry.initial-delay:1000}")
+    private long initialDelay;
+
+    @Value("${doctor.retry.multiplier:5}")
+    private double multiplier;
+
+    @Value("${doctor.retry.max-attempts:4}")
+    private int maxAttempts;
+
+    private List<Long> delays;
+
+    /**
+     * Calcula os atrasos das retentativas, os mesmos usados na declaração das filas.
+     */
+    @PostConstruct
+    void init() {
+        delays = RabbitMQConfig.retryDelays(initialDelay, multiplier, maxAttempts);
+    }
+
+    /**
+     * Encaminha uma mensagem que falhou à retentativa, ao estacionamento ou à dead-letter.
+     *
+     * @param message A mensagem.
+     * @param cause   A exceção que causou a falha.
+     */
+    @Override
+    public void recover(Message message, Throwable cause) {
+        int attempt = attempt(message);
+        String queue = sourceQueue(message);
+        if (hasCause(cause, MessageConversionException.class)) {
+            log.error("Unreadable message from {} sent to dead-letter: {}", queue, cause.getMessage());
+            send(RabbitMQConfig.deadLetterQueue(queue), message, attempt, cause);
+        } else if (attempt < delays.size()) {
+            send(RabbitMQConfig.retryQueue(queue, delays.get(attempt)), message, attempt + 1, null);
+        } else {
+            log.warn("Message from {} parked after {} attempts: {}", queue, attempt, cause.getMessage());
+            send(RabbitMQConfig.parkingLotQueue(queue), message, attempt, cause);
+        }
+    }
+
+    /**
+     * Republica a mensagem em uma fila pela exchange padrão, como mensagem persistente.
+     */
+    private void send(String queue, Message message, int attempt, Throwable failure) {
+        MessageBuilder builder = MessageBuilder.fromClonedMessage(message)
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .setHeader(ATTEMPT_HEADER, attempt);
+        if (failure != null) builder.setHeader(EXCEPTION_HEADER, describe(failure));
+        rabbitTemplate.send("", queue, builder.build());
+    }
+
+    /**
+     * Retorna a fila de onde a mensagem foi consumida; mensagens sem essa informação são tratadas como agendamentos.
+     */
+    private static String sourceQueue(Message message) {
+        String queue = message.getMessageProperties().getConsumerQueue();
+        return queue == null ? RabbitMQConfig.DOCTOR_QUEUE : queue;
+    }
+
+    private static int attempt(Message message) {
+        Object attempt = message.getMessageProperties().getHeaders().get(ATTEMPT_HEADER);
+        return attempt instanceof Number number ? number.intValue() : 0;
+    }
+
+    private static boolean hasCause(Throwable failure, Class<? extends Throwable> type) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) return true;
+        }
+        return false;
+    }
+
+    private static String describe(Throwable failure) {
+        Throwable root = failure;
+        while (root.getCause() != null && root.getCause() != root) root = root.getCause();
+        String description = root.getClass().getName() + ": " + root.getMessage();
+        return description.length() > MAX_EXCEPTION_LENGTH ? description.substring(0, MAX_EXCEPTION_LENGTH) : description;
+    }
+}
@@ -1,7 +1,13 @@
 package br.com.ewerton.servicedoctor.configuration;
 
+import br.com.ewerton.servicedoctor.configuration.logging.SamplingFilter;
 import br.com.ewerton.servicedoctor.dto.PatientDTO;
+import br.com.ewerton.servicedoctor.service.AvailabilityService;
+import br.com.ewerton.servicedoctor.service.BookingStreamService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
@@ -11,6 +17,8 @@ import org.springframework.stereotype.Component;
  * Quando um novo agendamento de paciente é criado, a mensagem é recebida e processada por este listener.
  * <p>
  * A anotação {@link RabbitListener} define a fila que este listener deve monitorar e processar as mensagens recebidas.
+ * Se o processamento falhar, a mensagem é encaminhada pelo {@link DoctorRetryRecoverer} à retentativa com atraso,
+ * em vez de voltar imediatamente para a fila.
  *
  * @author Ewerton Rodrigues
  * @version 1.0
@@ -18,18 +26,39 @@ import org.springframework.stereotype.Component;
 @Component
 public class PatientSchedulesCreatedListener {
 
+    private static final Logger log = LoggerFactory.getLogger(PatientSchedulesCreatedListener.class);
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private BookingStreamService bookingStreamService;
+
     /**
      * Método que é chamado quando uma mensagem é recebida da fila de agendamentos de pacientes.
      * Este método processa a mensagem, que contém os dados de um paciente agendado.
      * <p>
      * A mensagem recebida é um objeto do tipo {@link PatientDTO}, que contém as informações do paciente
-     * que foi agendado.
+     * que foi agendado. Quando a mensagem informa o médico e o horário, o horário é marcado como reservado
+     * na agenda do médico. Apenas agendamentos gravados pela primeira vez (sem conflito de horário e sem repetir uma
+     * entrega anterior) são distribuídos a todas as réplicas, que os enviam às conexões abertas do médico.
      *
      * @param patientDTO O objeto {@link PatientDTO} contendo os dados do paciente agendado.
      */
-    @RabbitListener(queues = "schedules.v1.patients-schedules-created-queue-doctor")
+    @RabbitListener(queues = RabbitMQConfig.DOCTOR_QUEUE, containerFactory = "retryListenerContainerFactory")
     public void onPatientSchedulesCreated(PatientDTO patientDTO) {
-        // Imprime os dados do paciente agendado no console.
-        System.out.println("Patient Scheduled: " + patientDTO);
+        // Marca o horário como reservado na agenda do médico.
+        if (patientDTO.doctorId() != null && patientDTO.scheduledAt() != null) {
+            if (availabilityService.recordBooking(patientDTO.doctorId(), patientDTO.scheduledAt(), patientDTO.email())) {
+                // Envia o agendamento ao médico em tempo real, pelas conexões abertas em qualquer réplica.
+                bookingStreamService.broadcast(patientDTO);
+            }
+        }
+
+        // Registra uma amostra dos agendamentos recebidos, sem os dados pessoais do paciente.
+        log.atInfo().addMarker(SamplingFilter.SAMPLED)
+                .addKeyValue("doctorId", patientDTO.doctorId())
+                .addKeyValue("scheduledAt", patientDTO.scheduledAt())
+                .log("Patient scheduled");
     }
 }
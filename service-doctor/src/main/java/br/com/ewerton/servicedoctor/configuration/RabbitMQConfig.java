@@ -1,17 +1,28 @@
 package br.com.ewerton.servicedoctor.configuration;
 
+import org.springframework.amqp.core.AnonymousQueue;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitAdmin;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.interceptor.RetryInterceptorBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Configuração do RabbitMQ para integração com o serviço de agendamento de pacientes.
@@ -20,6 +31,11 @@ import org.springframework.context.annotation.Configuration;
  * <p>
  * O RabbitMQ é utilizado para envio e recebimento de mensagens entre os componentes do sistema,
  * especialmente para a comunicação relacionada ao agendamento de pacientes.
+ * <p>
+ * Mensagens cujo processamento falha (agendamentos e pedidos de liberação de reservas) não voltam para a fila
+ * imediatamente: o {@link DoctorRetryRecoverer} envia a mensagem às filas de retentativa da fila de origem, cujo TTL
+ * cresce exponencialmente e que, ao expirar, devolvem a mensagem à fila de origem. Esgotadas as tentativas, a mensagem
+ * vai para a fila de estacionamento ("parking lot"); mensagens que não podem ser lidas vão para a fila de dead-letter.
  *
  * @author Ewerton Rodrigues
  * @version 1.0
@@ -27,6 +43,48 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class RabbitMQConfig {
 
+    /**
+     * Fila dos agendamentos de pacientes consumida por este serviço.
+     */
+    public static final String DOCTOR_QUEUE = "schedules.v1.patients-schedules-created-queue-doctor";
+
+    /**
+     * Fila das mensagens que não podem ser processadas (conteúdo ilegível); não são reprocessadas.
+     */
+    public static final String DEAD_LETTER_QUEUE = deadLetterQueue(DOCTOR_QUEUE);
+
+    /**
+     * Fila das mensagens que esgotaram as retentativas, aguardando reprocessamento manual.
+     */
+    public static final String PARKING_LOT_QUEUE = parkingLotQueue(DOCTOR_QUEUE);
+
+    /**
+     * Nome da exchange dos pedidos de liberação de reservas, publicados pelo "service-patient" quando não consegue
+     * liberar uma reserva pela API.
+     */
+    public static final String RESERVATION_RELEASE_EXCHANGE = "reservations.v1.release-requested";
+
+    /**
+     * Fila dos pedidos de liberação de reservas consumida por este serviço.
+     */
+    public static final String RESERVATION_RELEASE_QUEUE = "reservations.v1.release-requested-queue-doctor";
+
+    /**
+     * Filas consumidas com retentativa pelo {@link DoctorRetryRecoverer}, cada uma com as suas filas de retentativa,
+     * de dead-letter e de estacionamento.
+     */
+    public static final List<String> RETRIED_QUEUES = List.of(DOCTOR_QUEUE, RESERVATION_RELEASE_QUEUE);
+
+    /**
+     * Nome da exchange que distribui as invalidações de cache entre as réplicas do serviço.
+     */
+    public static final String CACHE_INVALIDATION_EXCHANGE = "cache.v1.doctor-service-invalidations";
+
+    /**
+     * Nome da exchange que distribui os agendamentos gravados a todas as réplicas, para o envio por Server-Sent Events.
+     */
+    public static final String BOOKING_STREAM_EXCHANGE = "bookings.v1.doctor-service-stream";
+
     /**
      * Define a fila onde os agendamentos de pacientes são processados.
      *
@@ -34,7 +92,7 @@ public class RabbitMQConfig {
      */
     @Bean
     public Queue queueDoctor() {
-        return new Queue("schedules.v1.patients-schedules-created-queue-doctor");
+        return new Queue(DOCTOR_QUEUE);
     }
 
     /**
@@ -47,11 +105,185 @@ public class RabbitMQConfig {
      */
     @Bean
     public Binding binding() {
-        Queue queue = new Queue("schedules.v1.patients-schedules-created-queue-doctor");
+        Queue queue = new Queue(DOCTOR_QUEUE);
         FanoutExchange exchange = new FanoutExchange("schedules.v1.patients-schedules-created");
         return BindingBuilder.bind(queue).to(exchange);
     }
 
+    /**
+     * Define a fila dos pedidos de liberação de reservas, durável para que nenhum pedido se perca enquanto o serviço
+     * estiver parado.
+     *
+     * @return A fila "reservations.v1.release-requested-queue-doctor".
+     */
+    @Bean
+    public Queue reservationReleaseQueue() {
+        return QueueBuilder.durable(RESERVATION_RELEASE_QUEUE).build();
+    }
+
+    /**
+     * Define a exchange do tipo fanout dos pedidos de liberação de reservas.
+     *
+     * @return A exchange "reservations.v1.release-requested".
+     */
+    @Bean
+    public FanoutExchange reservationReleaseExchange() {
+        return new FanoutExchange(RESERVATION_RELEASE_EXCHANGE);
+    }
+
+    /**
+     * Cria o vínculo (binding) entre a fila e a exchange dos pedidos de liberação de reservas.
+     *
+     * @return O objeto de binding que conecta a fila à exchange.
+     */
+    @Bean
+    public Binding reservationReleaseBinding() {
+        return BindingBuilder.bind(reservationReleaseQueue()).to(reservationReleaseExchange());
+    }
+
+    /**
+     * Cria as filas de retentativa, de dead-letter e de estacionamento de cada fila de {@link #RETRIED_QUEUES}.
+     * <p>
+     * Cada fila de retentativa tem um TTL fixo e, ao expirar, devolve a mensagem à fila de origem. O TTL faz parte do
+     * nome da fila, para que uma mudança nos atrasos crie filas novas em vez de conflitar com os argumentos das
+     * existentes.
+     *
+     * @param initialDelay O atraso da primeira retentativa, em milissegundos.
+     * @param multiplier   O fator de crescimento do atraso a cada tentativa.
+     * @param maxAttempts  A quantidade de retentativas antes do estacionamento.
+     * @return As filas declaradas.
+     */
+    @Bean
+    public Declarables retryQueues(@Value("${doctor.retry.initial-delay:1000}") long initialDelay,
+                                   @Value("${doctor.retry.multiplier:5}") double multiplier,
+                                   @Value("${doctor.retry.max-attempts:4}") int maxAttempts) {
+        List<Declarable> queues = new ArrayList<>();
+        for (String queue : RETRIED_QUEUES) {
+            for (long delay : retryDelays(initialDelay, multiplier, maxAttempts)) {
+                queues.add(QueueBuilder.durable(retryQueue(queue, delay))
+                        .ttl((int) delay)
+                        .deadLetterExchange("")
+                        .deadLetterRoutingKey(queue)
+                        .build());
+            }
+            queues.add(QueueBuilder.durable(deadLetterQueue(queue)).build());
+            queues.add(QueueBuilder.durable(parkingLotQueue(queue)).build());
+        }
+        return new Declarables(queues);
+    }
+
+    /**
+     * Calcula os atrasos das retentativas: {@code initialDelay * multiplier^n} para cada tentativa {@code n}.
+     *
+     * @param initialDelay O atraso da primeira retentativa, em milissegundos.
+     * @param multiplier   O fator de crescimento do atraso.
+     * @param maxAttempts  A quantidade de retentativas.
+     * @return Os atrasos, em milissegundos, na ordem das tentativas.
+     */
+    public static List<Long> retryDelays(long initialDelay, double multiplier, int maxAttempts) {
+        List<Long> delays = new ArrayList<>();
+        double delay = initialDelay;
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            delays.add(Math.round(delay));
+            delay *= multiplier;
+        }
+        return delays;
+    }
+
+    /**
+     * Retorna o nome da fila de retentativa de um atraso.
+     *
+     * @param queue A fila de origem.
+     * @param delay O atraso, em milissegundos.
+     * @return O nome da fila.
+     */
+    public static String retryQueue(String queue, long delay) {
+        return queue + ".retry-" + delay + "ms";
+    }
+
+    /**
+     * Retorna o nome da fila de dead-letter de uma fila.
+     *
+     * @param queue A fila de origem.
+     * @return O nome da fila.
+     */
+    public static String deadLetterQueue(String queue) {
+        return queue + ".dlq";
+    }
+
+    /**
+     * Retorna o nome da fila de estacionamento de uma fila.
+     *
+     * @param queue A fila de origem.
+     * @return O nome da fila.
+     */
+    public static String parkingLotQueue(String queue) {
+        return queue + ".parking-lot";
+    }
+
+    /**
+     * Define a exchange do tipo fanout que distribui as invalidações de cache para todas as réplicas.
+     *
+     * @return A exchange de invalidação de cache.
+     */
+    @Bean
+    public FanoutExchange cacheInvalidationExchange() {
+        return new FanoutExchange(CACHE_INVALIDATION_EXCHANGE);
+    }
+
+    /**
+     * Define a fila de invalidação de cache desta réplica: anônima, exclusiva e removida quando a réplica se
+     * desconecta, para que cada réplica receba todas as invalidações.
+     *
+     * @return A fila anônima de invalidação de cache.
+     */
+    @Bean
+    public AnonymousQueue cacheInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    /**
+     * Cria o vínculo (binding) entre a fila de invalidação desta réplica e a exchange de invalidação de cache.
+     *
+     * @return O objeto de binding que conecta a fila à exchange.
+     */
+    @Bean
+    public Binding cacheInvalidationBinding() {
+        return BindingBuilder.bind(cacheInvalidationQueue()).to(cacheInvalidationExchange());
+    }
+
+    /**
+     * Define a exchange do tipo fanout que distribui os agendamentos gravados para todas as réplicas.
+     *
+     * @return A exchange do stream de agendamentos.
+     */
+    @Bean
+    public FanoutExchange bookingStreamExchange() {
+        return new FanoutExchange(BOOKING_STREAM_EXCHANGE);
+    }
+
+    /**
+     * Define a fila do stream de agendamentos desta réplica: anônima, exclusiva e removida quando a réplica se
+     * desconecta. Como a fila de agendamentos é compartilhada, cada evento é gravado por uma única réplica; esta fila
+     * faz com que ele chegue às conexões dos médicos abertas em qualquer réplica.
+     *
+     * @return A fila anônima do stream de agendamentos.
+     */
+    @Bean
+    public AnonymousQueue bookingStreamQueue() {
+        return new AnonymousQueue();
+    }
+
+    /**
+     * Cria o vínculo (binding) entre a fila do stream desta réplica e a exchange do stream de agendamentos.
+     *
+     * @return O objeto de binding que conecta a fila à exchange.
+     */
+    @Bean
+    public Binding bookingStreamBinding() {
+        return BindingBuilder.bind(bookingStreamQueue()).to(bookingStreamExchange());
+    }
+
     /**
      * Cria o objeto RabbitAdmin, que é responsável pela administração do RabbitMQ,
      * incluindo a criação de filas, exchanges e bindings.
@@ -103,4 +335,32 @@ public class RabbitMQConfig {
         rabbitTemplate.setMessageConverter(messageConverter);
         return rabbitTemplate;
     }
+
+    /**
+     * Configura a fábrica de containers dos listeners de agendamentos e de liberação de reservas.
+     * <p>
+     * Se o listener lançar uma exceção, a mensagem não é devolvida à fila: ela é entregue ao {@code recoverer}, que a
+     * encaminha às filas de retentativa, de estacionamento ou de dead-letter, e então confirmada. As filas anônimas
+     * (invalidação de cache e stream de agendamentos) continuam usando a fábrica padrão.
+     *
+     * @param configurer        O configurador padrão do Spring Boot (propriedades "spring.rabbitmq.listener.simple").
+     * @param connectionFactory A fábrica de conexão com o RabbitMQ.
+     * @param messageConverter  O conversor de mensagens.
+     * @param recoverer         O destino das mensagens que falharam.
+     * @return A fábrica de containers com retentativa.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory retryListenerContainerFactory(SimpleRabbitListenerContainerFactoryConfigurer configurer,
+                                                                              ConnectionFactory connectionFactory,
+                                                                              Jackson2JsonMessageConverter messageConverter,
+                                                                              DoctorRetryRecoverer recoverer) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setMessageConverter(messageConverter);
+        factory.setAdviceChain(RetryInterceptorBuilder.stateless()
+                .maxAttempts(1)
+                .recoverer(recoverer)
+                .build());
+        return factory;
+    }
 }
@@ -0,0 +1,44 @@
+package br.com.ewerton.servicedoctor.configuration;
+
+import br.com.ewerton.servicedoctor.dto.ReservationReleaseDTO;
+import br.com.ewerton.servicedoctor.service.AvailabilityService;
+import br.com.ewerton.servicedoctor.service.exceptions.ReservationNotFound;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Classe responsável por ouvir os pedidos de liberação de reservas de horários.
+ * <p>
+ * O "service-patient" libera pela API as reservas de agendamentos que não foram concluídos; quando essa chamada
+ * falha, o pedido é registrado no outbox dele e chega por esta fila, para que a reserva não fique órfã. Se a
+ * liberação falhar aqui, a mensagem é encaminhada pelo {@link DoctorRetryRecoverer} à retentativa com atraso.
+ *
+ * @author Ewerton Rodrigues
+ * @version 1.0
+ */
+@Component
+public class ReservationReleaseListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationReleaseListener.class);
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    /**
+     * Libera a reserva informada no pedido. Uma reserva que não existe mais (já liberada por uma chamada anterior
+     * que pareceu falhar) é ignorada.
+     *
+     * @param release O pedido de liberação.
+     */
+    @RabbitListener(queues = RabbitMQConfig.RESERVATION_RELEASE_QUEUE, containerFactory = "retryListenerContainerFactory")
+    public void onReservationReleaseRequested(ReservationReleaseDTO release) {
+        try {
+            availabilityService.release(release.reservationId());
+        } catch (ReservationNotFound exception) {
+            log.info("Reservation {} already released", release.reservationId());
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package br.com.ewerton.servicedoctor.configuration.security;
+
+import br.com.ewerton.servicedoctor.service.exceptions.InvalidPassword;
+import br.com.ewerton.servicedoctor.service.exceptions.PasswordHashingRejected;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * {@link PasswordEncoder} que executa o hash e a verificação de senhas em um executor dedicado e limitado.
+ * <p>
+ * O BCrypt é caro em CPU; rodá-lo nas threads do Tomcat faz com que uma rajada de logins ocupe todos os workers e
+ * atrase requisições baratas. Aqui o hash roda em um pool com uma thread por núcleo e fila de tamanho fixo. Quando a
+ * fila está cheia, a requisição é rejeitada imediatamente com {@link PasswordHashingRejected} (HTTP 429) em vez de
+ * esperar.
+ * <p>
+ * O BCrypt considera apenas os primeiros {@value #MAX_PASSWORD_BYTES} bytes da senha. Senhas maiores são recusadas
+ * antes de entrar na fila: no cadastro com {@link InvalidPassword} (HTTP 400), para que duas senhas com o mesmo início
+ * não tenham o mesmo hash, e no login como senha incorreta.
+ * <p>
+ * Métricas publicadas: "password.hash.latency" (tempo do hash), "password.hash.queue.wait" (tempo na fila) e as
+ * métricas do executor com o nome "password-hash".
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    /**
+     * Tamanho máximo, em bytes (UTF-8), de uma senha aceita pelo BCrypt.
+     */
+    public static final int MAX_PASSWORD_BYTES = 72;
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Timer hashTimer;
+
+    private final Timer queueWaitTimer;
+
+    /**
+     * Cria o encoder limitado.
+     *
+     * @param delegate      O encoder que realiza o hash (BCrypt).
+     * @param threads       A quantidade de threads do executor.
+     * @param queueCapacity A quantidade máxima de operações aguardando na fila.
+     * @param meterRegistry O registro de métricas da aplicação.
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hash-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.hashTimer = Timer.builder("password.hash.latency")
+                .description("Time spent hashing or verifying a password")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("password.hash.queue.wait")
+                .description("Time a password operation waited for a hashing thread")
+                .register(meterRegistry);
+        new ExecutorServiceMetrics(executor, "password-hash", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        if (isTooLong(rawPassword)) {
+            throw new InvalidPassword("Password must be at most " + MAX_PASSWORD_BYTES + " bytes long");
+        }
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (isTooLong(rawPassword)) return false;
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private static boolean isTooLong(CharSequence rawPassword) {
+        return rawPassword != null
+                && rawPassword.toString().getBytes(StandardCharsets.UTF_8).length > MAX_PASSWORD_BYTES;
+    }
+
+    /**
+     * Envia a operação ao executor e aguarda o resultado.
+     *
+     * @param operation A operação de hash ou verificação.
+     * @return O resultado da operação.
+     * @throws PasswordHashingRejected Se a fila do executor estiver cheia.
+     */
+    private <T> T submit(Supplier<T> operation) {
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                return hashTimer.record(operation);
+            });
+        } catch (RejectedExecutionException exception) {
+            throw new PasswordHashingRejected("Password hashing capacity exhausted, retry later");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException exception) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IllegalStateException("Password hashing failed", exception.getCause());
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package br.com.ewerton.servicedoctor.configuration.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -51,10 +54,16 @@ public class SecurityConfiguration {
         return httpSecurity.csrf(csrf -> csrf.disable()) // Desabilita a proteção CSRF
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // Define a política de sessão stateless
                 .authorizeHttpRequests(authorize -> authorize
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // Permite os despachos assíncronos do stream de agendamentos, já autorizados na requisição original
                         .requestMatchers("/v3/api-docs", "/swagger-resources/**", "/swagger-ui.html", "/webjars/**").permitAll() // Permite acesso público aos recursos do Swagger
                         .requestMatchers(HttpMethod.POST, "/auth/login").permitAll() // Permite login sem autenticação
                         .requestMatchers(HttpMethod.POST, "/auth/register").permitAll() // Permite registro de novos usuários sem autenticação
                         .requestMatchers(HttpMethod.POST, "/doctors").hasRole("ADMIN") // Restringe acesso ao endpoint de criação de médicos apenas para administradores
+                        .requestMatchers(HttpMethod.PUT, "/doctor-service/*/working-hours").hasRole("ADMIN") // Restringe a alteração dos horários de atendimento apenas para administradores
+                        .requestMatchers(HttpMethod.POST, "/doctor-service/*/reservations").hasAnyRole("SERVICE", "ADMIN") // Restringe a reserva de horários ao "service-patient" e a administradores
+                        .requestMatchers(HttpMethod.DELETE, "/doctor-service/reservations/*").hasAnyRole("SERVICE", "ADMIN") // Restringe a liberação de reservas ao "service-patient" e a administradores
+                        .requestMatchers(HttpMethod.GET, "/actuator/health/**").permitAll() // Permite os probes de liveness e readiness sem autenticação
+                        .requestMatchers("/actuator/metrics/**").hasRole("ADMIN") // Restringe as métricas (incluindo as do cache de segundo nível) apenas para administradores
                         .anyRequest().authenticated()) // Exige autenticação para todas as outras requisições
                 .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class) // Adiciona o filtro de segurança personalizado
                 .build();
@@ -75,13 +84,20 @@ public class SecurityConfiguration {
 
     /**
      * Configura o PasswordEncoder para codificar as senhas dos usuários.
-     * O BCryptPasswordEncoder é utilizado para garantir a segurança das senhas.
+     * O BCryptPasswordEncoder é utilizado para garantir a segurança das senhas, executado em um pool dedicado e
+     * limitado ({@link BoundedPasswordEncoder}) para não ocupar as threads do Tomcat durante rajadas de login.
      *
+     * @param meterRegistry O registro de métricas da aplicação.
+     * @param threads       A quantidade de threads de hash (0 usa a quantidade de núcleos).
+     * @param queueCapacity A quantidade máxima de operações aguardando na fila.
      * @return Um objeto PasswordEncoder que usa o algoritmo BCrypt.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${api.security.password-hashing.threads:0}") int threads,
+                                           @Value("${api.security.password-hashing.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), poolSize, queueCapacity, meterRegistry);
     }
 
 }
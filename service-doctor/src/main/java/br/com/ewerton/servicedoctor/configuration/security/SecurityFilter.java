@@ -1,18 +1,26 @@
 package br.com.ewerton.servicedoctor.configuration.security;
 
 import br.com.ewerton.servicedoctor.repository.DoctorRepository;
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
 
 /**
  * Filtro de segurança personalizado para a aplicação.
@@ -21,6 +29,14 @@ import java.io.IOException;
  * e configurar a autenticação no contexto de segurança do Spring.
  * O filtro é aplicado antes da execução da requisição para garantir que as requisições
  * autenticadas sejam processadas corretamente.
+ * <p>
+ * No modo stateless ("api.security.token.stateless"), a autenticação é montada apenas a partir do token verificado
+ * (email e autoridades assinadas), sem consultar o repositório de médicos. Tokens sem o claim de autoridades, ou com
+ * o modo desligado, continuam sendo resolvidos pelo repositório.
+ * <p>
+ * Requisições de outros serviços (o "service-patient" reservando e liberando horários) não carregam token de médico:
+ * elas são autenticadas pela chave de acesso entre serviços, enviada no cabeçalho {@value #SERVICE_KEY_HEADER}, e
+ * recebem apenas a autoridade {@value #SERVICE_ROLE}.
  *
  * @author Ewerton Rodrigues
  * @version 1.0
@@ -28,6 +44,16 @@ import java.io.IOException;
 @Component
 public class SecurityFilter extends OncePerRequestFilter {
 
+    /**
+     * Cabeçalho com a chave de acesso dos outros serviços.
+     */
+    public static final String SERVICE_KEY_HEADER = "X-Service-Key";
+
+    /**
+     * Autoridade das requisições autenticadas pela chave de acesso entre serviços.
+     */
+    public static final String SERVICE_ROLE = "ROLE_SERVICE";
+
     /**
      * Serviço responsável por gerenciar a validação do token JWT.
      */
@@ -40,6 +66,29 @@ public class SecurityFilter extends OncePerRequestFilter {
     @Autowired
     private DoctorRepository doctorRepository;
 
+    /**
+     * Indica se a autenticação deve ser montada somente a partir do token, sem acessar o banco de dados.
+     */
+    @Value("${api.security.token.stateless:true}")
+    private boolean stateless;
+
+    /**
+     * Chave de acesso dos outros serviços, configurada pela variável de ambiente {@code DOCTOR_SERVICE_KEY}, sem
+     * valor padrão.
+     */
+    @Value("${api.security.service-key}")
+    private String serviceKey;
+
+    /**
+     * Recusa iniciar com uma chave de acesso curta demais, como a chave secreta dos tokens.
+     */
+    @PostConstruct
+    void init() {
+        if (serviceKey == null || serviceKey.length() < TokenService.MIN_SECRET_LENGTH) {
+            throw new IllegalStateException("api.security.service-key must have at least " + TokenService.MIN_SECRET_LENGTH + " characters");
+        }
+    }
+
     /**
      * Método que executa a lógica do filtro de segurança para cada requisição.
      * Recupera o token JWT da requisição, valida o token, busca o usuário associado ao token
@@ -53,18 +102,39 @@ public class SecurityFilter extends OncePerRequestFilter {
      */
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        // Requisições de outros serviços são autenticadas apenas pela chave de acesso
+        var key = request.getHeader(SERVICE_KEY_HEADER);
+        if (key != null) {
+            if (MessageDigest.isEqual(key.getBytes(StandardCharsets.UTF_8), serviceKey.getBytes(StandardCharsets.UTF_8))) {
+                var authentication = new UsernamePasswordAuthenticationToken("service", null, List.of(new SimpleGrantedAuthority(SERVICE_ROLE)));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         // Recupera o token JWT da requisição
         var token = this.recoveryToken(request);
         if (token != null) {
-            // Valida o token JWT e obtém o email do usuário associado ao token
-            var email = tokenService.validateToken(token);
-            // Busca o médico associado ao email no repositório
-            UserDetails doctor = doctorRepository.findByEmail(email);
-            if (doctor != null) {
-                // Cria um objeto de autenticação com os detalhes do médico e as permissões
-                var authentication = new UsernamePasswordAuthenticationToken(doctor, null, doctor.getAuthorities());
-                // Configura a autenticação no contexto de segurança do Spring
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            // Valida o token JWT e obtém o email e as autoridades do usuário associado ao token
+            DecodedJWT decodedToken = tokenService.decodeToken(token);
+            if (decodedToken != null) {
+                Claim roles = decodedToken.getClaim(TokenService.ROLES_CLAIM);
+                if (stateless && !roles.isMissing()) {
+                    // Cria a autenticação somente com os dados assinados no token, sem acessar o banco
+                    var authorities = roles.asList(String.class).stream().map(SimpleGrantedAuthority::new).toList();
+                    var authentication = new UsernamePasswordAuthenticationToken(decodedToken.getSubject(), null, authorities);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                } else {
+                    // Busca o médico associado ao email no repositório
+                    UserDetails doctor = doctorRepository.findByEmail(decodedToken.getSubject());
+                    if (doctor != null) {
+                        // Cria um objeto de autenticação com os detalhes do médico e as permissões
+                        var authentication = new UsernamePasswordAuthenticationToken(doctor, null, doctor.getAuthorities());
+                        // Configura a autenticação no contexto de segurança do Spring
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                    }
+                }
             }
         }
         // Continua a execução da cadeia de filtros
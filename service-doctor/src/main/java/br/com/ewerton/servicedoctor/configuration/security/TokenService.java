@@ -2,20 +2,42 @@ package br.com.ewerton.servicedoctor.configuration.security;
 
 import br.com.ewerton.servicedoctor.model.DoctorModel;
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Base64;
 
 /**
  * Serviço para gerenciar a criação e validação de tokens JWT.
  * Este serviço é responsável por gerar tokens JWT para médicos autenticados
  * e validar os tokens em requisições subsequentes para garantir que o usuário esteja autenticado.
+ * <p>
+ * O algoritmo de assinatura e o verificador são criados uma única vez na inicialização, e os tokens já verificados
+ * ficam em um cache limitado (indexado pelo hash SHA-256 do token) até a expiração de cada token.
+ * <p>
+ * Os tokens são emitidos para a audiência {@value #AUDIENCE} e só são aceitos com ela. Como o filtro de segurança
+ * confia nas autoridades assinadas no token, um token emitido por outro serviço (por exemplo, o de pacientes) nunca
+ * pode autenticar aqui, mesmo que as chaves secretas coincidam. A chave secreta não tem valor padrão e precisa ter
+ * ao menos {@value #MIN_SECRET_LENGTH} caracteres. Os tokens também levam a audiência {@value #SCHEDULES_AUDIENCE},
+ * para que os médicos consultem suas agendas no "service-schedules", que verifica os tokens com a mesma chave e só
+ * libera a cada médico as consultas do ID assinado no claim {@value #DOCTOR_ID_CLAIM}.
  *
  * @author Ewerton Rodrigues
  * @version 1.0
@@ -23,16 +45,74 @@ import java.time.ZoneOffset;
 @Service
 public class TokenService {
 
+    /**
+     * Nome do claim que carrega as autoridades (roles) do médico no token.
+     */
+    public static final String ROLES_CLAIM = "roles";
+
+    /**
+     * Nome do claim que carrega o ID do médico no token.
+     */
+    public static final String DOCTOR_ID_CLAIM = "doctor_id";
+
+    /**
+     * Audiência dos tokens emitidos e aceitos por este serviço.
+     */
+    public static final String AUDIENCE = "service-doctor";
+
+    /**
+     * Audiência adicional dos tokens emitidos, aceita pelo "service-schedules" para as consultas das agendas.
+     */
+    public static final String SCHEDULES_AUDIENCE = "service-schedules";
+
+    /**
+     * Tamanho mínimo da chave secreta: 256 bits, o tamanho da assinatura HMAC256.
+     */
+    static final int MIN_SECRET_LENGTH = 32;
+
     /**
      * A chave secreta usada para assinar o token JWT.
-     * A chave é configurada no arquivo de propriedades {@code application.properties}.
+     * A chave é configurada pela variável de ambiente {@code DOCTOR_JWT_SECRET}, sem valor padrão.
      */
     @Value("${api.security.token.secret}")
     private String secret;
 
+    /**
+     * Quantidade máxima de tokens verificados mantidos em cache.
+     */
+    @Value("${api.security.token.cache-size:10000}")
+    private long cacheSize;
+
+    private Algorithm algorithm;
+
+    private JWTVerifier verifier;
+
+    private Cache<String, DecodedJWT> verifiedTokens;
+
+    /**
+     * Cria o algoritmo de assinatura, o verificador e o cache de tokens verificados.
+     */
+    @PostConstruct
+    void init() {
+        if (secret == null || secret.length() < MIN_SECRET_LENGTH) {
+            throw new IllegalStateException("api.security.token.secret must have at least " + MIN_SECRET_LENGTH + " characters");
+        }
+        // Define o algoritmo de assinatura do token usando a chave secreta
+        algorithm = Algorithm.HMAC256(secret);
+        verifier = JWT.require(algorithm)
+                .withIssuer("auth-api") // Verifica o emissor do token
+                .withAudience(AUDIENCE) // Rejeita tokens emitidos para outros serviços
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
     /**
      * Gera um token JWT para o médico fornecido.
-     * O token contém informações como o email do médico e a data de expiração.
+     * O token contém informações como o email do médico, suas autoridades no claim {@value #ROLES_CLAIM}, o seu ID
+     * no claim {@value #DOCTOR_ID_CLAIM} e a data de expiração.
      *
      * @param doctorModel O modelo de médico contendo os dados do médico.
      * @return O token JWT gerado.
@@ -40,12 +120,13 @@ public class TokenService {
      */
     public String generateToken(DoctorModel doctorModel) {
         try {
-            // Define o algoritmo de assinatura do token usando a chave secreta
-            Algorithm algorithm = Algorithm.HMAC256(secret);
             // Cria o token com as informações do médico e a data de expiração
             String token = JWT.create()
                     .withIssuer("auth-api")
+                    .withAudience(AUDIENCE, SCHEDULES_AUDIENCE)
                     .withSubject(doctorModel.getEmail())
+                    .withClaim(ROLES_CLAIM, doctorModel.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList()) // Assina as autoridades do médico
+                    .withClaim(DOCTOR_ID_CLAIM, doctorModel.getId()) // Assina o ID do médico, usado pelo "service-schedules"
                     .withExpiresAt(genExpiresTime()) // Define a expiração do token
                     .sign(algorithm); // Assina o token
             return token;
@@ -63,18 +144,31 @@ public class TokenService {
      * @return O email do médico (subject) se o token for válido, ou uma string vazia se o token for inválido.
      */
     public String validateToken(String token) {
+        DecodedJWT decodedToken = decodeToken(token);
+        // Retorna o subject (email) do médico, ou uma string vazia se o token for inválido ou expirado
+        return decodedToken == null ? "" : decodedToken.getSubject();
+    }
+
+    /**
+     * Verifica o token JWT fornecido e retorna seu conteúdo decodificado (subject e claims).
+     * Tokens verificados recentemente são servidos pelo cache até a sua expiração.
+     *
+     * @param token O token JWT a ser verificado.
+     * @return O token decodificado, ou {@code null} se a assinatura, o emissor, a audiência ou a validade forem inválidos.
+     */
+    public DecodedJWT decodeToken(String token) {
+        String key = hash(token);
+        DecodedJWT cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && cached.getToken().equals(token)) {
+            return cached;
+        }
         try {
-            // Define o algoritmo de validação usando a chave secreta
-            Algorithm algorithm = Algorithm.HMAC256(secret);
             // Verifica e valida o token
-            return JWT.require(algorithm)
-                    .withIssuer("auth-api") // Verifica o emissor do token
-                    .build()
-                    .verify(token) // Verifica o token
-                    .getSubject(); // Retorna o subject (email) do médico
+            DecodedJWT decodedToken = verifier.verify(token);
+            verifiedTokens.put(key, decodedToken);
+            return decodedToken;
         } catch (JWTVerificationException e) {
-            // Retorna uma string vazia se o token for inválido ou expirado
-            return "";
+            return null;
         }
     }
 
@@ -87,4 +181,42 @@ public class TokenService {
         // Define a expiração do token para 2 horas após o momento atual
         return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
     }
+
+    /**
+     * Calcula a chave do cache a partir do hash SHA-256 do token.
+     *
+     * @param token O token JWT.
+     * @return O hash do token codificado em Base64.
+     */
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Política de expiração do cache: cada token permanece no cache somente até o seu "exp".
+     */
+    private static class TokenExpiry implements Expiry<String, DecodedJWT> {
+
+        @Override
+        public long expireAfterCreate(String key, DecodedJWT token, long currentTime) {
+            Instant expiresAt = token.getExpiresAtAsInstant();
+            if (expiresAt == null) return 0;
+            return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, DecodedJWT token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, DecodedJWT token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
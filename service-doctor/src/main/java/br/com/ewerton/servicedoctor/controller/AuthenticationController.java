@@ -5,13 +5,16 @@ import br.com.ewerton.servicedoctor.dto.AuthenticationDTO;
 import br.com.ewerton.servicedoctor.dto.EmailResponseDTO;
 import br.com.ewerton.servicedoctor.dto.RegisterDTO;
 import br.com.ewerton.servicedoctor.model.DoctorModel;
+import br.com.ewerton.servicedoctor.model.DoctorRole;
 import br.com.ewerton.servicedoctor.repository.DoctorRepository;
+import br.com.ewerton.servicedoctor.service.CacheInvalidationBus;
+import br.com.ewerton.servicedoctor.service.DoctorService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -38,6 +41,12 @@ public class AuthenticationController {
     @Autowired
     private TokenService tokenService;
 
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
     /**
      * Endpoint para realizar o login de um médico no sistema.
      * Realiza a autenticação do médico e retorna um token JWT para autenticação em futuras requisições.
@@ -57,8 +66,14 @@ public class AuthenticationController {
      * Endpoint para registrar um novo médico no sistema.
      * Verifica se o email fornecido já está cadastrado e, se não estiver,
      * cria um novo registro de médico com a senha criptografada.
+     * O médico é sempre registrado com o papel {@link DoctorRole#USER}, já que o papel é assinado no token e
+     * concede acesso aos endpoints administrativos.
+     * <p>
+     * A inserção passa pelo Hibernate, que coloca o novo médico na região "doctor" do cache de segundo nível e
+     * invalida as consultas em cache do diretório ("doctor-directory") ao final da transação. As outras réplicas são
+     * avisadas pelo {@link CacheInvalidationBus} para descartarem as suas.
      *
-     * @param data Dados do novo médico, incluindo email, senha e cargo.
+     * @param data Dados do novo médico: email e senha.
      * @return ResponseEntity com o status da operação de registro.
      */
     @PostMapping("/register")
@@ -66,9 +81,10 @@ public class AuthenticationController {
         if (this.doctorRepository.findByEmail(data.email()) != null) {
             return ResponseEntity.badRequest().build();
         }
-        String encryptedPassword = new BCryptPasswordEncoder().encode(data.password());
-        DoctorModel newDoctor = new DoctorModel(data.email(), encryptedPassword, data.role());
+        String encryptedPassword = passwordEncoder.encode(data.password());
+        DoctorModel newDoctor = new DoctorModel(data.email(), encryptedPassword, DoctorRole.USER);
         this.doctorRepository.save(newDoctor);
+        cacheInvalidationBus.invalidate(DoctorService.DOCTORS_CACHE, newDoctor.getId());
         return ResponseEntity.ok().build();
     }
 }
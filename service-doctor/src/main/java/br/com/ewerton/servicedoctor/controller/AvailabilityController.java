@@ -0,0 +1,138 @@
+package br.com.ewerton.servicedoctor.controller;
+
+import br.com.ewerton.servicedoctor.dto.AvailableSlotDTO;
+import br.com.ewerton.servicedoctor.dto.ReservationDTO;
+import br.com.ewerton.servicedoctor.dto.SlotReservationDTO;
+import br.com.ewerton.servicedoctor.dto.WorkingHoursDTO;
+import br.com.ewerton.servicedoctor.service.AvailabilityService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Controlador responsável pela disponibilidade dos médicos.
+ * Ele fornece endpoints para manter os horários de atendimento de um médico
+ * e consultar, reservar e liberar os horários na sua agenda.
+ *
+ * @author Ewerton Rodrigues
+ * @version 1.0
+ */
+@Tag(name = "Availability endpoints")
+@RestController
+@RequestMapping("/doctor-service")
+public class AvailabilityController {
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    /**
+     * Endpoint para consultar os horários de atendimento semanais de um médico.
+     *
+     * @param doctorId O ID do médico.
+     * @return ResponseEntity contendo os intervalos de atendimento do médico.
+     */
+    @Operation(summary = "Find the weekly working hours of a doctor")
+    @GetMapping("/{doctorId}/working-hours")
+    public ResponseEntity<List<WorkingHoursDTO>> workingHours(@PathVariable String doctorId) {
+        return ResponseEntity.ok(availabilityService.findWorkingHours(doctorId));
+    }
+
+    /**
+     * Endpoint para substituir os horários de atendimento semanais de um médico.
+     * Cada intervalo é validado; uma lista com intervalos nulos ou incompletos é rejeitada com 400 (Bad Request).
+     *
+     * @param doctorId     O ID do médico.
+     * @param workingHours Os novos intervalos de atendimento.
+     * @return ResponseEntity contendo os intervalos de atendimento gravados.
+     */
+    @Operation(summary = "Replace the weekly working hours of a doctor")
+    @PutMapping("/{doctorId}/working-hours")
+    public ResponseEntity<List<WorkingHoursDTO>> replaceWorkingHours(@PathVariable String doctorId,
+                                                                     @RequestBody List<@Valid @NotNull WorkingHoursDTO> workingHours) {
+        return ResponseEntity.ok(availabilityService.replaceWorkingHours(doctorId, workingHours));
+    }
+
+    /**
+     * Endpoint para consultar os primeiros horários livres entre todos os médicos de uma especialidade.
+     * Sem intervalo informado, considera os próximos 7 dias.
+     *
+     * @param specialty A especialidade (sem diferenciar maiúsculas e minúsculas).
+     * @param from      O início do intervalo (padrão: agora).
+     * @param to        O fim do intervalo (padrão: 7 dias após o início).
+     * @param limit     A quantidade máxima de horários.
+     * @return ResponseEntity contendo os horários livres em ordem cronológica, com o médico de cada horário.
+     */
+    @Operation(summary = "Find the earliest free slots among all doctors of a specialty")
+    @GetMapping("/availability/earliest")
+    public ResponseEntity<List<AvailableSlotDTO>> earliestBySpecialty(@RequestParam String specialty,
+                                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                                      @RequestParam(defaultValue = "10") int limit) {
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        LocalDateTime end = to != null ? to : start.plusDays(7);
+        return ResponseEntity.ok(availabilityService.findEarliestSlots(specialty.toLowerCase(Locale.ROOT), start, end, limit));
+    }
+
+    /**
+     * Endpoint para consultar os horários livres de um médico.
+     * Sem parâmetros, retorna os horários livres dos próximos 7 dias.
+     *
+     * @param doctorId O ID do médico.
+     * @param from     O início do intervalo (padrão: agora).
+     * @param to       O fim do intervalo (padrão: 7 dias após o início).
+     * @param limit    A quantidade máxima de horários.
+     * @return ResponseEntity contendo os horários livres em ordem cronológica.
+     */
+    @Operation(summary = "Find the free slots of a doctor between two instants")
+    @GetMapping("/{doctorId}/availability")
+    public ResponseEntity<List<AvailableSlotDTO>> availability(@PathVariable String doctorId,
+                                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                               @RequestParam(defaultValue = "100") int limit) {
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        LocalDateTime end = to != null ? to : start.plusDays(7);
+        return ResponseEntity.ok(availabilityService.findFreeSlots(doctorId, start, end, limit));
+    }
+
+    /**
+     * Endpoint para reservar um horário livre na agenda de um médico para um paciente.
+     * Requisições concorrentes para o mesmo horário têm exatamente uma vencedora; as demais recebem 409 (Conflict).
+     * Restrito ao "service-patient" e a administradores.
+     *
+     * @param doctorId    O ID do médico.
+     * @param reservation O horário a ser reservado e o paciente.
+     * @return ResponseEntity com status 201 (Created) contendo a reserva criada, ou 200 (OK) se o horário já estava
+     * reservado para o mesmo paciente.
+     */
+    @Operation(summary = "Reserve a free slot of a doctor for a patient")
+    @PostMapping("/{doctorId}/reservations")
+    public ResponseEntity<ReservationDTO> reserve(@PathVariable String doctorId, @RequestBody @Valid SlotReservationDTO reservation) {
+        ReservationDTO reserved = availabilityService.reserve(doctorId, reservation.startsAt(), reservation.patientEmail());
+        return ResponseEntity.status(reserved.created() ? HttpStatus.CREATED : HttpStatus.OK).body(reserved);
+    }
+
+    /**
+     * Endpoint para liberar uma reserva de horário.
+     * Restrito ao "service-patient" e a administradores.
+     *
+     * @param reservationId O ID da reserva.
+     * @return ResponseEntity com status 204 (No Content).
+     */
+    @Operation(summary = "Release a slot reservation")
+    @DeleteMapping("/reservations/{reservationId}")
+    public ResponseEntity<Void> release(@PathVariable UUID reservationId) {
+        availabilityService.release(reservationId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.ewerton.servicedoctor.controller;
+
+import br.com.ewerton.servicedoctor.service.BookingStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controlador responsável pelo stream de agendamentos em tempo real.
+ * Ele fornece o endpoint Server-Sent Events pelo qual o médico autenticado recebe os novos agendamentos.
+ *
+ * @author Ewerton Rodrigues
+ * @version 1.0
+ */
+@Tag(name = "Booking stream endpoints")
+@RestController
+@RequestMapping("/doctor-service")
+public class BookingStreamController {
+
+    @Autowired
+    private BookingStreamService bookingStreamService;
+
+    /**
+     * Endpoint para receber os novos agendamentos do médico autenticado.
+     * Envia um evento "booking" por agendamento e um evento "dropped" quando agendamentos são descartados por um
+     * cliente que não acompanha o ritmo; nesse caso, o cliente deve recarregar a agenda.
+     *
+     * @param authentication A autenticação do médico.
+     * @return O stream de eventos.
+     */
+    @Operation(summary = "Stream the new bookings of the authenticated doctor")
+    @GetMapping(value = "/bookings/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(Authentication authentication) {
+        return bookingStreamService.subscribe(authentication.getName());
+    }
+}
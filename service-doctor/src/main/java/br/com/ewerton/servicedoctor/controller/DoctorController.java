@@ -1,58 +1,90 @@
 package br.com.ewerton.servicedoctor.controller;
 
-import br.com.ewerton.servicedoctor.model.DoctorModel;
+import br.com.ewerton.servicedoctor.dto.DoctorPageDTO;
+import br.com.ewerton.servicedoctor.dto.DoctorSummaryDTO;
 import br.com.ewerton.servicedoctor.service.DoctorService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Controlador responsável pela gestão de médicos no sistema.
- * Ele fornece endpoints para consultar a lista de médicos registrados
- * e buscar informações de médicos específicos por ID.
+ * Ele fornece endpoints para consultar o diretório de médicos registrados, paginado e filtrado
+ * por especialidade e clínica, e buscar informações de médicos específicos por ID.
+ * <p>
+ * As respostas trazem apenas os dados públicos do médico ({@link DoctorSummaryDTO}), e o parâmetro opcional
+ * {@code fields} (por exemplo, {@code ?fields=name,specialty}) limita os campos retornados.
  *
  * @author Ewerton Rodrigues
  * @version 1.0
  */
 @Tag(name = "Doctor endpoints")
 @RestController
-@RequestMapping(name = "/doctor-service")
+@RequestMapping("/doctor-service")
 public class DoctorController {
 
     @Autowired
     private DoctorService doctorService;
 
     /**
-     * Endpoint para consultar a lista de todos os médicos registrados no sistema.
+     * Endpoint para consultar o diretório de médicos registrados no sistema.
+     * A listagem é paginada por cursor: cada resposta traz o cursor da próxima página, que deve ser enviado
+     * no parâmetro {@code cursor} da próxima requisição.
      *
-     * @return ResponseEntity contendo a lista de médicos registrados.
+     * @param specialty Filtro opcional por especialidade.
+     * @param clinic    Filtro opcional por clínica.
+     * @param cursor    O cursor da página, ou vazio para a primeira página.
+     * @param size      O tamanho da página.
+     * @param fields    Os campos a retornar, separados por vírgula (padrão: todos).
+     * @return ResponseEntity contendo a página de médicos e o cursor da próxima página.
      */
-    @Operation(summary = "Find a List of registered patients")
+    @Operation(summary = "Find a page of registered doctors, optionally filtered by specialty and clinic")
     @GetMapping
-    public ResponseEntity<List<DoctorModel>> doctorAll() {
-        List<DoctorModel> doctors = doctorService.allDoctor();
-        return ResponseEntity.ok().body(doctors);
+    public ResponseEntity<DoctorPageDTO> doctorAll(@RequestParam(required = false) String specialty,
+                                                   @RequestParam(required = false) String clinic,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(defaultValue = "50") int size,
+                                                   @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok().body(doctorService.pageDoctors(specialty, clinic, cursor, size, parseFields(fields)));
     }
 
     /**
      * Endpoint para buscar um médico específico pelo seu ID.
      *
-     * @param id O ID do médico a ser consultado.
+     * @param id     O ID do médico a ser consultado.
+     * @param fields Os campos a retornar, separados por vírgula (padrão: todos).
      * @return ResponseEntity contendo o médico encontrado ou resposta de erro caso não exista.
      */
-    @Operation(summary = "Find a specific patient by your ID")
-    @GetMapping(value = "/doctor-service/{id}")
-    public ResponseEntity<DoctorModel> doctorById(@RequestParam UUID id) {
-        Optional<DoctorModel> obj = doctorService.findDoctorById(id);
+    @Operation(summary = "Find a specific doctor by your ID")
+    @GetMapping("/{id}")
+    public ResponseEntity<DoctorSummaryDTO> doctorById(@PathVariable UUID id, @RequestParam(required = false) String fields) {
+        Optional<DoctorSummaryDTO> obj = doctorService.findDoctorById(id, parseFields(fields));
         return obj.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
     }
+
+    /**
+     * Converte o parâmetro {@code fields} (nomes separados por vírgula) no conjunto de campos selecionados.
+     *
+     * @param fields O valor do parâmetro, ou {@code null}.
+     * @return Os campos selecionados, ou vazio para todos.
+     */
+    private static Set<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) return Set.of();
+        return Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(DoctorSummaryDTO.FIELDS::contains)
+                .collect(Collectors.toUnmodifiableSet());
+    }
 }
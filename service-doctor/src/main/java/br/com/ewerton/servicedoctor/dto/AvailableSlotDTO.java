@@ -0,0 +1,13 @@
+package br.com.ewerton.servicedoctor.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Horário livre na agenda de um médico.
+ *
+ * @param doctorId O ID do médico.
+ * @param startsAt O início do horário.
+ * @param endsAt   O fim do horário.
+ */
+public record AvailableSlotDTO(String doctorId, LocalDateTime startsAt, LocalDateTime endsAt) {
+}
@@ -0,0 +1,16 @@
+package br.com.ewerton.servicedoctor.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Novo agendamento enviado em tempo real ao médico pelo stream de agendamentos.
+ *
+ * @param doctorId     O ID do médico.
+ * @param scheduledAt  O início do horário da consulta.
+ * @param patientName  O nome do paciente.
+ * @param patientPhone O telefone do paciente.
+ * @param patientEmail O e-mail do paciente.
+ */
+public record BookingEventDTO(String doctorId, LocalDateTime scheduledAt, String patientName, String patientPhone,
+                              String patientEmail) {
+}
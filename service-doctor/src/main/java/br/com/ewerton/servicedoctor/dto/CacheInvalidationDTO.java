@@ -0,0 +1,20 @@
+package br.com.ewerton.servicedoctor.dto;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * DTO das mensagens de invalidação de cache trocadas entre as réplicas do serviço.
+ * <p>
+ * Cada mensagem agrupa as chaves invalidadas em um pequeno intervalo, organizadas por nome de cache.
+ *
+ * @param origin     O ID da réplica que publicou a mensagem (a própria réplica ignora as suas mensagens).
+ * @param enqueuedAt O instante (epoch millis) em que a chave mais antiga do lote foi invalidada, usado para medir
+ *                   o atraso da invalidação.
+ * @param keys       As chaves invalidadas de cada cache.
+ *
+ * @author Ewerton Rodrigues
+ * @version 1.0
+ */
+public record CacheInvalidationDTO(String origin, long enqueuedAt, Map<String, Set<String>> keys) {
+}
@@ -0,0 +1,12 @@
+package br.com.ewerton.servicedoctor.dto;
+
+import java.util.List;
+
+/**
+ * Página do diretório de médicos retornada pela listagem paginada por cursor.
+ *
+ * @param content    Os médicos da página atual.
+ * @param nextCursor O cursor opaco da próxima página, ou {@code null} se esta for a última.
+ */
+public record DoctorPageDTO(List<DoctorSummaryDTO> content, String nextCursor) {
+}
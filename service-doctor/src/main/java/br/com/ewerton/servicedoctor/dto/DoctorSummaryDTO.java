@@ -0,0 +1,41 @@
+package br.com.ewerton.servicedoctor.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Set;
+
+/**
+ * Dados públicos de um médico exibidos no diretório.
+ * <p>
+ * É projetado diretamente pelo {@code DoctorRepository}, sem carregar a entidade (com senha, papel e os getters de
+ * {@code UserDetails}). Campos nulos não são serializados, o que permite reduzir a resposta com {@link #select(Set)}.
+ *
+ * @param id        O ID do médico (sempre presente).
+ * @param name      O nome do médico.
+ * @param specialty A especialidade do médico.
+ * @param crm       O CRM do médico.
+ * @param clinic    A clínica do médico.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DoctorSummaryDTO(String id, String name, String specialty, String crm, String clinic) {
+
+    /**
+     * Campos que podem ser selecionados no parâmetro {@code fields}.
+     */
+    public static final Set<String> FIELDS = Set.of("name", "specialty", "crm", "clinic");
+
+    /**
+     * Retorna uma cópia apenas com os campos informados (e o ID). Nomes desconhecidos são ignorados.
+     *
+     * @param fields Os campos desejados, ou vazio para todos.
+     * @return O médico com os campos não selecionados nulos.
+     */
+    public DoctorSummaryDTO select(Set<String> fields) {
+        if (fields.isEmpty()) return this;
+        return new DoctorSummaryDTO(id,
+                fields.contains("name") ? name : null,
+                fields.contains("specialty") ? specialty : null,
+                fields.contains("crm") ? crm : null,
+                fields.contains("clinic") ? clinic : null);
+    }
+}
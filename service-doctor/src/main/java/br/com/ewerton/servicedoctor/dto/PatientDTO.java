@@ -2,13 +2,21 @@ package br.com.ewerton.servicedoctor.dto;
 
 import jakarta.validation.Valid;
 
-public record PatientDTO(String name, String phone, String address, @Valid String email) {
+import java.time.LocalDateTime;
 
-    public PatientDTO(String name, String phone, String address, String email) {
+public record PatientDTO(String name, String phone, String address, @Valid String email, String doctorId, LocalDateTime scheduledAt) {
+
+    public PatientDTO(String name, String phone, String address, String email, String doctorId, LocalDateTime scheduledAt) {
         this.name = name;
         this.phone = phone;
         this.address = address;
         this.email = email;
+        this.doctorId = doctorId;
+        this.scheduledAt = scheduledAt;
+    }
+
+    public PatientDTO(String name, String phone, String address, String email) {
+        this(name, phone, address, email, null, null);
     }
 
     @Override
@@ -30,4 +38,14 @@ public record PatientDTO(String name, String phone, String address, @Valid Strin
     public @Valid String email() {
         return email;
     }
+
+    @Override
+    public String doctorId() {
+        return doctorId;
+    }
+
+    @Override
+    public LocalDateTime scheduledAt() {
+        return scheduledAt;
+    }
 }
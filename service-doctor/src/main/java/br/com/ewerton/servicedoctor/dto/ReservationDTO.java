@@ -0,0 +1,19 @@
+package br.com.ewerton.servicedoctor.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Reserva de um horário na agenda de um médico.
+ *
+ * @param id           O ID da reserva, usado para liberá-la.
+ * @param doctorId     O ID do médico.
+ * @param patientEmail O email do paciente dono da reserva.
+ * @param startsAt     O início do horário.
+ * @param endsAt       O fim do horário.
+ * @param created      {@code true} se a reserva foi criada nesta chamada; {@code false} se já existia para o mesmo
+ *                     paciente. Apenas quem criou a reserva pode liberá-la ao desfazer o agendamento.
+ */
+public record ReservationDTO(UUID id, String doctorId, String patientEmail, LocalDateTime startsAt, LocalDateTime endsAt,
+                             boolean created) {
+}
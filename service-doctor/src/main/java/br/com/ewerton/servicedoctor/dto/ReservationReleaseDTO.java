@@ -0,0 +1,11 @@
+package br.com.ewerton.servicedoctor.dto;
+
+import java.util.UUID;
+
+/**
+ * Pedido de liberação de uma reserva de horário, recebido do "service-patient".
+ *
+ * @param reservationId O ID da reserva a ser liberada.
+ */
+public record ReservationReleaseDTO(UUID reservationId) {
+}
@@ -0,0 +1,16 @@
+package br.com.ewerton.servicedoctor.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pedido de reserva de um horário na agenda de um médico.
+ *
+ * @param startsAt     O início do horário, alinhado à duração dos horários da agenda.
+ * @param patientEmail O email do paciente para quem o horário é reservado.
+ */
+public record SlotReservationDTO(@NotNull LocalDateTime startsAt, @NotBlank @Email String patientEmail) {
+}
@@ -0,0 +1,16 @@
+package br.com.ewerton.servicedoctor.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * Intervalo do horário de atendimento semanal de um médico.
+ *
+ * @param dayOfWeek O dia da semana.
+ * @param startTime O horário de início (inclusivo).
+ * @param endTime   O horário de término (exclusivo); 00:00 representa o fim do dia.
+ */
+public record WorkingHoursDTO(@NotNull DayOfWeek dayOfWeek, @NotNull LocalTime startTime, @NotNull LocalTime endTime) {
+}
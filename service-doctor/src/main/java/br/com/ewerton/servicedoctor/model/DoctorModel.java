@@ -5,6 +5,8 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,19 +14,28 @@ import org.springframework.security.core.userdetails.UserDetails;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * Representa um modelo de médico no sistema.
  * Esta classe implementa a interface {@link UserDetails} do Spring Security para ser usada na autenticação.
  * <p>
  * Contém informações como nome, especialidade, CRM, clínica, e-mail, senha e o papel (role) do médico.
+ * <p>
+ * Fica no cache de segundo nível do Hibernate (região "doctor"), já que o cadastro muda poucas vezes ao dia e é
+ * lido em quase todo agendamento. A estratégia READ_WRITE mantém o cache consistente com as escritas feitas pelo
+ * Hibernate.
+ * <p>
+ * O índice do diretório por especialidade é sobre {@code lower(specialty)} e, por isso, é criado no "schema.sql".
  *
  * @author Ewerton Rodrigues
  * @version 1.0
  */
 @Entity
-@Table(name = "tb_doctor")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "doctor")
+@Table(name = "tb_doctor", indexes = {
+        @Index(name = "idx_doctor_clinic_id", columnList = "clinic, id")
+})
 public class DoctorModel implements UserDetails {
 
     @Id
@@ -102,7 +113,7 @@ public class DoctorModel implements UserDetails {
         return id;
     }
 
-    public void setId(UUID id) {
+    public void setId(String id) {
         this.id = id;
     }
 
@@ -150,7 +161,7 @@ public class DoctorModel implements UserDetails {
         return role;
     }
 
-    public void setRole(String role) {
+    public void setRole(DoctorRole role) {
         this.role = role;
     }
 
@@ -0,0 +1,114 @@
+package br.com.ewerton.servicedoctor.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Representa um horário reservado na agenda de um médico.
+ * <p>
+ * As reservas são feitas pelo "service-patient" antes de o agendamento ser registrado (ou gravadas a partir dos
+ * eventos de agendamento) e são a fonte de verdade usada para reconstruir
+ * os calendários de disponibilidade em memória quando a aplicação inicia. Reservas sobrepostas do mesmo médico são
+ * impedidas pela constraint de exclusão "ex_slot_reservation_overlap", criada em "schema.sql".
+ *
+ * @author Ewerton Rodrigues
+ * @version 1.0
+ */
+@Entity
+@Table(name = "tb_slot_reservation",
+        uniqueConstraints = @UniqueConstraint(name = "uk_slot_reservation_doctor_starts_at", columnNames = {"doctor_id", "starts_at"}))
+public class SlotReservationModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "doctor_id", nullable = false)
+    private String doctorId;
+
+    @Column(name = "patient_email")
+    private String patientEmail;
+
+    @Column(name = "starts_at", nullable = false)
+    private LocalDateTime startsAt;
+
+    @Column(name = "ends_at", nullable = false)
+    private LocalDateTime endsAt;
+
+    /**
+     * Momento em que o evento de agendamento da reserva foi recebido; vazio enquanto a reserva aguarda o evento.
+     */
+    @Column(name = "confirmed_at")
+    private LocalDateTime confirmedAt;
+
+    /**
+     * Construtor padrão.
+     */
+    public SlotReservationModel() {
+    }
+
+    /**
+     * Construtor para criação de uma reserva.
+     *
+     * @param doctorId     O ID do médico.
+     * @param patientEmail O email do paciente dono da reserva.
+     * @param startsAt     O início do horário reservado.
+     * @param endsAt       O fim do horário reservado.
+     */
+    public SlotReservationModel(String doctorId, String patientEmail, LocalDateTime startsAt, LocalDateTime endsAt) {
+        this.doctorId = doctorId;
+        this.patientEmail = patientEmail;
+        this.startsAt = startsAt;
+        this.endsAt = endsAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(String doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public String getPatientEmail() {
+        return patientEmail;
+    }
+
+    public void setPatientEmail(String patientEmail) {
+        this.patientEmail = patientEmail;
+    }
+
+    public LocalDateTime getStartsAt() {
+        return startsAt;
+    }
+
+    public void setStartsAt(LocalDateTime startsAt) {
+        this.startsAt = startsAt;
+    }
+
+    public LocalDateTime getEndsAt() {
+        return endsAt;
+    }
+
+    public void setEndsAt(LocalDateTime endsAt) {
+        this.endsAt = endsAt;
+    }
+
+    public LocalDateTime getConfirmedAt() {
+        return confirmedAt;
+    }
+
+    public void setConfirmedAt(LocalDateTime confirmedAt) {
+        this.confirmedAt = confirmedAt;
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.ewerton.servicedoctor.model;
+
+import jakarta.persistence.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Representa um intervalo do horário de atendimento semanal de um médico.
+ * <p>
+ * Cada registro indica que o médico atende no dia da semana informado, entre o horário de início (inclusivo)
+ * e o horário de término (exclusivo). Um médico pode ter vários intervalos no mesmo dia (por exemplo, manhã e tarde).
+ * Os intervalos são usados como modelo para montar o calendário de disponibilidade do médico.
+ *
+ * @author Ewerton Rodrigues
+ * @version 1.0
+ */
+@Entity
+@Table(name = "tb_working_hours", indexes = @Index(name = "idx_working_hours_doctor_id", columnList = "doctor_id"))
+public class WorkingHoursModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "doctor_id", nullable = false)
+    private String doctorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_of_week", nullable = false)
+    private DayOfWeek dayOfWeek;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    /**
+     * Construtor padrão.
+     */
+    public WorkingHoursModel() {
+    }
+
+    /**
+     * Construtor para criação de um intervalo de atendimento.
+     *
+     * @param doctorId  O ID do médico.
+     * @param dayOfWeek O dia da semana.
+     * @param startTime O horário de início do atendimento.
+     * @param endTime   O horário de término do atendimento (00:00 representa o fim do dia).
+     */
+    public WorkingHoursModel(String doctorId, DayOfWeek dayOfWeek, LocalTime startTime, LocalTime endTime) {
+        this.doctorId = doctorId;
+        this.dayOfWeek = dayOfWeek;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(String doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public DayOfWeek getDayOfWeek() {
+        return dayOfWeek;
+    }
+
+    public void setDayOfWeek(DayOfWeek dayOfWeek) {
+        this.dayOfWeek = dayOfWeek;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+    }
+}
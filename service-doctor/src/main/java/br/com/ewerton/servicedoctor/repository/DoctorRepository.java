@@ -1,22 +1,38 @@
 package br.com.ewerton.servicedoctor.repository;
 
+import br.com.ewerton.servicedoctor.dto.DoctorSummaryDTO;
 import br.com.ewerton.servicedoctor.model.DoctorModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Repository;
 
-import java.util.UUID;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositório para operações de persistência relacionadas aos médicos.
  * Extende a interface {@link JpaRepository} para fornecer funcionalidades CRUD básicas.
- * Inclui um método para buscar médicos pelo e-mail, utilizado para autenticação.
+ * Inclui um método para buscar médicos pelo e-mail, utilizado para autenticação, e as consultas do diretório
+ * de médicos paginado por keyset.
+ * <p>
+ * As consultas do diretório usam o cache de consultas do Hibernate (região "doctor-directory"). O Hibernate
+ * descarta esses resultados sempre que "tb_doctor" é alterada por ele, como no registro de um novo médico.
  *
  * @author Ewerton Rodrigues
  * @version 1.0
  */
 @Repository
-public interface DoctorRepository extends JpaRepository<DoctorModel, UUID> {
+public interface DoctorRepository extends JpaRepository<DoctorModel, String> {
+
+    /**
+     * Região do cache de consultas do Hibernate usada pelas consultas do diretório.
+     */
+    String DIRECTORY_CACHE_REGION = "doctor-directory";
 
     /**
      * Busca um médico no banco de dados pelo seu e-mail.
@@ -25,4 +41,110 @@ public interface DoctorRepository extends JpaRepository<DoctorModel, UUID> {
      * @return O médico encontrado, representado por um objeto {@link UserDetails}.
      */
     UserDetails findByEmail(String email);
+
+    /**
+     * Busca o ID de um médico pelo seu e-mail, sem carregar a entidade.
+     *
+     * @param email O e-mail do médico.
+     * @return O ID do médico, se encontrado.
+     */
+    @Query("select d.id from DoctorModel d where d.email = :email")
+    Optional<String> findIdByEmail(String email);
+
+    /**
+     * Busca os IDs dos médicos de uma especialidade, sem diferenciar maiúsculas e minúsculas.
+     *
+     * @param specialty A especialidade.
+     * @return Os IDs dos médicos da especialidade.
+     */
+    @Query("select d.id from DoctorModel d where lower(d.specialty) = lower(:specialty)")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = DIRECTORY_CACHE_REGION)
+    })
+    List<String> findIdsBySpecialty(String specialty);
+
+    /**
+     * Retorna uma página do diretório de médicos ordenada pelo ID, projetada diretamente em {@link DoctorSummaryDTO}.
+     * <p>
+     * As consultas do diretório são separadas por combinação de filtros, para que cada uma tenha um plano fixo sobre o
+     * seu índice. A paginação é por keyset: a página começa no primeiro ID maior que {@code afterId} (uma string vazia
+     * na primeira página).
+     *
+     * @param afterId O ID do último médico da página anterior, ou {@code ""} para a primeira página.
+     * @param limit   A quantidade máxima de médicos.
+     * @return Os médicos da página.
+     */
+    @Query("select new br.com.ewerton.servicedoctor.dto.DoctorSummaryDTO(d.id, d.name, d.specialty, d.crm, d.clinic) "
+            + "from DoctorModel d where d.id > :afterId order by d.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = DIRECTORY_CACHE_REGION)
+    })
+    List<DoctorSummaryDTO> findDirectoryPage(String afterId, Limit limit);
+
+    /**
+     * Retorna uma página dos médicos de uma especialidade, sem diferenciar maiúsculas e minúsculas, usando o índice
+     * "(lower(specialty), id)" de "tb_doctor".
+     *
+     * @param specialty A especialidade.
+     * @param afterId   O ID do último médico da página anterior, ou {@code ""} para a primeira página.
+     * @param limit     A quantidade máxima de médicos.
+     * @return Os médicos da página.
+     */
+    @Query("select new br.com.ewerton.servicedoctor.dto.DoctorSummaryDTO(d.id, d.name, d.specialty, d.crm, d.clinic) "
+            + "from DoctorModel d where lower(d.specialty) = lower(:specialty) and d.id > :afterId order by d.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = DIRECTORY_CACHE_REGION)
+    })
+    List<DoctorSummaryDTO> findDirectoryPageBySpecialty(String specialty, String afterId, Limit limit);
+
+    /**
+     * Retorna uma página dos médicos de uma clínica, usando o índice "(clinic, id)" de "tb_doctor".
+     *
+     * @param clinic  A clínica.
+     * @param afterId O ID do último médico da página anterior, ou {@code ""} para a primeira página.
+     * @param limit   A quantidade máxima de médicos.
+     * @return Os médicos da página.
+     */
+    @Query("select new br.com.ewerton.servicedoctor.dto.DoctorSummaryDTO(d.id, d.name, d.specialty, d.crm, d.clinic) "
+            + "from DoctorModel d where d.clinic = :clinic and d.id > :afterId order by d.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = DIRECTORY_CACHE_REGION)
+    })
+    List<DoctorSummaryDTO> findDirectoryPageByClinic(String clinic, String afterId, Limit limit);
+
+    /**
+     * Retorna uma página dos médicos de uma especialidade (sem diferenciar maiúsculas e minúsculas) em uma clínica.
+     *
+     * @param specialty A especialidade.
+     * @param clinic    A clínica.
+     * @param afterId   O ID do último médico da página anterior, ou {@code ""} para a primeira página.
+     * @param limit     A quantidade máxima de médicos.
+     * @return Os médicos da página.
+     */
+    @Query("select new br.com.ewerton.servicedoctor.dto.DoctorSummaryDTO(d.id, d.name, d.specialty, d.crm, d.clinic) "
+            + "from DoctorModel d where lower(d.specialty) = lower(:specialty) and d.clinic = :clinic "
+            + "and d.id > :afterId order by d.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = DIRECTORY_CACHE_REGION)
+    })
+    List<DoctorSummaryDTO> findDirectoryPageBySpecialtyAndClinic(String specialty, String clinic, String afterId, Limit limit);
+
+    /**
+     * Busca os dados públicos de um médico pelo ID, projetados diretamente em {@link DoctorSummaryDTO}.
+     *
+     * @param id O ID do médico.
+     * @return Um {@link Optional} contendo o médico, se encontrado.
+     */
+    @Query("select new br.com.ewerton.servicedoctor.dto.DoctorSummaryDTO(d.id, d.name, d.specialty, d.crm, d.clinic) "
+            + "from DoctorModel d where d.id = :id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = DIRECTORY_CACHE_REGION)
+    })
+    Optional<DoctorSummaryDTO> findSummaryById(String id);
 }
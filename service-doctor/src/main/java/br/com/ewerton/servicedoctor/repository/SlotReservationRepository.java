@@ -0,0 +1,79 @@
+package br.com.ewerton.servicedoctor.repository;
+
+import br.com.ewerton.servicedoctor.model.SlotReservationModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repositório para operações de persistência das reservas de horários dos médicos.
+ *
+ * @author Ewerton Rodrigues
+ * @version 1.0
+ */
+@Repository
+public interface SlotReservationRepository extends JpaRepository<SlotReservationModel, UUID> {
+
+    /**
+     * Verifica se o médico já possui uma reserva iniciando no horário informado.
+     *
+     * @param doctorId O ID do médico.
+     * @param startsAt O início do horário.
+     * @return {@code true} se a reserva já existir.
+     */
+    boolean existsByDoctorIdAndStartsAt(String doctorId, LocalDateTime startsAt);
+
+    /**
+     * Busca a reserva do médico que inicia no horário informado.
+     *
+     * @param doctorId O ID do médico.
+     * @param startsAt O início do horário.
+     * @return Um {@link Optional} contendo a reserva, se existir.
+     */
+    Optional<SlotReservationModel> findByDoctorIdAndStartsAt(String doctorId, LocalDateTime startsAt);
+
+    /**
+     * Confirma a reserva do paciente com o evento de agendamento, se ela ainda não tiver sido confirmada.
+     * A atualização é condicional, então apenas a primeira entrega do evento, em qualquer réplica, confirma a reserva.
+     *
+     * @param doctorId     O ID do médico.
+     * @param startsAt     O início do horário.
+     * @param patientEmail O email do paciente (sem diferenciar maiúsculas e minúsculas).
+     * @param confirmedAt  O momento da confirmação.
+     * @return A quantidade de reservas confirmadas (0 ou 1).
+     */
+    @Transactional
+    @Modifying
+    @Query("update SlotReservationModel r set r.confirmedAt = :confirmedAt "
+            + "where r.doctorId = :doctorId and r.startsAt = :startsAt and lower(r.patientEmail) = lower(:patientEmail) "
+            + "and r.confirmedAt is null")
+    int confirm(@Param("doctorId") String doctorId, @Param("startsAt") LocalDateTime startsAt,
+                @Param("patientEmail") String patientEmail, @Param("confirmedAt") LocalDateTime confirmedAt);
+
+    /**
+     * Busca as reservas de todos os médicos que iniciam no intervalo informado.
+     *
+     * @param from O início do intervalo (inclusivo).
+     * @param to   O fim do intervalo (exclusivo).
+     * @return As reservas do intervalo.
+     */
+    List<SlotReservationModel> findByStartsAtGreaterThanEqualAndStartsAtLessThan(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Busca as reservas de um médico que iniciam no intervalo informado.
+     *
+     * @param doctorId O ID do médico.
+     * @param from     O início do intervalo (inclusivo).
+     * @param to       O fim do intervalo (exclusivo).
+     * @return As reservas do médico no intervalo.
+     */
+    List<SlotReservationModel> findByDoctorIdAndStartsAtGreaterThanEqualAndStartsAtLessThan(String doctorId, LocalDateTime from, LocalDateTime to);
+}
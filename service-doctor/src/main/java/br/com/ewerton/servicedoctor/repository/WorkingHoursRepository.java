@@ -0,0 +1,33 @@
+package br.com.ewerton.servicedoctor.repository;
+
+import br.com.ewerton.servicedoctor.model.WorkingHoursModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repositório para operações de persistência dos horários de atendimento dos médicos.
+ *
+ * @author Ewerton Rodrigues
+ * @version 1.0
+ */
+@Repository
+public interface WorkingHoursRepository extends JpaRepository<WorkingHoursModel, UUID> {
+
+    /**
+     * Busca os horários de atendimento de um médico.
+     *
+     * @param doctorId O ID do médico.
+     * @return Os intervalos de atendimento do médico.
+     */
+    List<WorkingHoursModel> findByDoctorId(String doctorId);
+
+    /**
+     * Remove todos os horários de atendimento de um médico.
+     *
+     * @param doctorId O ID do médico.
+     */
+    void deleteByDoctorId(String doctorId);
+}
@@ -33,6 +33,10 @@ class AuthorizationService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return doctorRepository.findByEmail(username);
+        UserDetails doctor = doctorRepository.findByEmail(username);
+        if (doctor == null) {
+            throw new UsernameNotFoundException("Doctor not found: " + username);
+        }
+        return doctor;
     }
 }
@@ -0,0 +1,409 @@
+package br.com.ewerton.servicedoctor.service;
+
+import br.com.ewerton.servicedoctor.dto.AvailableSlotDTO;
+import br.com.ewerton.servicedoctor.dto.ReservationDTO;
+import br.com.ewerton.servicedoctor.dto.WorkingHoursDTO;
+import br.com.ewerton.servicedoctor.model.SlotReservationModel;
+import br.com.ewerton.servicedoctor.model.WorkingHoursModel;
+import br.com.ewerton.servicedoctor.repository.DoctorRepository;
+import br.com.ewerton.servicedoctor.repository.SlotReservationRepository;
+import br.com.ewerton.servicedoctor.repository.WorkingHoursRepository;
+import br.com.ewerton.servicedoctor.service.exceptions.InvalidSlot;
+import br.com.ewerton.servicedoctor.service.exceptions.InvalidWorkingHours;
+import br.com.ewerton.servicedoctor.service.exceptions.ReservationNotFound;
+import br.com.ewerton.servicedoctor.service.exceptions.SlotUnavailable;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço responsável pela disponibilidade dos médicos.
+ * <p>
+ * Mantém em memória um {@link DoctorCalendar} por médico, montado a partir dos horários de atendimento
+ * ({@link WorkingHoursModel}) e das reservas já gravadas ({@link SlotReservationModel}). As consultas de horários
+ * livres são respondidas apenas com o calendário em memória, sem acesso ao banco de dados.
+ * <p>
+ * Os calendários são montados no aquecimento da aplicação e remontados diariamente para avançar o horizonte.
+ * Entre as remontagens, eles são atualizados de forma incremental: cada evento de agendamento marca apenas o
+ * horário reservado e cada alteração de horários de atendimento remonta apenas o calendário do médico alterado.
+ * <p>
+ * A busca pelos primeiros horários livres de uma especialidade faz um k-way merge sobre os calendários dos médicos
+ * da especialidade, cuja lista de IDs fica em um cache local de curta duração.
+ * <p>
+ * A reserva de horários não usa lock global: o horário é disputado com compare-and-set no calendário em memória
+ * (apenas uma requisição por horário chega ao banco em cada instância) e a constraint de exclusão de
+ * "tb_slot_reservation" no PostgreSQL é a fonte de verdade entre instâncias. Cada reserva pertence a um paciente e
+ * pode ser liberada, desfazendo um agendamento que não foi concluído.
+ * <p>
+ * Cada alteração de horários de atendimento ou nova reserva é anunciada às outras instâncias pelo
+ * {@link CacheInvalidationBus}, que remontam o calendário do médico a partir do banco de dados.
+ *
+ * @author Ewerton Rodrigues
+ * @version 1.0
+ */
+@Service
+public class AvailabilityService {
+
+    private static final Logger log = LoggerFactory.getLogger(AvailabilityService.class);
+
+    /**
+     * Quantidade máxima de horários retornados em uma consulta.
+     */
+    public static final int MAX_SLOTS = 1000;
+
+    /**
+     * Nome, no {@link CacheInvalidationBus}, dos calendários de disponibilidade em memória.
+     */
+    public static final String CALENDARS_CACHE = "doctor-calendars";
+
+    @Autowired
+    private WorkingHoursRepository workingHoursRepository;
+
+    @Autowired
+    private SlotReservationRepository slotReservationRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Value("${doctor.availability.horizon-days:60}")
+    private int horizonDays;
+
+    @Value("${doctor.availability.specialty-cache-ttl:60s}")
+    private Duration specialtyCacheTtl;
+
+    private final Map<String, DoctorCalendar> calendars = new ConcurrentHashMap<>();
+
+    private LoadingCache<String, List<String>> doctorsBySpecialty;
+
+    /**
+     * Cria o cache com os IDs dos médicos de cada especialidade e registra a remontagem dos calendários alterados
+     * por outras instâncias.
+     */
+    @PostConstruct
+    void init() {
+        doctorsBySpecialty = Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(specialtyCacheTtl)
+                .build(doctorRepository::findIdsBySpecialty);
+        cacheInvalidationBus.subscribe(CALENDARS_CACHE, this::reloadCalendar);
+    }
+
+    /**
+     * Monta os calendários de todos os médicos a partir do dia atual.
+     * Executado no aquecimento da aplicação ({@link WarmUpService}), antes de ela receber tráfego, e diariamente,
+     * para avançar o horizonte.
+     */
+    @Scheduled(cron = "${doctor.availability.rebuild-cron:0 0 0 * * *}")
+    @Transactional(readOnly = true)
+    public void rebuildAll() {
+        LocalDate firstDay = LocalDate.now();
+        Map<String, List<WorkingHoursModel>> hoursByDoctor = workingHoursRepository.findAll().stream()
+                .collect(Collectors.groupingBy(WorkingHoursModel::getDoctorId));
+        Map<String, List<SlotReservationModel>> reservationsByDoctor = slotReservationRepository
+                .findByStartsAtGreaterThanEqualAndStartsAtLessThan(firstDay.atStartOfDay(), firstDay.plusDays(horizonDays).atStartOfDay())
+                .stream()
+                .collect(Collectors.groupingBy(SlotReservationModel::getDoctorId));
+
+        hoursByDoctor.forEach((doctorId, hours) -> calendars.put(doctorId,
+                buildCalendar(doctorId, firstDay, hours, reservationsByDoctor.getOrDefault(doctorId, List.of()))));
+        calendars.keySet().retainAll(hoursByDoctor.keySet());
+    }
+
+    /**
+     * Retorna os horários de atendimento de um médico.
+     *
+     * @param doctorId O ID do médico.
+     * @return Os intervalos de atendimento do médico.
+     */
+    @Transactional(readOnly = true)
+    public List<WorkingHoursDTO> findWorkingHours(String doctorId) {
+        return workingHoursRepository.findByDoctorId(doctorId).stream()
+                .map(hours -> new WorkingHoursDTO(hours.getDayOfWeek(), hours.getStartTime(), hours.getEndTime()))
+                .toList();
+    }
+
+    /**
+     * Substitui os horários de atendimento de um médico e remonta apenas o calendário desse médico.
+     *
+     * @param doctorId     O ID do médico.
+     * @param workingHours Os novos intervalos de atendimento.
+     * @return Os intervalos de atendimento gravados.
+     * @throws InvalidWorkingHours Se algum intervalo terminar antes ou no mesmo horário em que inicia.
+     */
+    @Transactional
+    public List<WorkingHoursDTO> replaceWorkingHours(String doctorId, List<WorkingHoursDTO> workingHours) {
+        for (WorkingHoursDTO hours : workingHours) {
+            if (!hours.endTime().equals(LocalTime.MIDNIGHT) && !hours.endTime().isAfter(hours.startTime())) {
+                throw new InvalidWorkingHours("Working hours must end after they start: " + hours);
+            }
+        }
+
+        workingHoursRepository.deleteByDoctorId(doctorId);
+        List<WorkingHoursModel> saved = workingHoursRepository.saveAll(workingHours.stream()
+                .map(hours -> new WorkingHoursModel(doctorId, hours.dayOfWeek(), hours.startTime(), hours.endTime()))
+                .toList());
+
+        putCalendar(doctorId, saved);
+        cacheInvalidationBus.invalidate(CALENDARS_CACHE, doctorId);
+        return workingHours;
+    }
+
+    /**
+     * Remonta o calendário de um médico a partir do banco de dados, após uma alteração feita por outra instância.
+     * <p>
+     * Uma reserva local ainda não gravada pode não aparecer no calendário remontado; nesse caso a constraint de
+     * exclusão do banco rejeita uma segunda reserva do mesmo horário.
+     *
+     * @param doctorId O ID do médico.
+     */
+    void reloadCalendar(String doctorId) {
+        List<WorkingHoursModel> hours = workingHoursRepository.findByDoctorId(doctorId);
+        if (hours.isEmpty()) {
+            calendars.remove(doctorId);
+        } else {
+            putCalendar(doctorId, hours);
+        }
+    }
+
+    private void putCalendar(String doctorId, List<WorkingHoursModel> hours) {
+        LocalDate firstDay = LocalDate.now();
+        List<SlotReservationModel> reservations = slotReservationRepository.findByDoctorIdAndStartsAtGreaterThanEqualAndStartsAtLessThan(
+                doctorId, firstDay.atStartOfDay(), firstDay.plusDays(horizonDays).atStartOfDay());
+        calendars.put(doctorId, buildCalendar(doctorId, firstDay, hours, reservations));
+    }
+
+    /**
+     * Retorna os horários livres de um médico que iniciam no intervalo informado.
+     *
+     * @param doctorId O ID do médico.
+     * @param from     O início do intervalo (inclusivo).
+     * @param to       O fim do intervalo (exclusivo).
+     * @param limit    A quantidade máxima de horários, limitada a {@link #MAX_SLOTS}.
+     * @return Os horários livres em ordem cronológica; vazio se o médico não tiver horários de atendimento.
+     */
+    public List<AvailableSlotDTO> findFreeSlots(String doctorId, LocalDateTime from, LocalDateTime to, int limit) {
+        DoctorCalendar calendar = calendars.get(doctorId);
+        if (calendar == null) return List.of();
+        return calendar.freeSlots(from, to, Math.min(Math.max(limit, 1), MAX_SLOTS)).stream()
+                .map(startsAt -> toSlotDTO(doctorId, startsAt))
+                .toList();
+    }
+
+    /**
+     * Retorna os primeiros horários livres entre todos os médicos de uma especialidade.
+     * <p>
+     * Faz um k-way merge com uma {@link PriorityQueue}: a fila começa com o primeiro horário livre de cada médico e,
+     * a cada horário retirado, recebe o próximo horário livre do mesmo médico. Assim cada calendário é percorrido
+     * apenas até o ponto necessário para preencher o resultado, e não por inteiro. Empates são desfeitos pelo ID
+     * do médico.
+     *
+     * @param specialty A especialidade.
+     * @param from      O início do intervalo (inclusivo).
+     * @param to        O fim do intervalo (exclusivo).
+     * @param limit     A quantidade máxima de horários, limitada a {@link #MAX_SLOTS}.
+     * @return Os horários livres em ordem cronológica.
+     */
+    public List<AvailableSlotDTO> findEarliestSlots(String specialty, LocalDateTime from, LocalDateTime to, int limit) {
+        int maxSlots = Math.min(Math.max(limit, 1), MAX_SLOTS);
+
+        List<SlotCursor> heads = new ArrayList<>();
+        for (String doctorId : doctorsBySpecialty.get(specialty)) {
+            DoctorCalendar calendar = calendars.get(doctorId);
+            if (calendar == null) continue;
+            int toSlot = calendar.slotAtOrAfter(to);
+            int slot = calendar.nextFreeSlot(calendar.slotAtOrAfter(from), toSlot);
+            if (slot >= 0) heads.add(new SlotCursor(calendar, slot, toSlot));
+        }
+
+        PriorityQueue<SlotCursor> queue = new PriorityQueue<>(heads);
+        List<AvailableSlotDTO> slots = new ArrayList<>(Math.min(maxSlots, heads.size() + 16));
+        while (!queue.isEmpty() && slots.size() < maxSlots) {
+            SlotCursor head = queue.poll();
+            slots.add(toSlotDTO(head.calendar().getDoctorId(), head.calendar().startOf(head.slot())));
+            int next = head.calendar().nextFreeSlot(head.slot() + 1, head.toSlot());
+            if (next >= 0) queue.add(new SlotCursor(head.calendar(), next, head.toSlot()));
+        }
+        return slots;
+    }
+
+    /**
+     * Reserva um horário na agenda de um médico para um paciente.
+     * <p>
+     * O horário é primeiro disputado no calendário em memória com compare-and-set; apenas a requisição vencedora
+     * grava a reserva. Se o banco rejeitar a gravação pela constraint de exclusão (reserva feita por outra instância),
+     * o horário continua ocupado em memória; se a gravação falhar por outro motivo, o horário é devolvido.
+     * <p>
+     * A reserva é idempotente por paciente: se o horário já estiver reservado para o mesmo paciente (por exemplo, em
+     * uma nova tentativa do "service-patient" depois de um timeout), a reserva existente é retornada com
+     * {@code created = false}, para que o chamador não a libere se o seu próprio agendamento for desfeito.
+     *
+     * @param doctorId     O ID do médico.
+     * @param startsAt     O início do horário.
+     * @param patientEmail O email do paciente dono da reserva.
+     * @return A reserva gravada.
+     * @throws InvalidSlot     Se o início não estiver alinhado à duração dos horários.
+     * @throws SlotUnavailable Se o horário não estiver livre.
+     */
+    public ReservationDTO reserve(String doctorId, LocalDateTime startsAt, String patientEmail) {
+        if (startsAt.getMinute() % DoctorCalendar.SLOT_MINUTES != 0 || startsAt.getSecond() != 0 || startsAt.getNano() != 0) {
+            throw new InvalidSlot("Slots start every " + DoctorCalendar.SLOT_MINUTES + " minutes: " + startsAt);
+        }
+        DoctorCalendar calendar = calendars.get(doctorId);
+        if (calendar == null) {
+            throw new SlotUnavailable("Slot not available: " + startsAt);
+        }
+        if (!calendar.tryReserve(startsAt)) {
+            return findOwnReservation(doctorId, startsAt, patientEmail);
+        }
+
+        SlotReservationModel saved;
+        try {
+            saved = slotReservationRepository.saveAndFlush(new SlotReservationModel(doctorId, patientEmail, startsAt,
+                    startsAt.plusMinutes(DoctorCalendar.SLOT_MINUTES)));
+        } catch (DataIntegrityViolationException exception) {
+            return findOwnReservation(doctorId, startsAt, patientEmail);
+        } catch (RuntimeException exception) {
+            calendar.release(startsAt);
+            throw exception;
+        }
+        cacheInvalidationBus.invalidate(CALENDARS_CACHE, doctorId);
+        return toReservationDTO(saved, true);
+    }
+
+    /**
+     * Libera uma reserva de horário, desfazendo um agendamento que não foi concluído ou que foi cancelado.
+     * <p>
+     * O calendário do médico é remontado a partir do banco de dados (e não apenas liberado em memória), para que um
+     * horário fora do expediente não passe a aparecer como livre; as outras instâncias são avisadas pelo
+     * {@link CacheInvalidationBus}.
+     *
+     * @param reservationId O ID da reserva.
+     * @throws ReservationNotFound Se a reserva não existir.
+     */
+    public void release(UUID reservationId) {
+        SlotReservationModel reservation = slotReservationRepository.findById(reservationId)
+                .orElseThrow(() -> new ReservationNotFound("Reservation not found: " + reservationId));
+        slotReservationRepository.delete(reservation);
+        reloadCalendar(reservation.getDoctorId());
+        cacheInvalidationBus.invalidate(CALENDARS_CACHE, reservation.getDoctorId());
+    }
+
+    /**
+     * Registra a reserva de um horário recebida de um evento de agendamento.
+     * <p>
+     * O horário é marcado como ocupado no calendário em memória, sem remontá-lo. Os agendamentos feitos pelo
+     * "service-patient" já chegam com a reserva gravada por {@link #reserve(String, LocalDateTime, String)}, que é
+     * apenas confirmada; agendamentos sem reserva têm a reserva gravada aqui. Como a fila de agendamentos é
+     * compartilhada, apenas uma instância recebe cada evento; as demais são avisadas pelo {@link CacheInvalidationBus}.
+     * <p>
+     * O agendamento só é considerado gravado na primeira entrega do evento: uma entrega repetida encontra a reserva já
+     * confirmada, e um horário reservado por outro paciente é um conflito, apenas registrado no log.
+     *
+     * @param doctorId     O ID do médico.
+     * @param startsAt     O início do horário reservado.
+     * @param patientEmail O email do paciente agendado.
+     * @return {@code true} se o agendamento foi gravado agora; {@code false} se for uma entrega repetida ou um conflito.
+     */
+    public boolean recordBooking(String doctorId, LocalDateTime startsAt, String patientEmail) {
+        DoctorCalendar calendar = calendars.get(doctorId);
+        if (calendar != null) calendar.markBooked(startsAt);
+        LocalDateTime now = LocalDateTime.now();
+        if (patientEmail != null && slotReservationRepository.confirm(doctorId, startsAt, patientEmail, now) == 1) return true;
+        if (slotReservationRepository.existsByDoctorIdAndStartsAt(doctorId, startsAt)) return false;
+
+        SlotReservationModel reservation = new SlotReservationModel(doctorId, patientEmail, startsAt,
+                startsAt.plusMinutes(DoctorCalendar.SLOT_MINUTES));
+        reservation.setConfirmedAt(now);
+        try {
+            slotReservationRepository.saveAndFlush(reservation);
+        } catch (DataIntegrityViolationException exception) {
+            log.info("Slot already booked: doctor {} at {}", doctorId, startsAt);
+            return false;
+        }
+        cacheInvalidationBus.invalidate(CALENDARS_CACHE, doctorId);
+        return true;
+    }
+
+    /**
+     * Retorna a reserva do horário se ela pertencer ao paciente informado.
+     *
+     * @throws SlotUnavailable Se o horário estiver reservado para outro paciente (ou ocupado por uma reserva sobreposta).
+     */
+    private ReservationDTO findOwnReservation(String doctorId, LocalDateTime startsAt, String patientEmail) {
+        return slotReservationRepository.findByDoctorIdAndStartsAt(doctorId, startsAt)
+                .filter(reservation -> patientEmail.equalsIgnoreCase(reservation.getPatientEmail()))
+                .map(reservation -> toReservationDTO(reservation, false))
+                .orElseThrow(() -> new SlotUnavailable("Slot not available: " + startsAt));
+    }
+
+    /**
+     * Monta o calendário de um médico: libera os horários de atendimento de cada dia do horizonte e marca as reservas.
+     *
+     * @param doctorId     O ID do médico.
+     * @param firstDay     O primeiro dia do horizonte.
+     * @param hours        Os horários de atendimento do médico.
+     * @param reservations As reservas do médico no horizonte.
+     * @return O calendário montado.
+     */
+    DoctorCalendar buildCalendar(String doctorId, LocalDate firstDay, List<WorkingHoursModel> hours, List<SlotReservationModel> reservations) {
+        DoctorCalendar calendar = new DoctorCalendar(doctorId, firstDay, horizonDays);
+        for (int day = 0; day < horizonDays; day++) {
+            LocalDate date = firstDay.plusDays(day);
+            for (WorkingHoursModel interval : hours) {
+                if (interval.getDayOfWeek() == date.getDayOfWeek()) {
+                    calendar.open(date, interval.getStartTime(), interval.getEndTime());
+                }
+            }
+        }
+        reservations.forEach(reservation -> calendar.markBooked(reservation.getStartsAt()));
+        return calendar;
+    }
+
+    private static ReservationDTO toReservationDTO(SlotReservationModel reservation, boolean created) {
+        return new ReservationDTO(reservation.getId(), reservation.getDoctorId(), reservation.getPatientEmail(),
+                reservation.getStartsAt(), reservation.getEndsAt(), created);
+    }
+
+    private static AvailableSlotDTO toSlotDTO(String doctorId, LocalDateTime startsAt) {
+        return new AvailableSlotDTO(doctorId, startsAt, startsAt.plusMinutes(DoctorCalendar.SLOT_MINUTES));
+    }
+
+    /**
+     * Próximo horário livre de um calendário durante o k-way merge, ordenado pelo índice absoluto do horário.
+     */
+    private record SlotCursor(DoctorCalendar calendar, int slot, int toSlot) implements Comparable<SlotCursor> {
+
+        private static final Comparator<SlotCursor> ORDER = Comparator
+                .comparingLong((SlotCursor cursor) -> cursor.calendar().absoluteSlot(cursor.slot()))
+                .thenComparing(cursor -> cursor.calendar().getDoctorId());
+
+        @Override
+        public int compareTo(SlotCursor other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
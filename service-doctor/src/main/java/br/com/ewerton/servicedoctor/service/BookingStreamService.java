@@ -0,0 +1,209 @@
+package br.com.ewerton.servicedoctor.service;
+
+import br.com.ewerton.servicedoctor.configuration.RabbitMQConfig;
+import br.com.ewerton.servicedoctor.dto.BookingEventDTO;
+import br.com.ewerton.servicedoctor.dto.PatientDTO;
+import br.com.ewerton.servicedoctor.repository.DoctorRepository;
+import br.com.ewerton.servicedoctor.service.exceptions.DoctorNotFound;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serviço responsável pelo envio dos novos agendamentos aos médicos em tempo real, por Server-Sent Events.
+ * <p>
+ * Cada médico autenticado abre um stream ({@link #subscribe(String)}) e recebe um evento {@code booking} para cada
+ * agendamento gravado pelo {@code PatientSchedulesCreatedListener}, sem precisar consultar a agenda periodicamente.
+ * Como o médico pode estar conectado a qualquer réplica, o agendamento é distribuído ({@link #broadcast(PatientDTO)})
+ * pela exchange fanout {@value RabbitMQConfig#BOOKING_STREAM_EXCHANGE}, e cada réplica o envia às suas próprias
+ * conexões ({@link #publish(PatientDTO)}).
+ * Uma conexão ociosa não ocupa thread: o {@link SseEmitter} mantém a requisição em modo assíncrono, e o envio é feito
+ * por virtual threads criadas apenas enquanto há eventos para a conexão.
+ * <p>
+ * Cada conexão tem um buffer limitado ({@link BookingSubscriber}); o listener nunca espera por um cliente lento, e a
+ * memória por conexão é limitada a "buffer-size" eventos. Um heartbeat periódico mantém as conexões abertas em
+ * proxies e remove as conexões de clientes desconectados.
+ * <p>
+ * Métricas: "booking.stream.subscribers" (conexões abertas) e "booking.stream.dropped" (eventos descartados).
+ *
+ * @author Ewerton Rodrigues
+ * @version 1.0
+ */
+@Service
+public class BookingStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingStreamService.class);
+
+    private final Map<String, Set<BookingSubscriber>> subscribers = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    /**
+     * Quantidade máxima de agendamentos aguardando envio em cada conexão.
+     */
+    @Value("${doctor.booking-stream.buffer-size:32}")
+    private int bufferSize;
+
+    /**
+     * Tempo máximo de uma conexão; o cliente reconecta automaticamente (EventSource) ao fim dele.
+     */
+    @Value("${doctor.booking-stream.timeout:30m}")
+    private Duration timeout;
+
+    private Counter dropped;
+
+    /**
+     * Registra as métricas do stream.
+     */
+    @PostConstruct
+    void init() {
+        Gauge.builder("booking.stream.subscribers", this, BookingStreamService::subscriberCount).register(meterRegistry);
+        dropped = Counter.builder("booking.stream.dropped").register(meterRegistry);
+    }
+
+    /**
+     * Encerra as tarefas de envio pendentes.
+     */
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Abre o stream de agendamentos do médico autenticado.
+     *
+     * @param email O e-mail do médico autenticado.
+     * @return O emitter da conexão.
+     * @throws DoctorNotFound Se não houver médico com o e-mail informado.
+     */
+    public SseEmitter subscribe(String email) {
+        String doctorId = doctorRepository.findIdByEmail(email).orElseThrow(() -> new DoctorNotFound("Doctor not found"));
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        BookingSubscriber subscriber = register(doctorId, (event, data) -> send(emitter, event, data));
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(error -> unregister(subscriber));
+        // Envia os cabeçalhos de imediato, confirmando a conexão ao cliente
+        subscriber.heartbeat();
+        return emitter;
+    }
+
+    /**
+     * Distribui um agendamento gravado a todas as réplicas, que o enviam às conexões do médico.
+     * <p>
+     * O envio em tempo real é um complemento da agenda: se a publicação falhar, o agendamento continua gravado e
+     * a falha é apenas registrada no log.
+     *
+     * @param booking O agendamento gravado.
+     */
+    public void broadcast(PatientDTO booking) {
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.BOOKING_STREAM_EXCHANGE, "", booking);
+        } catch (AmqpException exception) {
+            log.warn("Could not broadcast booking of doctor {} at {}", booking.doctorId(), booking.scheduledAt(), exception);
+        }
+    }
+
+    /**
+     * Envia um novo agendamento às conexões do médico abertas nesta réplica, sem bloquear.
+     *
+     * @param booking O agendamento recebido.
+     */
+    public void publish(PatientDTO booking) {
+        Set<BookingSubscriber> doctorSubscribers = subscribers.get(booking.doctorId());
+        if (doctorSubscribers == null) return;
+        BookingEventDTO event = new BookingEventDTO(booking.doctorId(), booking.scheduledAt(), booking.name(),
+                booking.phone(), booking.email());
+        for (BookingSubscriber subscriber : doctorSubscribers) {
+            int discarded = subscriber.offer(event);
+            if (discarded > 0) dropped.increment(discarded);
+        }
+    }
+
+    /**
+     * Envia um heartbeat a todas as conexões.
+     */
+    @Scheduled(fixedDelayString = "${doctor.booking-stream.heartbeat-interval:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(doctorSubscribers -> doctorSubscribers.forEach(BookingSubscriber::heartbeat));
+    }
+
+    /**
+     * Registra uma conexão de um médico.
+     *
+     * @param doctorId O ID do médico.
+     * @param sink     O destino dos eventos da conexão.
+     * @return A conexão registrada.
+     */
+    BookingSubscriber register(String doctorId, BookingSubscriber.Sink sink) {
+        BookingSubscriber subscriber = new BookingSubscriber(doctorId, sink, bufferSize, executor, this::unregister);
+        subscribers.compute(doctorId, (id, doctorSubscribers) -> {
+            Set<BookingSubscriber> current = doctorSubscribers == null ? ConcurrentHashMap.newKeySet() : doctorSubscribers;
+            current.add(subscriber);
+            return current;
+        });
+        return subscriber;
+    }
+
+    /**
+     * Remove uma conexão; o médico deixa de ser mapeado quando a sua última conexão é removida.
+     *
+     * @param subscriber A conexão.
+     */
+    void unregister(BookingSubscriber subscriber) {
+        subscriber.close();
+        subscribers.computeIfPresent(subscriber.doctorId(), (id, doctorSubscribers) -> {
+            doctorSubscribers.remove(subscriber);
+            return doctorSubscribers.isEmpty() ? null : doctorSubscribers;
+        });
+    }
+
+    /**
+     * Retorna a quantidade de conexões abertas.
+     *
+     * @return A quantidade de conexões.
+     */
+    int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * Envia um evento pelo emitter. Os heartbeats são enviados como comentários SSE, ignorados pelo EventSource.
+     */
+    private static void send(SseEmitter emitter, String event, Object data) throws IOException {
+        if (BookingSubscriber.HEARTBEAT_EVENT.equals(event)) {
+            emitter.send(SseEmitter.event().comment(event));
+        } else {
+            emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+        }
+    }
+}
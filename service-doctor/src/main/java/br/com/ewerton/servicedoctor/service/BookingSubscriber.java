@@ -0,0 +1,168 @@
+package br.com.ewerton.servicedoctor.service;
+
+import br.com.ewerton.servicedoctor.dto.BookingEventDTO;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Conexão de um médico ao stream de agendamentos, com um buffer próprio e limitado.
+ * <p>
+ * Quem publica ({@link #offer(BookingEventDTO)}) nunca espera pelo cliente: o evento entra no buffer e o envio é feito
+ * por uma tarefa no {@link Executor} informado, no máximo uma por vez para cada conexão. Um cliente lento só segura a
+ * sua própria tarefa. Com o buffer cheio, o evento mais antigo é descartado; os descartes são acumulados e enviados
+ * ao cliente em um único evento {@value #DROPPED_EVENT}, para que ele recarregue a agenda.
+ * <p>
+ * Se um envio falhar (cliente desconectado), a conexão é fechada e {@code onClose} é chamado.
+ *
+ * @author Ewerton Rodrigues
+ * @version 1.0
+ */
+final class BookingSubscriber {
+
+    /**
+     * Nome do evento de um novo agendamento.
+     */
+    static final String BOOKING_EVENT = "booking";
+
+    /**
+     * Nome do evento que informa quantos agendamentos foram descartados por falta de espaço no buffer.
+     */
+    static final String DROPPED_EVENT = "dropped";
+
+    /**
+     * Nome do evento de heartbeat, que mantém a conexão aberta em proxies e detecta clientes desconectados.
+     */
+    static final String HEARTBEAT_EVENT = "heartbeat";
+
+    /**
+     * Destino dos eventos de uma conexão.
+     */
+    @FunctionalInterface
+    interface Sink {
+
+        void send(String event, Object data) throws IOException;
+    }
+
+    private final String doctorId;
+
+    private final Sink sink;
+
+    private final Executor executor;
+
+    private final Consumer<BookingSubscriber> onClose;
+
+    private final BlockingQueue<BookingEventDTO> buffer;
+
+    private final AtomicInteger dropped = new AtomicInteger();
+
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private volatile boolean heartbeatDue;
+
+    private volatile boolean closed;
+
+    /**
+     * Cria a conexão.
+     *
+     * @param doctorId   O ID do médico.
+     * @param sink       O destino dos eventos.
+     * @param bufferSize A quantidade máxima de agendamentos aguardando envio.
+     * @param executor   O executor das tarefas de envio.
+     * @param onClose    Chamado quando a conexão é fechada por falha no envio.
+     */
+    BookingSubscriber(String doctorId, Sink sink, int bufferSize, Executor executor, Consumer<BookingSubscriber> onClose) {
+        this.doctorId = doctorId;
+        this.sink = sink;
+        this.executor = executor;
+        this.onClose = onClose;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    String doctorId() {
+        return doctorId;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Coloca um agendamento no buffer, sem bloquear, descartando o mais antigo se o buffer estiver cheio.
+     *
+     * @param event O agendamento.
+     * @return A quantidade de agendamentos descartados para abrir espaço.
+     */
+    int offer(BookingEventDTO event) {
+        if (closed) return 0;
+        int discarded = 0;
+        while (!buffer.offer(event)) {
+            if (buffer.poll() != null) {
+                dropped.incrementAndGet();
+                discarded++;
+            }
+        }
+        scheduleDrain();
+        return discarded;
+    }
+
+    /**
+     * Agenda o envio de um heartbeat.
+     */
+    void heartbeat() {
+        heartbeatDue = true;
+        scheduleDrain();
+    }
+
+    /**
+     * Fecha a conexão, descartando os eventos pendentes.
+     */
+    void close() {
+        closed = true;
+        buffer.clear();
+    }
+
+    private void scheduleDrain() {
+        if (!closed && draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Envia os eventos pendentes. Eventos que chegam enquanto a tarefa termina são enviados pela mesma tarefa.
+     */
+    private void drain() {
+        try {
+            do {
+                sendPending();
+                draining.set(false);
+            } while (hasPending() && draining.compareAndSet(false, true));
+        } catch (IOException | RuntimeException e) {
+            close();
+            onClose.accept(this);
+        }
+    }
+
+    private void sendPending() throws IOException {
+        while (!closed) {
+            int lost = dropped.getAndSet(0);
+            if (lost > 0) sink.send(DROPPED_EVENT, lost);
+            BookingEventDTO event = buffer.poll();
+            if (event == null) break;
+            sink.send(BOOKING_EVENT, event);
+        }
+        if (heartbeatDue && !closed) {
+            heartbeatDue = false;
+            sink.send(HEARTBEAT_EVENT, "");
+        }
+    }
+
+    private boolean hasPending() {
+        return !closed && (!buffer.isEmpty() || dropped.get() > 0 || heartbeatDue);
+    }
+}
@@ -0,0 +1,233 @@
+package br.com.ewerton.servicedoctor.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Calendário de disponibilidade de um médico em memória.
+ * <p>
+ * O horizonte do calendário (a partir de {@code firstDay}) é dividido em horários de {@value #SLOT_MINUTES} minutos,
+ * cada um representado por um bit: 1 indica horário livre, 0 indica fora do expediente ou reservado. Um dia ocupa
+ * {@value #SLOTS_PER_DAY} bits, então um horizonte de 60 dias cabe em 90 longs. A busca por horários livres percorre
+ * as palavras de 64 bits com {@link Long#numberOfTrailingZeros(long)}, pulando de uma vez os trechos sem horário livre.
+ * <p>
+ * Os bits ficam em um {@link AtomicLongArray}, então leituras e reservas concorrentes não precisam de lock:
+ * {@link #tryReserve(LocalDateTime)} faz um compare-and-set na palavra do horário, e apenas uma das threads que
+ * disputam o mesmo horário consegue limpar o bit.
+ */
+final class DoctorCalendar {
+
+    /**
+     * Duração de cada horário, em minutos.
+     */
+    static final int SLOT_MINUTES = 15;
+
+    /**
+     * Quantidade de horários em um dia.
+     */
+    static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    private static final int SLOT_SECONDS = SLOT_MINUTES * 60;
+
+    private final String doctorId;
+
+    private final LocalDate firstDay;
+
+    private final int slotCount;
+
+    private final AtomicLongArray freeSlots;
+
+    /**
+     * Cria um calendário sem nenhum horário livre.
+     *
+     * @param doctorId O ID do médico.
+     * @param firstDay O primeiro dia do horizonte.
+     * @param days     A quantidade de dias do horizonte.
+     */
+    DoctorCalendar(String doctorId, LocalDate firstDay, int days) {
+        this.doctorId = doctorId;
+        this.firstDay = firstDay;
+        this.slotCount = days * SLOTS_PER_DAY;
+        this.freeSlots = new AtomicLongArray((slotCount + 63) >>> 6);
+    }
+
+    String getDoctorId() {
+        return doctorId;
+    }
+
+    LocalDate getFirstDay() {
+        return firstDay;
+    }
+
+    int getSlotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Libera os horários que cabem inteiros no intervalo de atendimento do dia informado.
+     *
+     * @param day   O dia.
+     * @param start O início do atendimento (inclusivo).
+     * @param end   O fim do atendimento (exclusivo); 00:00 representa o fim do dia.
+     */
+    void open(LocalDate day, LocalTime start, LocalTime end) {
+        long dayIndex = ChronoUnit.DAYS.between(firstDay, day);
+        if (dayIndex < 0 || dayIndex * SLOTS_PER_DAY >= slotCount) return;
+
+        int dayOffset = (int) dayIndex * SLOTS_PER_DAY;
+        int fromSlot = Math.ceilDiv(start.toSecondOfDay(), SLOT_SECONDS);
+        int toSlot = end.equals(LocalTime.MIDNIGHT) ? SLOTS_PER_DAY : end.toSecondOfDay() / SLOT_SECONDS;
+        for (int slot = dayOffset + fromSlot; slot < dayOffset + toSlot; slot++) {
+            long mask = 1L << slot;
+            freeSlots.getAndAccumulate(slot >>> 6, mask, (word, bit) -> word | bit);
+        }
+    }
+
+    /**
+     * Marca como reservado o horário que contém o instante informado. Instantes fora do horizonte são ignorados.
+     *
+     * @param time O instante do horário reservado.
+     */
+    void markBooked(LocalDateTime time) {
+        int slot = slotContaining(time);
+        if (slot < 0) return;
+        long mask = 1L << slot;
+        freeSlots.getAndAccumulate(slot >>> 6, mask, (word, bit) -> word & ~bit);
+    }
+
+    /**
+     * Tenta reservar o horário que inicia no instante informado com compare-and-set.
+     * <p>
+     * Threads disputando horários diferentes da mesma palavra apenas repetem o CAS; threads disputando o mesmo
+     * horário têm exatamente uma vencedora.
+     *
+     * @param time O início do horário.
+     * @return {@code true} se o horário estava livre e foi reservado por esta chamada.
+     */
+    boolean tryReserve(LocalDateTime time) {
+        int slot = slotContaining(time);
+        if (slot < 0) return false;
+        int wordIndex = slot >>> 6;
+        long mask = 1L << slot;
+        while (true) {
+            long word = freeSlots.get(wordIndex);
+            if ((word & mask) == 0) return false;
+            if (freeSlots.compareAndSet(wordIndex, word, word & ~mask)) return true;
+        }
+    }
+
+    /**
+     * Devolve à agenda um horário reservado por {@link #tryReserve(LocalDateTime)} cuja gravação falhou.
+     *
+     * @param time O início do horário.
+     */
+    void release(LocalDateTime time) {
+        int slot = slotContaining(time);
+        if (slot < 0) return;
+        long mask = 1L << slot;
+        freeSlots.getAndAccumulate(slot >>> 6, mask, (word, bit) -> word | bit);
+    }
+
+    /**
+     * Verifica se o horário que contém o instante informado está livre.
+     *
+     * @param time O instante.
+     * @return {@code true} se o horário estiver livre.
+     */
+    boolean isFree(LocalDateTime time) {
+        int slot = slotContaining(time);
+        return slot >= 0 && (freeSlots.get(slot >>> 6) & (1L << slot)) != 0;
+    }
+
+    /**
+     * Retorna os horários livres que iniciam no intervalo informado.
+     *
+     * @param from  O início do intervalo (inclusivo).
+     * @param to    O fim do intervalo (exclusivo).
+     * @param limit A quantidade máxima de horários.
+     * @return O início de cada horário livre, em ordem cronológica.
+     */
+    List<LocalDateTime> freeSlots(LocalDateTime from, LocalDateTime to, int limit) {
+        List<LocalDateTime> slots = new ArrayList<>();
+        int toSlot = slotAtOrAfter(to);
+        int slot = nextFreeSlot(slotAtOrAfter(from), toSlot);
+        while (slot >= 0 && slots.size() < limit) {
+            slots.add(startOf(slot));
+            slot = nextFreeSlot(slot + 1, toSlot);
+        }
+        return slots;
+    }
+
+    /**
+     * Encontra o primeiro horário livre no intervalo de índices informado.
+     *
+     * @param fromSlot O índice inicial (inclusivo).
+     * @param toSlot   O índice final (exclusivo).
+     * @return O índice do horário livre, ou -1 se não houver.
+     */
+    int nextFreeSlot(int fromSlot, int toSlot) {
+        int end = Math.min(toSlot, slotCount);
+        int slot = Math.max(fromSlot, 0);
+        while (slot < end) {
+            int wordIndex = slot >>> 6;
+            long word = freeSlots.get(wordIndex) & (-1L << slot);
+            if (word != 0) {
+                int found = (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+                return found < end ? found : -1;
+            }
+            slot = (wordIndex + 1) << 6;
+        }
+        return -1;
+    }
+
+    /**
+     * Converte o índice de um horário no seu instante de início.
+     *
+     * @param slot O índice do horário.
+     * @return O início do horário.
+     */
+    LocalDateTime startOf(int slot) {
+        return firstDay.atStartOfDay().plusMinutes((long) slot * SLOT_MINUTES);
+    }
+
+    /**
+     * Converte o índice de um horário em um índice absoluto (contado desde 1970-01-01), comparável entre
+     * calendários montados em dias diferentes.
+     *
+     * @param slot O índice do horário neste calendário.
+     * @return O índice absoluto do horário.
+     */
+    long absoluteSlot(int slot) {
+        return firstDay.toEpochDay() * SLOTS_PER_DAY + slot;
+    }
+
+    /**
+     * Retorna o índice do primeiro horário que inicia no instante informado ou depois dele, limitado ao horizonte.
+     *
+     * @param time O instante.
+     * @return O índice do horário, entre 0 e a quantidade de horários do horizonte.
+     */
+    int slotAtOrAfter(LocalDateTime time) {
+        long seconds = ChronoUnit.SECONDS.between(firstDay.atStartOfDay(), time);
+        if (seconds <= 0) return 0;
+        return (int) Math.min(Math.ceilDiv(seconds, SLOT_SECONDS), slotCount);
+    }
+
+    /**
+     * Retorna o índice do horário que contém o instante informado.
+     *
+     * @param time O instante.
+     * @return O índice do horário, ou -1 se o instante estiver fora do horizonte.
+     */
+    private int slotContaining(LocalDateTime time) {
+        long seconds = ChronoUnit.SECONDS.between(firstDay.atStartOfDay(), time);
+        if (seconds < 0) return -1;
+        long slot = seconds / SLOT_SECONDS;
+        return slot < slotCount ? (int) slot : -1;
+    }
+}
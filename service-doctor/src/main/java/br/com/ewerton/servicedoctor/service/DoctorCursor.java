@@ -0,0 +1,46 @@
+package br.com.ewerton.servicedoctor.service;
+
+import br.com.ewerton.servicedoctor.service.exceptions.InvalidCursor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codifica e decodifica o cursor opaco usado na paginação por keyset do diretório de médicos.
+ * <p>
+ * O cursor carrega o ID do último médico entregue; a próxima página começa no primeiro ID maior que ele,
+ * aproveitando os índices de "tb_doctor" que terminam no ID.
+ *
+ * @author Ewerton Rodrigues
+ * @version 1.0
+ */
+final class DoctorCursor {
+
+    private DoctorCursor() {
+    }
+
+    /**
+     * Gera o cursor a partir do ID do último médico da página.
+     *
+     * @param lastId O ID do último médico retornado.
+     * @return O cursor codificado em Base64 (URL safe).
+     */
+    static String encode(String lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(lastId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Recupera o ID contido no cursor.
+     *
+     * @param cursor O cursor recebido do cliente.
+     * @return O ID do último médico da página anterior.
+     * @throws InvalidCursor Se o cursor não puder ser decodificado.
+     */
+    static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidCursor("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -1,18 +1,30 @@
 package br.com.ewerton.servicedoctor.service;
 
+import br.com.ewerton.servicedoctor.dto.DoctorPageDTO;
+import br.com.ewerton.servicedoctor.dto.DoctorSummaryDTO;
 import br.com.ewerton.servicedoctor.model.DoctorModel;
 import br.com.ewerton.servicedoctor.repository.DoctorRepository;
 import br.com.ewerton.servicedoctor.service.exceptions.DoctorNotFound;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 /**
  * Serviço responsável pela gestão dos dados dos médicos.
  * Contém métodos para consultar médicos e realizar operações no banco de dados relacionados à entidade {@link DoctorModel}.
+ * As consultas retornam a projeção {@link DoctorSummaryDTO}, sem carregar as entidades.
+ * <p>
+ * Quando outra réplica altera um médico, a entidade e as consultas do diretório em cache nesta réplica são
+ * descartadas (ver {@link CacheInvalidationBus}).
  *
  * @author Ewerton Rodrigues
  * @version 1.0
@@ -20,43 +32,111 @@ import java.util.UUID;
 @Service
 public class DoctorService {
 
+    /**
+     * Nome lógico, no {@link CacheInvalidationBus}, dos médicos no cache de segundo nível do Hibernate.
+     */
+    public static final String DOCTORS_CACHE = "doctors";
+
+    /**
+     * Tamanho de página usado quando o cliente não informa um valor válido.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    /**
+     * Tamanho máximo de página aceito no diretório de médicos.
+     */
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * Início do keyset da primeira página: todo ID é maior que a string vazia.
+     */
+    static final String FIRST_PAGE = "";
+
     /**
      * Repositório utilizado para acessar e manipular os dados dos médicos no banco de dados.
      */
     @Autowired
     private DoctorRepository doctorRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    /**
+     * Registra a remoção, no cache de segundo nível desta réplica, dos médicos alterados por outras réplicas.
+     */
+    @PostConstruct
+    void init() {
+        cacheInvalidationBus.subscribe(DOCTORS_CACHE, this::evictDoctor);
+    }
+
     /**
-     * Retorna todos os médicos registrados no banco de dados.
-     * Caso não haja médicos cadastrados, uma exceção {@link DoctorNotFound} será lançada.
+     * Remove um médico e todas as consultas do diretório do cache de segundo nível do Hibernate.
+     * As consultas são descartadas por inteiro porque qualquer página pode conter o médico alterado.
      *
-     * @return Uma lista de médicos registrados.
-     * @throws DoctorNotFound Se não houver médicos registrados no banco de dados.
+     * @param id O ID do médico.
      */
-    public List<DoctorModel> allDoctor() {
-        if (doctorRepository.count() != 0) {
-            return doctorRepository.findAll();
+    void evictDoctor(String id) {
+        entityManagerFactory.getCache().evict(DoctorModel.class, id);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(DoctorRepository.DIRECTORY_CACHE_REGION);
+    }
+
+    /**
+     * Retorna uma página do diretório de médicos, com filtros opcionais por especialidade e clínica.
+     * <p>
+     * A paginação é por keyset sobre o ID e executa uma única consulta por página: é buscado um registro a mais
+     * que o tamanho da página para saber se existe uma próxima página, sem {@code count()}. Cada combinação de filtros
+     * tem a sua consulta, e a especialidade é comparada sem diferenciar maiúsculas e minúsculas.
+     *
+     * @param specialty A especialidade, ou {@code null} para todas.
+     * @param clinic    A clínica, ou {@code null} para todas.
+     * @param cursor    O cursor opaco devolvido pela página anterior, ou {@code null} para a primeira página.
+     * @param size      O tamanho da página, limitado a {@link #MAX_PAGE_SIZE}.
+     * @param fields    Os campos a retornar (ver {@link DoctorSummaryDTO#select(Set)}), ou vazio para todos.
+     * @return A página de médicos e o cursor da próxima página.
+     */
+    @Transactional(readOnly = true)
+    public DoctorPageDTO pageDoctors(String specialty, String clinic, String cursor, int size, Set<String> fields) {
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        String afterId = cursor == null || cursor.isBlank() ? FIRST_PAGE : DoctorCursor.decode(cursor);
+        Limit limit = Limit.of(pageSize + 1);
+        boolean bySpecialty = specialty != null && !specialty.isBlank();
+        boolean byClinic = clinic != null && !clinic.isBlank();
+
+        List<DoctorSummaryDTO> doctors;
+        if (bySpecialty && byClinic) {
+            doctors = doctorRepository.findDirectoryPageBySpecialtyAndClinic(specialty, clinic, afterId, limit);
+        } else if (bySpecialty) {
+            doctors = doctorRepository.findDirectoryPageBySpecialty(specialty, afterId, limit);
+        } else if (byClinic) {
+            doctors = doctorRepository.findDirectoryPageByClinic(clinic, afterId, limit);
         } else {
-            throw new DoctorNotFound("Doctor not found");
+            doctors = doctorRepository.findDirectoryPage(afterId, limit);
         }
+
+        boolean hasNext = doctors.size() > pageSize;
+        List<DoctorSummaryDTO> page = hasNext ? doctors.subList(0, pageSize) : doctors;
+        String nextCursor = hasNext ? DoctorCursor.encode(page.get(page.size() - 1).id()) : null;
+        return new DoctorPageDTO(page.stream().map(doctor -> doctor.select(fields)).toList(), nextCursor);
     }
 
     /**
-     * Encontra um médico pelo seu identificador único (UUID).
+     * Encontra um médico pelo seu identificador único (UUID), com uma única consulta.
      * Caso o médico não seja encontrado, uma exceção {@link DoctorNotFound} será lançada.
      *
-     * @param id O identificador único (UUID) do médico.
-     * @return Um {@link Optional} contendo o médico encontrado ou vazio se não encontrado.
+     * @param id     O identificador único (UUID) do médico.
+     * @param fields Os campos a retornar (ver {@link DoctorSummaryDTO#select(Set)}), ou vazio para todos.
+     * @return Um {@link Optional} contendo o médico encontrado.
      * @throws DoctorNotFound Se o médico não for encontrado.
      */
-    public Optional<DoctorModel> findDoctorById(UUID id) {
-        if (doctorRepository.count() != 0) {
-            Optional<DoctorModel> doctor = doctorRepository.findById(id);
-            if (doctor.isPresent()) {
-                return doctor;
-            }
+    @Transactional(readOnly = true)
+    public Optional<DoctorSummaryDTO> findDoctorById(UUID id, Set<String> fields) {
+        Optional<DoctorSummaryDTO> doctor = doctorRepository.findSummaryById(id.toString());
+        if (doctor.isEmpty()) {
+            throw new DoctorNotFound("Doctor not found");
         }
-        throw new DoctorNotFound("Doctor not found");
+        return doctor.map(summary -> summary.select(fields));
     }
-
 }
@@ -0,0 +1,192 @@
+package br.com.ewerton.servicedoctor.service;
+
+import br.com.ewerton.servicedoctor.configuration.security.TokenService;
+import br.com.ewerton.servicedoctor.dto.DoctorPageDTO;
+import br.com.ewerton.servicedoctor.dto.DoctorSummaryDTO;
+import br.com.ewerton.servicedoctor.model.DoctorModel;
+import br.com.ewerton.servicedoctor.model.DoctorRole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Serviço responsável pelo aquecimento (warm-up) da aplicação antes de ela receber tráfego.
+ * <p>
+ * Uma instância recém-iniciada atenderia as primeiras requisições com caches vazios e código ainda interpretado pela
+ * JVM, gerando picos de latência a cada deploy. O aquecimento roda de forma síncrona no {@link ApplicationReadyEvent}:
+ * o Spring Boot só publica o estado de prontidão ACCEPTING_TRAFFIC (e o probe "/actuator/health/readiness" só fica
+ * UP) depois que todos os ouvintes desse evento terminam.
+ * <p>
+ * O aquecimento monta os calendários de disponibilidade, percorre o diretório de médicos (preenchendo o cache de
+ * segundo nível do Hibernate), consulta os primeiros horários livres de cada especialidade, assina e verifica tokens
+ * pelo {@link TokenService} e chama os endpoints mais usados pela própria porta HTTP. Os tokens do aquecimento nunca
+ * saem do processo nem viram uma autenticação: as chamadas HTTP são anônimas, para que nenhum principal sem conta no
+ * banco passe pelo filtro de segurança. Falhas em uma etapa (incluindo a montagem dos calendários) são registradas e
+ * não impedem as demais nem a entrada da instância em produção.
+ *
+ * @author Ewerton Rodrigues
+ * @version 1.0
+ */
+@Service
+public class WarmUpService {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmUpService.class);
+
+    /**
+     * Domínio dos e-mails dos médicos fictícios dos tokens do aquecimento, que não existe fora do processo.
+     */
+    static final String WARM_UP_EMAIL_DOMAIN = "warm-up.invalid";
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private DoctorService doctorService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private RestClient.Builder restClientBuilder;
+
+    @Value("${doctor.warm-up.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Quantidade máxima de páginas do diretório percorridas no aquecimento.
+     */
+    @Value("${doctor.warm-up.directory-pages:20}")
+    private int directoryPages;
+
+    /**
+     * Quantidade de vezes que cada caminho quente é executado.
+     */
+    @Value("${doctor.warm-up.iterations:200}")
+    private int iterations;
+
+    /**
+     * Executa o aquecimento quando a aplicação fica pronta, antes de ela ser marcada como pronta para receber tráfego.
+     *
+     * @param event O evento de aplicação pronta.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        long start = System.nanoTime();
+        run("availability-rebuild", availabilityService::rebuildAll);
+        if (!enabled) return;
+        Set<String> specialties = run("directory", this::warmDirectory, Set.of());
+        run("availability", () -> warmAvailability(specialties));
+        run("tokens", this::warmTokens);
+        if (event.getApplicationContext() instanceof WebServerApplicationContext context) {
+            run("endpoints", () -> warmEndpoints(context.getWebServer().getPort(), specialties));
+        }
+        log.info("Warm-up finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Percorre as primeiras páginas do diretório de médicos.
+     *
+     * @return As especialidades encontradas.
+     */
+    Set<String> warmDirectory() {
+        Set<String> specialties = new LinkedHashSet<>();
+        String cursor = null;
+        for (int page = 0; page < directoryPages; page++) {
+            DoctorPageDTO doctors = doctorService.pageDoctors(null, null, cursor, DoctorService.MAX_PAGE_SIZE, Set.of());
+            for (DoctorSummaryDTO doctor : doctors.content()) {
+                if (doctor.specialty() != null) specialties.add(doctor.specialty());
+            }
+            cursor = doctors.nextCursor();
+            if (cursor == null) break;
+        }
+        return specialties;
+    }
+
+    /**
+     * Consulta os primeiros horários livres de cada especialidade, carregando o cache de médicos por especialidade.
+     *
+     * @param specialties As especialidades.
+     */
+    void warmAvailability(Set<String> specialties) {
+        LocalDateTime from = LocalDateTime.now();
+        for (String specialty : specialties) {
+            availabilityService.findEarliestSlots(specialty, from, from.plusDays(7), 10);
+        }
+    }
+
+    /**
+     * Assina e verifica tokens distintos, exercitando a assinatura, a verificação e o cache de tokens verificados como
+     * no filtro de segurança, mas sem montar uma autenticação. Os tokens são descartados em seguida.
+     */
+    void warmTokens() {
+        for (int i = 0; i < iterations; i++) {
+            DoctorModel doctor = new DoctorModel("doctor-" + i + "@" + WARM_UP_EMAIL_DOMAIN, null, DoctorRole.USER);
+            doctor.setId("warm-up-" + i);
+            tokenService.decodeToken(tokenService.generateToken(doctor));
+        }
+    }
+
+    /**
+     * Chama os endpoints de leitura mais usados pela porta HTTP local, sem autenticação, aquecendo o Tomcat e a cadeia
+     * de filtros de segurança. As respostas (401/403) são descartadas; os serviços por trás desses endpoints já foram
+     * aquecidos pelas etapas anteriores.
+     *
+     * @param port        A porta HTTP da aplicação.
+     * @param specialties As especialidades usadas na busca de horários livres.
+     */
+    void warmEndpoints(int port, Set<String> specialties) {
+        RestClient client = restClientBuilder
+                .baseUrl("http://localhost:" + port)
+                .build();
+        String specialty = specialties.isEmpty() ? null : specialties.iterator().next();
+        for (int i = 0; i < iterations; i++) {
+            client.get().uri("/doctor-service?size={size}", DoctorService.DEFAULT_PAGE_SIZE)
+                    .retrieve().onStatus(status -> true, (request, response) -> { }).toBodilessEntity();
+            if (specialty != null) {
+                client.get().uri("/doctor-service/availability/earliest?specialty={specialty}", specialty)
+                        .retrieve().onStatus(status -> true, (request, response) -> { }).toBodilessEntity();
+            }
+        }
+    }
+
+    /**
+     * Executa uma etapa do aquecimento, registrando a falha sem propagá-la.
+     *
+     * @param step     O nome da etapa.
+     * @param task     A etapa.
+     * @param fallback O valor retornado em caso de falha.
+     * @return O resultado da etapa, ou {@code fallback} em caso de falha.
+     */
+    private static <T> T run(String step, Supplier<T> task, T fallback) {
+        try {
+            return task.get();
+        } catch (RuntimeException e) {
+            log.warn("Warm-up step '{}' failed: {}", step, e.getMessage());
+            return fallback;
+        }
+    }
+
+    /**
+     * Executa uma etapa do aquecimento sem resultado, registrando a falha sem propagá-la.
+     *
+     * @param step O nome da etapa.
+     * @param task A etapa.
+     */
+    private static void run(String step, Runnable task) {
+        run(step, () -> {
+            task.run();
+            return null;
+        }, null);
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.ewerton.servicedoctor.service.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando a senha informada no cadastro é longa demais para o hash (mais de 72 bytes no BCrypt).
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidPassword extends RuntimeException {
+
+    public InvalidPassword(String msg) {
+        super(msg);
+    }
+}
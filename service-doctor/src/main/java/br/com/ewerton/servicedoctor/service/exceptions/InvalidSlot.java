@@ -0,0 +1,15 @@
+package br.com.ewerton.servicedoctor.service.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando o horário solicitado não está alinhado ao início de um horário da agenda.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidSlot extends RuntimeException {
+
+    public InvalidSlot(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.ewerton.servicedoctor.service.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando um intervalo de atendimento é inválido (término anterior ou igual ao início).
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidWorkingHours extends RuntimeException {
+
+    public InvalidWorkingHours(String msg) {
+        super(msg);
+    }
+}
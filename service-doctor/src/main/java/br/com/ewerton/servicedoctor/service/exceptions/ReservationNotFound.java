@@ -0,0 +1,15 @@
+package br.com.ewerton.servicedoctor.service.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando a reserva de horário informada não existe (ou já foi liberada).
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ReservationNotFound extends RuntimeException {
+
+    public ReservationNotFound(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.ewerton.servicedoctor.service.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando o horário solicitado não está livre na agenda do médico (fora do expediente ou já reservado).
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class SlotUnavailable extends RuntimeException {
+
+    public SlotUnavailable(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,20 @@
+-- Impede reservas sobrepostas do mesmo médico, mesmo entre várias instâncias do serviço.
+-- Executado após o Hibernate criar/atualizar as tabelas (spring.jpa.defer-datasource-initialization).
+-- As instruções são separadas por ";;" (spring.sql.init.separator) por causa do bloco DO.
+CREATE EXTENSION IF NOT EXISTS btree_gist;;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'ex_slot_reservation_overlap') THEN
+        ALTER TABLE tb_slot_reservation
+            ADD CONSTRAINT ex_slot_reservation_overlap
+            EXCLUDE USING gist (doctor_id WITH =, tsrange(starts_at, ends_at) WITH &&);
+    END IF;
+END
+$$;;
+
+-- Índice do diretório de médicos por especialidade, comparada sem diferenciar maiúsculas e minúsculas
+-- (lower(specialty)); substitui o índice "(specialty, id)", que essa comparação não usa.
+DROP INDEX IF EXISTS idx_doctor_specialty_id;;
+
+CREATE INDEX IF NOT EXISTS idx_doctor_specialty_lower_id ON tb_doctor (lower(specialty), id);;
@@ -0,0 +1,123 @@
+package br.com.ewerton.servicedoctor.configuration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para a classe {@link DoctorRetryRecoverer}.
+ * Testa o encaminhamento das mensagens que falharam às filas de retentativa, de estacionamento e de dead-letter.
+ *
+ * @author Ewerton Rodrigues
+ * @version 1.0
+ */
+public class DoctorRetryRecovererTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @InjectMocks
+    private DoctorRetryRecoverer recoverer;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(recoverer, "initialDelay", 1000L);
+        ReflectionTestUtils.setField(recoverer, "multiplier", 5.0);
+        ReflectionTestUtils.setField(recoverer, "maxAttempts", 4);
+        recoverer.init();
+    }
+
+    /**
+     * Testa se a primeira falha envia a mensagem à fila de retentativa de 1s, com a tentativa registrada.
+     */
+    @Test
+    public void testFirstFailureGoesToFirstRetryQueue() {
+        recoverer.recover(message(null), new QueryTimeoutException("timeout"));
+
+        Message sent = captureSent(RabbitMQConfig.DOCTOR_QUEUE + ".retry-1000ms");
+        assertEquals(1, (Integer) sent.getMessageProperties().getHeader(DoctorRetryRecoverer.ATTEMPT_HEADER));
+    }
+
+    /**
+     * Testa se cada nova falha envia a mensagem à fila de retentativa seguinte.
+     */
+    @Test
+    public void testNextFailureGoesToNextRetryQueue() {
+        recoverer.recover(message(2), new QueryTimeoutException("timeout"));
+
+        Message sent = captureSent(RabbitMQConfig.DOCTOR_QUEUE + ".retry-25000ms");
+        assertEquals(3, (Integer) sent.getMessageProperties().getHeader(DoctorRetryRecoverer.ATTEMPT_HEADER));
+    }
+
+    /**
+     * Testa se, esgotadas as tentativas, a mensagem é estacionada com a exceção no cabeçalho.
+     */
+    @Test
+    public void testExhaustedAttemptsGoToParkingLot() {
+        recoverer.recover(message(4), new QueryTimeoutException("timeout"));
+
+        Message sent = captureSent(RabbitMQConfig.PARKING_LOT_QUEUE);
+        String exception = sent.getMessageProperties().getHeader(DoctorRetryRecoverer.EXCEPTION_HEADER);
+        assertTrue(exception.contains("QueryTimeoutException"));
+    }
+
+    /**
+     * Testa se uma mensagem ilegível vai direto para a fila de dead-letter, sem retentativas.
+     */
+    @Test
+    public void testUnreadableMessageGoesToDeadLetter() {
+        Message message = message(null);
+
+        recoverer.recover(message, new ListenerExecutionFailedException("failed",
+                new MessageConversionException("invalid json"), message));
+
+        captureSent(RabbitMQConfig.DEAD_LETTER_QUEUE);
+    }
+
+    /**
+     * Testa se uma mensagem de outra fila volta às filas de retentativa e de estacionamento dessa fila.
+     */
+    @Test
+    public void testFailureIsRoutedByConsumerQueue() {
+        Message message = message(4);
+        message.getMessageProperties().setConsumerQueue(RabbitMQConfig.RESERVATION_RELEASE_QUEUE);
+
+        recoverer.recover(message, new QueryTimeoutException("timeout"));
+
+        captureSent(RabbitMQConfig.RESERVATION_RELEASE_QUEUE + ".parking-lot");
+    }
+
+    private static Message message(Integer attempt) {
+        MessageProperties properties = new MessageProperties();
+        if (attempt != null) properties.setHeader(DoctorRetryRecoverer.ATTEMPT_HEADER, attempt);
+        return new Message("{}".getBytes(StandardCharsets.UTF_8), properties);
+    }
+
+    /**
+     * Verifica se a mensagem foi enviada uma única vez, à fila informada, e a retorna.
+     */
+    private Message captureSent(String queue) {
+        ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate, times(1)).send(eq(""), eq(queue), captor.capture());
+        verifyNoMoreInteractions(rabbitTemplate);
+        return captor.getValue();
+    }
+}
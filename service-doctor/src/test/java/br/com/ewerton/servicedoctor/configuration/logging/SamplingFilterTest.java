@@ -0,0 +1,54 @@
+package br.com.ewerton.servicedoctor.configuration.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SamplingFilterTest {
+
+    private SamplingFilter samplingFilter;
+
+    @BeforeEach
+    public void setUp() {
+        samplingFilter = new SamplingFilter();
+        samplingFilter.setRate(10);
+        samplingFilter.start();
+    }
+
+    /**
+     * Testa se apenas 1 a cada 10 eventos marcados passa pelo filtro.
+     */
+    @Test
+    public void testSampledEventsPassAtConfiguredRate() {
+        long accepted = IntStream.range(0, 1_000)
+                .mapToObj(i -> samplingFilter.decide(event(Level.INFO, true)))
+                .filter(reply -> reply == FilterReply.NEUTRAL)
+                .count();
+
+        assertEquals(100, accepted);
+    }
+
+    /**
+     * Testa se eventos sem a marca e avisos marcados nunca são descartados.
+     */
+    @Test
+    public void testUnmarkedEventsAndWarningsAlwaysPass() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals(FilterReply.NEUTRAL, samplingFilter.decide(event(Level.INFO, false)));
+            assertEquals(FilterReply.NEUTRAL, samplingFilter.decide(event(Level.WARN, true)));
+        }
+    }
+
+    private static LoggingEvent event(Level level, boolean sampled) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLevel(level);
+        if (sampled) event.addMarker(SamplingFilter.SAMPLED);
+        return event;
+    }
+}
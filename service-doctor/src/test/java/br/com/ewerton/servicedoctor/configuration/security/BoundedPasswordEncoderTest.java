@@ -0,0 +1,101 @@
+package br.com.ewerton.servicedoctor.configuration.security;
+
+import br.com.ewerton.servicedoctor.service.exceptions.InvalidPassword;
+import br.com.ewerton.servicedoctor.service.exceptions.PasswordHashingRejected;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para a classe {@link BoundedPasswordEncoder}.
+ * Testa a recusa de senhas maiores que o limite do BCrypt e a rejeição das operações quando o executor está saturado.
+ *
+ * @author Ewerton Rodrigues
+ * @version 1.0
+ */
+public class BoundedPasswordEncoderTest {
+
+    @Mock
+    private PasswordEncoder delegate;
+
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        encoder.destroy();
+    }
+
+    /**
+     * Testa se uma senha com mais de 72 bytes é recusada no cadastro sem chegar ao BCrypt, contando os bytes em UTF-8.
+     */
+    @Test
+    public void testOverLongPasswordIsRejected() {
+        when(delegate.encode(any())).thenReturn("hash");
+
+        assertEquals("hash", encoder.encode("a".repeat(BoundedPasswordEncoder.MAX_PASSWORD_BYTES)));
+        assertThrows(InvalidPassword.class, () -> encoder.encode("a".repeat(BoundedPasswordEncoder.MAX_PASSWORD_BYTES + 1)));
+        // 37 caracteres de 2 bytes: 74 bytes
+        assertThrows(InvalidPassword.class, () -> encoder.encode("é".repeat(37)));
+
+        verify(delegate, times(1)).encode(any());
+    }
+
+    /**
+     * Testa se, no login, uma senha com mais de 72 bytes é tratada como incorreta sem chegar ao BCrypt.
+     */
+    @Test
+    public void testOverLongPasswordDoesNotMatch() {
+        assertFalse(encoder.matches("a".repeat(BoundedPasswordEncoder.MAX_PASSWORD_BYTES + 1), "hash"));
+
+        verifyNoInteractions(delegate);
+    }
+
+    /**
+     * Testa se, com a thread ocupada e a fila cheia, a operação seguinte é rejeitada imediatamente com
+     * {@link PasswordHashingRejected}, e se as operações aceitas terminam normalmente.
+     */
+    @Test
+    public void testSaturatedExecutorRejectsImmediately() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+
+        // A primeira operação ocupa a única thread e a segunda ocupa a única posição da fila
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("first"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(encoder, "executor");
+        for (int i = 0; i < 500 && executor.getQueue().isEmpty(); i++) Thread.sleep(10);
+
+        assertThrows(PasswordHashingRejected.class, () -> encoder.matches("third", "hash"));
+
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+        verify(delegate, never()).matches(any(), any());
+    }
+}
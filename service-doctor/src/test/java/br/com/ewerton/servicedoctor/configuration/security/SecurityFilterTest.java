@@ -0,0 +1,199 @@
+package br.com.ewerton.servicedoctor.configuration.security;
+
+import br.com.ewerton.servicedoctor.model.DoctorModel;
+import br.com.ewerton.servicedoctor.model.DoctorRole;
+import br.com.ewerton.servicedoctor.repository.DoctorRepository;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para a classe {@link SecurityFilter}.
+ * Testa a autenticação montada a partir do token (modo stateless), a autenticação pelo repositório de médicos, a
+ * rejeição de tokens emitidos para outros serviços e a chave de acesso entre serviços.
+ *
+ * @author Ewerton Rodrigues
+ * @version 1.0
+ */
+public class SecurityFilterTest {
+
+    private static final String SERVICE_KEY = "service-key-with-at-least-32-characters";
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @InjectMocks
+    private SecurityFilter securityFilter;
+
+    private TokenService tokenService;
+
+    private DoctorModel admin;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        // Usa o TokenService real, para que a audiência e a assinatura sejam de fato verificadas
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", TokenServiceTest.SECRET);
+        ReflectionTestUtils.setField(tokenService, "cacheSize", 100L);
+        tokenService.init();
+        ReflectionTestUtils.setField(securityFilter, "tokenService", tokenService);
+        ReflectionTestUtils.setField(securityFilter, "stateless", true);
+        ReflectionTestUtils.setField(securityFilter, "serviceKey", SERVICE_KEY);
+
+        admin = new DoctorModel("admin@example.com", "password", DoctorRole.ADMIN);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * Testa se, no modo stateless, a autenticação é montada com o e-mail e as autoridades do token, sem acessar o banco.
+     */
+    @Test
+    public void testStatelessAuthenticationUsesSignedClaims() throws Exception {
+        Authentication authentication = filter(tokenService.generateToken(admin));
+
+        assertNotNull(authentication);
+        assertEquals("admin@example.com", authentication.getName());
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"), authorities(authentication));
+        verifyNoInteractions(doctorRepository);
+    }
+
+    /**
+     * Testa se, com o modo stateless desligado, o médico e as autoridades vêm do repositório, e não do token.
+     */
+    @Test
+    public void testFallbackResolvesDoctorFromRepository() throws Exception {
+        ReflectionTestUtils.setField(securityFilter, "stateless", false);
+        String token = tokenService.generateToken(admin);
+        // O médico deixou de ser administrador depois que o token foi emitido
+        DoctorModel demoted = new DoctorModel("admin@example.com", "password", DoctorRole.USER);
+        when(doctorRepository.findByEmail("admin@example.com")).thenReturn(demoted);
+
+        Authentication authentication = filter(token);
+
+        assertNotNull(authentication);
+        assertSame(demoted, authentication.getPrincipal());
+        assertEquals(List.of("ROLE_USER"), authorities(authentication));
+    }
+
+    /**
+     * Testa se um token sem o claim de autoridades é resolvido pelo repositório, e rejeitado se o médico não existir.
+     */
+    @Test
+    public void testTokenWithoutRolesFallsBackToRepository() throws Exception {
+        String token = JWT.create()
+                .withIssuer("auth-api")
+                .withAudience(TokenService.AUDIENCE)
+                .withSubject("removed@example.com")
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256(TokenServiceTest.SECRET));
+        when(doctorRepository.findByEmail("removed@example.com")).thenReturn(null);
+
+        assertNull(filter(token));
+        verify(doctorRepository, times(1)).findByEmail("removed@example.com");
+    }
+
+    /**
+     * Testa se um token de paciente com papel ADMIN, assinado com a mesma chave, não autentica em nenhum dos modos.
+     */
+    @Test
+    public void testTokenFromPatientServiceIsRejected() throws Exception {
+        String patientToken = JWT.create()
+                .withIssuer("auth-api")
+                .withAudience("service-patient")
+                .withSubject("admin@example.com")
+                .withClaim(TokenService.ROLES_CLAIM, List.of("ROLE_ADMIN", "ROLE_USER"))
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256(TokenServiceTest.SECRET));
+
+        assertNull(filter(patientToken));
+
+        ReflectionTestUtils.setField(securityFilter, "stateless", false);
+        assertNull(filter(patientToken));
+        verifyNoInteractions(doctorRepository);
+    }
+
+    /**
+     * Testa se a chave de acesso entre serviços autentica apenas com a autoridade de serviço, e se uma chave errada
+     * não autentica.
+     */
+    @Test
+    public void testServiceKeyAuthenticatesAsService() throws Exception {
+        Authentication authentication = filterWithServiceKey(SERVICE_KEY);
+
+        assertNotNull(authentication);
+        assertEquals(List.of(SecurityFilter.SERVICE_ROLE), authorities(authentication));
+        assertNull(filterWithServiceKey("wrong-key-with-at-least-32-characters"));
+        verifyNoInteractions(doctorRepository);
+    }
+
+    /**
+     * Testa se a aplicação não inicia com uma chave de acesso entre serviços curta demais.
+     */
+    @Test
+    public void testShortServiceKeyIsRejected() {
+        ReflectionTestUtils.setField(securityFilter, "serviceKey", "short");
+
+        assertThrows(IllegalStateException.class, () -> securityFilter.init());
+    }
+
+    /**
+     * Executa o filtro com a chave de acesso entre serviços informada e retorna a autenticação resultante.
+     */
+    private Authentication filterWithServiceKey(String key) throws ServletException, IOException {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/doctor-service/doctor-1/reservations");
+        request.addHeader(SecurityFilter.SERVICE_KEY_HEADER, key);
+        MockFilterChain chain = new MockFilterChain();
+
+        securityFilter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertSame(request, chain.getRequest());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    /**
+     * Executa o filtro com o token informado e retorna a autenticação resultante.
+     * A cadeia de filtros deve continuar em todos os casos.
+     */
+    private Authentication filter(String token) throws ServletException, IOException {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/doctor-service");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockFilterChain chain = new MockFilterChain();
+
+        securityFilter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertSame(request, chain.getRequest());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static List<String> authorities(Authentication authentication) {
+        return authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+    }
+}
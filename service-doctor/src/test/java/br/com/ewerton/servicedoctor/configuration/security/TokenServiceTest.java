@@ -0,0 +1,107 @@
+package br.com.ewerton.servicedoctor.configuration.security;
+
+import br.com.ewerton.servicedoctor.model.DoctorModel;
+import br.com.ewerton.servicedoctor.model.DoctorRole;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para a classe {@link TokenService}.
+ * Testa a geração, a verificação e o cache de tokens JWT.
+ *
+ * @author Ewerton Rodrigues
+ * @version 1.0
+ */
+public class TokenServiceTest {
+
+    static final String SECRET = "test-secret-with-at-least-32-characters";
+
+    private TokenService tokenService;
+
+    private DoctorModel doctor;
+
+    @BeforeEach
+    public void setUp() {
+        // Configura o serviço com uma chave fixa, como faria o Spring
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", SECRET);
+        ReflectionTestUtils.setField(tokenService, "cacheSize", 100L);
+        tokenService.init();
+
+        doctor = new DoctorModel("joao@example.com", "password", DoctorRole.USER);
+        doctor.setId("doctor-1");
+    }
+
+    /**
+     * Testa se o token gerado carrega o email, as autoridades e o ID do médico.
+     */
+    @Test
+    public void testGeneratedTokenCarriesSubjectAndRoles() {
+        String token = tokenService.generateToken(doctor);
+        DecodedJWT decodedToken = tokenService.decodeToken(token);
+
+        assertNotNull(decodedToken);
+        assertEquals("joao@example.com", tokenService.validateToken(token));
+        assertEquals(List.of("ROLE_USER"), decodedToken.getClaim(TokenService.ROLES_CLAIM).asList(String.class));
+        assertEquals("doctor-1", decodedToken.getClaim(TokenService.DOCTOR_ID_CLAIM).asString());
+    }
+
+    /**
+     * Testa se um token já verificado é servido pelo cache.
+     */
+    @Test
+    public void testVerifiedTokenIsServedFromCache() {
+        String token = tokenService.generateToken(doctor);
+
+        assertSame(tokenService.decodeToken(token), tokenService.decodeToken(token));
+    }
+
+    /**
+     * Testa se tokens inválidos são rejeitados.
+     */
+    @Test
+    public void testInvalidTokenIsRejected() {
+        String token = tokenService.generateToken(doctor);
+
+        assertNull(tokenService.decodeToken(token + "x"));
+        assertEquals("", tokenService.validateToken("not-a-token"));
+    }
+
+    /**
+     * Testa se um token assinado com a mesma chave, mas emitido para outro serviço, é rejeitado.
+     */
+    @Test
+    public void testTokenForAnotherServiceIsRejected() {
+        String patientToken = JWT.create()
+                .withIssuer("auth-api")
+                .withAudience("service-patient")
+                .withSubject("johndoe@example.com")
+                .withClaim(TokenService.ROLES_CLAIM, List.of("ROLE_ADMIN", "ROLE_USER"))
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256(SECRET));
+
+        assertNull(tokenService.decodeToken(patientToken));
+        assertEquals(List.of(TokenService.AUDIENCE, TokenService.SCHEDULES_AUDIENCE), tokenService.decodeToken(tokenService.generateToken(doctor)).getAudience());
+    }
+
+    /**
+     * Testa se o serviço não inicia com uma chave secreta curta.
+     */
+    @Test
+    public void testShortSecretIsRejected() {
+        TokenService weak = new TokenService();
+        ReflectionTestUtils.setField(weak, "secret", "my-secret-key");
+        ReflectionTestUtils.setField(weak, "cacheSize", 100L);
+
+        assertThrows(IllegalStateException.class, weak::init);
+    }
+}
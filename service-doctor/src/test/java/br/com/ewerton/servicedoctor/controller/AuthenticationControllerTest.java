@@ -5,21 +5,32 @@ import br.com.ewerton.servicedoctor.dto.AuthenticationDTO;
 import br.com.ewerton.servicedoctor.dto.EmailResponseDTO;
 import br.com.ewerton.servicedoctor.dto.RegisterDTO;
 import br.com.ewerton.servicedoctor.model.DoctorModel;
+import br.com.ewerton.servicedoctor.model.DoctorRole;
 import br.com.ewerton.servicedoctor.repository.DoctorRepository;
+import br.com.ewerton.servicedoctor.service.CacheInvalidationBus;
+import br.com.ewerton.servicedoctor.service.DoctorService;
+import br.com.ewerton.servicedoctor.service.exceptions.PasswordHashingRejected;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
  * Testes unitários para a classe {@link AuthenticationController}.
@@ -39,6 +50,12 @@ public class AuthenticationControllerTest {
     @Mock
     private TokenService tokenService;
 
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
     @InjectMocks
     private AuthenticationController authenticationController;
 
@@ -55,10 +72,10 @@ public class AuthenticationControllerTest {
         doctor = new DoctorModel();
         doctor.setEmail("joao@example.com");
         doctor.setPassword("password");
-        doctor.setRole("USER");
+        doctor.setRole(DoctorRole.USER);
 
         authenticationDTO = new AuthenticationDTO("joao@example.com", "password");
-        registerDTO = new RegisterDTO("maria@example.com", "password", "USER");
+        registerDTO = new RegisterDTO("maria@example.com", "password");
     }
 
     /**
@@ -68,6 +85,7 @@ public class AuthenticationControllerTest {
     public void testLoginSuccessful() {
         // Simula o comportamento do AuthenticationManager
         Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(doctor);
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
 
@@ -92,11 +110,9 @@ public class AuthenticationControllerTest {
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenThrow(new RuntimeException("Invalid credentials"));
 
-        // Chama o endpoint
-        ResponseEntity<EmailResponseDTO> response = authenticationController.login(authenticationDTO);
-
-        // Verifica o status da resposta
-        assertEquals(500, response.getStatusCodeValue());
+        // Chama o endpoint e verifica se a falha é propagada ao tratamento de erros do Spring
+        assertThrows(RuntimeException.class, () -> authenticationController.login(authenticationDTO));
+        verify(tokenService, never()).generateToken(any(DoctorModel.class));
     }
 
     /**
@@ -107,15 +123,40 @@ public class AuthenticationControllerTest {
         // Simula que o email não está cadastrado
         when(doctorRepository.findByEmail(registerDTO.email())).thenReturn(null);
 
-        // Simula o comportamento do BCryptPasswordEncoder
-        String encryptedPassword = new BCryptPasswordEncoder().encode(registerDTO.password());
+        // Simula o comportamento do PasswordEncoder
+        when(passwordEncoder.encode(registerDTO.password())).thenReturn("encryptedPassword");
 
         // Chama o endpoint
         ResponseEntity<DoctorModel> response = authenticationController.register(registerDTO);
 
         // Verifica o status da resposta
         assertEquals(200, response.getStatusCodeValue());
-        verify(doctorRepository, times(1)).save(any(DoctorModel.class));
+        verify(passwordEncoder, times(1)).encode(registerDTO.password());
+        ArgumentCaptor<DoctorModel> saved = ArgumentCaptor.forClass(DoctorModel.class);
+        verify(doctorRepository, times(1)).save(saved.capture());
+        // O papel não é escolhido no registro: todo médico registrado é USER
+        assertEquals(DoctorRole.USER, saved.getValue().getRole());
+        verify(cacheInvalidationBus, times(1)).invalidate(eq(DoctorService.DOCTORS_CACHE), any());
+    }
+
+    /**
+     * Testa se o registro avisa as outras réplicas com o ID do médico criado, para que descartem o médico e as
+     * consultas do diretório ("doctor-directory") do cache de segundo nível.
+     */
+    @Test
+    public void testRegisterInvalidatesDirectoryOnOtherReplicas() {
+        when(doctorRepository.findByEmail(registerDTO.email())).thenReturn(null);
+        when(passwordEncoder.encode(registerDTO.password())).thenReturn("encryptedPassword");
+        // O Hibernate atribui o ID ao médico na inserção
+        when(doctorRepository.save(any(DoctorModel.class))).thenAnswer(invocation -> {
+            DoctorModel saved = invocation.getArgument(0);
+            saved.setId("new-doctor-id");
+            return saved;
+        });
+
+        authenticationController.register(registerDTO);
+
+        verify(cacheInvalidationBus, times(1)).invalidate(DoctorService.DOCTORS_CACHE, "new-doctor-id");
     }
 
     /**
@@ -133,4 +174,22 @@ public class AuthenticationControllerTest {
         assertEquals(400, response.getStatusCodeValue());
         verify(doctorRepository, times(0)).save(any(DoctorModel.class));
     }
+
+    /**
+     * Testa o endpoint register() quando o executor de hash de senhas está saturado: a requisição é rejeitada com
+     * 429 (Too Many Requests), sem salvar o médico.
+     */
+    @Test
+    public void testRegisterWhenPasswordHashingIsSaturated() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(authenticationController).build();
+        when(doctorRepository.findByEmail(registerDTO.email())).thenReturn(null);
+        when(passwordEncoder.encode(registerDTO.password())).thenThrow(new PasswordHashingRejected("Password hashing capacity exhausted, retry later"));
+
+        mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"maria@example.com\",\"password\":\"password\"}"))
+                .andExpect(status().isTooManyRequests());
+
+        verify(doctorRepository, never()).save(any(DoctorModel.class));
+    }
 }
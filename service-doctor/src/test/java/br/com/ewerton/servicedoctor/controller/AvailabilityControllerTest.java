@@ -0,0 +1,105 @@
+package br.com.ewerton.servicedoctor.controller;
+
+import br.com.ewerton.servicedoctor.dto.AvailableSlotDTO;
+import br.com.ewerton.servicedoctor.dto.WorkingHoursDTO;
+import br.com.ewerton.servicedoctor.service.AvailabilityService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Testes unitários para a classe {@link AvailabilityController}.
+ * Testa a validação dos horários de atendimento recebidos e a normalização da especialidade.
+ *
+ * @author Ewerton Rodrigues
+ * @version 1.0
+ */
+public class AvailabilityControllerTest {
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @InjectMocks
+    private AvailabilityController availabilityController;
+
+    private MockMvc mockMvc;
+
+    private Locale defaultLocale;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(availabilityController).build();
+        defaultLocale = Locale.getDefault();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Locale.setDefault(defaultLocale);
+    }
+
+    /**
+     * Testa se os horários de atendimento válidos são repassados ao serviço.
+     */
+    @Test
+    public void testReplaceWorkingHours() throws Exception {
+        List<WorkingHoursDTO> hours = List.of(new WorkingHoursDTO(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(12, 0)));
+        when(availabilityService.replaceWorkingHours("doctor-1", hours)).thenReturn(hours);
+
+        mockMvc.perform(put("/doctor-service/doctor-1/working-hours")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"dayOfWeek\":\"MONDAY\",\"startTime\":\"09:00\",\"endTime\":\"12:00\"}]"))
+                .andExpect(status().isOk());
+
+        verify(availabilityService, times(1)).replaceWorkingHours("doctor-1", hours);
+    }
+
+    /**
+     * Testa se uma lista com um intervalo nulo ou incompleto é rejeitada com 400, sem chegar ao serviço.
+     */
+    @Test
+    public void testReplaceWorkingHoursRejectsInvalidElements() throws Exception {
+        mockMvc.perform(put("/doctor-service/doctor-1/working-hours")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"dayOfWeek\":\"MONDAY\",\"startTime\":\"09:00\",\"endTime\":\"12:00\"}, null]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(put("/doctor-service/doctor-1/working-hours")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"dayOfWeek\":\"MONDAY\",\"startTime\":\"09:00\"}]"))
+                .andExpect(status().isBadRequest());
+
+        verify(availabilityService, never()).replaceWorkingHours(anyString(), anyList());
+    }
+
+    /**
+     * Testa se a especialidade é normalizada independentemente do idioma padrão da JVM.
+     */
+    @Test
+    public void testEarliestBySpecialtyIgnoresDefaultLocale() {
+        // Em turco, "I".toLowerCase() resulta em um "ı" sem ponto
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        LocalDateTime from = LocalDateTime.of(2030, 1, 7, 9, 0);
+        List<AvailableSlotDTO> slots = List.of();
+        when(availabilityService.findEarliestSlots("clinica", from, from.plusDays(7), 10)).thenReturn(slots);
+
+        assertEquals(slots, availabilityController.earliestBySpecialty("CLINICA", from, null, 10).getBody());
+    }
+}
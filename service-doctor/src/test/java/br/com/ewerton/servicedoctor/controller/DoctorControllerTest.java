@@ -1,6 +1,7 @@
 package br.com.ewerton.servicedoctor.controller;
 
-import br.com.ewerton.servicedoctor.model.DoctorModel;
+import br.com.ewerton.servicedoctor.dto.DoctorPageDTO;
+import br.com.ewerton.servicedoctor.dto.DoctorSummaryDTO;
 import br.com.ewerton.servicedoctor.service.DoctorService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +12,7 @@ import org.springframework.http.ResponseEntity;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -31,7 +33,7 @@ public class DoctorControllerTest {
     @InjectMocks
     private DoctorController doctorController;
 
-    private DoctorModel doctor;
+    private DoctorSummaryDTO doctor;
     private UUID doctorId;
 
     @BeforeEach
@@ -41,29 +43,25 @@ public class DoctorControllerTest {
 
         // Criando dados de exemplo
         doctorId = UUID.randomUUID();
-        doctor = new DoctorModel();
-        doctor.setId(doctorId.toString());
-        doctor.setName("Dr. João");
-        doctor.setSpecialty("Cardiology");
-        doctor.setEmail("joao@example.com");
-        doctor.setPassword("password");
+        doctor = new DoctorSummaryDTO(doctorId.toString(), "Dr. João", "Cardiology", "12345", "Clínica Central");
     }
 
     /**
-     * Testa o endpoint doctorAll() que retorna a lista de médicos.
+     * Testa o endpoint doctorAll() que retorna uma página do diretório de médicos.
      */
     @Test
     public void testDoctorAll() {
         // Simula o comportamento do serviço
-        when(doctorService.allDoctor()).thenReturn(List.of(doctor));
+        when(doctorService.pageDoctors("Cardiology", null, null, 50, Set.of("name", "specialty"))).thenReturn(new DoctorPageDTO(List.of(doctor), "next"));
 
         // Chama o endpoint
-        ResponseEntity<List<DoctorModel>> response = doctorController.doctorAll();
+        ResponseEntity<DoctorPageDTO> response = doctorController.doctorAll("Cardiology", null, null, 50, "name, specialty,unknown");
 
         // Verifica o status da resposta e o conteúdo
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
-        assertTrue(response.getBody().size() > 0);
+        assertTrue(response.getBody().content().size() > 0);
+        assertEquals("next", response.getBody().nextCursor());
     }
 
     /**
@@ -72,15 +70,15 @@ public class DoctorControllerTest {
     @Test
     public void testDoctorByIdFound() {
         // Simula o comportamento do serviço
-        when(doctorService.findDoctorById(doctorId)).thenReturn(Optional.of(doctor));
+        when(doctorService.findDoctorById(doctorId, Set.of())).thenReturn(Optional.of(doctor));
 
         // Chama o endpoint
-        ResponseEntity<DoctorModel> response = doctorController.doctorById(doctorId);
+        ResponseEntity<DoctorSummaryDTO> response = doctorController.doctorById(doctorId, null);
 
         // Verifica o status da resposta e o conteúdo
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
-        assertEquals(doctorId.toString(), response.getBody().getId());
+        assertEquals(doctorId.toString(), response.getBody().id());
     }
 
     /**
@@ -89,10 +87,10 @@ public class DoctorControllerTest {
     @Test
     public void testDoctorByIdNotFound() {
         // Simula o comportamento do serviço
-        when(doctorService.findDoctorById(doctorId)).thenReturn(Optional.empty());
+        when(doctorService.findDoctorById(doctorId, Set.of())).thenReturn(Optional.empty());
 
         // Chama o endpoint
-        ResponseEntity<DoctorModel> response = doctorController.doctorById(doctorId);
+        ResponseEntity<DoctorSummaryDTO> response = doctorController.doctorById(doctorId, "");
 
         // Verifica o status da resposta
         assertEquals(404, response.getStatusCodeValue());
@@ -1,6 +1,7 @@
 package br.com.ewerton.servicedoctor.service;
 
 import br.com.ewerton.servicedoctor.model.DoctorModel;
+import br.com.ewerton.servicedoctor.model.DoctorRole;
 import br.com.ewerton.servicedoctor.repository.DoctorRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,7 +40,7 @@ class AuthorizationServiceTest {
         doctor = new DoctorModel();
         doctor.setEmail("joao@example.com");
         doctor.setPassword("password");
-        doctor.setRole("USER");
+        doctor.setRole(DoctorRole.USER);
     }
 
     /**
@@ -0,0 +1,309 @@
+package br.com.ewerton.servicedoctor.service;
+
+import br.com.ewerton.servicedoctor.dto.AvailableSlotDTO;
+import br.com.ewerton.servicedoctor.dto.ReservationDTO;
+import br.com.ewerton.servicedoctor.dto.WorkingHoursDTO;
+import br.com.ewerton.servicedoctor.model.SlotReservationModel;
+import br.com.ewerton.servicedoctor.model.WorkingHoursModel;
+import br.com.ewerton.servicedoctor.repository.DoctorRepository;
+import br.com.ewerton.servicedoctor.repository.SlotReservationRepository;
+import br.com.ewerton.servicedoctor.repository.WorkingHoursRepository;
+import br.com.ewerton.servicedoctor.service.exceptions.InvalidSlot;
+import br.com.ewerton.servicedoctor.service.exceptions.InvalidWorkingHours;
+import br.com.ewerton.servicedoctor.service.exceptions.ReservationNotFound;
+import br.com.ewerton.servicedoctor.service.exceptions.SlotUnavailable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class AvailabilityServiceTest {
+
+    private static final String PATIENT = "johndoe@example.com";
+
+    @Mock
+    private WorkingHoursRepository workingHoursRepository;
+
+    @Mock
+    private SlotReservationRepository slotReservationRepository;
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @InjectMocks
+    private AvailabilityService availabilityService;
+
+    private LocalDate tomorrow;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(availabilityService, "horizonDays", 14);
+        ReflectionTestUtils.setField(availabilityService, "specialtyCacheTtl", Duration.ofMinutes(1));
+        availabilityService.init();
+        tomorrow = LocalDate.now().plusDays(1);
+
+        // Médico 1 atende das 09:00 às 10:00 no dia da semana de amanhã e já tem o horário das 09:00 reservado;
+        // médico 2 atende das 09:30 às 10:30 no mesmo dia
+        when(workingHoursRepository.findAll()).thenReturn(List.of(
+                new WorkingHoursModel("doctor-1", tomorrow.getDayOfWeek(), LocalTime.of(9, 0), LocalTime.of(10, 0)),
+                new WorkingHoursModel("doctor-2", tomorrow.getDayOfWeek(), LocalTime.of(9, 30), LocalTime.of(10, 30))));
+        when(slotReservationRepository.findByStartsAtGreaterThanEqualAndStartsAtLessThan(any(), any())).thenReturn(List.of(
+                new SlotReservationModel("doctor-1", PATIENT, tomorrow.atTime(9, 0), tomorrow.atTime(9, 15))));
+        when(slotReservationRepository.saveAndFlush(any(SlotReservationModel.class))).thenAnswer(invocation -> {
+            SlotReservationModel reservation = invocation.getArgument(0);
+            reservation.setId(UUID.randomUUID());
+            return reservation;
+        });
+        availabilityService.rebuildAll();
+    }
+
+    /**
+     * Testa se os calendários são montados com os horários de atendimento e as reservas gravadas.
+     */
+    @Test
+    public void testRebuildAllAppliesWorkingHoursAndReservations() {
+        List<AvailableSlotDTO> slots = availabilityService.findFreeSlots("doctor-1", tomorrow.atStartOfDay(), tomorrow.plusDays(1).atStartOfDay(), 10);
+
+        assertEquals(3, slots.size());
+        assertEquals(new AvailableSlotDTO("doctor-1", tomorrow.atTime(9, 15), tomorrow.atTime(9, 30)), slots.get(0));
+    }
+
+    /**
+     * Testa se um evento de agendamento sem reserva grava a reserva e marca o horário sem remontar o calendário.
+     */
+    @Test
+    public void testRecordBookingUpdatesCalendarIncrementally() {
+        LocalDateTime startsAt = tomorrow.atTime(9, 30);
+        when(slotReservationRepository.existsByDoctorIdAndStartsAt("doctor-1", startsAt)).thenReturn(false);
+
+        assertTrue(availabilityService.recordBooking("doctor-1", startsAt, PATIENT));
+
+        verify(slotReservationRepository, times(1)).saveAndFlush(any(SlotReservationModel.class));
+        verify(workingHoursRepository, times(1)).findAll();
+        List<AvailableSlotDTO> slots = availabilityService.findFreeSlots("doctor-1", tomorrow.atStartOfDay(), tomorrow.plusDays(1).atStartOfDay(), 10);
+        assertEquals(List.of(tomorrow.atTime(9, 15), tomorrow.atTime(9, 45)), slots.stream().map(AvailableSlotDTO::startsAt).toList());
+    }
+
+    /**
+     * Testa se o evento de um agendamento já reservado apenas confirma a reserva, e se uma entrega repetida do mesmo
+     * evento não é considerada um novo agendamento.
+     */
+    @Test
+    public void testRecordBookingConfirmsReservationOnlyOnce() {
+        LocalDateTime startsAt = tomorrow.atTime(9, 30);
+        when(slotReservationRepository.confirm(eq("doctor-1"), eq(startsAt), eq(PATIENT), any())).thenReturn(1, 0);
+        when(slotReservationRepository.existsByDoctorIdAndStartsAt("doctor-1", startsAt)).thenReturn(true);
+
+        assertTrue(availabilityService.recordBooking("doctor-1", startsAt, PATIENT));
+        assertFalse(availabilityService.recordBooking("doctor-1", startsAt, PATIENT));
+
+        verify(slotReservationRepository, never()).saveAndFlush(any(SlotReservationModel.class));
+    }
+
+    /**
+     * Testa se o evento de um horário reservado por outro paciente não é considerado gravado.
+     */
+    @Test
+    public void testRecordBookingConflict() {
+        LocalDateTime startsAt = tomorrow.atTime(9, 30);
+        doThrow(new DataIntegrityViolationException("ex_slot_reservation_overlap"))
+                .when(slotReservationRepository).saveAndFlush(any(SlotReservationModel.class));
+
+        assertFalse(availabilityService.recordBooking("doctor-1", startsAt, "other@example.com"));
+    }
+
+    /**
+     * Testa o k-way merge dos calendários dos médicos da especialidade, em ordem cronológica e com empate pelo ID.
+     */
+    @Test
+    public void testFindEarliestSlotsMergesCalendarsBySpecialty() {
+        when(doctorRepository.findIdsBySpecialty("cardiology")).thenReturn(List.of("doctor-2", "doctor-1", "doctor-3"));
+
+        List<AvailableSlotDTO> slots = availabilityService.findEarliestSlots("cardiology", tomorrow.atStartOfDay(), tomorrow.plusDays(1).atStartOfDay(), 4);
+
+        assertEquals(List.of(
+                new AvailableSlotDTO("doctor-1", tomorrow.atTime(9, 15), tomorrow.atTime(9, 30)),
+                new AvailableSlotDTO("doctor-1", tomorrow.atTime(9, 30), tomorrow.atTime(9, 45)),
+                new AvailableSlotDTO("doctor-2", tomorrow.atTime(9, 30), tomorrow.atTime(9, 45)),
+                new AvailableSlotDTO("doctor-1", tomorrow.atTime(9, 45), tomorrow.atTime(10, 0))), slots);
+
+        // A lista de médicos da especialidade vem do cache na segunda consulta
+        availabilityService.findEarliestSlots("cardiology", tomorrow.atStartOfDay(), tomorrow.plusDays(1).atStartOfDay(), 4);
+        verify(doctorRepository, times(1)).findIdsBySpecialty("cardiology");
+    }
+
+    /**
+     * Testa se um médico sem horários de atendimento não tem horários livres.
+     */
+    @Test
+    public void testUnknownDoctorHasNoFreeSlots() {
+        assertTrue(availabilityService.findFreeSlots("doctor-3", tomorrow.atStartOfDay(), tomorrow.plusDays(1).atStartOfDay(), 10).isEmpty());
+    }
+
+    /**
+     * Testa se um intervalo de atendimento inválido é rejeitado.
+     */
+    @Test
+    public void testReplaceWorkingHoursRejectsInvalidInterval() {
+        List<WorkingHoursDTO> hours = List.of(new WorkingHoursDTO(tomorrow.getDayOfWeek(), LocalTime.of(10, 0), LocalTime.of(9, 0)));
+
+        assertThrows(InvalidWorkingHours.class, () -> availabilityService.replaceWorkingHours("doctor-1", hours));
+        verify(workingHoursRepository, never()).saveAll(anyList());
+    }
+
+    /**
+     * Testa se a segunda reserva do mesmo horário, para outro paciente, é rejeitada sem gravar no banco de dados.
+     */
+    @Test
+    public void testReserveRejectsSecondReservationInMemory() {
+        LocalDateTime startsAt = tomorrow.atTime(9, 15);
+
+        ReservationDTO reserved = availabilityService.reserve("doctor-1", startsAt, PATIENT);
+
+        assertNotNull(reserved.id());
+        assertEquals(PATIENT, reserved.patientEmail());
+        assertEquals(tomorrow.atTime(9, 30), reserved.endsAt());
+        assertThrows(SlotUnavailable.class, () -> availabilityService.reserve("doctor-1", startsAt, "other@example.com"));
+        verify(slotReservationRepository, times(1)).saveAndFlush(any(SlotReservationModel.class));
+        verify(cacheInvalidationBus, times(1)).invalidate(AvailabilityService.CALENDARS_CACHE, "doctor-1");
+    }
+
+    /**
+     * Testa se repetir a reserva para o mesmo paciente retorna a reserva existente, sem gravar outra e marcada como
+     * não criada, para que o agendamento repetido não a libere.
+     */
+    @Test
+    public void testReserveIsIdempotentForSamePatient() {
+        LocalDateTime startsAt = tomorrow.atTime(9, 15);
+        ReservationDTO reserved = availabilityService.reserve("doctor-1", startsAt, PATIENT);
+        SlotReservationModel saved = new SlotReservationModel("doctor-1", PATIENT, startsAt, tomorrow.atTime(9, 30));
+        saved.setId(reserved.id());
+        when(slotReservationRepository.findByDoctorIdAndStartsAt("doctor-1", startsAt)).thenReturn(Optional.of(saved));
+
+        ReservationDTO repeated = availabilityService.reserve("doctor-1", startsAt, "JohnDoe@example.com");
+
+        assertTrue(reserved.created());
+        assertFalse(repeated.created());
+        assertEquals(reserved.id(), repeated.id());
+        verify(slotReservationRepository, times(1)).saveAndFlush(any(SlotReservationModel.class));
+    }
+
+    /**
+     * Testa se liberar uma reserva a remove do banco e devolve o horário à agenda, avisando as outras instâncias.
+     */
+    @Test
+    public void testReleaseFreesSlot() {
+        LocalDateTime startsAt = tomorrow.atTime(9, 15);
+        ReservationDTO reserved = availabilityService.reserve("doctor-1", startsAt, PATIENT);
+        SlotReservationModel saved = new SlotReservationModel("doctor-1", PATIENT, startsAt, tomorrow.atTime(9, 30));
+        saved.setId(reserved.id());
+        when(slotReservationRepository.findById(reserved.id())).thenReturn(Optional.of(saved));
+        when(workingHoursRepository.findByDoctorId("doctor-1")).thenReturn(List.of(
+                new WorkingHoursModel("doctor-1", tomorrow.getDayOfWeek(), LocalTime.of(9, 0), LocalTime.of(10, 0))));
+        when(slotReservationRepository.findByDoctorIdAndStartsAtGreaterThanEqualAndStartsAtLessThan(eq("doctor-1"), any(), any())).thenReturn(List.of(
+                new SlotReservationModel("doctor-1", PATIENT, tomorrow.atTime(9, 0), tomorrow.atTime(9, 15))));
+
+        availabilityService.release(reserved.id());
+
+        verify(slotReservationRepository, times(1)).delete(saved);
+        verify(cacheInvalidationBus, times(2)).invalidate(AvailabilityService.CALENDARS_CACHE, "doctor-1");
+        List<LocalDateTime> free = availabilityService.findFreeSlots("doctor-1", tomorrow.atStartOfDay(), tomorrow.plusDays(1).atStartOfDay(), 10)
+                .stream().map(AvailableSlotDTO::startsAt).toList();
+        assertTrue(free.contains(startsAt));
+    }
+
+    /**
+     * Testa se liberar uma reserva inexistente é rejeitado.
+     */
+    @Test
+    public void testReleaseUnknownReservation() {
+        UUID reservationId = UUID.randomUUID();
+        when(slotReservationRepository.findById(reservationId)).thenReturn(Optional.empty());
+
+        assertThrows(ReservationNotFound.class, () -> availabilityService.release(reservationId));
+        verify(slotReservationRepository, never()).delete(any(SlotReservationModel.class));
+    }
+
+    /**
+     * Testa se a violação da constraint de exclusão é devolvida como conflito e o horário continua ocupado.
+     */
+    @Test
+    public void testReserveConflictFromDatabase() {
+        LocalDateTime startsAt = tomorrow.atTime(9, 30);
+        doThrow(new DataIntegrityViolationException("ex_slot_reservation_overlap"))
+                .when(slotReservationRepository).saveAndFlush(any(SlotReservationModel.class));
+
+        assertThrows(SlotUnavailable.class, () -> availabilityService.reserve("doctor-1", startsAt, PATIENT));
+
+        List<LocalDateTime> free = availabilityService.findFreeSlots("doctor-1", tomorrow.atStartOfDay(), tomorrow.plusDays(1).atStartOfDay(), 10)
+                .stream().map(AvailableSlotDTO::startsAt).toList();
+        assertFalse(free.contains(startsAt));
+    }
+
+    /**
+     * Testa se o horário é devolvido à agenda quando a gravação falha por outro motivo.
+     */
+    @Test
+    public void testReserveReleasesSlotOnUnexpectedFailure() {
+        LocalDateTime startsAt = tomorrow.atTime(9, 30);
+        doThrow(new IllegalStateException("database down")).when(slotReservationRepository).saveAndFlush(any(SlotReservationModel.class));
+
+        assertThrows(IllegalStateException.class, () -> availabilityService.reserve("doctor-1", startsAt, PATIENT));
+
+        List<LocalDateTime> free = availabilityService.findFreeSlots("doctor-1", tomorrow.atStartOfDay(), tomorrow.plusDays(1).atStartOfDay(), 10)
+                .stream().map(AvailableSlotDTO::startsAt).toList();
+        assertTrue(free.contains(startsAt));
+    }
+
+    /**
+     * Testa se horários fora do alinhamento da agenda ou fora do expediente são rejeitados.
+     */
+    @Test
+    public void testReserveRejectsInvalidOrClosedSlots() {
+        assertThrows(InvalidSlot.class, () -> availabilityService.reserve("doctor-1", tomorrow.atTime(9, 20), PATIENT));
+        assertThrows(SlotUnavailable.class, () -> availabilityService.reserve("doctor-1", tomorrow.atTime(12, 0), PATIENT));
+        verify(slotReservationRepository, never()).saveAndFlush(any(SlotReservationModel.class));
+    }
+
+    /**
+     * Testa se o calendário é remontado a partir do banco quando outra instância o altera.
+     */
+    @Test
+    public void testReloadCalendarFromOtherInstance() {
+        // Outra instância reservou o horário das 09:15 do médico 1 e removeu todos os horários do médico 2
+        when(workingHoursRepository.findByDoctorId("doctor-1")).thenReturn(List.of(
+                new WorkingHoursModel("doctor-1", tomorrow.getDayOfWeek(), LocalTime.of(9, 0), LocalTime.of(10, 0))));
+        when(slotReservationRepository.findByDoctorIdAndStartsAtGreaterThanEqualAndStartsAtLessThan(eq("doctor-1"), any(), any())).thenReturn(List.of(
+                new SlotReservationModel("doctor-1", PATIENT, tomorrow.atTime(9, 0), tomorrow.atTime(9, 15)),
+                new SlotReservationModel("doctor-1", PATIENT, tomorrow.atTime(9, 15), tomorrow.atTime(9, 30))));
+        when(workingHoursRepository.findByDoctorId("doctor-2")).thenReturn(List.of());
+
+        availabilityService.reloadCalendar("doctor-1");
+        availabilityService.reloadCalendar("doctor-2");
+
+        assertEquals(2, availabilityService.findFreeSlots("doctor-1", tomorrow.atStartOfDay(), tomorrow.plusDays(1).atStartOfDay(), 10).size());
+        assertTrue(availabilityService.findFreeSlots("doctor-2", tomorrow.atStartOfDay(), tomorrow.plusDays(1).atStartOfDay(), 10).isEmpty());
+        verify(cacheInvalidationBus).subscribe(eq(AvailabilityService.CALENDARS_CACHE), any());
+    }
+}
@@ -0,0 +1,205 @@
+package br.com.ewerton.servicedoctor.service;
+
+import br.com.ewerton.servicedoctor.configuration.RabbitMQConfig;
+import br.com.ewerton.servicedoctor.dto.BookingEventDTO;
+import br.com.ewerton.servicedoctor.dto.PatientDTO;
+import br.com.ewerton.servicedoctor.repository.DoctorRepository;
+import br.com.ewerton.servicedoctor.service.exceptions.DoctorNotFound;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class BookingStreamServiceTest {
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private BookingStreamService bookingStreamService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(bookingStreamService, "bufferSize", 4);
+        ReflectionTestUtils.setField(bookingStreamService, "timeout", Duration.ofMinutes(30));
+        bookingStreamService.init();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bookingStreamService.shutdown();
+    }
+
+    /**
+     * Testa se milhares de conexões ociosas são mantidas e se um agendamento chega apenas às conexões do seu médico.
+     */
+    @Test
+    public void testThousandsOfIdleSubscribersOnlyDoctorReceivesBooking() throws InterruptedException {
+        int doctors = 1_000;
+        int connectionsPerDoctor = 10;
+        CountDownLatch delivered = new CountDownLatch(connectionsPerDoctor);
+        AtomicInteger received = new AtomicInteger();
+        for (int doctor = 0; doctor < doctors; doctor++) {
+            for (int connection = 0; connection < connectionsPerDoctor; connection++) {
+                bookingStreamService.register("doctor-" + doctor, (event, data) -> {
+                    if (BookingSubscriber.BOOKING_EVENT.equals(event)) {
+                        received.incrementAndGet();
+                        delivered.countDown();
+                    }
+                });
+            }
+        }
+        assertEquals(doctors * connectionsPerDoctor, bookingStreamService.subscriberCount());
+        assertEquals(doctors * connectionsPerDoctor, meterRegistry.get("booking.stream.subscribers").gauge().value());
+
+        bookingStreamService.publish(booking("doctor-42", LocalDateTime.of(2030, 1, 7, 9, 0)));
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals(connectionsPerDoctor, received.get());
+    }
+
+    /**
+     * Testa se o heartbeat chega a todas as conexões, cada uma enviada por uma virtual thread.
+     */
+    @Test
+    public void testHeartbeatReachesEveryConnection() throws InterruptedException {
+        int connections = 5_000;
+        CountDownLatch heartbeats = new CountDownLatch(connections);
+        for (int connection = 0; connection < connections; connection++) {
+            bookingStreamService.register("doctor-" + connection, (event, data) -> {
+                assertTrue(Thread.currentThread().isVirtual());
+                heartbeats.countDown();
+            });
+        }
+
+        bookingStreamService.heartbeat();
+
+        assertTrue(heartbeats.await(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Testa se um cliente lento não bloqueia a publicação e se os agendamentos descartados são informados em um único evento.
+     */
+    @Test
+    public void testSlowSubscriberDoesNotBlockPublisherAndDropsOldestBookings() throws InterruptedException {
+        CountDownLatch firstSendStarted = new CountDownLatch(1);
+        CountDownLatch releaseClient = new CountDownLatch(1);
+        CountDownLatch lastBooking = new CountDownLatch(1);
+        List<Object> sent = new CopyOnWriteArrayList<>();
+        bookingStreamService.register("doctor-1", (event, data) -> {
+            firstSendStarted.countDown();
+            try {
+                releaseClient.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            sent.add(BookingSubscriber.DROPPED_EVENT.equals(event) ? event + ":" + data : data);
+            if (data instanceof BookingEventDTO booking && booking.scheduledAt().getMinute() == 59) lastBooking.countDown();
+        });
+
+        // O primeiro agendamento fica preso no envio; os 59 seguintes disputam as 4 posições do buffer
+        bookingStreamService.publish(booking("doctor-1", LocalDateTime.of(2030, 1, 7, 9, 0)));
+        assertTrue(firstSendStarted.await(5, TimeUnit.SECONDS));
+        long start = System.nanoTime();
+        for (int minute = 1; minute < 60; minute++) {
+            bookingStreamService.publish(booking("doctor-1", LocalDateTime.of(2030, 1, 7, 9, minute)));
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+
+        releaseClient.countDown();
+        assertTrue(lastBooking.await(5, TimeUnit.SECONDS));
+
+        // O agendamento em envio, o aviso de 55 descartados e os 4 mais recentes
+        assertEquals(6, sent.size());
+        assertEquals(LocalDateTime.of(2030, 1, 7, 9, 0), ((BookingEventDTO) sent.get(0)).scheduledAt());
+        assertEquals(BookingSubscriber.DROPPED_EVENT + ":55", sent.get(1));
+        assertEquals(LocalDateTime.of(2030, 1, 7, 9, 56), ((BookingEventDTO) sent.get(2)).scheduledAt());
+        assertEquals(55, meterRegistry.get("booking.stream.dropped").counter().count());
+    }
+
+    /**
+     * Testa se a conexão de um cliente desconectado é removida na primeira falha de envio.
+     */
+    @Test
+    public void testFailedSendRemovesSubscriber() throws InterruptedException {
+        CountDownLatch failed = new CountDownLatch(1);
+        bookingStreamService.register("doctor-1", (event, data) -> {
+            failed.countDown();
+            throw new IOException("Broken pipe");
+        });
+
+        bookingStreamService.heartbeat();
+
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 50 && bookingStreamService.subscriberCount() > 0; i++) Thread.sleep(10);
+        assertEquals(0, bookingStreamService.subscriberCount());
+    }
+
+    /**
+     * Testa se o stream é recusado para um e-mail sem médico cadastrado.
+     */
+    @Test
+    public void testSubscribeUnknownDoctor() {
+        when(doctorRepository.findIdByEmail("unknown@example.com")).thenReturn(Optional.empty());
+
+        assertThrows(DoctorNotFound.class, () -> bookingStreamService.subscribe("unknown@example.com"));
+        assertEquals(0, bookingStreamService.subscriberCount());
+    }
+
+    /**
+     * Testa se um agendamento gravado é distribuído pela exchange do stream, para chegar às conexões de todas as réplicas.
+     */
+    @Test
+    public void testBroadcastPublishesToAllReplicas() {
+        PatientDTO booking = booking("doctor-1", LocalDateTime.of(2030, 1, 7, 9, 0));
+
+        bookingStreamService.broadcast(booking);
+
+        verify(rabbitTemplate, times(1)).convertAndSend(RabbitMQConfig.BOOKING_STREAM_EXCHANGE, "", booking);
+    }
+
+    /**
+     * Testa se uma falha ao distribuir o agendamento não é propagada ao listener.
+     */
+    @Test
+    public void testBroadcastFailureIsNotPropagated() {
+        PatientDTO booking = booking("doctor-1", LocalDateTime.of(2030, 1, 7, 9, 0));
+        doThrow(new AmqpConnectException(new IOException("Connection refused")))
+                .when(rabbitTemplate).convertAndSend(RabbitMQConfig.BOOKING_STREAM_EXCHANGE, "", booking);
+
+        assertDoesNotThrow(() -> bookingStreamService.broadcast(booking));
+    }
+
+    private static PatientDTO booking(String doctorId, LocalDateTime scheduledAt) {
+        return new PatientDTO("John Doe", "1234567890", "123 Main St", "john@example.com", doctorId, scheduledAt);
+    }
+}
@@ -0,0 +1,136 @@
+package br.com.ewerton.servicedoctor.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DoctorCalendarTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+
+    private DoctorCalendar calendar;
+
+    @BeforeEach
+    public void setUp() {
+        // Calendário de 3 dias com atendimento das 09:00 às 10:00 na segunda e das 23:00 à meia-noite na terça
+        calendar = new DoctorCalendar("doctor-1", MONDAY, 3);
+        calendar.open(MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0));
+        calendar.open(MONDAY.plusDays(1), LocalTime.of(23, 0), LocalTime.MIDNIGHT);
+    }
+
+    /**
+     * Testa se apenas os horários do expediente ficam livres.
+     */
+    @Test
+    public void testFreeSlotsInsideWorkingHours() {
+        List<LocalDateTime> slots = calendar.freeSlots(MONDAY.atStartOfDay(), MONDAY.plusDays(1).atStartOfDay(), 100);
+
+        assertEquals(List.of(MONDAY.atTime(9, 0), MONDAY.atTime(9, 15), MONDAY.atTime(9, 30), MONDAY.atTime(9, 45)), slots);
+    }
+
+    /**
+     * Testa se um horário reservado deixa de ser retornado.
+     */
+    @Test
+    public void testBookedSlotIsNotFree() {
+        calendar.markBooked(MONDAY.atTime(9, 15));
+
+        assertFalse(calendar.isFree(MONDAY.atTime(9, 15)));
+        assertTrue(calendar.isFree(MONDAY.atTime(9, 30)));
+        assertEquals(List.of(MONDAY.atTime(9, 0), MONDAY.atTime(9, 30), MONDAY.atTime(9, 45)),
+                calendar.freeSlots(MONDAY.atStartOfDay(), MONDAY.plusDays(3).atStartOfDay(), 3));
+    }
+
+    /**
+     * Testa se a busca começa no próximo horário quando o início não está alinhado e respeita o limite.
+     */
+    @Test
+    public void testFreeSlotsRoundsUpAndHonoursLimit() {
+        List<LocalDateTime> slots = calendar.freeSlots(MONDAY.atTime(9, 1), MONDAY.plusDays(3).atStartOfDay(), 2);
+
+        assertEquals(List.of(MONDAY.atTime(9, 15), MONDAY.atTime(9, 30)), slots);
+    }
+
+    /**
+     * Testa a busca atravessando várias palavras de 64 bits e o intervalo que termina à meia-noite.
+     */
+    @Test
+    public void testFreeSlotsAcrossWords() {
+        List<LocalDateTime> slots = calendar.freeSlots(MONDAY.atTime(10, 0), MONDAY.plusDays(10).atStartOfDay(), 100);
+
+        assertEquals(4, slots.size());
+        assertEquals(MONDAY.plusDays(1).atTime(23, 0), slots.get(0));
+        assertEquals(MONDAY.plusDays(1).atTime(23, 45), slots.get(3));
+    }
+
+    /**
+     * Testa se a reserva com compare-and-set tem exatamente uma vencedora por horário e se o horário pode ser devolvido.
+     */
+    @Test
+    public void testTryReserveAndRelease() {
+        assertTrue(calendar.tryReserve(MONDAY.atTime(9, 0)));
+        assertFalse(calendar.tryReserve(MONDAY.atTime(9, 0)));
+        assertFalse(calendar.tryReserve(MONDAY.atTime(12, 0)));
+
+        calendar.release(MONDAY.atTime(9, 0));
+        assertTrue(calendar.isFree(MONDAY.atTime(9, 0)));
+    }
+
+    /**
+     * Teste de contenção: muitas threads disputam os mesmos 4 horários (todos na mesma palavra de 64 bits)
+     * e cada horário deve ter exatamente uma vencedora.
+     */
+    @Test
+    public void testConcurrentReservationsOfHotSlots() throws Exception {
+        int threads = 32;
+        List<LocalDateTime> hotSlots = List.of(MONDAY.atTime(9, 0), MONDAY.atTime(9, 15), MONDAY.atTime(9, 30), MONDAY.atTime(9, 45));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 200; round++) {
+                DoctorCalendar hotCalendar = new DoctorCalendar("doctor-1", MONDAY, 1);
+                hotCalendar.open(MONDAY, LocalTime.of(9, 0), LocalTime.of(10, 0));
+                CountDownLatch start = new CountDownLatch(1);
+
+                List<Future<Integer>> results = new ArrayList<>();
+                for (int thread = 0; thread < threads; thread++) {
+                    LocalDateTime slot = hotSlots.get(thread % hotSlots.size());
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return hotCalendar.tryReserve(slot) ? 1 : 0;
+                    }));
+                }
+                start.countDown();
+
+                int winners = 0;
+                for (Future<Integer> result : results) winners += result.get();
+                assertEquals(hotSlots.size(), winners);
+                assertTrue(hotCalendar.freeSlots(MONDAY.atStartOfDay(), MONDAY.plusDays(1).atStartOfDay(), 10).isEmpty());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Testa se instantes fora do horizonte são ignorados.
+     */
+    @Test
+    public void testOutsideHorizon() {
+        calendar.markBooked(MONDAY.minusDays(1).atTime(9, 0));
+        calendar.open(MONDAY.plusDays(5), LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+        assertFalse(calendar.isFree(MONDAY.plusDays(5).atTime(9, 0)));
+        assertTrue(calendar.freeSlots(MONDAY.plusDays(3).atStartOfDay(), MONDAY.plusDays(10).atStartOfDay(), 10).isEmpty());
+    }
+}
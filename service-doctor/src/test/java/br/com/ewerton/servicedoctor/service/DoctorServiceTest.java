@@ -1,31 +1,46 @@
 package br.com.ewerton.servicedoctor.service;
 
+import br.com.ewerton.servicedoctor.dto.DoctorPageDTO;
+import br.com.ewerton.servicedoctor.dto.DoctorSummaryDTO;
 import br.com.ewerton.servicedoctor.model.DoctorModel;
 import br.com.ewerton.servicedoctor.repository.DoctorRepository;
 import br.com.ewerton.servicedoctor.service.exceptions.DoctorNotFound;
+import br.com.ewerton.servicedoctor.service.exceptions.InvalidCursor;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 public class DoctorServiceTest {
 
     @Mock
     private DoctorRepository doctorRepository;
 
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
     @InjectMocks
     private DoctorService doctorService;
 
-    private DoctorModel doctor;
+    private DoctorSummaryDTO doctor;
     private UUID doctorId;
 
     @BeforeEach
@@ -34,44 +49,81 @@ public class DoctorServiceTest {
 
         // Preparando um médico para os testes
         doctorId = UUID.randomUUID();
-        doctor = new DoctorModel();
-        doctor.setId(doctorId);
-        doctor.setEmail("joao@example.com");
-        doctor.setPassword("password");
-        doctor.setRole("USER");
+        doctor = new DoctorSummaryDTO(doctorId.toString(), "Dr. João", "Cardiology", "12345", "Clínica Central");
     }
 
     /**
-     * Testa o método allDoctor() quando há médicos cadastrados.
+     * Testa a primeira página do diretório quando existem mais médicos que o tamanho da página.
      */
     @Test
-    public void testAllDoctorWhenDoctorsExist() {
-        // Configurando o comportamento do repositório para retornar uma lista com 1 médico
-        when(doctorRepository.count()).thenReturn(1L);
-        when(doctorRepository.findAll()).thenReturn(Collections.singletonList(doctor));
+    public void testPageDoctorsFirstPage() {
+        DoctorSummaryDTO other = new DoctorSummaryDTO(UUID.randomUUID().toString(), "Dra. Maria", "Cardiology", "67890", "Clínica Central");
+
+        // Um registro a mais que o tamanho da página indica que existe próxima página
+        when(doctorRepository.findDirectoryPageBySpecialty("Cardiology", DoctorService.FIRST_PAGE, Limit.of(2))).thenReturn(List.of(doctor, other));
 
         // Chamando o método
-        List<DoctorModel> doctors = doctorService.allDoctor();
+        DoctorPageDTO page = doctorService.pageDoctors("Cardiology", " ", null, 1, Set.of());
 
-        // Verificando se a lista retornada não está vazia
-        assertNotNull(doctors);
-        assertFalse(doctors.isEmpty());
-        assertEquals(1, doctors.size());
-        assertEquals(doctor.getEmail(), doctors.get(0).getEmail());
+        // Verificando a página e o cursor da próxima página
+        assertEquals(List.of(doctor), page.content());
+        assertNotNull(page.nextCursor());
+
+        // A próxima página começa depois do último ID entregue
+        when(doctorRepository.findDirectoryPageBySpecialty("Cardiology", doctor.id(), Limit.of(2))).thenReturn(List.of(other));
+        DoctorPageDTO next = doctorService.pageDoctors("Cardiology", null, page.nextCursor(), 1, Set.of());
+        assertEquals(List.of(other), next.content());
+        assertNull(next.nextCursor());
     }
 
     /**
-     * Testa o método allDoctor() quando não há médicos cadastrados.
+     * Testa se cada combinação de filtros usa a sua própria consulta, sem predicados opcionais.
      */
     @Test
-    public void testAllDoctorWhenDoctorsNotExist() {
-        // Configurando o comportamento do repositório para retornar 0 médicos
-        when(doctorRepository.count()).thenReturn(0L);
+    public void testPageDoctorsUsesQueryOfEachFilter() {
+        Limit limit = Limit.of(11);
+        when(doctorRepository.findDirectoryPageByClinic("Clínica Central", DoctorService.FIRST_PAGE, limit)).thenReturn(List.of(doctor));
+        when(doctorRepository.findDirectoryPageBySpecialtyAndClinic("cardiology", "Clínica Central", DoctorService.FIRST_PAGE, limit)).thenReturn(List.of(doctor));
 
-        // Chamando o método e verificando se a exceção é lançada
-        assertThrows(DoctorNotFound.class, () -> {
-            doctorService.allDoctor();
-        });
+        assertEquals(List.of(doctor), doctorService.pageDoctors(null, "Clínica Central", null, 10, Set.of()).content());
+        assertEquals(List.of(doctor), doctorService.pageDoctors("cardiology", "Clínica Central", null, 10, Set.of()).content());
+
+        verify(doctorRepository, never()).findDirectoryPage(any(), any());
+        verify(doctorRepository, never()).findDirectoryPageBySpecialty(any(), any(), any());
+    }
+
+    /**
+     * Testa a seleção de campos: apenas o ID e os campos pedidos são preenchidos.
+     */
+    @Test
+    public void testPageDoctorsWithFieldSelection() {
+        when(doctorRepository.findDirectoryPage(DoctorService.FIRST_PAGE, Limit.of(11))).thenReturn(List.of(doctor));
+
+        DoctorPageDTO page = doctorService.pageDoctors(null, null, null, 10, Set.of("name", "specialty"));
+
+        assertEquals(new DoctorSummaryDTO(doctor.id(), "Dr. João", "Cardiology", null, null), page.content().get(0));
+    }
+
+    /**
+     * Testa o diretório sem médicos cadastrados: página vazia, sem count() nem exceção.
+     */
+    @Test
+    public void testPageDoctorsWhenDoctorsNotExist() {
+        when(doctorRepository.findDirectoryPage(DoctorService.FIRST_PAGE, Limit.of(DoctorService.DEFAULT_PAGE_SIZE + 1))).thenReturn(List.of());
+
+        DoctorPageDTO page = doctorService.pageDoctors(null, null, null, 0, Set.of());
+
+        assertTrue(page.content().isEmpty());
+        assertNull(page.nextCursor());
+        verify(doctorRepository, never()).count();
+    }
+
+    /**
+     * Testa se um cursor inválido é rejeitado.
+     */
+    @Test
+    public void testPageDoctorsWithInvalidCursor() {
+        assertThrows(InvalidCursor.class, () -> doctorService.pageDoctors(null, null, "%%%", 10, Set.of()));
     }
 
     /**
@@ -80,14 +132,15 @@ public class DoctorServiceTest {
     @Test
     public void testFindDoctorByIdWhenDoctorExists() {
         // Configurando o comportamento do repositório para retornar um médico com o ID específico
-        when(doctorRepository.findById(doctorId)).thenReturn(Optional.of(doctor));
+        when(doctorRepository.findSummaryById(doctorId.toString())).thenReturn(Optional.of(doctor));
 
         // Chamando o método
-        Optional<DoctorModel> result = doctorService.findDoctorById(doctorId);
+        Optional<DoctorSummaryDTO> result = doctorService.findDoctorById(doctorId, Set.of());
 
         // Verificando se o médico foi encontrado
         assertTrue(result.isPresent());
-        assertEquals(doctorId, result.get().getId());
+        assertEquals(doctorId.toString(), result.get().id());
+        verify(doctorRepository, never()).count();
     }
 
     /**
@@ -96,11 +149,35 @@ public class DoctorServiceTest {
     @Test
     public void testFindDoctorByIdWhenDoctorNotFound() {
         // Configurando o comportamento do repositório para não encontrar o médico
-        when(doctorRepository.findById(doctorId)).thenReturn(Optional.empty());
+        when(doctorRepository.findSummaryById(doctorId.toString())).thenReturn(Optional.empty());
 
         // Chamando o método e verificando se a exceção é lançada
         assertThrows(DoctorNotFound.class, () -> {
-            doctorService.findDoctorById(doctorId);
+            doctorService.findDoctorById(doctorId, Set.of());
         });
     }
+
+    /**
+     * Testa se a invalidação publicada no registro de um médico, ao chegar a uma réplica, remove o médico do cache de
+     * segundo nível e descarta a região de consultas do diretório ("doctor-directory").
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDoctorInvalidationEvictsDirectoryRegion() {
+        Cache entityCache = mock(Cache.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        org.hibernate.Cache hibernateCache = mock(org.hibernate.Cache.class);
+        when(entityManagerFactory.getCache()).thenReturn(entityCache);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(hibernateCache);
+
+        doctorService.init();
+        ArgumentCaptor<Consumer<String>> evictor = ArgumentCaptor.forClass(Consumer.class);
+        verify(cacheInvalidationBus).subscribe(eq(DoctorService.DOCTORS_CACHE), evictor.capture());
+        evictor.getValue().accept(doctor.id());
+
+        verify(entityCache, times(1)).evict(DoctorModel.class, doctor.id());
+        verify(hibernateCache, times(1)).evictQueryRegion(DoctorRepository.DIRECTORY_CACHE_REGION);
+        assertEquals("doctor-directory", DoctorRepository.DIRECTORY_CACHE_REGION);
+    }
 }
@@ -0,0 +1,126 @@
+package br.com.ewerton.servicedoctor.service;
+
+import br.com.ewerton.servicedoctor.configuration.security.TokenService;
+import br.com.ewerton.servicedoctor.dto.DoctorPageDTO;
+import br.com.ewerton.servicedoctor.dto.DoctorSummaryDTO;
+import br.com.ewerton.servicedoctor.model.DoctorModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class WarmUpServiceTest {
+
+    @Mock
+    private AvailabilityService availabilityService;
+
+    @Mock
+    private DoctorService doctorService;
+
+    @Mock
+    private TokenService tokenService;
+
+    @InjectMocks
+    private WarmUpService warmUpService;
+
+    private ApplicationReadyEvent event;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(warmUpService, "enabled", true);
+        ReflectionTestUtils.setField(warmUpService, "directoryPages", 5);
+        ReflectionTestUtils.setField(warmUpService, "iterations", 3);
+
+        // Contexto sem servidor web: a etapa dos endpoints HTTP é ignorada
+        event = mock(ApplicationReadyEvent.class);
+        when(event.getApplicationContext()).thenReturn(mock(ConfigurableApplicationContext.class));
+    }
+
+    /**
+     * Testa se o aquecimento percorre o diretório pelo cursor e consulta os horários de cada especialidade encontrada.
+     */
+    @Test
+    public void testWarmUpWalksDirectoryAndSpecialties() {
+        when(doctorService.pageDoctors(null, null, null, DoctorService.MAX_PAGE_SIZE, Set.of())).thenReturn(new DoctorPageDTO(List.of(
+                new DoctorSummaryDTO("1", "Dr. João", "Cardiology", "12345", "Clínica Central")), "next"));
+        when(doctorService.pageDoctors(null, null, "next", DoctorService.MAX_PAGE_SIZE, Set.of())).thenReturn(new DoctorPageDTO(List.of(
+                new DoctorSummaryDTO("2", "Dra. Maria", "Dermatology", "67890", "Clínica Central")), null));
+        warmUpService.onApplicationReady(event);
+
+        verify(availabilityService).rebuildAll();
+        verify(availabilityService).findEarliestSlots(eq("Cardiology"), any(), any(), eq(10));
+        verify(availabilityService).findEarliestSlots(eq("Dermatology"), any(), any(), eq(10));
+    }
+
+    /**
+     * Testa se o aquecimento assina e verifica tokens distintos de médicos fictícios, sem enviá-los a lugar algum.
+     */
+    @Test
+    public void testWarmUpSignsAndDecodesDistinctTokens() {
+        when(tokenService.generateToken(any())).thenAnswer(invocation -> "token-" + invocation.<DoctorModel>getArgument(0).getEmail());
+
+        warmUpService.onApplicationReady(event);
+
+        ArgumentCaptor<DoctorModel> doctors = ArgumentCaptor.forClass(DoctorModel.class);
+        verify(tokenService, times(3)).generateToken(doctors.capture());
+        assertEquals(3, doctors.getAllValues().stream().map(DoctorModel::getEmail).distinct().count());
+        assertTrue(doctors.getAllValues().stream().allMatch(doctor -> doctor.getEmail().endsWith("@" + WarmUpService.WARM_UP_EMAIL_DOMAIN)));
+        verify(tokenService).decodeToken("token-doctor-0@" + WarmUpService.WARM_UP_EMAIL_DOMAIN);
+        verify(tokenService, times(3)).decodeToken(anyString());
+    }
+
+    /**
+     * Testa se a falha de uma etapa não interrompe as demais.
+     */
+    @Test
+    public void testWarmUpContinuesAfterStepFailure() {
+        when(doctorService.pageDoctors(any(), any(), any(), anyInt(), any())).thenThrow(new IllegalStateException("database down"));
+
+        warmUpService.onApplicationReady(event);
+
+        verify(availabilityService).rebuildAll();
+        verify(availabilityService, never()).findEarliestSlots(any(), any(), any(), anyInt());
+    }
+
+    /**
+     * Testa se a falha na montagem dos calendários não interrompe o aquecimento nem a entrada da instância em produção.
+     */
+    @Test
+    public void testWarmUpContinuesAfterCalendarRebuildFailure() {
+        doThrow(new IllegalStateException("database down")).when(availabilityService).rebuildAll();
+        when(doctorService.pageDoctors(null, null, null, DoctorService.MAX_PAGE_SIZE, Set.of())).thenReturn(new DoctorPageDTO(List.of(
+                new DoctorSummaryDTO("1", "Dr. João", "Cardiology", "12345", "Clínica Central")), null));
+
+        assertDoesNotThrow(() -> warmUpService.onApplicationReady(event));
+
+        verify(availabilityService).findEarliestSlots(eq("Cardiology"), any(), any(), eq(10));
+    }
+
+    /**
+     * Testa se, com o aquecimento desabilitado, apenas os calendários são montados.
+     */
+    @Test
+    public void testWarmUpDisabledOnlyBuildsCalendars() {
+        ReflectionTestUtils.setField(warmUpService, "enabled", false);
+
+        warmUpService.onApplicationReady(event);
+
+        verify(availabilityService).rebuildAll();
+        verifyNoInteractions(doctorService, tokenService);
+    }
+}
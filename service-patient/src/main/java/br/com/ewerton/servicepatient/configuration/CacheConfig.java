@@ -0,0 +1,16 @@
+package br.com.ewerton.servicepatient.configuration;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Habilita o cache local (Caffeine) da aplicação.
+ * <p>
+ * Os caches, seus limites de tamanho e tempo de expiração são definidos em "spring.cache" no application.yml.
+ * Como as estatísticas estão habilitadas ("recordStats"), as métricas de acerto, falha e remoção são publicadas
+ * no actuator como "cache.gets", "cache.puts" e "cache.evictions".
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
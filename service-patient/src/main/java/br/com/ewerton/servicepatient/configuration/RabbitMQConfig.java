@@ -1,5 +1,8 @@
 package br.com.ewerton.servicepatient.configuration;
 
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
@@ -20,6 +23,21 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class RabbitMQConfig {
 
+    /**
+     * Nome da exchange que recebe os eventos de agendamento de pacientes.
+     */
+    public static final String PATIENTS_SCHEDULES_CREATED_EXCHANGE = "schedules.v1.patients-schedules-created";
+
+    /**
+     * Nome da exchange que distribui as invalidações de cache entre as réplicas do serviço.
+     */
+    public static final String CACHE_INVALIDATION_EXCHANGE = "cache.v1.patient-service-invalidations";
+
+    /**
+     * Nome da exchange dos pedidos de liberação de reservas de horários, consumidos pelo "service-doctor".
+     */
+    public static final String RESERVATION_RELEASE_EXCHANGE = "reservations.v1.release-requested";
+
     /**
      * Define a exchange do tipo Fanout, que envia mensagens para todas as filas ligadas a ela.
      *
@@ -27,7 +45,7 @@ public class RabbitMQConfig {
      */
     @Bean
     public FanoutExchange fanoutExchange() {
-        return new FanoutExchange("schedules.v1.patients-schedules-created");
+        return new FanoutExchange(PATIENTS_SCHEDULES_CREATED_EXCHANGE);
     }
 
     /**
@@ -40,6 +58,47 @@ public class RabbitMQConfig {
         return new Queue("schedules.v1.patients-schedules-created-queue-doctor");
     }
 
+    /**
+     * Define a exchange do tipo fanout dos pedidos de liberação de reservas de horários.
+     *
+     * @return A exchange de liberação de reservas.
+     */
+    @Bean
+    public FanoutExchange reservationReleaseExchange() {
+        return new FanoutExchange(RESERVATION_RELEASE_EXCHANGE);
+    }
+
+    /**
+     * Define a exchange do tipo fanout que distribui as invalidações de cache para todas as réplicas.
+     *
+     * @return A exchange de invalidação de cache.
+     */
+    @Bean
+    public FanoutExchange cacheInvalidationExchange() {
+        return new FanoutExchange(CACHE_INVALIDATION_EXCHANGE);
+    }
+
+    /**
+     * Define a fila de invalidação de cache desta réplica: anônima, exclusiva e removida quando a réplica se
+     * desconecta, para que cada réplica receba todas as invalidações.
+     *
+     * @return A fila anônima de invalidação de cache.
+     */
+    @Bean
+    public AnonymousQueue cacheInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    /**
+     * Cria o vínculo (binding) entre a fila de invalidação desta réplica e a exchange de invalidação de cache.
+     *
+     * @return O objeto de binding que conecta a fila à exchange.
+     */
+    @Bean
+    public Binding cacheInvalidationBinding() {
+        return BindingBuilder.bind(cacheInvalidationQueue()).to(cacheInvalidationExchange());
+    }
+
     /**
      * Define o RabbitAdmin, que é responsável pela inicialização e gerenciamento dos recursos do RabbitMQ.
      *
@@ -0,0 +1,22 @@
+package br.com.ewerton.servicepatient.configuration;
+
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Configura o cliente HTTP usado nas chamadas síncronas aos outros serviços.
+ * <p>
+ * O builder é balanceado pelo Spring Cloud LoadBalancer: o host das URLs é o nome do serviço registrado no Eureka
+ * (por exemplo, "http://doctor-service"), resolvido para uma das instâncias disponíveis.
+ */
+@Configuration
+public class RestClientConfig {
+
+    @Bean
+    @LoadBalanced
+    public RestClient.Builder loadBalancedRestClientBuilder() {
+        return RestClient.builder();
+    }
+}
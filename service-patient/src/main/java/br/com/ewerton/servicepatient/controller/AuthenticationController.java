@@ -5,13 +5,14 @@ import br.com.ewerton.servicepatient.dto.AuthenticationDTO;
 import br.com.ewerton.servicepatient.dto.EmailResponseDTO;
 import br.com.ewerton.servicepatient.dto.RegisterDTO;
 import br.com.ewerton.servicepatient.model.PatientModel;
+import br.com.ewerton.servicepatient.model.PatientRole;
 import br.com.ewerton.servicepatient.repository.PatientRepository;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -38,6 +39,9 @@ public class AuthenticationController {
     @Autowired
     private TokenService tokenService;
 
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
     /**
      * Endpoint para autenticação de um paciente.
      * <p>
@@ -58,8 +62,11 @@ public class AuthenticationController {
     /**
      * Endpoint para registrar um novo paciente.
      * <p>
-     * Recebe os dados necessários para registrar um paciente (email, senha, role). Se o email já estiver em uso, retorna um erro 400.
+     * Recebe os dados necessários para registrar um paciente (email e senha). Se o email já estiver em uso, retorna um erro 400.
      * Caso contrário, cria o paciente, criptografa sua senha e o salva no banco de dados.
+     * <p>
+     * O paciente é sempre registrado com o papel {@link PatientRole#USER}: o papel é assinado no token e concede
+     * acesso aos endpoints administrativos, então não pode ser escolhido por quem se registra.
      *
      * @param data O objeto DTO contendo as informações para o registro do paciente.
      * @return A resposta indicando o sucesso ou falha no registro.
@@ -71,10 +78,10 @@ public class AuthenticationController {
             return ResponseEntity.badRequest().build();  // Retorna erro se o email já estiver em uso
 
         // Criptografa a senha do paciente
-        String encryptedPassword = new BCryptPasswordEncoder().encode(data.password());
+        String encryptedPassword = passwordEncoder.encode(data.password());
 
         // Cria o novo paciente
-        PatientModel newPatient = new PatientModel(data.email(), encryptedPassword, data.role());
+        PatientModel newPatient = new PatientModel(data.email(), encryptedPassword, PatientRole.USER);
 
         // Salva o paciente no banco de dados
         this.patientRepository.save(newPatient);
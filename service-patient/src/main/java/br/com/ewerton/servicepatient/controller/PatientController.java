@@ -1,18 +1,24 @@
 package br.com.ewerton.servicepatient.controller;
 
 import br.com.ewerton.servicepatient.dto.PatientDTO;
+import br.com.ewerton.servicepatient.dto.PatientImportReportDTO;
+import br.com.ewerton.servicepatient.dto.PatientPageDTO;
 import br.com.ewerton.servicepatient.model.PatientModel;
+import br.com.ewerton.servicepatient.service.PatientExportService;
+import br.com.ewerton.servicepatient.service.PatientImportService;
 import br.com.ewerton.servicepatient.service.PatientService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Controlador responsável pelas operações relacionadas aos pacientes.
@@ -28,22 +34,73 @@ public class PatientController {
     @Autowired
     private PatientService patientService;
 
+    @Autowired
+    private PatientExportService patientExportService;
+
+    @Autowired
+    private PatientImportService patientImportService;
+
     /**
-     * Endpoint para obter a lista de todos os pacientes registrados.
+     * Endpoint para obter a lista de pacientes registrados, paginada por cursor.
      * <p>
-     * Este endpoint retorna uma lista de pacientes, onde cada paciente é representado por um DTO contendo
-     * os campos necessários (nome, telefone, endereço e email).
+     * Este endpoint retorna uma página de pacientes, onde cada paciente é representado por um DTO contendo
+     * os campos necessários (nome, telefone, endereço e email), e o cursor para buscar a próxima página.
      *
-     * @return Uma lista de DTOs de pacientes registrados.
+     * @param cursor O cursor retornado pela página anterior; ausente para a primeira página.
+     * @param size   O tamanho da página (máximo de {@value PatientService#MAX_PAGE_SIZE}).
+     * @return A página de DTOs de pacientes registrados.
      */
-    @Operation(summary = "Find a List of registered patients")
+    @Operation(summary = "Find a page of registered patients")
     @GetMapping
-    public ResponseEntity<List<PatientDTO>> getAllPatients() {
-        List<PatientModel> patients = patientService.allPatient();
-        List<PatientDTO> patientDTOS = patients.stream()
-                .map(patient -> new PatientDTO(patient.getName(), patient.getPhone(), patient.getAddress(), patient.getEmail()))
-                .collect(Collectors.toList());
-        return ResponseEntity.ok().body(patientDTOS);
+    public ResponseEntity<PatientPageDTO> getAllPatients(@RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok().body(patientService.pagePatients(cursor, size));
+    }
+
+    /**
+     * Endpoint para exportar todos os pacientes em NDJSON (um JSON por linha).
+     * <p>
+     * A resposta é escrita em streaming à medida que as linhas são lidas do banco, sem montar a lista completa
+     * em memória. Destinado aos jobs de reconciliação que precisam de todos os pacientes.
+     *
+     * @return O corpo da resposta em streaming no formato "application/x-ndjson".
+     */
+    @Operation(summary = "Export every registered patient as newline-delimited JSON")
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportPatients() {
+        StreamingResponseBody body = out -> patientExportService.exportTo(out);
+        return ResponseEntity.ok().body(body);
+    }
+
+    /**
+     * Endpoint para importar pacientes em massa a partir de um array JSON.
+     * <p>
+     * O corpo é lido em streaming e gravado em lotes; linhas inválidas ou com email já cadastrado são reportadas sem
+     * abortar a carga. Os pacientes importados não têm senha e não conseguem fazer login até que ela seja definida.
+     *
+     * @param body O stream com o array JSON de pacientes.
+     * @return O relatório com a quantidade importada e os erros por linha.
+     * @throws IOException Se o corpo da requisição não puder ser lido.
+     */
+    @Operation(summary = "Bulk import patients from a JSON array")
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PatientImportReportDTO> importPatientsJson(InputStream body) throws IOException {
+        return ResponseEntity.ok().body(patientImportService.importJson(body));
+    }
+
+    /**
+     * Endpoint para importar pacientes em massa a partir de um CSV com cabeçalho.
+     * <p>
+     * Segue as mesmas regras da importação JSON.
+     *
+     * @param body O stream com o conteúdo CSV.
+     * @return O relatório com a quantidade importada e os erros por linha.
+     * @throws IOException Se o corpo da requisição não puder ser lido.
+     */
+    @Operation(summary = "Bulk import patients from a CSV file")
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<PatientImportReportDTO> importPatientsCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok().body(patientImportService.importCsv(body));
     }
 
     /**
@@ -58,10 +115,9 @@ public class PatientController {
     @Operation(summary = "Find a specific patient by your ID")
     @GetMapping("/{id}")
     public ResponseEntity<PatientDTO> findPatientById(@PathVariable UUID id) {
-        Optional<PatientModel> patient = patientService.findPatientById(id);
+        Optional<PatientDTO> patient = patientService.findPatientDTOById(id);
         if (patient.isPresent()) {
-            PatientDTO patientDTO = new PatientDTO(patient.get().getName(), patient.get().getPhone(), patient.get().getAddress(), patient.get().getEmail());
-            return ResponseEntity.ok().body(patientDTO);
+            return ResponseEntity.ok().body(patient.get());
         }
         return ResponseEntity.notFound().build();
     }
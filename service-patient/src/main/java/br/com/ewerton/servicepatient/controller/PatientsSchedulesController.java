@@ -1,11 +1,11 @@
 package br.com.ewerton.servicepatient.controller;
 
-import br.com.ewerton.servicepatient.dto.PatientDTO;
+import br.com.ewerton.servicepatient.dto.PatientScheduleDTO;
 import br.com.ewerton.servicepatient.model.PatientModel;
 import br.com.ewerton.servicepatient.service.PatientService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -17,7 +17,8 @@ import org.springframework.web.bind.annotation.RestController;
  * Controlador responsável pelo gerenciamento de agendamentos de pacientes.
  * <p>
  * Este controlador oferece um endpoint para registrar um paciente e enviar uma mensagem para
- * uma fila do RabbitMQ, indicando que um novo paciente foi criado.
+ * uma fila do RabbitMQ, indicando que um novo paciente foi criado. A mensagem é registrada no outbox
+ * junto com o paciente e publicada em segundo plano.
  */
 @Tag(name = "Schedules endpoint")
 @RestController
@@ -27,33 +28,26 @@ public class PatientsSchedulesController {
     @Autowired
     private PatientService patientService;
 
-    @Autowired
-    private RabbitTemplate rabbitTemplate;
-
     /**
      * Endpoint para registrar um paciente e enviar uma mensagem para a fila de agendamentos.
      * <p>
-     * Este endpoint converte um objeto do tipo DTO para o tipo Model, salva o paciente no banco
-     * de dados, e em seguida envia uma mensagem para uma fila no RabbitMQ informando que um
-     * paciente foi registrado. O paciente registrado é retornado no formato DTO.
+     * Este endpoint converte um objeto do tipo DTO para o tipo Model, reserva o horário na agenda do médico,
+     * salva o paciente no banco de dados e registra, na mesma transação, a mensagem que informa que um paciente
+     * foi agendado com o médico e o horário informados. A mensagem é enviada ao RabbitMQ em segundo plano.
+     * O agendamento registrado é retornado no formato DTO. Dados incompletos ou um horário fora do alinhamento ou
+     * do horizonte da agenda retornam 400 (Bad Request); um horário que não está livre retorna 409 (Conflict).
      *
-     * @param patientDTO O DTO que contém os dados do paciente a ser registrado.
-     * @return O DTO do paciente registrado.
+     * @param patientDTO O DTO que contém os dados do paciente, o médico e o horário da consulta.
+     * @return O DTO do agendamento registrado.
      */
     @Operation(summary = "converts an object of type model to type dto then saves it in the database and sends a message to the queue")
     @PostMapping("/schedules")
-    public ResponseEntity<PatientDTO> patientsSchedules(@RequestBody PatientDTO patientDTO) {
+    public ResponseEntity<PatientScheduleDTO> patientsSchedules(@RequestBody @Valid PatientScheduleDTO patientDTO) {
         // Converte o DTO para o modelo de paciente
         PatientModel patientModel = new PatientModel(patientDTO.name(), patientDTO.address(), patientDTO.phone(), patientDTO.email());
 
-        // Salva o paciente no banco de dados
-        patientService.savePatient(patientModel);
-
-        // Converte o paciente salvo de volta para o DTO
-        PatientDTO savedPatientDTO = new PatientDTO(patientModel.getName(), patientModel.getPhone(), patientModel.getAddress(), patientModel.getEmail());
-
-        // Envia a mensagem para a fila do RabbitMQ
-        rabbitTemplate.convertAndSend("schedules.v1.patients-schedules-created", "", savedPatientDTO);
+        // Reserva o horário, salva o paciente e registra a mensagem no outbox
+        PatientScheduleDTO savedPatientDTO = patientService.schedulePatient(patientModel, patientDTO.doctorId(), patientDTO.scheduledAt());
 
         // Retorna o paciente registrado como resposta
         return ResponseEntity.ok(savedPatientDTO);
@@ -1,6 +1,8 @@
 package br.com.ewerton.servicepatient.controller.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -68,11 +70,20 @@ public class SecurityConfiguration {
 
     /**
      * Define o encoder de senha usando o algoritmo BCrypt, para garantir a criptografia segura das senhas dos usuários.
+     * <p>
+     * O BCrypt roda em um executor dedicado e limitado ({@link BoundedPasswordEncoder}), usado tanto no registro quanto
+     * no login através do AuthenticationManager. Por padrão o executor tem uma thread por núcleo.
      *
+     * @param meterRegistry O registro de métricas da aplicação.
+     * @param threads       A quantidade de threads de hash (0 usa a quantidade de núcleos).
+     * @param queueCapacity A quantidade máxima de operações aguardando na fila.
      * @return O PasswordEncoder configurado com BCryptPasswordEncoder.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${api.security.password-hashing.threads:0}") int threads,
+                                           @Value("${api.security.password-hashing.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), poolSize, queueCapacity, meterRegistry);
     }
 }
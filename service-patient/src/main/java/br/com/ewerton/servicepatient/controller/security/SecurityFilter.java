@@ -1,12 +1,16 @@
 package br.com.ewerton.servicepatient.controller.security;
 
 import br.com.ewerton.servicepatient.repository.PatientRepository;
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -19,6 +23,11 @@ import java.io.IOException;
  * <p>
  * Este filtro é responsável por interceptar todas as requisições HTTP e validar o token JWT presente no cabeçalho "Authorization".
  * Caso o token seja válido, ele autentica o usuário no contexto de segurança da aplicação.
+ * <p>
+ * No modo stateless ("api.security.token.stateless"), a autenticação é montada apenas a partir do token verificado
+ * (email e autoridades assinadas), sem consultar o banco de dados. Tokens emitidos antes da inclusão das autoridades
+ * no token, ou com o modo desligado, continuam sendo resolvidos pelo repositório. Como consequência do modo stateless,
+ * uma alteração de papel só passa a valer quando o token atual expira.
  */
 @Component
 public class SecurityFilter extends OncePerRequestFilter {
@@ -29,6 +38,9 @@ public class SecurityFilter extends OncePerRequestFilter {
     @Autowired
     private PatientRepository patientRepository;
 
+    @Value("${api.security.token.stateless:true}")
+    private boolean stateless;
+
     /**
      * Intercepta a requisição HTTP e valida o token de autenticação.
      * <p>
@@ -44,13 +56,23 @@ public class SecurityFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         var token = this.recoveryToken(request);  // Recupera o token do cabeçalho "Authorization"
         if (token != null) {
-            // Valida o token e obtém o email do paciente
-            var email = tokenService.validateToken(token);
-            UserDetails patient = patientRepository.findByEmail(email);  // Busca o paciente pelo email
-            if (patient != null) {
-                // Cria uma autenticação com as informações do paciente e define no contexto de segurança
-                var authentication = new UsernamePasswordAuthenticationToken(patient, null, patient.getAuthorities());
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            // Valida o token e obtém seu conteúdo (email do paciente e autoridades)
+            DecodedJWT decodedToken = tokenService.decodeToken(token);
+            if (decodedToken != null) {
+                Claim roles = decodedToken.getClaim(TokenService.ROLES_CLAIM);
+                if (stateless && !roles.isMissing()) {
+                    // Cria a autenticação somente com os dados assinados no token, sem acessar o banco
+                    var authorities = roles.asList(String.class).stream().map(SimpleGrantedAuthority::new).toList();
+                    var authentication = new UsernamePasswordAuthenticationToken(decodedToken.getSubject(), null, authorities);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                } else {
+                    UserDetails patient = patientRepository.findByEmail(decodedToken.getSubject());  // Busca o paciente pelo email
+                    if (patient != null) {
+                        // Cria uma autenticação com as informações do paciente e define no contexto de segurança
+                        var authentication = new UsernamePasswordAuthenticationToken(patient, null, patient.getAuthorities());
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                    }
+                }
             }
         }
         // Continua o processamento da requisição
@@ -2,33 +2,95 @@ package br.com.ewerton.servicepatient.controller.security;
 
 import br.com.ewerton.servicepatient.model.PatientModel;
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Base64;
 
 /**
  * Serviço responsável pela geração e validação de tokens JWT.
  * <p>
  * Este serviço utiliza a biblioteca `auth0` para criar e verificar tokens JWT. O token é utilizado para autenticar os usuários
  * e garantir que as requisições realizadas à aplicação sejam feitas por usuários autenticados.
+ * <p>
+ * O algoritmo de assinatura e o verificador são criados uma única vez na inicialização. Os tokens já verificados ficam
+ * em um cache limitado, indexado pelo hash SHA-256 do token, e cada entrada expira junto com o próprio token.
+ * <p>
+ * Os tokens são emitidos para a audiência {@value #AUDIENCE} e só são aceitos com ela, para que um token de paciente
+ * não autentique em outro serviço (e vice-versa), mesmo que as chaves secretas coincidam. A chave secreta não tem
+ * valor padrão e precisa ter ao menos {@value #MIN_SECRET_LENGTH} caracteres.
  */
 @Service
 public class TokenService {
 
+    /**
+     * Nome do claim que carrega as autoridades (roles) do paciente no token.
+     */
+    public static final String ROLES_CLAIM = "roles";
+
+    /**
+     * Audiência dos tokens emitidos e aceitos por este serviço.
+     */
+    public static final String AUDIENCE = "service-patient";
+
+    /**
+     * Tamanho mínimo da chave secreta: 256 bits, o tamanho da assinatura HMAC256.
+     */
+    static final int MIN_SECRET_LENGTH = 32;
+
     @Value("${api.security.token.secret}")
     private String secret;
 
+    @Value("${api.security.token.cache-size:10000}")
+    private long cacheSize;
+
+    private Algorithm algorithm;
+
+    private JWTVerifier verifier;
+
+    private Cache<String, DecodedJWT> verifiedTokens;
+
+    /**
+     * Cria o algoritmo de assinatura, o verificador e o cache de tokens verificados.
+     */
+    @PostConstruct
+    void init() {
+        if (secret == null || secret.length() < MIN_SECRET_LENGTH) {
+            throw new IllegalStateException("api.security.token.secret must have at least " + MIN_SECRET_LENGTH + " characters");
+        }
+        algorithm = Algorithm.HMAC256(secret);  // Define o algoritmo de assinatura com a chave secreta
+        verifier = JWT.require(algorithm)
+                .withIssuer("auth-api")  // Verifica o emissor do token
+                .withAudience(AUDIENCE)  // Rejeita tokens emitidos para outros serviços
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
     /**
      * Gera um token JWT para o paciente fornecido.
      * <p>
-     * O token contém o email do paciente como sujeito e tem uma validade de 2 horas. O algoritmo HMAC256 é utilizado para
-     * assinar o token com a chave secreta configurada na aplicação.
+     * O token contém o email do paciente como sujeito, suas autoridades no claim {@value #ROLES_CLAIM} e tem uma
+     * validade de 2 horas. O algoritmo HMAC256 é utilizado para assinar o token com a chave secreta configurada na aplicação.
      *
      * @param patientModel O modelo do paciente, que contém as informações necessárias para gerar o token.
      * @return O token JWT gerado.
@@ -36,11 +98,12 @@ public class TokenService {
      */
     public String generateToken(PatientModel patientModel) {
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);  // Define o algoritmo de assinatura com a chave secreta
             // Cria o token com o email do paciente e tempo de expiração
             String token = JWT.create()
                     .withIssuer("auth-api")  // Define o emissor do token
+                    .withAudience(AUDIENCE)  // Define o serviço que aceita o token
                     .withSubject(patientModel.getEmail())  // Define o email do paciente como o sujeito
+                    .withClaim(ROLES_CLAIM, patientModel.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList())  // Assina as autoridades do paciente
                     .withExpiresAt(generateExpirationTime())  // Define o tempo de expiração
                     .sign(algorithm);  // Assina o token com o algoritmo
             return token;
@@ -59,16 +122,30 @@ public class TokenService {
      * @return O email do paciente se o token for válido, ou uma string vazia se for inválido.
      */
     public String validateToken(String token) {
+        DecodedJWT decodedToken = decodeToken(token);
+        return decodedToken == null ? "" : decodedToken.getSubject();  // Retorna o sujeito (email) do token
+    }
+
+    /**
+     * Verifica o token JWT fornecido e retorna seu conteúdo decodificado (sujeito e claims).
+     * <p>
+     * Tokens verificados recentemente são servidos pelo cache até a sua expiração, sem repetir a verificação da assinatura.
+     *
+     * @param token O token JWT a ser verificado.
+     * @return O token decodificado, ou {@code null} se a assinatura, o emissor, a audiência ou a validade forem inválidos.
+     */
+    public DecodedJWT decodeToken(String token) {
+        String key = hash(token);
+        DecodedJWT cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && cached.getToken().equals(token)) {
+            return cached;
+        }
         try {
-            Algorithm algorithm = Algorithm.HMAC256(secret);  // Define o algoritmo de assinatura com a chave secreta
-            // Valida o token e retorna o email (sujeito) do paciente
-            return JWT.require(algorithm)
-                    .withIssuer("auth-api")  // Verifica o emissor do token
-                    .build()
-                    .verify(token)  // Verifica a validade do token
-                    .getSubject();  // Retorna o sujeito (email) do token
+            DecodedJWT decodedToken = verifier.verify(token);  // Verifica a validade do token
+            verifiedTokens.put(key, decodedToken);
+            return decodedToken;
         } catch (JWTVerificationException exception) {
-            return "";  // Retorna string vazia se o token for inválido
+            return null;  // Retorna null se o token for inválido
         }
     }
 
@@ -81,4 +158,42 @@ public class TokenService {
         // Define o tempo de expiração para 2 horas à frente
         return LocalDateTime.now().plusHours(2).toInstant(ZoneOffset.of("-03:00"));
     }
+
+    /**
+     * Calcula a chave do cache: o hash SHA-256 do token, para não manter o token em claro como chave.
+     *
+     * @param token O token JWT.
+     * @return O hash do token codificado em Base64.
+     */
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 not available", exception);
+        }
+    }
+
+    /**
+     * Política de expiração do cache: cada token verificado permanece no cache somente até o seu "exp".
+     */
+    private static class TokenExpiry implements Expiry<String, DecodedJWT> {
+
+        @Override
+        public long expireAfterCreate(String key, DecodedJWT token, long currentTime) {
+            Instant expiresAt = token.getExpiresAtAsInstant();
+            if (expiresAt == null) return 0;
+            return Math.max(0, Duration.between(Instant.now(), expiresAt).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, DecodedJWT token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, DecodedJWT token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,10 @@
+package br.com.ewerton.servicepatient.dto;
+
+/**
+ * Erro de uma linha da importação em massa de pacientes.
+ *
+ * @param row     O número da linha (CSV) ou a posição do elemento (JSON), começando em 1.
+ * @param message A descrição do erro.
+ */
+public record PatientImportErrorDTO(long row, String message) {
+}
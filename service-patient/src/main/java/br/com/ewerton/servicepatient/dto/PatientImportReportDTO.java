@@ -0,0 +1,13 @@
+package br.com.ewerton.servicepatient.dto;
+
+import java.util.List;
+
+/**
+ * Resultado da importação em massa de pacientes.
+ *
+ * @param imported A quantidade de pacientes gravados.
+ * @param failed   A quantidade de linhas rejeitadas.
+ * @param errors   Os erros por linha (limitados aos primeiros registrados).
+ */
+public record PatientImportReportDTO(long imported, long failed, List<PatientImportErrorDTO> errors) {
+}
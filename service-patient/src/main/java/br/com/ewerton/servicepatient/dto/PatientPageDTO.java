@@ -0,0 +1,12 @@
+package br.com.ewerton.servicepatient.dto;
+
+import java.util.List;
+
+/**
+ * Página de pacientes retornada pela listagem paginada por cursor.
+ *
+ * @param content    Os pacientes da página atual.
+ * @param nextCursor O cursor opaco da próxima página, ou {@code null} se esta for a última.
+ */
+public record PatientPageDTO(List<PatientDTO> content, String nextCursor) {
+}
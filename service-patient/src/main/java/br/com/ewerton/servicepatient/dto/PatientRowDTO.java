@@ -0,0 +1,26 @@
+package br.com.ewerton.servicepatient.dto;
+
+import java.util.UUID;
+
+/**
+ * Projeção somente leitura de um paciente usada na listagem paginada.
+ * <p>
+ * Além dos campos públicos de {@link PatientDTO}, carrega o ID necessário para montar o cursor da próxima página.
+ *
+ * @param id      O ID do paciente.
+ * @param name    O nome do paciente.
+ * @param phone   O telefone do paciente.
+ * @param address O endereço do paciente.
+ * @param email   O email do paciente.
+ */
+public record PatientRowDTO(UUID id, String name, String phone, String address, String email) {
+
+    /**
+     * Converte a projeção no DTO exposto pela API.
+     *
+     * @return O {@link PatientDTO} correspondente.
+     */
+    public PatientDTO toPatientDTO() {
+        return new PatientDTO(name, phone, address, email);
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.ewerton.servicepatient.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dados de um agendamento: o paciente, o médico e o horário da consulta.
+ * <p>
+ * É o corpo do endpoint de agendamento e o conteúdo do evento publicado para os demais serviços. O alinhamento e o
+ * horizonte do horário são validados no agendamento ({@code PatientService#schedulePatient}).
+ *
+ * @param name        O nome do paciente.
+ * @param phone       O telefone do paciente.
+ * @param address     O endereço do paciente.
+ * @param email       O email do paciente.
+ * @param doctorId    O ID do médico.
+ * @param scheduledAt O início do horário da consulta.
+ */
+public record PatientScheduleDTO(String name, String phone, String address, @NotBlank @Email String email,
+                                 @NotBlank String doctorId, @NotNull LocalDateTime scheduledAt) {
+}
@@ -1,6 +1,6 @@
 package br.com.ewerton.servicepatient.dto;
 
-public record RegisterDTO(String email, String password, String role) {
+public record RegisterDTO(String email, String password) {
 
     @Override
     public String email() {
@@ -11,9 +11,4 @@ public record RegisterDTO(String email, String password, String role) {
     public String password() {
         return password;
     }
-
-    @Override
-    public String role() {
-        return role;
-    }
 }
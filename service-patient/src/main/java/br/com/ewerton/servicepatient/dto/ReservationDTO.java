@@ -0,0 +1,19 @@
+package br.com.ewerton.servicepatient.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Reserva de um horário na agenda de um médico, devolvida pelo "service-doctor".
+ *
+ * @param id           O ID da reserva, usado para liberá-la.
+ * @param doctorId     O ID do médico.
+ * @param patientEmail O email do paciente dono da reserva.
+ * @param startsAt     O início do horário.
+ * @param endsAt       O fim do horário.
+ * @param created      {@code true} se a reserva foi criada por esta chamada; {@code false} se já existia (por exemplo,
+ *                     em um agendamento repetido), caso em que não deve ser liberada se o agendamento for desfeito.
+ */
+public record ReservationDTO(UUID id, String doctorId, String patientEmail, LocalDateTime startsAt, LocalDateTime endsAt,
+                             boolean created) {
+}
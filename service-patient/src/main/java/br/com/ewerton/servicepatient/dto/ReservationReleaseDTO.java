@@ -0,0 +1,11 @@
+package br.com.ewerton.servicepatient.dto;
+
+import java.util.UUID;
+
+/**
+ * Pedido de liberação de uma reserva de horário, enviado ao "service-doctor" quando a liberação pela API falha.
+ *
+ * @param reservationId O ID da reserva a ser liberada.
+ */
+public record ReservationReleaseDTO(UUID reservationId) {
+}
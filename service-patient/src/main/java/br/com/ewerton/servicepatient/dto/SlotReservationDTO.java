@@ -0,0 +1,12 @@
+package br.com.ewerton.servicepatient.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pedido de reserva de um horário na agenda de um médico, enviado ao "service-doctor".
+ *
+ * @param startsAt     O início do horário.
+ * @param patientEmail O email do paciente para quem o horário é reservado.
+ */
+public record SlotReservationDTO(LocalDateTime startsAt, String patientEmail) {
+}
@@ -0,0 +1,97 @@
+package br.com.ewerton.servicepatient.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Evento pendente de publicação no RabbitMQ (padrão transactional outbox).
+ * <p>
+ * O evento é gravado na mesma transação que altera o paciente, garantindo que a mensagem só exista se a alteração
+ * for confirmada. O {@code OutboxRelay} publica os eventos pendentes em segundo plano e os remove após a confirmação
+ * do broker. O ID do evento é enviado como "messageId" da mensagem, permitindo que os consumidores descartem
+ * eventuais duplicatas.
+ */
+@Entity
+@Table(name = "tb_outbox", indexes = @Index(name = "idx_outbox_created_at", columnList = "created_at"))
+public class OutboxEventModel {
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private String exchange;
+
+    @Column(name = "payload_type", nullable = false)
+    private String payloadType;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Construtor padrão.
+     */
+    public OutboxEventModel() {
+    }
+
+    /**
+     * Construtor para criar um novo evento pendente.
+     *
+     * @param exchange    A exchange de destino.
+     * @param payloadType O nome da classe do payload, enviado no cabeçalho de tipo do conversor JSON.
+     * @param payload     O payload serializado em JSON.
+     */
+    public OutboxEventModel(String exchange, String payloadType, String payload) {
+        this.id = UUID.randomUUID();
+        this.exchange = exchange;
+        this.payloadType = payloadType;
+        this.payload = payload;
+        this.createdAt = Instant.now();
+    }
+
+    // Getters e Setters
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getExchange() {
+        return exchange;
+    }
+
+    public void setExchange(String exchange) {
+        this.exchange = exchange;
+    }
+
+    public String getPayloadType() {
+        return payloadType;
+    }
+
+    public void setPayloadType(String payloadType) {
+        this.payloadType = payloadType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
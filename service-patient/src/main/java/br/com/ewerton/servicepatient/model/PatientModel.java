@@ -16,7 +16,7 @@ import java.util.UUID;
  * e gerenciar a autenticação e autorização de usuários.
  */
 @Entity
-@Table(name = "tb_patient")
+@Table(name = "tb_patient", indexes = @Index(name = "idx_patient_email", columnList = "email"))
 public class PatientModel implements UserDetails {
 
     @Id
@@ -200,12 +200,13 @@ public class PatientModel implements UserDetails {
 
     /**
      * Verifica se o paciente está habilitado.
+     * Pacientes importados em massa não têm senha e ficam desabilitados até que uma senha seja definida.
      *
      * @return True se o paciente estiver habilitado.
      */
     @Override
     public boolean isEnabled() {
-        return UserDetails.super.isEnabled();
+        return password != null;
     }
 
     /**
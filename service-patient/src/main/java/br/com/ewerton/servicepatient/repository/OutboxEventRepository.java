@@ -0,0 +1,27 @@
+package br.com.ewerton.servicepatient.repository;
+
+import br.com.ewerton.servicepatient.model.OutboxEventModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEventModel, UUID> {
+
+    /**
+     * Bloqueia e retorna os eventos pendentes mais antigos.
+     * <p>
+     * O {@code FOR UPDATE SKIP LOCKED} faz com que cada instância do relay receba um lote diferente: linhas já
+     * bloqueadas por outra transação são ignoradas em vez de aguardadas, evitando publicação duplicada.
+     * Deve ser chamado dentro de uma transação, que mantém o bloqueio até a remoção dos eventos publicados.
+     *
+     * @param limit A quantidade máxima de eventos do lote.
+     * @return Os eventos bloqueados, em ordem de criação.
+     */
+    @Query(value = "SELECT * FROM tb_outbox ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEventModel> lockPendingEvents(@Param("limit") int limit);
+}
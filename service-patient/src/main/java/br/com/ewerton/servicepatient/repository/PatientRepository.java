@@ -1,14 +1,52 @@
 package br.com.ewerton.servicepatient.repository;
 
+import br.com.ewerton.servicepatient.dto.PatientDTO;
+import br.com.ewerton.servicepatient.dto.PatientRowDTO;
 import br.com.ewerton.servicepatient.model.PatientModel;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface PatientRepository extends JpaRepository<PatientModel, UUID> {
 
     UserDetails findByEmail(String email);
+
+    /**
+     * Retorna a primeira página de pacientes ordenada pelo ID, projetada diretamente em DTO
+     * (sem carregar entidades gerenciadas).
+     *
+     * @param limit A quantidade máxima de pacientes.
+     * @return Os pacientes da primeira página.
+     */
+    @Query("select new br.com.ewerton.servicepatient.dto.PatientRowDTO(p.id, p.name, p.phone, p.address, p.email) "
+            + "from PatientModel p order by p.id")
+    List<PatientRowDTO> findPatientRows(Limit limit);
+
+    /**
+     * Retorna a página de pacientes seguinte ao ID informado (paginação por keyset), projetada diretamente em DTO.
+     *
+     * @param id    O ID do último paciente da página anterior.
+     * @param limit A quantidade máxima de pacientes.
+     * @return Os pacientes com ID maior que o informado, ordenados pelo ID.
+     */
+    @Query("select new br.com.ewerton.servicepatient.dto.PatientRowDTO(p.id, p.name, p.phone, p.address, p.email) "
+            + "from PatientModel p where p.id > :id order by p.id")
+    List<PatientRowDTO> findPatientRowsAfter(UUID id, Limit limit);
+
+    /**
+     * Busca um paciente pelo ID, projetado diretamente em {@link PatientDTO}.
+     *
+     * @param id O ID do paciente.
+     * @return O DTO do paciente, se encontrado.
+     */
+    @Query("select new br.com.ewerton.servicepatient.dto.PatientDTO(p.name, p.phone, p.address, p.email) "
+            + "from PatientModel p where p.id = :id")
+    Optional<PatientDTO> findPatientDTOById(UUID id);
 }
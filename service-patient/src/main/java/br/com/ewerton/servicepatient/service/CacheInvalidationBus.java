@@ -0,0 +1,185 @@
+package br.com.ewerton.servicepatient.service;
+
+import br.com.ewerton.servicepatient.configuration.RabbitMQConfig;
+import br.com.ewerton.servicepatient.dto.CacheInvalidationDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Barramento de invalidação dos caches locais entre as réplicas do serviço.
+ * <p>
+ * Quando uma réplica altera um dado que pode estar em cache, ela remove a sua própria entrada e chama
+ * {@link #invalidate(String, Object)}. As chaves são acumuladas e publicadas em lotes na exchange fanout
+ * {@value RabbitMQConfig#CACHE_INVALIDATION_EXCHANGE} a cada poucos milissegundos; cada réplica consome a exchange
+ * por uma fila anônima e exclusiva e repassa as chaves recebidas aos consumidores registrados com
+ * {@link #subscribe(String, Consumer)}.
+ * <p>
+ * Dentro de uma transação, as chaves só entram no lote depois do commit, para que as outras réplicas não recarreguem
+ * o dado antigo. A entrega não é garantida: se a publicação falhar, o lote é descartado e as entradas deixam de
+ * valer pela expiração configurada em cada cache.
+ * <p>
+ * Métricas: "cache.invalidation.lag" (tempo entre a invalidação na réplica de origem e a remoção nas demais),
+ * "cache.invalidation.published", "cache.invalidation.received" e "cache.invalidation.pending".
+ */
+@Service
+public class CacheInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    /**
+     * ID desta réplica, enviado em cada mensagem para que ela ignore as próprias invalidações.
+     */
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final ConcurrentLinkedQueue<PendingKey> pending = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final Map<String, Consumer<String>> subscribers = new ConcurrentHashMap<>();
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Quantidade máxima de chaves por mensagem.
+     */
+    @Value("${patient.cache-invalidation.max-batch-size:500}")
+    private int maxBatchSize;
+
+    private Timer lag;
+
+    private Counter published;
+
+    private Counter received;
+
+    /**
+     * Registra as métricas do barramento.
+     */
+    @PostConstruct
+    void init() {
+        lag = Timer.builder("cache.invalidation.lag")
+                .description("Time between a cache key being invalidated on one replica and evicted on another")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        published = Counter.builder("cache.invalidation.published").register(meterRegistry);
+        received = Counter.builder("cache.invalidation.received").register(meterRegistry);
+        Gauge.builder("cache.invalidation.pending", pendingCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Registra o consumidor das chaves invalidadas de um cache por outras réplicas.
+     *
+     * @param cache   O nome do cache.
+     * @param evictor Remove a entrada da chave recebida do cache local.
+     */
+    public void subscribe(String cache, Consumer<String> evictor) {
+        subscribers.put(cache, evictor);
+    }
+
+    /**
+     * Agenda a invalidação de uma chave nas outras réplicas. Dentro de uma transação, a chave só é agendada após o
+     * commit; se a transação for desfeita, nada é publicado.
+     *
+     * @param cache O nome do cache.
+     * @param key   A chave invalidada.
+     */
+    public void invalidate(String cache, Object key) {
+        String value = key.toString();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(new PendingKey(cache, value));
+                }
+            });
+        } else {
+            enqueue(new PendingKey(cache, value));
+        }
+    }
+
+    /**
+     * Publica as chaves pendentes, em mensagens de até {@code max-batch-size} chaves.
+     */
+    @Scheduled(fixedDelayString = "${patient.cache-invalidation.flush-interval:50}")
+    public void flush() {
+        while (!pending.isEmpty()) {
+            Map<String, Set<String>> keys = new HashMap<>();
+            long enqueuedAt = Long.MAX_VALUE;
+            int count = 0;
+            PendingKey key;
+            while (count < maxBatchSize && (key = pending.poll()) != null) {
+                pendingCount.decrementAndGet();
+                keys.computeIfAbsent(key.cache(), cache -> new HashSet<>()).add(key.key());
+                enqueuedAt = Math.min(enqueuedAt, key.enqueuedAt());
+                count++;
+            }
+            if (count == 0) return;
+            try {
+                rabbitTemplate.convertAndSend(RabbitMQConfig.CACHE_INVALIDATION_EXCHANGE, "",
+                        new CacheInvalidationDTO(instanceId, enqueuedAt, keys));
+                published.increment(count);
+            } catch (AmqpException e) {
+                log.warn("Cache invalidation batch dropped ({} keys): {}", count, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Aplica uma mensagem de invalidação recebida de outra réplica. As mensagens publicadas por esta réplica são
+     * ignoradas, pois as suas entradas já foram removidas localmente.
+     *
+     * @param message A mensagem de invalidação.
+     */
+    public void apply(CacheInvalidationDTO message) {
+        if (instanceId.equals(message.origin())) return;
+        message.keys().forEach((cache, keys) -> {
+            Consumer<String> evictor = subscribers.get(cache);
+            if (evictor == null) return;
+            keys.forEach(evictor);
+            received.increment(keys.size());
+        });
+        lag.record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - message.enqueuedAt())));
+    }
+
+    private void enqueue(PendingKey key) {
+        pending.add(key);
+        pendingCount.incrementAndGet();
+    }
+
+    /**
+     * Chave aguardando publicação.
+     */
+    private record PendingKey(String cache, String key, long enqueuedAt) {
+
+        PendingKey(String cache, String key) {
+            this(cache, key, System.currentTimeMillis());
+        }
+    }
+}
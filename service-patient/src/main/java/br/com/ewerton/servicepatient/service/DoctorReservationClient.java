@@ -0,0 +1,124 @@
+package br.com.ewerton.servicepatient.service;
+
+import br.com.ewerton.servicepatient.dto.ReservationDTO;
+import br.com.ewerton.servicepatient.dto.SlotReservationDTO;
+import br.com.ewerton.servicepatient.service.exceptions.InvalidSchedule;
+import br.com.ewerton.servicepatient.service.exceptions.SlotUnavailable;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Cliente das reservas de horários do "service-doctor".
+ * <p>
+ * O horário de um agendamento é reservado de forma síncrona, antes de o evento ser registrado no outbox, para que
+ * dois pacientes nunca recebam o mesmo horário. As chamadas são autenticadas pela chave de acesso entre serviços
+ * (cabeçalho {@value #SERVICE_KEY_HEADER}) e têm timeouts curtos, já que são feitas durante a requisição do paciente.
+ */
+@Component
+public class DoctorReservationClient {
+
+    private static final Logger log = LoggerFactory.getLogger(DoctorReservationClient.class);
+
+    /**
+     * Cabeçalho com a chave de acesso aceita pelo "service-doctor".
+     */
+    static final String SERVICE_KEY_HEADER = "X-Service-Key";
+
+    @Autowired
+    @LoadBalanced
+    private RestClient.Builder restClientBuilder;
+
+    @Value("${patient.doctor-service.url:http://doctor-service}")
+    private String baseUrl;
+
+    @Value("${patient.doctor-service.service-key}")
+    private String serviceKey;
+
+    @Value("${patient.doctor-service.connect-timeout:1s}")
+    private Duration connectTimeout;
+
+    @Value("${patient.doctor-service.read-timeout:3s}")
+    private Duration readTimeout;
+
+    private RestClient restClient;
+
+    /**
+     * Cria o cliente HTTP com a URL do "service-doctor", a chave de acesso e os timeouts configurados.
+     */
+    @PostConstruct
+    void init() {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        restClient = restClientBuilder.clone()
+                .baseUrl(baseUrl)
+                .requestFactory(requestFactory)
+                .defaultHeader(SERVICE_KEY_HEADER, serviceKey)
+                .build();
+    }
+
+    /**
+     * Reserva um horário na agenda de um médico para o paciente informado.
+     * Repetir a reserva para o mesmo paciente retorna a reserva existente, com {@link ReservationDTO#created()} falso.
+     *
+     * @param doctorId     O ID do médico.
+     * @param startsAt     O início do horário.
+     * @param patientEmail O email do paciente.
+     * @return A reserva gravada pelo "service-doctor".
+     * @throws SlotUnavailable Se o horário não estiver livre.
+     * @throws InvalidSchedule Se o horário for rejeitado pelo "service-doctor" (por exemplo, fora do alinhamento).
+     */
+    public ReservationDTO reserve(String doctorId, LocalDateTime startsAt, String patientEmail) {
+        return restClient.post()
+                .uri("/doctor-service/{doctorId}/reservations", doctorId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new SlotReservationDTO(startsAt, patientEmail))
+                .retrieve()
+                .onStatus(status -> status.isSameCodeAs(HttpStatus.CONFLICT), (request, response) -> {
+                    throw new SlotUnavailable("Slot not available: " + startsAt);
+                })
+                .onStatus(status -> status.isSameCodeAs(HttpStatus.BAD_REQUEST), (request, response) -> {
+                    throw new InvalidSchedule("Invalid slot: " + startsAt);
+                })
+                .body(ReservationDTO.class);
+    }
+
+    /**
+     * Libera uma reserva de horário, desfazendo um agendamento que não foi registrado.
+     * <p>
+     * Como é chamado depois que a transação do agendamento já terminou, uma falha não é propagada: ela é registrada
+     * no log e informada no retorno, para que o chamador registre a liberação no outbox. Uma reserva que não existe
+     * mais (404) já está liberada.
+     *
+     * @param reservationId O ID da reserva.
+     * @return {@code true} se a reserva foi liberada; {@code false} se a chamada falhou.
+     */
+    public boolean release(UUID reservationId) {
+        try {
+            restClient.delete()
+                    .uri("/doctor-service/reservations/{reservationId}", reservationId)
+                    .retrieve()
+                    .onStatus(status -> status.isSameCodeAs(HttpStatus.NOT_FOUND), (request, response) -> {
+                    })
+                    .toBodilessEntity();
+            return true;
+        } catch (RestClientException exception) {
+            log.warn("Could not release slot reservation {}", reservationId, exception);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.ewerton.servicepatient.service;
+
+import br.com.ewerton.servicepatient.configuration.logging.SamplingFilter;
+import br.com.ewerton.servicepatient.model.OutboxEventModel;
+import br.com.ewerton.servicepatient.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Publica em segundo plano os eventos pendentes do outbox.
+ * <p>
+ * A cada execução, os eventos são lidos em lotes com {@code FOR UPDATE SKIP LOCKED}, publicados em um único canal
+ * e confirmados pelo broker (publisher confirms) antes de serem removidos na mesma transação que os bloqueou.
+ * Se a confirmação falhar, a transação é desfeita e o lote é republicado na próxima execução. Várias instâncias
+ * podem rodar o relay ao mesmo tempo, pois cada uma bloqueia lotes diferentes.
+ * <p>
+ * A entrega é "pelo menos uma vez": se a instância cair entre a confirmação do broker e o commit, o lote é
+ * publicado novamente. O "messageId" de cada mensagem é o ID do evento para que os consumidores possam deduplicar.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${patient.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${patient.outbox.confirm-timeout:5000}")
+    private long confirmTimeout;
+
+    /**
+     * Publica os eventos pendentes, lote a lote, até esvaziar o outbox.
+     */
+    @Scheduled(fixedDelayString = "${patient.outbox.poll-interval:500}")
+    public void relayPendingEvents() {
+        int published;
+        do {
+            published = publishBatch();
+        } while (published == batchSize);
+    }
+
+    /**
+     * Publica um lote de eventos pendentes e o remove do outbox após a confirmação do broker.
+     *
+     * @return A quantidade de eventos publicados.
+     */
+    int publishBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            List<OutboxEventModel> events = outboxEventRepository.lockPendingEvents(batchSize);
+            if (events.isEmpty()) return 0;
+
+            rabbitTemplate.invoke(operations -> {
+                for (OutboxEventModel event : events) {
+                    operations.send(event.getExchange(), "", toMessage(event));
+                }
+                operations.waitForConfirmsOrDie(confirmTimeout);
+                return null;
+            });
+
+            outboxEventRepository.deleteAllInBatch(events);
+            // Registra uma amostra dos lotes publicados
+            log.atInfo().addMarker(SamplingFilter.SAMPLED)
+                    .addKeyValue("events", events.size())
+                    .log("Outbox batch published");
+            return events.size();
+        });
+        return published == null ? 0 : published;
+    }
+
+    /**
+     * Monta a mensagem no mesmo formato gerado pelo Jackson2JsonMessageConverter.
+     *
+     * @param event O evento do outbox.
+     * @return A mensagem a ser publicada.
+     */
+    private Message toMessage(OutboxEventModel event) {
+        return MessageBuilder.withBody(event.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setMessageId(event.getId().toString())
+                .setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, event.getPayloadType())
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.ewerton.servicepatient.service;
+
+import br.com.ewerton.servicepatient.model.OutboxEventModel;
+import br.com.ewerton.servicepatient.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Serviço responsável por registrar eventos no outbox.
+ * <p>
+ * Os eventos só podem ser registrados dentro de uma transação existente, para que sejam confirmados
+ * (ou descartados) junto com a alteração que os originou. A publicação no RabbitMQ fica a cargo do {@link OutboxRelay}.
+ */
+@Service
+public class OutboxService {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Registra um evento a ser publicado na exchange informada.
+     *
+     * @param exchange A exchange de destino.
+     * @param payload  O objeto a ser enviado, serializado em JSON.
+     * @return O evento registrado.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEventModel enqueue(String exchange, Object payload) {
+        try {
+            String json = objectMapper.writeValueAsString(payload);
+            return outboxEventRepository.save(new OutboxEventModel(exchange, payload.getClass().getName(), json));
+        } catch (JsonProcessingException exception) {
+            throw new IllegalArgumentException("Could not serialize outbox payload", exception);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.ewerton.servicepatient.service;
+
+import br.com.ewerton.servicepatient.service.exceptions.InvalidCursor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Codifica e decodifica o cursor opaco usado na paginação por keyset dos pacientes.
+ * <p>
+ * O cursor carrega o ID do último paciente entregue; a próxima página começa no primeiro ID maior que ele,
+ * aproveitando o índice da chave primária de "tb_patient".
+ */
+final class PatientCursor {
+
+    private PatientCursor() {
+    }
+
+    /**
+     * Gera o cursor a partir do ID do último paciente da página.
+     *
+     * @param lastId O ID do último paciente retornado.
+     * @return O cursor codificado em Base64 (URL safe).
+     */
+    static String encode(UUID lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(lastId.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Recupera o ID contido no cursor.
+     *
+     * @param cursor O cursor recebido do cliente.
+     * @return O ID do último paciente da página anterior.
+     * @throws InvalidCursor Se o cursor não puder ser decodificado.
+     */
+    static UUID decode(String cursor) {
+        try {
+            return UUID.fromString(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidCursor("Invalid cursor: " + cursor);
+        }
+    }
+}
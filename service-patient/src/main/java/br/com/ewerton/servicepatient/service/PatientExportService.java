@@ -0,0 +1,67 @@
+package br.com.ewerton.servicepatient.service;
+
+import br.com.ewerton.servicepatient.dto.PatientDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Serviço responsável pela exportação completa dos pacientes em NDJSON (um JSON por linha).
+ * <p>
+ * A leitura de "tb_patient" é feita com um cursor JDBC forward-only e com fetch size limitado, e cada linha é
+ * escrita diretamente no stream de saída. Assim o consumo de memória fica constante, independentemente da
+ * quantidade de pacientes cadastrados.
+ */
+@Service
+public class PatientExportService {
+
+    private static final String EXPORT_SQL = "SELECT name, phone, address, email FROM tb_patient ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectWriter patientWriter;
+
+    /**
+     * Cria o serviço com um {@link JdbcTemplate} dedicado, configurado com o fetch size da exportação.
+     *
+     * @param dataSource   A fonte de dados da aplicação.
+     * @param objectMapper O mapper usado para serializar cada paciente.
+     * @param fetchSize    A quantidade de linhas trazidas do banco a cada ida ao servidor.
+     */
+    public PatientExportService(DataSource dataSource, ObjectMapper objectMapper,
+                                @Value("${patient.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.patientWriter = objectMapper.writerFor(PatientDTO.class);
+    }
+
+    /**
+     * Escreve todos os pacientes no stream informado, um objeto JSON por linha.
+     * <p>
+     * O método roda em uma transação somente leitura porque o driver do PostgreSQL só usa cursor no servidor
+     * (respeitando o fetch size) quando o auto-commit está desligado.
+     *
+     * @param out O stream de saída da resposta HTTP.
+     */
+    @Transactional(readOnly = true)
+    public void exportTo(OutputStream out) {
+        jdbcTemplate.query(EXPORT_SQL, resultSet -> {
+            PatientDTO patient = new PatientDTO(resultSet.getString("name"), resultSet.getString("phone"),
+                    resultSet.getString("address"), resultSet.getString("email"));
+            try {
+                out.write(patientWriter.writeValueAsBytes(patient));
+                out.write('\n');
+            } catch (IOException exception) {
+                throw new UncheckedIOException("Error while writing patient export", exception);
+            }
+        });
+    }
+}
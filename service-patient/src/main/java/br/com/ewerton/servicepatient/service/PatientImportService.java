@@ -0,0 +1,296 @@
+package br.com.ewerton.servicepatient.service;
+
+import br.com.ewerton.servicepatient.dto.PatientDTO;
+import br.com.ewerton.servicepatient.dto.PatientImportErrorDTO;
+import br.com.ewerton.servicepatient.dto.PatientImportReportDTO;
+import br.com.ewerton.servicepatient.model.PatientRole;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Serviço responsável pela importação em massa de pacientes.
+ * <p>
+ * O corpo da requisição (array JSON ou CSV) é lido em streaming e os pacientes são gravados em lotes JDBC,
+ * cada lote em sua própria transação. Quando um lote falha, suas linhas são regravadas individualmente para
+ * isolar as linhas com erro, sem abortar o restante da carga.
+ * <p>
+ * Linhas cujo email já está cadastrado, ou que repetem o email de uma linha anterior da mesma carga, são rejeitadas.
+ * Os pacientes importados recebem o papel {@link PatientRole#USER} e nenhuma senha: a conta fica desabilitada
+ * (veja {@link br.com.ewerton.servicepatient.model.PatientModel#isEnabled()}) e não aceita login até que uma senha
+ * seja definida para ela.
+ */
+@Service
+public class PatientImportService {
+
+    /**
+     * Quantidade máxima de erros detalhados no relatório; os demais são apenas contados.
+     */
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String INSERT_SQL = "INSERT INTO tb_patient (id, name, phone, address, email, role) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String REGISTERED_EMAILS_SQL = "SELECT email FROM tb_patient WHERE email IN (%s)";
+
+    /**
+     * Posição do email nos parâmetros de {@link #INSERT_SQL}.
+     */
+    private static final int EMAIL_ARG = 4;
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${patient.import.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Importa pacientes a partir de um array JSON de objetos com os campos de {@link PatientDTO}.
+     * <p>
+     * Elementos que não são objetos, ou cujos campos não podem ser convertidos, são reportados e a leitura continua;
+     * somente um JSON malformado interrompe a leitura do restante do array.
+     *
+     * @param in O stream com o array JSON.
+     * @return O relatório da importação.
+     * @throws IOException Se o stream não puder ser lido.
+     */
+    public PatientImportReportDTO importJson(InputStream in) throws IOException {
+        ImportBatch batch = new ImportBatch();
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                batch.reject(0, "Expected a JSON array of patients");
+                return batch.finish();
+            }
+            long row = 0;
+            try {
+                JsonToken token;
+                while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+                    row++;
+                    // Lê o elemento inteiro antes de convertê-lo, para que um elemento inválido não desalinhe o parser
+                    JsonNode element = objectMapper.readTree(parser);
+                    if (element == null || !element.isObject()) {
+                        batch.reject(row, "Expected a JSON object but found " + token);
+                        continue;
+                    }
+                    PatientDTO patient;
+                    try {
+                        patient = objectMapper.treeToValue(element, PatientDTO.class);
+                    } catch (JsonProcessingException exception) {
+                        batch.reject(row, "Invalid patient: " + exception.getOriginalMessage());
+                        continue;
+                    }
+                    batch.add(row, patient);
+                }
+            } catch (JsonProcessingException exception) {
+                // JSON malformado impede a leitura do restante do array; mantém o que já foi importado
+                batch.reject(row, "Malformed JSON: " + exception.getOriginalMessage());
+            }
+        }
+        return batch.finish();
+    }
+
+    /**
+     * Importa pacientes a partir de um CSV com cabeçalho contendo as colunas "name", "phone", "address" e "email",
+     * em qualquer ordem.
+     *
+     * @param in O stream com o conteúdo CSV.
+     * @return O relatório da importação.
+     * @throws IOException Se o stream não puder ser lido.
+     */
+    public PatientImportReportDTO importCsv(InputStream in) throws IOException {
+        ImportBatch batch = new ImportBatch();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null) {
+                return batch.finish();
+            }
+            List<String> columns = parseCsvLine(header).stream().map(column -> column.trim().toLowerCase(Locale.ROOT)).toList();
+            int name = columns.indexOf("name");
+            int phone = columns.indexOf("phone");
+            int address = columns.indexOf("address");
+            int email = columns.indexOf("email");
+            if (name < 0 || email < 0) {
+                batch.reject(1, "CSV header must contain at least the columns name and email");
+                return batch.finish();
+            }
+
+            String line;
+            long row = 1;
+            while ((line = reader.readLine()) != null) {
+                row++;
+                if (line.isBlank()) continue;
+                List<String> fields = parseCsvLine(line);
+                if (fields.size() != columns.size()) {
+                    batch.reject(row, "Expected " + columns.size() + " columns but found " + fields.size());
+                    continue;
+                }
+                batch.add(row, new PatientDTO(fields.get(name), phone < 0 ? null : fields.get(phone),
+                        address < 0 ? null : fields.get(address), fields.get(email)));
+            }
+        }
+        return batch.finish();
+    }
+
+    /**
+     * Divide uma linha CSV em campos, respeitando aspas duplas e aspas escapadas ("").
+     *
+     * @param line A linha CSV.
+     * @return Os campos da linha.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    /**
+     * Valida os campos obrigatórios de um paciente importado.
+     *
+     * @param patient O paciente lido da requisição.
+     * @return A mensagem de erro, ou {@code null} se o paciente for válido.
+     */
+    private static String validate(PatientDTO patient) {
+        if (patient.name() == null || patient.name().isBlank()) return "name is required";
+        if (patient.email() == null || !EMAIL_PATTERN.matcher(patient.email()).matches()) return "email is invalid";
+        return null;
+    }
+
+    /**
+     * Acumula as linhas válidas até completar um lote e mantém as contagens do relatório.
+     * <p>
+     * Os emails repetidos são detectados dentro do lote pendente e, ao gravá-lo, contra a tabela, que já contém os
+     * lotes anteriores da mesma carga.
+     */
+    private class ImportBatch {
+
+        private final List<Long> rows = new ArrayList<>();
+        private final List<Object[]> args = new ArrayList<>();
+        private final Set<String> emails = new HashSet<>();
+        private final List<PatientImportErrorDTO> errors = new ArrayList<>();
+        private long imported;
+        private long failed;
+
+        void add(long row, PatientDTO patient) {
+            String error = validate(patient);
+            if (error != null) {
+                reject(row, error);
+                return;
+            }
+            if (!emails.add(patient.email())) {
+                reject(row, "email is duplicated in the import");
+                return;
+            }
+            rows.add(row);
+            args.add(new Object[]{UUID.randomUUID(), patient.name(), patient.phone(), patient.address(), patient.email(),
+                    PatientRole.USER.ordinal()});
+            if (args.size() >= Math.max(batchSize, 1)) flush();
+        }
+
+        void reject(long row, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) errors.add(new PatientImportErrorDTO(row, message));
+        }
+
+        PatientImportReportDTO finish() {
+            flush();
+            return new PatientImportReportDTO(imported, failed, errors);
+        }
+
+        private void flush() {
+            if (args.isEmpty()) return;
+            rejectRegisteredEmails();
+            if (!args.isEmpty()) write();
+            rows.clear();
+            args.clear();
+            emails.clear();
+        }
+
+        private void write() {
+            try {
+                transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(INSERT_SQL, args));
+                imported += args.size();
+            } catch (DataAccessException batchFailure) {
+                // Regrava linha a linha para identificar quais registros do lote falharam
+                for (int i = 0; i < args.size(); i++) {
+                    Object[] rowArgs = args.get(i);
+                    try {
+                        transactionTemplate.execute(status -> jdbcTemplate.update(INSERT_SQL, rowArgs));
+                        imported++;
+                    } catch (DataAccessException rowFailure) {
+                        reject(rows.get(i), rowFailure.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+        }
+
+        /**
+         * Remove do lote pendente, e reporta, as linhas cujo email já está cadastrado.
+         */
+        private void rejectRegisteredEmails() {
+            String placeholders = String.join(", ", Collections.nCopies(emails.size(), "?"));
+            Set<String> registered = new HashSet<>(jdbcTemplate.queryForList(
+                    REGISTERED_EMAILS_SQL.formatted(placeholders), String.class, emails.toArray()));
+            if (registered.isEmpty()) return;
+            int i = 0;
+            while (i < args.size()) {
+                if (registered.contains((String) args.get(i)[EMAIL_ARG])) {
+                    reject(rows.remove(i), "email is already registered");
+                    args.remove(i);
+                } else {
+                    i++;
+                }
+            }
+        }
+    }
+}
@@ -1,10 +1,31 @@
 package br.com.ewerton.servicepatient.service;
 
+import br.com.ewerton.servicepatient.configuration.RabbitMQConfig;
+import br.com.ewerton.servicepatient.dto.PatientDTO;
+import br.com.ewerton.servicepatient.dto.PatientPageDTO;
+import br.com.ewerton.servicepatient.dto.PatientRowDTO;
+import br.com.ewerton.servicepatient.dto.PatientScheduleDTO;
+import br.com.ewerton.servicepatient.dto.ReservationDTO;
+import br.com.ewerton.servicepatient.dto.ReservationReleaseDTO;
 import br.com.ewerton.servicepatient.model.PatientModel;
 import br.com.ewerton.servicepatient.repository.PatientRepository;
+import br.com.ewerton.servicepatient.service.exceptions.InvalidSchedule;
+import br.com.ewerton.servicepatient.service.exceptions.SlotUnavailable;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,16 +40,85 @@ import java.util.UUID;
 @Service
 public class PatientService {
 
+    private static final Logger log = LoggerFactory.getLogger(PatientService.class);
+
+    /**
+     * Nome do cache local com os pacientes consultados por ID (configurado em "spring.cache").
+     */
+    public static final String PATIENTS_CACHE = "patients";
+
+    /**
+     * Tamanho de página usado quando o cliente não informa um valor válido.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    /**
+     * Tamanho máximo de página aceito na listagem de pacientes.
+     */
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * Duração de cada horário da agenda dos médicos, em minutos.
+     */
+    public static final int SLOT_MINUTES = 15;
+
     @Autowired
     private PatientRepository patientRepository;
 
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private DoctorReservationClient doctorReservationClient;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${patient.schedules.horizon-days:60}")
+    private int horizonDays;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     /**
-     * Retorna todos os pacientes cadastrados no sistema.
+     * Registra a remoção, no cache {@value #PATIENTS_CACHE} local, dos pacientes alterados por outras réplicas.
+     */
+    @PostConstruct
+    void init() {
+        cacheInvalidationBus.subscribe(PATIENTS_CACHE, id -> {
+            Cache cache = cacheManager.getCache(PATIENTS_CACHE);
+            if (cache != null) cache.evict(UUID.fromString(id));
+        });
+    }
+
+    /**
+     * Retorna uma página de pacientes usando paginação por keyset sobre o ID.
+     * <p>
+     * É buscado um registro a mais que o tamanho da página para saber se existe uma próxima página sem
+     * precisar de um {@code count()}, mantendo o custo de cada requisição constante conforme a tabela cresce.
+     * Os pacientes são projetados diretamente em DTO, sem entidades gerenciadas no contexto de persistência.
      *
-     * @return Uma lista de objetos {@link PatientModel} representando todos os pacientes.
+     * @param cursor O cursor opaco devolvido pela página anterior, ou {@code null} para a primeira página.
+     * @param size   O tamanho da página, limitado a {@link #MAX_PAGE_SIZE}.
+     * @return A página de pacientes e o cursor da próxima página.
      */
-    public List<PatientModel> allPatient() {
-        return patientRepository.findAll();
+    @Transactional(readOnly = true)
+    public PatientPageDTO pagePatients(String cursor, int size) {
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<PatientRowDTO> patients = cursor == null || cursor.isBlank()
+                ? patientRepository.findPatientRows(limit)
+                : patientRepository.findPatientRowsAfter(PatientCursor.decode(cursor), limit);
+
+        boolean hasNext = patients.size() > pageSize;
+        List<PatientRowDTO> page = hasNext ? patients.subList(0, pageSize) : patients;
+        List<PatientDTO> content = page.stream().map(PatientRowDTO::toPatientDTO).toList();
+        String nextCursor = hasNext ? PatientCursor.encode(page.get(page.size() - 1).id()) : null;
+        return new PatientPageDTO(content, nextCursor);
     }
 
     /**
@@ -41,22 +131,145 @@ public class PatientService {
         return patientRepository.findById(id);
     }
 
+    /**
+     * Busca os dados públicos de um paciente pelo seu ID, projetados diretamente em {@link PatientDTO}.
+     * <p>
+     * Diferente de {@link #findPatientById(UUID)}, não carrega a entidade (com senha e papel) no contexto de
+     * persistência, evitando o snapshot e o dirty checking do Hibernate no caminho de leitura.
+     * O resultado fica no cache {@value #PATIENTS_CACHE}; pacientes inexistentes não são armazenados.
+     *
+     * @param id O ID do paciente a ser encontrado.
+     * @return Um {@link Optional} contendo o DTO do paciente, se encontrado, ou vazio se não.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = PATIENTS_CACHE, key = "#id", unless = "#result == null")
+    public Optional<PatientDTO> findPatientDTOById(UUID id) {
+        return patientRepository.findPatientDTOById(id);
+    }
+
     /**
      * Exclui um paciente do sistema baseado no seu ID.
      *
+     * A entrada do cache {@value #PATIENTS_CACHE} é removida nesta réplica e nas demais.
+     *
      * @param id O ID do paciente a ser excluído.
      */
+    @CacheEvict(cacheNames = PATIENTS_CACHE, key = "#id")
     public void deletePatient(UUID id) {
         patientRepository.deleteById(id);
+        cacheInvalidationBus.invalidate(PATIENTS_CACHE, id);
+    }
+
+    /**
+     * Remove um paciente do cache {@value #PATIENTS_CACHE} nesta réplica e nas demais, para os métodos que o alteram
+     * sem passar pelo proxy de cache.
+     *
+     * @param id O ID do paciente.
+     */
+    private void evictPatient(UUID id) {
+        Cache cache = cacheManager.getCache(PATIENTS_CACHE);
+        if (cache != null) cache.evict(id);
+        cacheInvalidationBus.invalidate(PATIENTS_CACHE, id);
     }
 
     /**
      * Salva um paciente no banco de dados.
      *
+     * Na alteração de um paciente existente, a entrada do cache {@value #PATIENTS_CACHE} é removida nesta réplica e
+     * nas demais.
+     *
      * @param obj O objeto {@link PatientModel} que representa o paciente a ser salvo.
      * @return O paciente salvo, com os dados persistidos no banco de dados.
      */
+    @CacheEvict(cacheNames = PATIENTS_CACHE, key = "#obj.id", condition = "#obj.id != null")
     public PatientModel savePatient(PatientModel obj) {
-        return patientRepository.save(obj);
+        UUID id = obj.getId();
+        PatientModel saved = patientRepository.save(obj);
+        if (id != null) cacheInvalidationBus.invalidate(PATIENTS_CACHE, id);
+        return saved;
+    }
+
+    /**
+     * Reserva o horário na agenda do médico e, depois, salva o paciente e registra o evento de agendamento no outbox,
+     * na mesma transação.
+     * <p>
+     * O horário é validado localmente (alinhado aos horários de {@value #SLOT_MINUTES} minutos, no futuro e dentro do
+     * horizonte da agenda) e depois reservado de forma síncrona no "service-doctor", antes de a transação ser aberta,
+     * para que a chamada HTTP não segure uma conexão do banco de dados: um horário já ocupado é rejeitado com 409
+     * (Conflict) e nada é gravado. Se a transação não for confirmada (por exemplo, por uma falha ao gravar o paciente
+     * ou o outbox), a reserva é liberada, mas apenas se tiver sido criada por esta chamada: um agendamento repetido
+     * recebe a reserva do agendamento original, que não pode ser desfeita por ele.
+     * <p>
+     * Como o paciente é salvo dentro da transação, sem passar pelo proxy de {@link #savePatient(PatientModel)}, a
+     * entrada de um paciente existente é removida do cache {@value #PATIENTS_CACHE} explicitamente, depois da
+     * confirmação, nesta réplica e nas demais.
+     * <p>
+     * A mensagem para a exchange {@value RabbitMQConfig#PATIENTS_SCHEDULES_CREATED_EXCHANGE} é publicada depois,
+     * em segundo plano, pelo {@link OutboxRelay}; assim a requisição não aguarda o broker e o evento não se perde
+     * se o RabbitMQ estiver indisponível.
+     *
+     * @param obj         O objeto {@link PatientModel} que representa o paciente a ser agendado.
+     * @param doctorId    O ID do médico.
+     * @param scheduledAt O início do horário da consulta.
+     * @return Os dados do agendamento, que também são o conteúdo do evento.
+     * @throws InvalidSchedule Se o horário não estiver alinhado ou estiver fora do horizonte da agenda.
+     * @throws SlotUnavailable Se o horário não estiver livre.
+     */
+    public PatientScheduleDTO schedulePatient(PatientModel obj, String doctorId, LocalDateTime scheduledAt) {
+        validateSchedule(scheduledAt);
+        ReservationDTO reservation = doctorReservationClient.reserve(doctorId, scheduledAt, obj.getEmail());
+        UUID id = obj.getId();
+        PatientScheduleDTO schedule;
+        try {
+            schedule = transactionTemplate.execute(status -> {
+                PatientModel saved = patientRepository.save(obj);
+                PatientScheduleDTO created = new PatientScheduleDTO(saved.getName(), saved.getPhone(), saved.getAddress(),
+                        saved.getEmail(), doctorId, scheduledAt);
+                outboxService.enqueue(RabbitMQConfig.PATIENTS_SCHEDULES_CREATED_EXCHANGE, created);
+                return created;
+            });
+        } catch (RuntimeException exception) {
+            if (reservation.created()) releaseReservation(reservation.id());
+            throw exception;
+        }
+        if (id != null) evictPatient(id);
+        return schedule;
+    }
+
+    /**
+     * Libera a reserva de um agendamento que não foi registrado.
+     * <p>
+     * Se o "service-doctor" não puder ser chamado, o pedido de liberação é registrado no outbox, em uma transação
+     * própria, e publicado na exchange {@value RabbitMQConfig#RESERVATION_RELEASE_EXCHANGE} pelo {@link OutboxRelay},
+     * que o reenvia até o broker confirmar. Só uma falha também no banco de dados deixa a reserva órfã, e ela é
+     * registrada no log com o ID da reserva.
+     *
+     * @param reservationId O ID da reserva.
+     */
+    private void releaseReservation(UUID reservationId) {
+        if (doctorReservationClient.release(reservationId)) return;
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    outboxService.enqueue(RabbitMQConfig.RESERVATION_RELEASE_EXCHANGE, new ReservationReleaseDTO(reservationId)));
+        } catch (RuntimeException exception) {
+            log.error("Could not release slot reservation {}", reservationId, exception);
+        }
+    }
+
+    /**
+     * Valida o horário de um agendamento antes de reservá-lo: alinhado aos horários de {@value #SLOT_MINUTES}
+     * minutos, no futuro e antes do fim do horizonte da agenda (o mesmo de "doctor.availability.horizon-days").
+     *
+     * @param scheduledAt O início do horário da consulta.
+     * @throws InvalidSchedule Se o horário for inválido.
+     */
+    private void validateSchedule(LocalDateTime scheduledAt) {
+        if (scheduledAt.getMinute() % SLOT_MINUTES != 0 || scheduledAt.getSecond() != 0 || scheduledAt.getNano() != 0) {
+            throw new InvalidSchedule("Slots start every " + SLOT_MINUTES + " minutes: " + scheduledAt);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (!scheduledAt.isAfter(now) || !scheduledAt.isBefore(now.toLocalDate().plusDays(horizonDays).atStartOfDay())) {
+            throw new InvalidSchedule("Slots must start within the next " + horizonDays + " days: " + scheduledAt);
+        }
     }
 }
@@ -0,0 +1,15 @@
+package br.com.ewerton.servicepatient.service.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando o horário de um agendamento é inválido (por exemplo, fora do alinhamento da agenda).
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidSchedule extends RuntimeException {
+
+    public InvalidSchedule(String msg) {
+        super(msg);
+    }
+}
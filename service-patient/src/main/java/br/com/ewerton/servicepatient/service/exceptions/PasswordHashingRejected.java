@@ -0,0 +1,15 @@
+package br.com.ewerton.servicepatient.service.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando o executor de hash de senhas está saturado e a operação é rejeitada.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class PasswordHashingRejected extends RuntimeException {
+
+    public PasswordHashingRejected(String msg) {
+        super(msg);
+    }
+}
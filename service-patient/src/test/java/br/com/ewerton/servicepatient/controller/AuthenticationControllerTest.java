@@ -4,11 +4,15 @@ import br.com.ewerton.servicepatient.controller.security.TokenService;
 import br.com.ewerton.servicepatient.dto.AuthenticationDTO;
 import br.com.ewerton.servicepatient.dto.RegisterDTO;
 import br.com.ewerton.servicepatient.model.PatientModel;
+import br.com.ewerton.servicepatient.model.PatientRole;
 import br.com.ewerton.servicepatient.repository.PatientRepository;
+import br.com.ewerton.servicepatient.service.exceptions.InvalidPassword;
+import br.com.ewerton.servicepatient.service.exceptions.PasswordHashingRejected;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -18,8 +22,10 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -36,6 +42,9 @@ public class AuthenticationControllerTest {
     @Mock
     private TokenService tokenService;
 
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
     @InjectMocks
     private AuthenticationController authenticationController;
 
@@ -51,7 +60,7 @@ public class AuthenticationControllerTest {
 
         // Preparando objetos para os testes
         authenticationDTO = new AuthenticationDTO("johndoe@example.com", "password123");
-        registerDTO = new RegisterDTO("johndoe@example.com", "password123", "ROLE_USER");
+        registerDTO = new RegisterDTO("johndoe@example.com", "password123");
 
         patientModel = new PatientModel();
     }
@@ -102,17 +111,21 @@ public class AuthenticationControllerTest {
     void testRegister_Success() throws Exception {
         // Configura o comportamento do repositório
         when(patientRepository.findByEmail(registerDTO.email())).thenReturn(null);
+        when(passwordEncoder.encode(registerDTO.password())).thenReturn("encrypted-password");
         when(patientRepository.save(any(PatientModel.class))).thenReturn(patientModel);
 
-        // Realiza a requisição POST para registro de paciente
+        // Realiza a requisição POST para registro de paciente, tentando escolher o papel ADMIN
         mockMvc.perform(MockMvcRequestBuilders.post("/patient-service/auth/register")
                         .contentType(MediaType.APPLICATION_JSON)
-                        .content(asJsonString(registerDTO)))
+                        .content("{\"email\":\"johndoe@example.com\",\"password\":\"password123\",\"role\":\"ADMIN\"}"))
                 .andExpect(status().isOk());
 
-        // Verifica se o paciente foi salvo
+        // Verifica se o paciente foi salvo sempre com o papel USER
         verify(patientRepository, times(1)).findByEmail(registerDTO.email());
-        verify(patientRepository, times(1)).save(any(PatientModel.class));
+        verify(passwordEncoder, times(1)).encode(registerDTO.password());
+        ArgumentCaptor<PatientModel> saved = ArgumentCaptor.forClass(PatientModel.class);
+        verify(patientRepository, times(1)).save(saved.capture());
+        assertEquals(PatientRole.USER, saved.getValue().getRole());
     }
 
     @Test
@@ -131,6 +144,35 @@ public class AuthenticationControllerTest {
         verify(patientRepository, times(0)).save(any(PatientModel.class));
     }
 
+    @Test
+    void testRegister_WhenPasswordHashingIsSaturated() throws Exception {
+        // O executor de hash de senhas está com a fila cheia
+        when(patientRepository.findByEmail(registerDTO.email())).thenReturn(null);
+        when(passwordEncoder.encode(registerDTO.password())).thenThrow(new PasswordHashingRejected("Password hashing capacity exhausted, retry later"));
+
+        // O registro é rejeitado com 429 (Too Many Requests), sem salvar o paciente
+        mockMvc.perform(MockMvcRequestBuilders.post("/patient-service/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(registerDTO)))
+                .andExpect(status().isTooManyRequests());
+        verify(patientRepository, times(0)).save(any(PatientModel.class));
+    }
+
+    @Test
+    void testRegister_WhenPasswordIsTooLong() throws Exception {
+        // A senha passa do limite de 72 bytes do BCrypt
+        RegisterDTO longPassword = new RegisterDTO("johndoe@example.com", "a".repeat(73));
+        when(patientRepository.findByEmail(longPassword.email())).thenReturn(null);
+        when(passwordEncoder.encode(longPassword.password())).thenThrow(new InvalidPassword("Password must be at most 72 bytes long"));
+
+        // O registro é rejeitado com 400 (Bad Request), sem salvar o paciente
+        mockMvc.perform(MockMvcRequestBuilders.post("/patient-service/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(longPassword)))
+                .andExpect(status().isBadRequest());
+        verify(patientRepository, times(0)).save(any(PatientModel.class));
+    }
+
     // Método auxiliar para converter objetos em JSON
     public static String asJsonString(final Object obj) {
         try {
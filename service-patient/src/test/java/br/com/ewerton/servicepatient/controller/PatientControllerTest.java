@@ -1,7 +1,9 @@
 package br.com.ewerton.servicepatient.controller;
 
 import br.com.ewerton.servicepatient.dto.PatientDTO;
+import br.com.ewerton.servicepatient.dto.PatientPageDTO;
 import br.com.ewerton.servicepatient.model.PatientModel;
+import br.com.ewerton.servicepatient.service.PatientExportService;
 import br.com.ewerton.servicepatient.service.PatientService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,10 +14,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.MockMvcBuilder;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
-import java.util.Arrays;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -30,6 +35,9 @@ public class PatientControllerTest {
     @Mock
     private PatientService patientService;
 
+    @Mock
+    private PatientExportService patientExportService;
+
     @InjectMocks
     private PatientController patientController;
 
@@ -54,24 +62,49 @@ public class PatientControllerTest {
     @Test
     void testGetAllPatients() throws Exception {
         // Configura o comportamento do serviço mockado
-        when(patientService.allPatient()).thenReturn(Arrays.asList(patient));
+        PatientDTO patientDTO = new PatientDTO(patient.getName(), patient.getPhone(), patient.getAddress(), patient.getEmail());
+        when(patientService.pagePatients("abc", 20)).thenReturn(new PatientPageDTO(List.of(patientDTO), "next"));
 
         // Realiza uma requisição GET para o endpoint "/patient-service"
-        mockMvc.perform(get("/patient-service"))
+        mockMvc.perform(get("/patient-service").param("cursor", "abc").param("size", "20"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].name").value("John Doe"))
-                .andExpect(jsonPath("$[0].phone").value("1234567890"))
-                .andExpect(jsonPath("$[0].address").value("123 Main St"))
-                .andExpect(jsonPath("$[0].email").value("johndoe@example.com"));
+                .andExpect(jsonPath("$.content[0].name").value("John Doe"))
+                .andExpect(jsonPath("$.content[0].phone").value("1234567890"))
+                .andExpect(jsonPath("$.content[0].address").value("123 Main St"))
+                .andExpect(jsonPath("$.content[0].email").value("johndoe@example.com"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
 
         // Verifica se o método do serviço foi chamado
-        verify(patientService, times(1)).allPatient();
+        verify(patientService, times(1)).pagePatients("abc", 20);
+    }
+
+    @Test
+    void testExportPatients() throws Exception {
+        // Configura o serviço mockado para escrever uma linha NDJSON no stream
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"name\":\"John Doe\"}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(patientExportService).exportTo(any(OutputStream.class));
+
+        // Realiza uma requisição GET para o endpoint "/patient-service/export", que é respondida de forma assíncrona
+        MvcResult result = mockMvc.perform(get("/patient-service/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("{\"name\":\"John Doe\"}\n"));
+
+        // Verifica se o método do serviço foi chamado
+        verify(patientExportService, times(1)).exportTo(any(OutputStream.class));
     }
 
     @Test
     void testFindPatientById() throws Exception {
         // Configura o comportamento do serviço mockado
-        when(patientService.findPatientById(patient.getId())).thenReturn(Optional.of(patient));
+        PatientDTO patientDTO = new PatientDTO(patient.getName(), patient.getPhone(), patient.getAddress(), patient.getEmail());
+        when(patientService.findPatientDTOById(patient.getId())).thenReturn(Optional.of(patientDTO));
 
         // Realiza uma requisição GET para o endpoint "/patient-service/{id}"
         mockMvc.perform(get("/patient-service/{id}", patient.getId()))
@@ -82,20 +115,20 @@ public class PatientControllerTest {
                 .andExpect(jsonPath("$.email").value("johndoe@example.com"));
 
         // Verifica se o método do serviço foi chamado
-        verify(patientService, times(1)).findPatientById(patient.getId());
+        verify(patientService, times(1)).findPatientDTOById(patient.getId());
     }
 
     @Test
     void testFindPatientByIdNotFound() throws Exception {
         // Configura o comportamento do serviço mockado para retornar Optional.empty()
-        when(patientService.findPatientById(any(UUID.class))).thenReturn(Optional.empty());
+        when(patientService.findPatientDTOById(any(UUID.class))).thenReturn(Optional.empty());
 
         // Realiza uma requisição GET para o endpoint "/patient-service/{id}"
         mockMvc.perform(get("/patient-service/{id}", UUID.randomUUID()))
                 .andExpect(status().isNotFound());
 
         // Verifica se o método do serviço foi chamado
-        verify(patientService, times(1)).findPatientById(any(UUID.class));
+        verify(patientService, times(1)).findPatientDTOById(any(UUID.class));
     }
 
     @Test
@@ -1,8 +1,9 @@
 package br.com.ewerton.servicepatient.controller;
 
-import br.com.ewerton.servicepatient.dto.PatientDTO;
+import br.com.ewerton.servicepatient.dto.PatientScheduleDTO;
 import br.com.ewerton.servicepatient.model.PatientModel;
 import br.com.ewerton.servicepatient.service.PatientService;
+import br.com.ewerton.servicepatient.service.exceptions.SlotUnavailable;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,11 +11,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.LocalDate;
+
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -25,22 +27,20 @@ public class PatientsSchedulesControllerTest {
     @Mock
     private PatientService patientService;
 
-    @Mock
-    private RabbitTemplate rabbitTemplate;
-
     @InjectMocks
     private PatientsSchedulesController patientsSchedulesController;
 
     private MockMvc mockMvc;
-    private PatientDTO patientDTO;
+    private PatientScheduleDTO patientDTO;
     private PatientModel patientModel;
 
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(patientsSchedulesController).build();
 
-        // Criando um PatientDTO para os testes
-        patientDTO = new PatientDTO("John Doe", "123 Main St", "1234567890", "johndoe@example.com");
+        // Criando um agendamento para os testes
+        patientDTO = new PatientScheduleDTO("John Doe", "1234567890", "123 Main St", "johndoe@example.com",
+                "doctor-1", LocalDate.now().plusDays(1).atTime(9, 0));
 
         // Criando o PatientModel correspondente
         patientModel = new PatientModel(patientDTO.name(), patientDTO.address(), patientDTO.phone(), patientDTO.email());
@@ -48,11 +48,8 @@ public class PatientsSchedulesControllerTest {
 
     @Test
     void testPatientsSchedules() throws Exception {
-        // Configura o comportamento do serviço mockado
-        when(patientService.savePatient(any(PatientModel.class))).thenReturn(patientModel);
-
-        // Simula a conversão e o envio para o RabbitMQ
-        doNothing().when(rabbitTemplate).convertAndSend(eq("schedules.v1.patients-schedules-created"), eq(""), any(PatientDTO.class));
+        // Configura o comportamento do serviço mockado (salva o paciente e registra a mensagem no outbox)
+        when(patientService.schedulePatient(any(PatientModel.class), eq("doctor-1"), eq(patientDTO.scheduledAt()))).thenReturn(patientDTO);
 
         // Realiza uma requisição POST para o endpoint "/patient-service/schedules"
         mockMvc.perform(post("/patient-service/schedules")
@@ -62,19 +59,17 @@ public class PatientsSchedulesControllerTest {
                 .andExpect(jsonPath("$.name").value("John Doe"))
                 .andExpect(jsonPath("$.phone").value("1234567890"))
                 .andExpect(jsonPath("$.address").value("123 Main St"))
-                .andExpect(jsonPath("$.email").value("johndoe@example.com"));
+                .andExpect(jsonPath("$.email").value("johndoe@example.com"))
+                .andExpect(jsonPath("$.doctorId").value("doctor-1"));
 
-        // Verifica se o método do serviço foi chamado para salvar o paciente
-        verify(patientService, times(1)).savePatient(any(PatientModel.class));
-
-        // Verifica se o RabbitTemplate foi chamado para enviar a mensagem
-        verify(rabbitTemplate, times(1)).convertAndSend(eq("schedules.v1.patients-schedules-created"), eq(""), any(PatientDTO.class));
+        // Verifica se o método do serviço foi chamado para salvar o paciente e registrar a mensagem
+        verify(patientService, times(1)).schedulePatient(any(PatientModel.class), eq("doctor-1"), eq(patientDTO.scheduledAt()));
     }
 
     @Test
     void testPatientsSchedules_WhenSaveFails() throws Exception {
         // Configura o comportamento do serviço mockado para lançar uma exceção
-        when(patientService.savePatient(any(PatientModel.class))).thenThrow(new RuntimeException("Failed to save patient"));
+        when(patientService.schedulePatient(any(PatientModel.class), any(), any())).thenThrow(new RuntimeException("Failed to save patient"));
 
         // Realiza uma requisição POST para o endpoint "/patient-service/schedules"
         mockMvc.perform(post("/patient-service/schedules")
@@ -83,16 +78,39 @@ public class PatientsSchedulesControllerTest {
                 .andExpect(status().isInternalServerError());
 
         // Verifica se o método do serviço foi chamado para salvar o paciente
-        verify(patientService, times(1)).savePatient(any(PatientModel.class));
+        verify(patientService, times(1)).schedulePatient(any(PatientModel.class), eq("doctor-1"), eq(patientDTO.scheduledAt()));
+    }
+
+    @Test
+    void testPatientsSchedules_WhenSlotIsTaken() throws Exception {
+        // O horário já foi reservado por outro paciente
+        when(patientService.schedulePatient(any(PatientModel.class), any(), any())).thenThrow(new SlotUnavailable("Slot not available"));
 
-        // Verifica se o RabbitTemplate não foi chamado (já que o erro ocorreu antes)
-        verify(rabbitTemplate, times(0)).convertAndSend(anyString(), anyString(), any(PatientDTO.class));
+        // O agendamento é rejeitado com 409 (Conflict)
+        mockMvc.perform(post("/patient-service/schedules")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(patientDTO)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testPatientsSchedules_WhenRequestIsIncomplete() throws Exception {
+        // Agendamento sem médico e com email inválido
+        PatientScheduleDTO invalid = new PatientScheduleDTO("John Doe", "1234567890", "123 Main St", "not-an-email",
+                null, patientDTO.scheduledAt());
+
+        // O agendamento é rejeitado com 400 (Bad Request) sem chegar ao serviço
+        mockMvc.perform(post("/patient-service/schedules")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(invalid)))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(patientService);
     }
 
     // Método auxiliar para converter objetos para JSON
     public static String asJsonString(final Object obj) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
+            ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
             return objectMapper.writeValueAsString(obj);
         } catch (Exception e) {
             throw new RuntimeException(e);
@@ -0,0 +1,135 @@
+package br.com.ewerton.servicepatient.controller.security;
+
+import br.com.ewerton.servicepatient.model.PatientModel;
+import br.com.ewerton.servicepatient.model.PatientRole;
+import br.com.ewerton.servicepatient.repository.PatientRepository;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SecurityFilterTest {
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @InjectMocks
+    private SecurityFilter securityFilter;
+
+    private TokenService tokenService;
+
+    private PatientModel patient;
+
+    @BeforeEach
+    void setUp() {
+        // Usa o TokenService real, para que a audiência e a assinatura sejam de fato verificadas
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", TokenServiceTest.SECRET);
+        ReflectionTestUtils.setField(tokenService, "cacheSize", 100L);
+        tokenService.init();
+        ReflectionTestUtils.setField(securityFilter, "tokenService", tokenService);
+        ReflectionTestUtils.setField(securityFilter, "stateless", true);
+
+        patient = new PatientModel("johndoe@example.com", "password", PatientRole.USER);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testStatelessAuthenticationUsesSignedClaims() throws Exception {
+        Authentication authentication = filter(tokenService.generateToken(patient));
+
+        // A autenticação vem apenas do token, sem acessar o banco
+        assertNotNull(authentication);
+        assertEquals("johndoe@example.com", authentication.getName());
+        assertEquals(List.of("ROLE_USER"), authorities(authentication));
+        verifyNoInteractions(patientRepository);
+    }
+
+    @Test
+    void testFallbackResolvesPatientFromRepository() throws Exception {
+        ReflectionTestUtils.setField(securityFilter, "stateless", false);
+        when(patientRepository.findByEmail("johndoe@example.com")).thenReturn(patient);
+
+        Authentication authentication = filter(tokenService.generateToken(patient));
+
+        // Com o modo stateless desligado, o paciente e as autoridades vêm do repositório
+        assertNotNull(authentication);
+        assertSame(patient, authentication.getPrincipal());
+        assertEquals(List.of("ROLE_USER"), authorities(authentication));
+    }
+
+    @Test
+    void testTokenWithoutRolesFallsBackToRepository() throws Exception {
+        String token = JWT.create()
+                .withIssuer("auth-api")
+                .withAudience(TokenService.AUDIENCE)
+                .withSubject("removed@example.com")
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256(TokenServiceTest.SECRET));
+        when(patientRepository.findByEmail("removed@example.com")).thenReturn(null);
+
+        // Sem o claim de autoridades, o paciente é buscado no banco; como não existe, não há autenticação
+        assertNull(filter(token));
+        verify(patientRepository, times(1)).findByEmail("removed@example.com");
+    }
+
+    @Test
+    void testTokenFromDoctorServiceIsRejected() throws Exception {
+        // Token de médico administrador assinado com a mesma chave
+        String doctorToken = JWT.create()
+                .withIssuer("auth-api")
+                .withAudience("service-doctor")
+                .withSubject("johndoe@example.com")
+                .withClaim(TokenService.ROLES_CLAIM, List.of("ROLE_ADMIN", "ROLE_USER"))
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256(TokenServiceTest.SECRET));
+
+        // Não autentica em nenhum dos modos
+        assertNull(filter(doctorToken));
+        ReflectionTestUtils.setField(securityFilter, "stateless", false);
+        assertNull(filter(doctorToken));
+        verifyNoInteractions(patientRepository);
+    }
+
+    // Executa o filtro com o token informado; a cadeia de filtros deve continuar em todos os casos
+    private Authentication filter(String token) throws ServletException, IOException {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/patient-service");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockFilterChain chain = new MockFilterChain();
+
+        securityFilter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertSame(request, chain.getRequest());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static List<String> authorities(Authentication authentication) {
+        return authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+    }
+}
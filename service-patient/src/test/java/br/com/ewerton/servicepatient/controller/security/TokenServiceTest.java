@@ -0,0 +1,88 @@
+package br.com.ewerton.servicepatient.controller.security;
+
+import br.com.ewerton.servicepatient.model.PatientModel;
+import br.com.ewerton.servicepatient.model.PatientRole;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenServiceTest {
+
+    static final String SECRET = "test-secret-with-at-least-32-characters";
+
+    private TokenService tokenService;
+
+    private PatientModel patient;
+
+    @BeforeEach
+    void setUp() {
+        // Configura o serviço com uma chave fixa, como faria o Spring
+        tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", SECRET);
+        ReflectionTestUtils.setField(tokenService, "cacheSize", 100L);
+        tokenService.init();
+
+        patient = new PatientModel("johndoe@example.com", "password", PatientRole.ADMIN);
+    }
+
+    @Test
+    void testGeneratedTokenCarriesSubjectAndRoles() {
+        // Gera e valida o token
+        String token = tokenService.generateToken(patient);
+        DecodedJWT decodedToken = tokenService.decodeToken(token);
+
+        // Verifica o email e as autoridades assinadas no token
+        assertNotNull(decodedToken);
+        assertEquals("johndoe@example.com", tokenService.validateToken(token));
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"), decodedToken.getClaim(TokenService.ROLES_CLAIM).asList(String.class));
+    }
+
+    @Test
+    void testVerifiedTokenIsServedFromCache() {
+        String token = tokenService.generateToken(patient);
+
+        // A segunda validação do mesmo token deve devolver a mesma instância verificada
+        assertSame(tokenService.decodeToken(token), tokenService.decodeToken(token));
+    }
+
+    @Test
+    void testInvalidTokenIsRejected() {
+        String token = tokenService.generateToken(patient);
+
+        // Verifica se um token adulterado ou desconhecido é rejeitado
+        assertNull(tokenService.decodeToken(token + "x"));
+        assertEquals("", tokenService.validateToken("not-a-token"));
+    }
+
+    @Test
+    void testTokenForAnotherServiceIsRejected() {
+        // Token assinado com a mesma chave, mas emitido para o serviço de médicos
+        String doctorToken = JWT.create()
+                .withIssuer("auth-api")
+                .withAudience("service-doctor")
+                .withSubject("joao@example.com")
+                .withClaim(TokenService.ROLES_CLAIM, List.of("ROLE_ADMIN", "ROLE_USER"))
+                .withExpiresAt(Instant.now().plusSeconds(60))
+                .sign(Algorithm.HMAC256(SECRET));
+
+        assertNull(tokenService.decodeToken(doctorToken));
+    }
+
+    @Test
+    void testShortSecretIsRejected() {
+        // A chave padrão antiga não é mais aceita
+        TokenService weak = new TokenService();
+        ReflectionTestUtils.setField(weak, "secret", "my-secret-key");
+        ReflectionTestUtils.setField(weak, "cacheSize", 100L);
+
+        assertThrows(IllegalStateException.class, weak::init);
+    }
+}
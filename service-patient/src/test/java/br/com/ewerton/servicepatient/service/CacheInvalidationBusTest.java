@@ -0,0 +1,121 @@
+package br.com.ewerton.servicepatient.service;
+
+import br.com.ewerton.servicepatient.configuration.RabbitMQConfig;
+import br.com.ewerton.servicepatient.dto.CacheInvalidationDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CacheInvalidationBusTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @InjectMocks
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(cacheInvalidationBus, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(cacheInvalidationBus, "maxBatchSize", 2);
+        cacheInvalidationBus.init();
+    }
+
+    @Test
+    void testFlushCoalescesKeysInBatches() {
+        cacheInvalidationBus.invalidate("patients", "a");
+        cacheInvalidationBus.invalidate("patients", "a");
+        cacheInvalidationBus.invalidate("patients", "b");
+
+        cacheInvalidationBus.flush();
+
+        // Três chaves com limite de duas por mensagem: duas mensagens, com a chave repetida agrupada na primeira
+        List<CacheInvalidationDTO> messages = publishedMessages(2);
+        assertEquals(Map.of("patients", Set.of("a")), messages.get(0).keys());
+        assertEquals(Map.of("patients", Set.of("b")), messages.get(1).keys());
+        assertEquals(3, meterRegistry.counter("cache.invalidation.published").count());
+        assertEquals(0, meterRegistry.get("cache.invalidation.pending").gauge().value());
+    }
+
+    @Test
+    void testFlushWithoutPendingKeysPublishesNothing() {
+        cacheInvalidationBus.flush();
+
+        verifyNoInteractions(rabbitTemplate);
+    }
+
+    @Test
+    void testInvalidateInsideTransactionWaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cacheInvalidationBus.invalidate("patients", "a");
+
+            // Antes do commit nada é publicado
+            cacheInvalidationBus.flush();
+            verifyNoInteractions(rabbitTemplate);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        cacheInvalidationBus.flush();
+        assertEquals(Map.of("patients", Set.of("a")), publishedMessages(1).get(0).keys());
+    }
+
+    @Test
+    void testApplyEvictsKeysFromOtherReplicas() {
+        List<String> evicted = new ArrayList<>();
+        cacheInvalidationBus.subscribe("patients", evicted::add);
+
+        cacheInvalidationBus.apply(new CacheInvalidationDTO("other-replica", System.currentTimeMillis() - 20,
+                Map.of("patients", Set.of("a"), "unknown", Set.of("b"))));
+
+        // Apenas os caches com consumidor registrado são afetados, e o atraso da invalidação é medido
+        assertEquals(List.of("a"), evicted);
+        assertEquals(1, meterRegistry.counter("cache.invalidation.received").count());
+        assertEquals(1, meterRegistry.get("cache.invalidation.lag").timer().count());
+    }
+
+    @Test
+    void testApplyIgnoresOwnMessages() {
+        List<String> evicted = new ArrayList<>();
+        cacheInvalidationBus.subscribe("patients", evicted::add);
+        cacheInvalidationBus.invalidate("patients", "a");
+        cacheInvalidationBus.flush();
+
+        cacheInvalidationBus.apply(publishedMessages(1).get(0));
+
+        assertTrue(evicted.isEmpty());
+        assertEquals(0, meterRegistry.get("cache.invalidation.lag").timer().count());
+    }
+
+    private List<CacheInvalidationDTO> publishedMessages(int count) {
+        ArgumentCaptor<CacheInvalidationDTO> captor = ArgumentCaptor.forClass(CacheInvalidationDTO.class);
+        verify(rabbitTemplate, times(count)).convertAndSend(eq(RabbitMQConfig.CACHE_INVALIDATION_EXCHANGE), eq(""), captor.capture());
+        return captor.getAllValues();
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.ewerton.servicepatient.service;
+
+import br.com.ewerton.servicepatient.model.OutboxEventModel;
+import br.com.ewerton.servicepatient.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpTimeoutException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayTest {
+
+    private static final String EXCHANGE = "schedules.v1.patients-schedules-created";
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private RabbitOperations rabbitOperations;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        // Lotes de 2 eventos e timeout curto de confirmação
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 2);
+        ReflectionTestUtils.setField(outboxRelay, "confirmTimeout", 100L);
+
+        // Executa o callback da transação diretamente
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        // Executa o callback do canal dedicado com as operações mockadas
+        lenient().when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                invocation.<RabbitOperations.OperationsCallback<?>>getArgument(0).doInRabbit(rabbitOperations));
+    }
+
+    @Test
+    void testRelayPublishesAndDeletesConfirmedEvents() {
+        OutboxEventModel first = new OutboxEventModel(EXCHANGE, "br.com.ewerton.servicepatient.dto.PatientDTO", "{\"name\":\"John Doe\"}");
+        OutboxEventModel second = new OutboxEventModel(EXCHANGE, "br.com.ewerton.servicepatient.dto.PatientDTO", "{\"name\":\"Jane Doe\"}");
+        OutboxEventModel third = new OutboxEventModel(EXCHANGE, "br.com.ewerton.servicepatient.dto.PatientDTO", "{\"name\":\"Jim Doe\"}");
+
+        // Simula dois lotes: um cheio e um parcial
+        when(outboxEventRepository.lockPendingEvents(2)).thenReturn(List.of(first, second), List.of(third));
+
+        // Chama o método a ser testado
+        outboxRelay.relayPendingEvents();
+
+        // Verifica se as mensagens foram publicadas com o ID do evento e confirmadas antes da remoção
+        ArgumentCaptor<Message> messages = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitOperations, times(3)).send(eq(EXCHANGE), eq(""), messages.capture());
+        assertEquals(first.getId().toString(), messages.getAllValues().get(0).getMessageProperties().getMessageId());
+        assertEquals("application/json", messages.getAllValues().get(0).getMessageProperties().getContentType());
+        verify(rabbitOperations, times(2)).waitForConfirmsOrDie(100L);
+        verify(outboxEventRepository).deleteAllInBatch(List.of(first, second));
+        verify(outboxEventRepository).deleteAllInBatch(List.of(third));
+    }
+
+    @Test
+    void testRelayKeepsEventsWhenConfirmFails() {
+        OutboxEventModel event = new OutboxEventModel(EXCHANGE, "br.com.ewerton.servicepatient.dto.PatientDTO", "{}");
+        when(outboxEventRepository.lockPendingEvents(2)).thenReturn(List.of(event));
+
+        // Simula o broker sem confirmar a publicação
+        doThrow(new AmqpTimeoutException("no confirm")).when(rabbitOperations).waitForConfirmsOrDie(100L);
+
+        // Verifica se a falha é propagada (desfazendo a transação) e os eventos não são removidos
+        assertThrows(AmqpTimeoutException.class, () -> outboxRelay.relayPendingEvents());
+        verify(outboxEventRepository, never()).deleteAllInBatch(anyIterable());
+    }
+
+    @Test
+    void testRelayWithoutPendingEvents() {
+        when(outboxEventRepository.lockPendingEvents(2)).thenReturn(List.of());
+
+        // Chama o método a ser testado
+        outboxRelay.relayPendingEvents();
+
+        // Verifica se nada foi publicado
+        verifyNoInteractions(rabbitTemplate);
+    }
+}
@@ -0,0 +1,158 @@
+package br.com.ewerton.servicepatient.service;
+
+import br.com.ewerton.servicepatient.dto.PatientImportReportDTO;
+import br.com.ewerton.servicepatient.model.PatientRole;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PatientImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private PatientImportService patientImportService;
+
+    @BeforeEach
+    void setUp() {
+        // Lotes de 2 linhas para exercitar mais de um flush
+        ReflectionTestUtils.setField(patientImportService, "batchSize", 2);
+
+        // Executa o callback da transação diretamente
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void testImportJsonInBatches() throws Exception {
+        String json = """
+                [{"name":"John Doe","phone":"1","address":"A","email":"john@example.com"},
+                 {"name":"Jane Doe","phone":"2","address":"B","email":"jane@example.com"},
+                 {"name":"","phone":"3","address":"C","email":"nobody@example.com"},
+                 {"name":"Jim Doe","phone":"4","address":"D","email":"jim@example.com"}]
+                """;
+
+        // Chama o método a ser testado
+        PatientImportReportDTO report = patientImportService.importJson(stream(json));
+
+        // Verifica se as linhas válidas foram gravadas em dois lotes e a inválida reportada
+        assertEquals(3, report.imported());
+        assertEquals(1, report.failed());
+        assertEquals(3, report.errors().get(0).row());
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void testImportJsonReportsInvalidElementsAndContinues() throws Exception {
+        String json = """
+                [{"name":"John Doe","phone":"1","address":"A","email":"john@example.com"},
+                 42,
+                 ["not", "a", "patient"],
+                 null,
+                 {"name":{"first":"Jane"},"email":"jane@example.com"},
+                 {"name":"Jim Doe","phone":"4","address":"D","email":"jim@example.com"}]
+                """;
+
+        // Chama o método a ser testado
+        PatientImportReportDTO report = patientImportService.importJson(stream(json));
+
+        // Verifica se cada elemento inválido foi reportado e a leitura seguiu até o fim do array
+        assertEquals(2, report.imported());
+        assertEquals(4, report.failed());
+        assertEquals(List.of(2L, 3L, 4L, 5L), report.errors().stream().map(error -> error.row()).toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportRejectsDuplicateEmails() throws Exception {
+        String csv = """
+                email,name,phone,address
+                john@example.com,John Doe,1,A
+                john@example.com,John Again,2,B
+                jane@example.com,Jane Doe,3,C
+                jim@example.com,Jim Doe,4,D
+                """;
+
+        // Simula a Jane já cadastrada
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), any(Object[].class)))
+                .thenReturn(List.of("jane@example.com"));
+
+        // Chama o método a ser testado
+        PatientImportReportDTO report = patientImportService.importCsv(stream(csv));
+
+        // Verifica se o email repetido na carga e o já cadastrado foram rejeitados
+        assertEquals(2, report.imported());
+        assertEquals(List.of(3L, 4L), report.errors().stream().map(error -> error.row()).toList());
+        assertEquals("email is duplicated in the import", report.errors().get(0).message());
+        assertEquals("email is already registered", report.errors().get(1).message());
+
+        // Verifica se os pacientes foram gravados com o papel de usuário e sem senha
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batches.capture());
+        List<Object[]> written = batches.getAllValues().stream().flatMap(List::stream).toList();
+        assertEquals(List.of("john@example.com", "jim@example.com"), written.stream().map(args -> args[4]).toList());
+        assertTrue(written.stream().allMatch(args -> args[5].equals(PatientRole.USER.ordinal())));
+    }
+
+    @Test
+    void testImportCsvIsolatesFailingRows() throws Exception {
+        String csv = """
+                email,name,phone,address
+                john@example.com,"Doe, John",1,A
+                not-an-email,Jane Doe,2,B
+                jim@example.com,Jim Doe,3,C
+                """;
+
+        // Simula falha do lote e da linha do Jim para forçar a regravação linha a linha
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new DataIntegrityViolationException("batch failed"));
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            Object[] args = (Object[]) invocation.getRawArguments()[1];
+            if ("Jim Doe".equals(args[1])) throw new DataIntegrityViolationException("duplicate");
+            return 1;
+        });
+
+        // Chama o método a ser testado
+        PatientImportReportDTO report = patientImportService.importCsv(stream(csv));
+
+        // Verifica se somente as linhas com erro foram rejeitadas
+        assertEquals(1, report.imported());
+        assertEquals(2, report.failed());
+        assertEquals(List.of(3L, 4L), report.errors().stream().map(error -> error.row()).toList());
+    }
+
+    @Test
+    void testParseCsvLineWithQuotes() {
+        assertEquals(List.of("a", "b, c", "d \"e\""), PatientImportService.parseCsvLine("a,\"b, c\",\"d \"\"e\"\"\""));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
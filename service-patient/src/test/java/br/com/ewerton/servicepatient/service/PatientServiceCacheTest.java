@@ -0,0 +1,144 @@
+package br.com.ewerton.servicepatient.service;
+
+import br.com.ewerton.servicepatient.dto.PatientDTO;
+import br.com.ewerton.servicepatient.dto.ReservationDTO;
+import br.com.ewerton.servicepatient.model.PatientModel;
+import br.com.ewerton.servicepatient.repository.PatientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+// Usa o proxy de cache do Spring sobre o PatientService, com um cache Caffeine real e o repositório simulado
+@SpringJUnitConfig(PatientServiceCacheTest.CacheTestConfig.class)
+public class PatientServiceCacheTest {
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockBean
+    private PatientRepository patientRepository;
+
+    @MockBean
+    private OutboxService outboxService;
+
+    @MockBean
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @MockBean
+    private DoctorReservationClient doctorReservationClient;
+
+    @MockBean
+    private TransactionTemplate transactionTemplate;
+
+    private UUID id;
+
+    private PatientDTO patient;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(PatientService.PATIENTS_CACHE).clear();
+        id = UUID.randomUUID();
+        patient = new PatientDTO("John Doe", "1234567890", "123 Main St", "johndoe@example.com");
+        when(patientRepository.findPatientDTOById(id)).thenReturn(Optional.of(patient));
+    }
+
+    @Test
+    void testRepeatReadIsServedFromCache() {
+        assertEquals(Optional.of(patient), patientService.findPatientDTOById(id));
+        assertEquals(Optional.of(patient), patientService.findPatientDTOById(id));
+
+        // Apenas a primeira leitura chega ao banco
+        verify(patientRepository, times(1)).findPatientDTOById(id);
+    }
+
+    @Test
+    void testMissingPatientIsNotCached() {
+        UUID missing = UUID.randomUUID();
+        when(patientRepository.findPatientDTOById(missing)).thenReturn(Optional.empty());
+
+        patientService.findPatientDTOById(missing);
+        patientService.findPatientDTOById(missing);
+
+        // Pacientes inexistentes são buscados no banco a cada leitura
+        verify(patientRepository, times(2)).findPatientDTOById(missing);
+    }
+
+    @Test
+    void testSaveEvictsCachedPatient() {
+        patientService.findPatientDTOById(id);
+        PatientModel updated = new PatientModel(id, "John Doe", "456 Main St", "1234567890", "johndoe@example.com", "password", null);
+        when(patientRepository.save(updated)).thenReturn(updated);
+
+        patientService.savePatient(updated);
+        patientService.findPatientDTOById(id);
+
+        // A leitura seguinte à alteração volta ao banco, e as outras réplicas são avisadas
+        verify(patientRepository, times(2)).findPatientDTOById(id);
+        verify(cacheInvalidationBus, times(1)).invalidate(PatientService.PATIENTS_CACHE, id);
+    }
+
+    @Test
+    void testSchedulePatientEvictsCachedPatient() {
+        LocalDateTime scheduledAt = LocalDate.now().plusDays(1).atTime(9, 0);
+        PatientModel updated = new PatientModel(id, "John Doe", "456 Main St", "1234567890", "johndoe@example.com", "password", null);
+        when(doctorReservationClient.reserve("doctor-1", scheduledAt, "johndoe@example.com")).thenReturn(
+                new ReservationDTO(UUID.randomUUID(), "doctor-1", "johndoe@example.com", scheduledAt, scheduledAt.plusMinutes(15), true));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(patientRepository.save(updated)).thenReturn(updated);
+        patientService.findPatientDTOById(id);
+
+        patientService.schedulePatient(updated, "doctor-1", scheduledAt);
+        patientService.findPatientDTOById(id);
+
+        // O agendamento salva o paciente sem passar pelo proxy, mas também remove a entrada do cache
+        verify(patientRepository, times(2)).findPatientDTOById(id);
+        verify(cacheInvalidationBus, times(1)).invalidate(PatientService.PATIENTS_CACHE, id);
+    }
+
+    @Test
+    void testDeleteEvictsCachedPatient() {
+        patientService.findPatientDTOById(id);
+
+        patientService.deletePatient(id);
+        patientService.findPatientDTOById(id);
+
+        verify(patientRepository, times(2)).findPatientDTOById(id);
+        verify(cacheInvalidationBus, times(1)).invalidate(PatientService.PATIENTS_CACHE, id);
+    }
+
+    @Configuration
+    @EnableCaching
+    static class CacheTestConfig {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new CaffeineCacheManager(PatientService.PATIENTS_CACHE);
+        }
+
+        @Bean
+        PatientService patientService() {
+            return new PatientService();
+        }
+    }
+}
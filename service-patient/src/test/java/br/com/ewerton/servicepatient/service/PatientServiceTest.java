@@ -1,20 +1,40 @@
 package br.com.ewerton.servicepatient.service;
 
+import br.com.ewerton.servicepatient.configuration.RabbitMQConfig;
+import br.com.ewerton.servicepatient.dto.PatientDTO;
+import br.com.ewerton.servicepatient.dto.PatientPageDTO;
+import br.com.ewerton.servicepatient.dto.PatientRowDTO;
+import br.com.ewerton.servicepatient.dto.PatientScheduleDTO;
+import br.com.ewerton.servicepatient.dto.ReservationDTO;
+import br.com.ewerton.servicepatient.dto.ReservationReleaseDTO;
 import br.com.ewerton.servicepatient.model.PatientModel;
 import br.com.ewerton.servicepatient.repository.PatientRepository;
+import br.com.ewerton.servicepatient.service.exceptions.InvalidCursor;
+import br.com.ewerton.servicepatient.service.exceptions.InvalidSchedule;
+import br.com.ewerton.servicepatient.service.exceptions.SlotUnavailable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -25,6 +45,21 @@ public class PatientServiceTest {
     @Mock
     private PatientRepository patientRepository;
 
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private DoctorReservationClient doctorReservationClient;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private CacheManager cacheManager;
+
     @InjectMocks
     private PatientService patientService;
 
@@ -32,6 +67,15 @@ public class PatientServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Executa os callbacks das transações diretamente
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        ReflectionTestUtils.setField(patientService, "horizonDays", 60);
+
         // Configura o paciente fictício para os testes
         patient = new PatientModel();
         patient.setId(UUID.randomUUID());
@@ -40,23 +84,46 @@ public class PatientServiceTest {
     }
 
     @Test
-    void testAllPatient() {
-        // Dados de teste
-        List<PatientModel> patientList = Arrays.asList(patient);
+    void testPagePatientsFirstPage() {
+        // Dados de teste: um registro a mais que o tamanho da página indica que existe próxima página
+        PatientRowDTO first = new PatientRowDTO(patient.getId(), "John Doe", null, null, null);
+        PatientRowDTO other = new PatientRowDTO(UUID.randomUUID(), "Jane Doe", null, null, null);
 
         // Configura o comportamento do mock
-        when(patientRepository.findAll()).thenReturn(patientList);
+        when(patientRepository.findPatientRows(Limit.of(2))).thenReturn(Arrays.asList(first, other));
 
         // Chama o método a ser testado
-        List<PatientModel> result = patientService.allPatient();
+        PatientPageDTO result = patientService.pagePatients(null, 1);
 
         // Verifica se o resultado é o esperado
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("John Doe", result.get(0).getName());
+        assertEquals(1, result.content().size());
+        assertEquals("John Doe", result.content().get(0).name());
+        assertNotNull(result.nextCursor());
 
-        // Verifica se o método do repositório foi chamado
-        verify(patientRepository, times(1)).findAll();
+        // A próxima página deve começar após o último paciente entregue
+        when(patientRepository.findPatientRowsAfter(eq(patient.getId()), any(Limit.class))).thenReturn(List.of(other));
+        PatientPageDTO next = patientService.pagePatients(result.nextCursor(), 1);
+        assertEquals("Jane Doe", next.content().get(0).name());
+        assertNull(next.nextCursor());
+    }
+
+    @Test
+    void testPagePatientsLimitsPageSize() {
+        // Configura o comportamento do mock
+        when(patientRepository.findPatientRows(any(Limit.class))).thenReturn(List.of());
+
+        // Chama o método a ser testado com um tamanho acima do máximo permitido
+        patientService.pagePatients(null, 100_000);
+
+        // Verifica se o repositório foi consultado com o tamanho limitado
+        verify(patientRepository, times(1)).findPatientRows(Limit.of(PatientService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void testPagePatientsInvalidCursor() {
+        // Verifica se um cursor inválido é rejeitado sem consultar o banco
+        assertThrows(InvalidCursor.class, () -> patientService.pagePatients("not-a-cursor", 10));
+        verifyNoInteractions(patientRepository);
     }
 
     @Test
@@ -75,6 +142,20 @@ public class PatientServiceTest {
         verify(patientRepository, times(1)).findById(any(UUID.class));
     }
 
+    @Test
+    void testFindPatientDTOById() {
+        // Configura o comportamento do mock para retornar a projeção
+        when(patientRepository.findPatientDTOById(patient.getId())).thenReturn(Optional.of(new PatientDTO("John Doe", null, null, null)));
+
+        // Chama o método a ser testado
+        Optional<PatientDTO> result = patientService.findPatientDTOById(patient.getId());
+
+        // Verifica se o resultado é o esperado e se nenhuma entidade foi carregada
+        assertTrue(result.isPresent());
+        assertEquals("John Doe", result.get().name());
+        verify(patientRepository, never()).findById(any(UUID.class));
+    }
+
     @Test
     void testFindPatientByIdNotFound() {
         // Configura o comportamento do mock para não encontrar o paciente
@@ -102,8 +183,20 @@ public class PatientServiceTest {
         assertNotNull(result);
         assertEquals("John Doe", result.getName());
 
-        // Verifica se o método do repositório foi chamado
+        // Verifica se o método do repositório foi chamado e se as outras réplicas foram avisadas da alteração
         verify(patientRepository, times(1)).save(any(PatientModel.class));
+        verify(cacheInvalidationBus, times(1)).invalidate(PatientService.PATIENTS_CACHE, patient.getId());
+    }
+
+    @Test
+    void testSaveNewPatientDoesNotInvalidate() {
+        // Paciente novo, ainda sem ID: não há entrada em cache para invalidar
+        PatientModel newPatient = new PatientModel();
+        when(patientRepository.save(newPatient)).thenReturn(patient);
+
+        patientService.savePatient(newPatient);
+
+        verifyNoInteractions(cacheInvalidationBus);
     }
 
     @Test
@@ -111,8 +204,107 @@ public class PatientServiceTest {
         // Chama o método a ser testado
         patientService.deletePatient(patient.getId());
 
-        // Verifica se o método do repositório foi chamado
+        // Verifica se o método do repositório foi chamado e se as outras réplicas foram avisadas da exclusão
         verify(patientRepository, times(1)).deleteById(any(UUID.class));
+        verify(cacheInvalidationBus, times(1)).invalidate(PatientService.PATIENTS_CACHE, patient.getId());
     }
-}
 
+    @Test
+    void testSchedulePatientEnqueuesEvent() {
+        LocalDateTime scheduledAt = LocalDate.now().plusDays(1).atTime(9, 0);
+        patient.setEmail("johndoe@example.com");
+
+        // Configura o comportamento dos mocks
+        when(doctorReservationClient.reserve("doctor-1", scheduledAt, "johndoe@example.com")).thenReturn(reservation(scheduledAt, true));
+        when(patientRepository.save(any(PatientModel.class))).thenReturn(patient);
+
+        // Chama o método a ser testado
+        PatientScheduleDTO result = patientService.schedulePatient(patient, "doctor-1", scheduledAt);
+
+        // Verifica se o horário foi reservado antes de a transação ser aberta, e o paciente salvo e o evento
+        // registrado no outbox dentro dela
+        assertEquals("John Doe", result.name());
+        assertEquals("doctor-1", result.doctorId());
+        assertEquals(scheduledAt, result.scheduledAt());
+        InOrder inOrder = inOrder(doctorReservationClient, transactionTemplate, patientRepository, outboxService, cacheInvalidationBus);
+        inOrder.verify(doctorReservationClient).reserve("doctor-1", scheduledAt, "johndoe@example.com");
+        inOrder.verify(transactionTemplate).execute(any());
+        inOrder.verify(patientRepository).save(patient);
+        inOrder.verify(outboxService).enqueue(RabbitMQConfig.PATIENTS_SCHEDULES_CREATED_EXCHANGE, result);
+
+        // O paciente existente é removido do cache desta réplica e das demais depois da confirmação
+        inOrder.verify(cacheInvalidationBus).invalidate(PatientService.PATIENTS_CACHE, patient.getId());
+    }
+
+    @Test
+    void testSchedulePatientRejectsTakenSlot() {
+        LocalDateTime scheduledAt = LocalDate.now().plusDays(1).atTime(9, 0);
+        when(doctorReservationClient.reserve(eq("doctor-1"), eq(scheduledAt), any())).thenThrow(new SlotUnavailable("Slot not available"));
+
+        // O conflito é propagado sem abrir a transação, salvar o paciente nem registrar o evento
+        assertThrows(SlotUnavailable.class, () -> patientService.schedulePatient(patient, "doctor-1", scheduledAt));
+        verifyNoInteractions(transactionTemplate, patientRepository, outboxService);
+    }
+
+    @Test
+    void testSchedulePatientReleasesReservationOnRollback() {
+        LocalDateTime scheduledAt = LocalDate.now().plusDays(1).atTime(9, 0);
+        ReservationDTO reservation = reservation(scheduledAt, true);
+        when(doctorReservationClient.reserve(eq("doctor-1"), eq(scheduledAt), any())).thenReturn(reservation);
+        when(doctorReservationClient.release(reservation.id())).thenReturn(true);
+        when(patientRepository.save(any(PatientModel.class))).thenReturn(patient);
+        doThrow(new IllegalStateException("outbox unavailable")).when(outboxService).enqueue(any(), any());
+
+        assertThrows(IllegalStateException.class, () -> patientService.schedulePatient(patient, "doctor-1", scheduledAt));
+
+        // A reserva criada por este agendamento é liberada pela API, sem pedido de liberação no outbox
+        verify(doctorReservationClient, times(1)).release(reservation.id());
+        verify(outboxService, never()).enqueue(eq(RabbitMQConfig.RESERVATION_RELEASE_EXCHANGE), any());
+    }
+
+    @Test
+    void testSchedulePatientKeepsExistingReservationOnRollback() {
+        LocalDateTime scheduledAt = LocalDate.now().plusDays(1).atTime(9, 0);
+        when(doctorReservationClient.reserve(eq("doctor-1"), eq(scheduledAt), any())).thenReturn(reservation(scheduledAt, false));
+        when(patientRepository.save(any(PatientModel.class))).thenThrow(new IllegalStateException("database unavailable"));
+
+        assertThrows(IllegalStateException.class, () -> patientService.schedulePatient(patient, "doctor-1", scheduledAt));
+
+        // Um agendamento repetido recebeu a reserva do agendamento original, que não pode ser liberada por ele
+        verify(doctorReservationClient, never()).release(any());
+    }
+
+    @Test
+    void testSchedulePatientEnqueuesReleaseWhenReleaseFails() {
+        LocalDateTime scheduledAt = LocalDate.now().plusDays(1).atTime(9, 0);
+        ReservationDTO reservation = reservation(scheduledAt, true);
+        when(doctorReservationClient.reserve(eq("doctor-1"), eq(scheduledAt), any())).thenReturn(reservation);
+        when(doctorReservationClient.release(reservation.id())).thenReturn(false);
+        when(patientRepository.save(any(PatientModel.class))).thenReturn(patient);
+        doThrow(new IllegalStateException("outbox unavailable"))
+                .when(outboxService).enqueue(eq(RabbitMQConfig.PATIENTS_SCHEDULES_CREATED_EXCHANGE), any());
+
+        assertThrows(IllegalStateException.class, () -> patientService.schedulePatient(patient, "doctor-1", scheduledAt));
+
+        // A liberação que falhou pela API é registrada no outbox, em uma transação própria
+        verify(outboxService, times(1)).enqueue(RabbitMQConfig.RESERVATION_RELEASE_EXCHANGE, new ReservationReleaseDTO(reservation.id()));
+        verify(transactionTemplate, times(1)).executeWithoutResult(any());
+    }
+
+    @Test
+    void testSchedulePatientRejectsInvalidSlots() {
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+
+        // Horários fora do alinhamento de 15 minutos, no passado ou além do horizonte são rejeitados antes da reserva
+        assertThrows(InvalidSchedule.class, () -> patientService.schedulePatient(patient, "doctor-1", tomorrow.atTime(9, 10)));
+        assertThrows(InvalidSchedule.class, () -> patientService.schedulePatient(patient, "doctor-1", tomorrow.atTime(9, 0, 30)));
+        assertThrows(InvalidSchedule.class, () -> patientService.schedulePatient(patient, "doctor-1", tomorrow.minusDays(2).atTime(9, 0)));
+        assertThrows(InvalidSchedule.class, () -> patientService.schedulePatient(patient, "doctor-1", tomorrow.plusDays(60).atTime(9, 0)));
+        verifyNoInteractions(doctorReservationClient, patientRepository, outboxService);
+    }
+
+    // Reserva devolvida pelo "service-doctor" para o horário informado, criada ou não pela chamada
+    private static ReservationDTO reservation(LocalDateTime startsAt, boolean created) {
+        return new ReservationDTO(UUID.randomUUID(), "doctor-1", "johndoe@example.com", startsAt, startsAt.plusMinutes(15), created);
+    }
+}
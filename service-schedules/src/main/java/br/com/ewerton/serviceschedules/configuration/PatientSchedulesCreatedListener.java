@@ -1,44 +1,81 @@
 package br.com.ewerton.serviceschedules.configuration;
 
+import br.com.ewerton.serviceschedules.configuration.logging.SamplingFilter;
 import br.com.ewerton.serviceschedules.dto.PatientDTO;
 import br.com.ewerton.serviceschedules.model.SchedulesModel;
 import br.com.ewerton.serviceschedules.repository.SchedulesRepository;
+import br.com.ewerton.serviceschedules.service.DoctorAgendaService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 /**
  * Listener para o evento de criação de agendamento de paciente.
  * <p>
  * Esta classe escuta a fila do RabbitMQ "schedules.v1.patients-schedules-created-queue-schedules"
- * e processa os dados do paciente recebidos na mensagem, salvando os detalhes do agendamento
+ * e processa os dados dos pacientes recebidos nas mensagens, salvando os detalhes dos agendamentos
  * no banco de dados e imprimindo um log.
+ * <p>
+ * As mensagens são consumidas em lote (ver {@link RabbitMQConfig#batchListenerContainerFactory}): cada lote é
+ * gravado com um único {@code saveAll}, em uma única transação e com inserts em lote JDBC
+ * ("hibernate.jdbc.batch_size"), e confirmado de uma só vez. Na mesma transação, as agendas diárias dos médicos
+ * são atualizadas pelo {@link DoctorAgendaService}, para que a agenda nunca fique à frente nem atrás dos agendamentos.
+ * Lotes que falham seguem para o {@link SchedulesRetryRecoverer} em vez de voltar imediatamente à fila.
  */
 @Component
 public class PatientSchedulesCreatedListener {
 
+    private static final Logger log = LoggerFactory.getLogger(PatientSchedulesCreatedListener.class);
+
     @Autowired
     private SchedulesRepository schedulesRepository;
 
+    @Autowired
+    private DoctorAgendaService doctorAgendaService;
+
     /**
-     * Método que é chamado quando uma mensagem é recebida da fila RabbitMQ.
-     * Ele converte os dados do paciente em um objeto {@link SchedulesModel} e o salva
-     * no banco de dados. Após o salvamento, imprime os detalhes do agendamento no console.
+     * Método que é chamado quando um lote de mensagens é recebido da fila RabbitMQ.
+     * Ele converte os dados dos pacientes em objetos {@link SchedulesModel} e os salva
+     * no banco de dados, atualizando as agendas dos médicos. Após o salvamento, registra (por amostragem) a quantidade de agendamentos.
      *
-     * @param patientDTO O DTO contendo os dados do paciente a ser agendado.
+     * @param patientDTOs Os DTOs contendo os dados dos pacientes a serem agendados.
      */
-    @RabbitListener(queues = "schedules.v1.patients-schedules-created-queue-schedules")
-    public void onPatientSchedulesCreated(PatientDTO patientDTO) {
+    @RabbitListener(queues = RabbitMQConfig.SCHEDULES_QUEUE, containerFactory = "batchListenerContainerFactory")
+    @Transactional
+    public void onPatientSchedulesCreated(List<PatientDTO> patientDTOs) {
+        List<SchedulesModel> schedules = patientDTOs.stream().map(PatientSchedulesCreatedListener::toSchedulesModel).toList();
+
+        // Salva os agendamentos do lote no banco de dados
+        schedulesRepository.saveAll(schedules);
+
+        // Acrescenta os agendamentos às agendas diárias dos médicos
+        doctorAgendaService.record(schedules);
+
+        // Registra uma amostra dos lotes gravados
+        log.atInfo().addMarker(SamplingFilter.SAMPLED)
+                .addKeyValue("batchSize", schedules.size())
+                .log("Patients scheduled");
+    }
+
+    /**
+     * Converte os dados do paciente recebidos na mensagem em um agendamento.
+     *
+     * @param patientDTO O DTO contendo os dados do paciente.
+     * @return O agendamento a ser salvo.
+     */
+    static SchedulesModel toSchedulesModel(PatientDTO patientDTO) {
         SchedulesModel schedulesModel = new SchedulesModel();
         schedulesModel.setName(patientDTO.name());
         schedulesModel.setPhone(patientDTO.phone());
         schedulesModel.setAddress(patientDTO.address());
         schedulesModel.setEmail(patientDTO.email());
-
-        // Salva o agendamento no banco de dados
-        schedulesRepository.save(schedulesModel);
-
-        // Imprime no console o agendamento realizado
-        System.out.println("Patient Scheduled: " + patientDTO);
+        schedulesModel.setDoctorId(patientDTO.doctorId());
+        schedulesModel.setScheduledAt(patientDTO.scheduledAt());
+        return schedulesModel;
     }
 }
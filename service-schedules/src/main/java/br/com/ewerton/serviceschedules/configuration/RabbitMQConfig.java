@@ -2,16 +2,27 @@ package br.com.ewerton.serviceschedules.configuration;
 
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitAdmin;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageBatchRecoverer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.interceptor.RetryInterceptorBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Configuração do RabbitMQ para o serviço de agendamento de pacientes.
@@ -19,10 +30,32 @@ import org.springframework.context.annotation.Configuration;
  * Esta classe configura as filas, exchanges e o RabbitTemplate para envio e recebimento
  * de mensagens entre os microsserviços utilizando o RabbitMQ. Ela também define o
  * conversor de mensagens para JSON e inicializa a fila quando a aplicação está pronta.
+ * <p>
+ * Lotes que falham não voltam para a fila imediatamente: o {@link SchedulesRetryRecoverer} envia as mensagens às
+ * filas de retentativa, cujo TTL cresce exponencialmente e que, ao expirar, devolvem a mensagem à fila principal
+ * (dead-letter para a exchange padrão). Esgotadas as tentativas, a mensagem vai para a fila de estacionamento
+ * ("parking lot"), de onde pode ser reprocessada pelo endpoint administrativo; mensagens que não podem ser lidas vão
+ * para a fila de dead-letter. Todas essas filas são acessadas pela exchange padrão, sem alterar os argumentos da fila
+ * principal.
  */
 @Configuration
 public class RabbitMQConfig {
 
+    /**
+     * Fila dos agendamentos de pacientes consumida por este serviço.
+     */
+    public static final String SCHEDULES_QUEUE = "schedules.v1.patients-schedules-created-queue-schedules";
+
+    /**
+     * Fila das mensagens que não podem ser processadas (conteúdo ilegível); não são reprocessadas.
+     */
+    public static final String DEAD_LETTER_QUEUE = SCHEDULES_QUEUE + ".dlq";
+
+    /**
+     * Fila das mensagens que esgotaram as retentativas, aguardando reprocessamento manual.
+     */
+    public static final String PARKING_LOT_QUEUE = SCHEDULES_QUEUE + ".parking-lot";
+
     /**
      * Cria a fila para os agendamentos de pacientes.
      *
@@ -30,7 +63,7 @@ public class RabbitMQConfig {
      */
     @Bean
     public Queue queueSchedules() {
-        return new Queue("schedules.v1.patients-schedules-created-queue-schedules");
+        return new Queue(SCHEDULES_QUEUE);
     }
 
     /**
@@ -43,11 +76,68 @@ public class RabbitMQConfig {
      */
     @Bean
     public Binding binding() {
-        Queue queue = new Queue("schedules.v1.patients-schedules-created-queue-schedules");
+        Queue queue = new Queue(SCHEDULES_QUEUE);
         FanoutExchange exchange = new FanoutExchange("schedules.v1.patients-schedules-created");
         return BindingBuilder.bind(queue).to(exchange);
     }
 
+    /**
+     * Cria as filas de retentativa, de dead-letter e de estacionamento.
+     * <p>
+     * Cada fila de retentativa tem um TTL fixo e, ao expirar, devolve a mensagem à fila principal. O TTL faz parte do
+     * nome da fila, para que uma mudança nos atrasos crie filas novas em vez de conflitar com os argumentos das
+     * existentes.
+     *
+     * @param initialDelay O atraso da primeira retentativa, em milissegundos.
+     * @param multiplier   O fator de crescimento do atraso a cada tentativa.
+     * @param maxAttempts  A quantidade de retentativas antes do estacionamento.
+     * @return As filas declaradas.
+     */
+    @Bean
+    public Declarables retryQueues(@Value("${schedules.retry.initial-delay:1000}") long initialDelay,
+                                   @Value("${schedules.retry.multiplier:5}") double multiplier,
+                                   @Value("${schedules.retry.max-attempts:4}") int maxAttempts) {
+        List<Declarable> queues = new ArrayList<>();
+        for (long delay : retryDelays(initialDelay, multiplier, maxAttempts)) {
+            queues.add(QueueBuilder.durable(retryQueue(delay))
+                    .ttl((int) delay)
+                    .deadLetterExchange("")
+                    .deadLetterRoutingKey(SCHEDULES_QUEUE)
+                    .build());
+        }
+        queues.add(QueueBuilder.durable(DEAD_LETTER_QUEUE).build());
+        queues.add(QueueBuilder.durable(PARKING_LOT_QUEUE).build());
+        return new Declarables(queues);
+    }
+
+    /**
+     * Calcula os atrasos das retentativas: {@code initialDelay * multiplier^n} para cada tentativa {@code n}.
+     *
+     * @param initialDelay O atraso da primeira retentativa, em milissegundos.
+     * @param multiplier   O fator de crescimento do atraso.
+     * @param maxAttempts  A quantidade de retentativas.
+     * @return Os atrasos, em milissegundos, na ordem das tentativas.
+     */
+    public static List<Long> retryDelays(long initialDelay, double multiplier, int maxAttempts) {
+        List<Long> delays = new ArrayList<>();
+        double delay = initialDelay;
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            delays.add(Math.round(delay));
+            delay *= multiplier;
+        }
+        return delays;
+    }
+
+    /**
+     * Retorna o nome da fila de retentativa de um atraso.
+     *
+     * @param delay O atraso, em milissegundos.
+     * @return O nome da fila.
+     */
+    public static String retryQueue(long delay) {
+        return SCHEDULES_QUEUE + ".retry-" + delay + "ms";
+    }
+
     /**
      * Configura o RabbitAdmin para gerenciar a configuração do RabbitMQ.
      * <p>
@@ -106,4 +196,44 @@ public class RabbitMQConfig {
         return rabbitTemplate;
     }
 
+    /**
+     * Configura a fábrica de containers para listeners que consomem mensagens em lote.
+     * <p>
+     * O container agrupa até "batch-size" mensagens, ou as que chegarem em até "receive-timeout" milissegundos,
+     * e entrega a lista ao listener em uma única chamada. O lote inteiro é confirmado (ack) quando o listener
+     * retorna, ou devolvido à fila se ele lançar uma exceção. O prefetch é no mínimo o tamanho do lote, para que
+     * o broker consiga preencher um lote completo.
+     * <p>
+     * Se o listener lançar uma exceção, o lote não é devolvido à fila: ele é entregue ao {@code recoverer}, que
+     * encaminha as mensagens às filas de retentativa, de estacionamento ou de dead-letter, e então confirmado.
+     *
+     * @param configurer       O configurador padrão do Spring Boot (propriedades "spring.rabbitmq.listener.simple").
+     * @param connectionFactory A fábrica de conexões para o RabbitMQ.
+     * @param messageConverter O conversor de mensagens para JSON.
+     * @param batchSize        A quantidade máxima de mensagens por lote.
+     * @param receiveTimeout   O tempo máximo, em milissegundos, de espera para completar um lote.
+     * @param recoverer        O destino dos lotes que falharam.
+     * @return A fábrica de containers em modo lote.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory batchListenerContainerFactory(SimpleRabbitListenerContainerFactoryConfigurer configurer,
+                                                                              ConnectionFactory connectionFactory,
+                                                                              Jackson2JsonMessageConverter messageConverter,
+                                                                              @Value("${schedules.listener.batch-size:100}") int batchSize,
+                                                                              @Value("${schedules.listener.receive-timeout:200}") long receiveTimeout,
+                                                                              MessageBatchRecoverer recoverer) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setMessageConverter(messageConverter);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeout);
+        factory.setPrefetchCount(batchSize);
+        factory.setAdviceChain(RetryInterceptorBuilder.stateless()
+                .maxAttempts(1)
+                .recoverer(recoverer)
+                .build());
+        return factory;
+    }
 }
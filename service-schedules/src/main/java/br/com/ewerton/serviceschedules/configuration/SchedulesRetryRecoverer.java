@@ -0,0 +1,171 @@
+package br.com.ewerton.serviceschedules.configuration;
+
+import br.com.ewerton.serviceschedules.dto.PatientDTO;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageBatchRecoverer;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.List;
+
+/**
+ * Destino dos lotes de agendamentos cujo processamento falhou.
+ * <p>
+ * Quando a falha é transitória (banco de dados indisponível, timeout, deadlock), todas as mensagens do lote seguem
+ * para a retentativa. Caso contrário, uma mensagem do lote pode ser a causa, e as mensagens são processadas uma a
+ * uma: as que passam são gravadas e apenas as que falham seguem adiante, para que uma mensagem ruim não atrase as
+ * demais.
+ * <p>
+ * Cada mensagem que falha é enviada à próxima fila de retentativa, conforme o cabeçalho {@value #ATTEMPT_HEADER};
+ * esgotadas as tentativas, vai para a fila de estacionamento com a última exceção no cabeçalho
+ * {@value #EXCEPTION_HEADER}. Mensagens que não podem ser convertidas vão direto para a fila de dead-letter, pois
+ * nenhuma retentativa as corrigiria.
+ */
+@Component
+public class SchedulesRetryRecoverer implements MessageBatchRecoverer {
+
+    private static final Logger log = LoggerFactory.getLogger(SchedulesRetryRecoverer.class);
+
+    /**
+     * Cabeçalho com a quantidade de retentativas já feitas.
+     */
+    public static final String ATTEMPT_HEADER = "x-retry-attempt";
+
+    /**
+     * Cabeçalho com a última exceção, nas mensagens de estacionamento e de dead-letter.
+     */
+    public static final String EXCEPTION_HEADER = "x-exception";
+
+    private static final int MAX_EXCEPTION_LENGTH = 1000;
+
+    private static final ParameterizedTypeReference<PatientDTO> PATIENT_TYPE = new ParameterizedTypeReference<>() {
+    };
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    private Jackson2JsonMessageConverter messageConverter;
+
+    @Autowired
+    private PatientSchedulesCreatedListener patientSchedulesCreatedListener;
+
+    @Value("${schedules.retry.initial-delay:1000}")
+    private long initialDelay;
+
+    @Value("${schedules.retry.multiplier:5}")
+    private double multiplier;
+
+    @Value("${schedules.retry.max-attempts:4}")
+    private int maxAttempts;
+
+    private List<Long> delays;
+
+    /**
+     * Calcula os atrasos das retentativas, os mesmos usados na declaração das filas.
+     */
+    @PostConstruct
+    void init() {
+        delays = RabbitMQConfig.retryDelays(initialDelay, multiplier, maxAttempts);
+    }
+
+    @Override
+    public void recover(List<Message> messages, Throwable cause) {
+        boolean processAlone = messages.size() > 1 && !isTransient(cause);
+        for (Message message : messages) {
+            Throwable failure = processAlone ? processAlone(message) : cause;
+            if (failure != null) route(message, failure);
+        }
+    }
+
+    /**
+     * Processa uma mensagem isoladamente, em uma transação própria.
+     *
+     * @param message A mensagem.
+     * @return A exceção lançada, ou {@code null} se a mensagem foi gravada.
+     */
+    private Throwable processAlone(Message message) {
+        try {
+            PatientDTO patientDTO = (PatientDTO) messageConverter.fromMessage(message, PATIENT_TYPE);
+            patientSchedulesCreatedListener.onPatientSchedulesCreated(List.of(patientDTO));
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Encaminha uma mensagem que falhou à retentativa, ao estacionamento ou à dead-letter.
+     *
+     * @param message A mensagem.
+     * @param failure A exceção que causou a falha.
+     */
+    private void route(Message message, Throwable failure) {
+        if (hasCause(failure, MessageConversionException.class)) {
+            log.error("Unreadable schedule message sent to {}: {}", RabbitMQConfig.DEAD_LETTER_QUEUE, failure.getMessage());
+            send(RabbitMQConfig.DEAD_LETTER_QUEUE, message, attempt(message), failure);
+            return;
+        }
+        int attempt = attempt(message);
+        if (attempt < delays.size()) {
+            send(RabbitMQConfig.retryQueue(delays.get(attempt)), message, attempt + 1, null);
+        } else {
+            log.warn("Schedule message parked after {} attempts: {}", attempt, failure.getMessage());
+            send(RabbitMQConfig.PARKING_LOT_QUEUE, message, attempt, failure);
+        }
+    }
+
+    /**
+     * Republica a mensagem em uma fila pela exchange padrão, como mensagem persistente.
+     */
+    private void send(String queue, Message message, int attempt, Throwable failure) {
+        MessageBuilder builder = MessageBuilder.fromClonedMessage(message)
+                .setDeliveryMode(MessageDeliveryMode.PERSISTENT)
+                .setHeader(ATTEMPT_HEADER, attempt);
+        if (failure != null) builder.setHeader(EXCEPTION_HEADER, describe(failure));
+        rabbitTemplate.send("", queue, builder.build());
+    }
+
+    private static int attempt(Message message) {
+        Object attempt = message.getMessageProperties().getHeaders().get(ATTEMPT_HEADER);
+        return attempt instanceof Number number ? number.intValue() : 0;
+    }
+
+    /**
+     * Indica se a falha é transitória, isto é, se não depende do conteúdo das mensagens.
+     */
+    private static boolean isTransient(Throwable failure) {
+        return hasCause(failure, TransientDataAccessException.class)
+                || hasCause(failure, RecoverableDataAccessException.class)
+                || hasCause(failure, DataAccessResourceFailureException.class)
+                || hasCause(failure, CannotCreateTransactionException.class);
+    }
+
+    private static boolean hasCause(Throwable failure, Class<? extends Throwable> type) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) return true;
+        }
+        return false;
+    }
+
+    private static String describe(Throwable failure) {
+        Throwable root = failure;
+        while (root.getCause() != null && root.getCause() != root) root = root.getCause();
+        String description = root.getClass().getName() + ": " + root.getMessage();
+        return description.length() > MAX_EXCEPTION_LENGTH ? description.substring(0, MAX_EXCEPTION_LENGTH) : description;
+    }
+}
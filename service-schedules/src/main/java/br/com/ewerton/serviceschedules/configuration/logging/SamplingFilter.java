@@ -0,0 +1,52 @@
+package br.com.ewerton.serviceschedules.configuration.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Filtro do Logback que registra apenas uma amostra dos eventos de alto volume.
+ * <p>
+ * Eventos marcados com {@link #SAMPLED} e de nível abaixo de WARN passam na proporção de 1 a cada {@code rate}; os
+ * demais passam sempre. Aplicado ao appender assíncrono (ver "logback-spring.xml"), descarta os eventos antes de
+ * eles entrarem na fila, sem custo de serialização.
+ */
+public class SamplingFilter extends Filter<ILoggingEvent> {
+
+    /**
+     * Marca os eventos de alto volume sujeitos à amostragem.
+     */
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+
+    private final AtomicLong counter = new AtomicLong();
+
+    private int rate = 1;
+
+    /**
+     * Define a proporção da amostragem: 1 a cada {@code rate} eventos marcados é registrado.
+     *
+     * @param rate A proporção; 1 ou menos registra todos os eventos.
+     */
+    public void setRate(int rate) {
+        this.rate = rate;
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (rate <= 1 || event.getLevel().isGreaterOrEqual(Level.WARN) || !isSampled(event)) {
+            return FilterReply.NEUTRAL;
+        }
+        return counter.getAndIncrement() % rate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private static boolean isSampled(ILoggingEvent event) {
+        List<Marker> markers = event.getMarkerList();
+        return markers != null && markers.stream().anyMatch(marker -> marker.contains(SAMPLED));
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.ewerton.serviceschedules.configuration.security;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import java.util.function.Supplier;
+
+/**
+ * Configuração de segurança da aplicação.
+ * <p>
+ * A autenticação é feita pelos tokens JWT emitidos pelo "service-doctor" ({@link SecurityFilter}), sem sessões.
+ * A reconstrução das agendas, o reprocessamento da fila de estacionamento e as consultas por paciente e por janela de
+ * tempo são restritos a administradores. As consultas e a agenda de um médico são liberadas ao próprio médico (o ID
+ * do caminho igual ao ID assinado no token) e aos administradores.
+ */
+@Configuration
+@EnableWebSecurity
+public class SecurityConfiguration {
+
+    private static final String ADMIN_ROLE = "ROLE_ADMIN";
+
+    @Autowired
+    private SecurityFilter securityFilter;
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity) throws Exception {
+        return httpSecurity.csrf(csrf -> csrf.disable()) // Desabilita a proteção CSRF
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // Define a política de sessão stateless
+                .authorizeHttpRequests(authorize -> authorize
+                        .requestMatchers("/v3/api-docs", "/swagger-resources/**", "/swagger-ui.html", "/webjars/**").permitAll() // Permite acesso público aos recursos do Swagger
+                        .requestMatchers(HttpMethod.GET, "/actuator/health/**").permitAll() // Permite os probes de liveness e readiness sem autenticação
+                        .requestMatchers(HttpMethod.POST, "/schedules-service/agendas/rebuild").hasRole("ADMIN") // Restringe a reconstrução das agendas apenas para administradores
+                        .requestMatchers("/schedules-service/admin/**").hasRole("ADMIN") // Restringe o reprocessamento da fila de estacionamento apenas para administradores
+                        .requestMatchers(HttpMethod.GET, "/schedules-service/patients/appointments", "/schedules-service/appointments").hasRole("ADMIN") // Restringe as consultas de qualquer paciente e de todos os médicos apenas para administradores
+                        .requestMatchers(HttpMethod.GET, "/schedules-service/doctors/{doctorId}/appointments", "/schedules-service/doctors/{doctorId}/agenda")
+                        .access(SecurityConfiguration::ownDoctorOrAdmin) // Libera as consultas e a agenda de um médico apenas para ele mesmo e para administradores
+                        .anyRequest().authenticated()) // Exige autenticação para todas as outras requisições
+                .addFilterBefore(securityFilter, UsernamePasswordAuthenticationFilter.class) // Adiciona o filtro de segurança personalizado
+                .build();
+    }
+
+    /**
+     * Autoriza o acesso aos dados de um médico: administradores acessam qualquer médico; os demais, apenas o médico
+     * cujo ID está assinado no token.
+     *
+     * @param authentication A autenticação da requisição.
+     * @param context        O contexto da requisição, com a variável "doctorId" do caminho.
+     * @return A decisão de autorização.
+     */
+    static AuthorizationDecision ownDoctorOrAdmin(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        Authentication current = authentication.get();
+        if (current == null || !current.isAuthenticated()) return new AuthorizationDecision(false);
+        boolean admin = current.getAuthorities().stream().anyMatch(authority -> ADMIN_ROLE.equals(authority.getAuthority()));
+        String doctorId = context.getVariables().get("doctorId");
+        return new AuthorizationDecision(admin || (doctorId != null && doctorId.equals(current.getDetails())));
+    }
+}
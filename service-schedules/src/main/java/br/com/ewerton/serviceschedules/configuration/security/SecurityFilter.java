@@ -0,0 +1,61 @@
+package br.com.ewerton.serviceschedules.configuration.security;
+
+import com.auth0.jwt.interfaces.Claim;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Filtro de segurança que autentica as requisições pelo token JWT do cabeçalho Authorization.
+ * <p>
+ * Como este serviço não tem cadastro de usuários, a autenticação é montada apenas a partir do token verificado
+ * (email e autoridades assinadas pelo "service-doctor"). Tokens sem o claim de autoridades não autenticam. O ID do
+ * médico, assinado no claim {@value TokenService#DOCTOR_ID_CLAIM}, fica nos detalhes da autenticação, para que
+ * cada médico consulte apenas as próprias consultas ({@link SecurityConfiguration}).
+ */
+@Component
+public class SecurityFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        var token = recoveryToken(request);
+        if (token != null) {
+            DecodedJWT decodedToken = tokenService.decodeToken(token);
+            if (decodedToken != null) {
+                Claim roles = decodedToken.getClaim(TokenService.ROLES_CLAIM);
+                if (!roles.isMissing()) {
+                    var authorities = roles.asList(String.class).stream().map(SimpleGrantedAuthority::new).toList();
+                    var authentication = new UsernamePasswordAuthenticationToken(decodedToken.getSubject(), null, authorities);
+                    authentication.setDetails(decodedToken.getClaim(TokenService.DOCTOR_ID_CLAIM).asString());
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Recupera o token JWT do cabeçalho Authorization ("Bearer &lt;token&gt;").
+     *
+     * @param request A requisição HTTP.
+     * @return O token JWT, ou null se o cabeçalho Authorization não estiver presente.
+     */
+    private String recoveryToken(HttpServletRequest request) {
+        var authHeader = request.getHeader("Authorization");
+        if (authHeader == null) return null;
+        return authHeader.replace("Bearer ", "");
+    }
+}
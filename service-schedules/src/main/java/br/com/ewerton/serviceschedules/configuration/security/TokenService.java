@@ -0,0 +1,78 @@
+package br.com.ewerton.serviceschedules.configuration.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serviço de verificação dos tokens JWT.
+ * <p>
+ * Este serviço não emite tokens: ele aceita apenas os tokens emitidos pelo "service-doctor" para a audiência
+ * {@value #AUDIENCE}, assinados com a mesma chave secreta ({@code DOCTOR_JWT_SECRET}). Tokens de pacientes, ou
+ * emitidos apenas para o "service-doctor", são rejeitados. As autoridades do médico vêm assinadas no claim
+ * {@value #ROLES_CLAIM}, e o seu ID no claim {@value #DOCTOR_ID_CLAIM}.
+ */
+@Service
+public class TokenService {
+
+    /**
+     * Nome do claim que carrega as autoridades (roles) do médico no token.
+     */
+    public static final String ROLES_CLAIM = "roles";
+
+    /**
+     * Nome do claim que carrega o ID do médico no token.
+     */
+    public static final String DOCTOR_ID_CLAIM = "doctor_id";
+
+    /**
+     * Audiência dos tokens aceitos por este serviço.
+     */
+    public static final String AUDIENCE = "service-schedules";
+
+    /**
+     * Tamanho mínimo da chave secreta: 256 bits, o tamanho da assinatura HMAC256.
+     */
+    static final int MIN_SECRET_LENGTH = 32;
+
+    /**
+     * A chave secreta usada pelo "service-doctor" para assinar os tokens, sem valor padrão.
+     */
+    @Value("${api.security.token.secret}")
+    private String secret;
+
+    private JWTVerifier verifier;
+
+    /**
+     * Cria o verificador dos tokens.
+     */
+    @PostConstruct
+    void init() {
+        if (secret == null || secret.length() < MIN_SECRET_LENGTH) {
+            throw new IllegalStateException("api.security.token.secret must have at least " + MIN_SECRET_LENGTH + " characters");
+        }
+        verifier = JWT.require(Algorithm.HMAC256(secret))
+                .withIssuer("auth-api")
+                .withAudience(AUDIENCE)
+                .build();
+    }
+
+    /**
+     * Verifica o token JWT fornecido e retorna seu conteúdo decodificado (subject e claims).
+     *
+     * @param token O token JWT a ser verificado.
+     * @return O token decodificado, ou {@code null} se a assinatura, o emissor, a audiência ou a validade forem inválidos.
+     */
+    public DecodedJWT decodeToken(String token) {
+        try {
+            return verifier.verify(token);
+        } catch (JWTVerificationException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package br.com.ewerton.serviceschedules.controller;
+
+import br.com.ewerton.serviceschedules.dto.AgendaRebuildDTO;
+import br.com.ewerton.serviceschedules.dto.DoctorAgendaDTO;
+import br.com.ewerton.serviceschedules.service.DoctorAgendaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * Controlador responsável pelas agendas diárias dos médicos.
+ * <p>
+ * Este controlador fornece o endpoint da tela de agenda, servido a partir da agenda materializada, e o endpoint de
+ * reconstrução da agenda a partir dos agendamentos gravados.
+ */
+@Tag(name = "Doctor agenda endpoints")
+@RestController
+@RequestMapping("/schedules-service")
+public class DoctorAgendaController {
+
+    @Autowired
+    private DoctorAgendaService doctorAgendaService;
+
+    /**
+     * Endpoint para buscar a agenda de um médico em um dia. Liberado ao próprio médico e a administradores.
+     *
+     * @param doctorId O ID do médico.
+     * @param day      O dia da agenda (padrão: hoje).
+     * @return A agenda do médico no dia, com as consultas em ordem de horário.
+     */
+    @Operation(summary = "Find the agenda of a doctor on a day")
+    @GetMapping("/doctors/{doctorId}/agenda")
+    public ResponseEntity<DoctorAgendaDTO> agenda(@PathVariable String doctorId,
+                                                  @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day) {
+        return ResponseEntity.ok(doctorAgendaService.findAgenda(doctorId, day == null ? LocalDate.now() : day));
+    }
+
+    /**
+     * Endpoint para reconstruir as agendas a partir dos agendamentos gravados.
+     *
+     * @param doctorId O ID do médico; ausente para reconstruir as agendas de todos os médicos.
+     * @return A quantidade de agendas reconstruídas e o tempo gasto.
+     */
+    @Operation(summary = "Rebuild the doctor agendas from the stored appointments")
+    @PostMapping("/agendas/rebuild")
+    public ResponseEntity<AgendaRebuildDTO> rebuild(@RequestParam(required = false) String doctorId) {
+        return ResponseEntity.ok(doctorAgendaService.rebuild(doctorId));
+    }
+}
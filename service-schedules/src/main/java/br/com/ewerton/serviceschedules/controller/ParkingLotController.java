@@ -0,0 +1,39 @@
+package br.com.ewerton.serviceschedules.controller;
+
+import br.com.ewerton.serviceschedules.dto.ParkingLotReplayDTO;
+import br.com.ewerton.serviceschedules.service.ParkingLotService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controlador administrativo da fila de estacionamento dos agendamentos.
+ * <p>
+ * Este controlador fornece o endpoint que devolve à fila principal as mensagens que esgotaram as retentativas,
+ * depois que a causa da falha foi corrigida.
+ */
+@Tag(name = "Parking lot endpoints")
+@RestController
+@RequestMapping("/schedules-service/admin/parking-lot")
+public class ParkingLotController {
+
+    @Autowired
+    private ParkingLotService parkingLotService;
+
+    /**
+     * Endpoint para reprocessar as mensagens da fila de estacionamento, em lotes e com taxa limitada.
+     *
+     * @param limit A quantidade máxima de mensagens; ausente para o máximo configurado.
+     * @return A quantidade de mensagens reprocessadas e a quantidade restante.
+     */
+    @Operation(summary = "Replay parked schedule messages in rate-limited batches")
+    @PostMapping("/replay")
+    public ResponseEntity<ParkingLotReplayDTO> replay(@RequestParam(defaultValue = "0") int limit) {
+        return ResponseEntity.ok(parkingLotService.replay(limit));
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.ewerton.serviceschedules.controller;
+
+import br.com.ewerton.serviceschedules.dto.SchedulePageDTO;
+import br.com.ewerton.serviceschedules.service.SchedulesService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+/**
+ * Controlador responsável pela leitura das consultas agendadas.
+ * <p>
+ * Este controlador fornece endpoints para listar as consultas por paciente, por médico e por janela de tempo,
+ * em ordem cronológica e paginadas por cursor.
+ */
+@Tag(name = "Schedules endpoints")
+@RestController
+@RequestMapping("/schedules-service")
+public class SchedulesController {
+
+    @Autowired
+    private SchedulesService schedulesService;
+
+    /**
+     * Endpoint para listar as consultas de um paciente. Restrito a administradores.
+     *
+     * @param email  O e-mail do paciente.
+     * @param from   O início da janela (padrão: agora).
+     * @param to     O fim da janela (padrão: {@value SchedulesService#DEFAULT_WINDOW_DAYS} dias após o início).
+     * @param cursor O cursor retornado pela página anterior; ausente para a primeira página.
+     * @param size   O tamanho da página (máximo de {@value SchedulesService#MAX_PAGE_SIZE}).
+     * @return A página de consultas do paciente.
+     */
+    @Operation(summary = "Find a page of appointments of a patient")
+    @GetMapping("/patients/appointments")
+    public ResponseEntity<SchedulePageDTO> byPatient(@RequestParam String email,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(schedulesService.findByPatient(email, from, to, cursor, size));
+    }
+
+    /**
+     * Endpoint para listar as consultas de um médico. Liberado ao próprio médico e a administradores.
+     *
+     * @param doctorId O ID do médico.
+     * @param from     O início da janela (padrão: agora).
+     * @param to       O fim da janela (padrão: {@value SchedulesService#DEFAULT_WINDOW_DAYS} dias após o início).
+     * @param cursor   O cursor retornado pela página anterior; ausente para a primeira página.
+     * @param size     O tamanho da página (máximo de {@value SchedulesService#MAX_PAGE_SIZE}).
+     * @return A página de consultas do médico.
+     */
+    @Operation(summary = "Find a page of appointments of a doctor")
+    @GetMapping("/doctors/{doctorId}/appointments")
+    public ResponseEntity<SchedulePageDTO> byDoctor(@PathVariable String doctorId,
+                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(schedulesService.findByDoctor(doctorId, from, to, cursor, size));
+    }
+
+    /**
+     * Endpoint para listar todas as consultas de uma janela de tempo. Restrito a administradores.
+     *
+     * @param from   O início da janela (inclusivo).
+     * @param to     O fim da janela (exclusivo).
+     * @param cursor O cursor retornado pela página anterior; ausente para a primeira página.
+     * @param size   O tamanho da página (máximo de {@value SchedulesService#MAX_PAGE_SIZE}).
+     * @return A página de consultas da janela.
+     */
+    @Operation(summary = "Find a page of appointments in a time window")
+    @GetMapping("/appointments")
+    public ResponseEntity<SchedulePageDTO> byWindow(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                    @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(schedulesService.findByWindow(from, to, cursor, size));
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.ewerton.serviceschedules.dto;
+
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * Consulta exibida na agenda diária de um médico.
+ *
+ * @param id    O ID do agendamento.
+ * @param time  O horário da consulta, com precisão de minutos.
+ * @param name  O nome do paciente.
+ * @param phone O telefone do paciente.
+ * @param email O e-mail do paciente.
+ */
+public record AgendaEntryDTO(UUID id, LocalTime time, String name, String phone, String email) {
+}
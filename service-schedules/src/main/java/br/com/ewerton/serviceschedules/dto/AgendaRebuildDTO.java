@@ -0,0 +1,11 @@
+package br.com.ewerton.serviceschedules.dto;
+
+/**
+ * Resultado da reconstrução das agendas diárias.
+ *
+ * @param doctorId      O ID do médico cujas agendas foram reconstruídas, ou {@code null} para todos os médicos.
+ * @param days          A quantidade de agendas (médico e dia) gravadas.
+ * @param elapsedMillis O tempo gasto na reconstrução, em milissegundos.
+ */
+public record AgendaRebuildDTO(String doctorId, int days, long elapsedMillis) {
+}
@@ -0,0 +1,14 @@
+package br.com.ewerton.serviceschedules.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Agenda de um médico em um dia.
+ *
+ * @param doctorId     O ID do médico.
+ * @param day          O dia da agenda.
+ * @param appointments As consultas do dia, em ordem de horário.
+ */
+public record DoctorAgendaDTO(String doctorId, LocalDate day, List<AgendaEntryDTO> appointments) {
+}
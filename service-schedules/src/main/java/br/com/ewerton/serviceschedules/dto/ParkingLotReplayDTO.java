@@ -0,0 +1,10 @@
+package br.com.ewerton.serviceschedules.dto;
+
+/**
+ * Resultado do reprocessamento da fila de estacionamento.
+ *
+ * @param replayed  A quantidade de mensagens devolvidas à fila principal.
+ * @param remaining A quantidade de mensagens que continuam na fila de estacionamento.
+ */
+public record ParkingLotReplayDTO(int replayed, long remaining) {
+}
@@ -0,0 +1,19 @@
+package br.com.ewerton.serviceschedules.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Dados de uma consulta agendada retornados pela API de leitura.
+ *
+ * @param id          O ID do agendamento.
+ * @param name        O nome do paciente.
+ * @param phone       O telefone do paciente.
+ * @param address     O endereço do paciente.
+ * @param email       O e-mail do paciente.
+ * @param doctorId    O ID do médico.
+ * @param scheduledAt O início do horário da consulta.
+ */
+public record ScheduleDTO(UUID id, String name, String phone, String address, String email, String doctorId,
+                          LocalDateTime scheduledAt) {
+}
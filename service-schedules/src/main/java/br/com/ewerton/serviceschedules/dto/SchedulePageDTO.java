@@ -0,0 +1,12 @@
+package br.com.ewerton.serviceschedules.dto;
+
+import java.util.List;
+
+/**
+ * Página de consultas retornada pelas listagens paginadas por cursor.
+ *
+ * @param content    As consultas da página atual, em ordem cronológica.
+ * @param nextCursor O cursor opaco da próxima página, ou {@code null} se esta for a última.
+ */
+public record SchedulePageDTO(List<ScheduleDTO> content, String nextCursor) {
+}
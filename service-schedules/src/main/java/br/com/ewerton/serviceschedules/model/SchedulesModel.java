@@ -2,15 +2,21 @@ package br.com.ewerton.serviceschedules.model;
 
 import jakarta.persistence.*;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 /**
  * Modelo de dados para o agendamento de um paciente.
  * <p>
  * Esta classe representa a entidade "tb_schedules" no banco de dados e contém informações
- * relacionadas ao agendamento de um paciente, como nome, telefone, endereço e e-mail.
+ * relacionadas ao agendamento de um paciente, como nome, telefone, endereço e e-mail, o médico e o horário da consulta.
  * A classe é mapeada como uma entidade JPA e será utilizada para persistir e recuperar
  * dados de agendamentos.
+ * <p>
+ * A tabela é particionada por mês em "scheduled_at" e criada pelo "schema.sql", com os índices das consultas da API
+ * de leitura: por paciente (e-mail), por médico e por janela de tempo, todas ordenadas por "(scheduled_at, id)"
+ * para a paginação por keyset. Como toda consulta filtra por "scheduled_at", o PostgreSQL só lê as partições dos
+ * meses consultados.
  */
 @Entity
 @Table(name = "tb_schedules")
@@ -44,6 +50,18 @@ public class SchedulesModel {
      */
     private String email;
 
+    /**
+     * ID do médico da consulta.
+     */
+    @Column(name = "doctor_id")
+    private String doctorId;
+
+    /**
+     * Início do horário da consulta.
+     */
+    @Column(name = "scheduled_at")
+    private LocalDateTime scheduledAt;
+
     /**
      * Construtor vazio necessário para o JPA.
      */
@@ -156,4 +174,40 @@ public class SchedulesModel {
     public void setEmail(String email) {
         this.email = email;
     }
+
+    /**
+     * Obtém o ID do médico da consulta.
+     *
+     * @return O ID do médico.
+     */
+    public String getDoctorId() {
+        return doctorId;
+    }
+
+    /**
+     * Define o ID do médico da consulta.
+     *
+     * @param doctorId O ID do médico.
+     */
+    public void setDoctorId(String doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    /**
+     * Obtém o início do horário da consulta.
+     *
+     * @return O início do horário da consulta.
+     */
+    public LocalDateTime getScheduledAt() {
+        return scheduledAt;
+    }
+
+    /**
+     * Define o início do horário da consulta.
+     *
+     * @param scheduledAt O início do horário da consulta.
+     */
+    public void setScheduledAt(LocalDateTime scheduledAt) {
+        this.scheduledAt = scheduledAt;
+    }
 }
@@ -1,12 +1,71 @@
 package br.com.ewerton.serviceschedules.repository;
 
-import br.com.ewerton.serviceschedules.dto.PatientDTO;
+import br.com.ewerton.serviceschedules.dto.ScheduleDTO;
 import br.com.ewerton.serviceschedules.model.SchedulesModel;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
+/**
+ * Repositório dos agendamentos.
+ * <p>
+ * As consultas de leitura são paginadas por keyset sobre "(scheduled_at, id)": cada página começa depois do par
+ * {@code (afterAt, afterId)} e vai até {@code to} (exclusivo). A condição {@code scheduledAt >= afterAt} é
+ * redundante com o restante do filtro, mas delimita o início da varredura no índice; assim cada página custa o
+ * mesmo independentemente da posição na tabela. Os resultados são projetados diretamente em {@link ScheduleDTO}.
+ */
 @Repository
 public interface SchedulesRepository extends JpaRepository<SchedulesModel, UUID> {
+
+    /**
+     * Busca as consultas de um paciente, usando o índice "(email, scheduled_at, id)".
+     *
+     * @param email   O e-mail do paciente.
+     * @param afterAt O horário da última consulta da página anterior (ou o início da janela).
+     * @param afterId O ID da última consulta da página anterior.
+     * @param to      O fim da janela (exclusivo).
+     * @param limit   A quantidade máxima de consultas.
+     * @return As consultas em ordem cronológica.
+     */
+    @Query("select new br.com.ewerton.serviceschedules.dto.ScheduleDTO(s.id, s.name, s.phone, s.address, s.email, s.doctorId, s.scheduledAt) "
+            + "from SchedulesModel s where s.email = :email "
+            + "and s.scheduledAt >= :afterAt and (s.scheduledAt > :afterAt or s.id > :afterId) and s.scheduledAt < :to "
+            + "order by s.scheduledAt, s.id")
+    List<ScheduleDTO> findByPatient(String email, LocalDateTime afterAt, UUID afterId, LocalDateTime to, Limit limit);
+
+    /**
+     * Busca as consultas de um médico, usando o índice "(doctor_id, scheduled_at, id)".
+     *
+     * @param doctorId O ID do médico.
+     * @param afterAt  O horário da última consulta da página anterior (ou o início da janela).
+     * @param afterId  O ID da última consulta da página anterior.
+     * @param to       O fim da janela (exclusivo).
+     * @param limit    A quantidade máxima de consultas.
+     * @return As consultas em ordem cronológica.
+     */
+    @Query("select new br.com.ewerton.serviceschedules.dto.ScheduleDTO(s.id, s.name, s.phone, s.address, s.email, s.doctorId, s.scheduledAt) "
+            + "from SchedulesModel s where s.doctorId = :doctorId "
+            + "and s.scheduledAt >= :afterAt and (s.scheduledAt > :afterAt or s.id > :afterId) and s.scheduledAt < :to "
+            + "order by s.scheduledAt, s.id")
+    List<ScheduleDTO> findByDoctor(String doctorId, LocalDateTime afterAt, UUID afterId, LocalDateTime to, Limit limit);
+
+    /**
+     * Busca todas as consultas de uma janela de tempo, usando o índice "(scheduled_at, id)".
+     *
+     * @param afterAt O horário da última consulta da página anterior (ou o início da janela).
+     * @param afterId O ID da última consulta da página anterior.
+     * @param to      O fim da janela (exclusivo).
+     * @param limit   A quantidade máxima de consultas.
+     * @return As consultas em ordem cronológica.
+     */
+    @Query("select new br.com.ewerton.serviceschedules.dto.ScheduleDTO(s.id, s.name, s.phone, s.address, s.email, s.doctorId, s.scheduledAt) "
+            + "from SchedulesModel s where s.scheduledAt >= :afterAt and (s.scheduledAt > :afterAt or s.id > :afterId) "
+            + "and s.scheduledAt < :to "
+            + "order by s.scheduledAt, s.id")
+    List<ScheduleDTO> findByWindow(LocalDateTime afterAt, UUID afterId, LocalDateTime to, Limit limit);
 }
@@ -0,0 +1,200 @@
+package br.com.ewerton.serviceschedules.service;
+
+import br.com.ewerton.serviceschedules.dto.AgendaEntryDTO;
+import br.com.ewerton.serviceschedules.dto.AgendaRebuildDTO;
+import br.com.ewerton.serviceschedules.dto.DoctorAgendaDTO;
+import br.com.ewerton.serviceschedules.model.SchedulesModel;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Serviço responsável pela agenda diária materializada dos médicos ("tb_doctor_agenda").
+ * <p>
+ * Cada linha guarda, para um médico e um dia, as consultas do dia em um array jsonb já ordenado por horário, apenas
+ * com os campos exibidos na agenda. A tela de agenda é servida com uma única busca pela chave primária
+ * "(doctor_id, day)", sem varrer "tb_schedules".
+ * <p>
+ * A agenda é atualizada de forma incremental a cada lote de agendamentos recebido pelo
+ * {@code PatientSchedulesCreatedListener}, na mesma transação em que o lote é gravado: as consultas novas são
+ * agrupadas por médico e dia e mescladas às existentes com um upsert, que remove IDs repetidos e reordena o dia.
+ * Para recuperação (projeção corrompida, mudança de formato ou eventos perdidos), a agenda pode ser reconstruída do
+ * zero a partir de "tb_schedules", de todos os médicos ou de um só.
+ */
+@Service
+public class DoctorAgendaService {
+
+    private static final Logger log = LoggerFactory.getLogger(DoctorAgendaService.class);
+
+    /**
+     * Formato do horário das consultas na agenda; o mesmo de {@code to_char(scheduled_at, 'HH24:MI')}.
+     */
+    static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+
+    /**
+     * Mescla as consultas da agenda existente com as do lote, mantendo a versão mais recente de cada ID e ordenando
+     * por horário e ID.
+     */
+    private static final String MERGE_APPOINTMENTS = "(SELECT jsonb_agg(entry ORDER BY entry->>'time', entry->>'id') FROM "
+            + "(SELECT DISTINCT ON (entry->>'id') entry "
+            + "FROM jsonb_array_elements(tb_doctor_agenda.appointments || EXCLUDED.appointments) WITH ORDINALITY AS a(entry, position) "
+            + "ORDER BY entry->>'id', position DESC) merged)";
+
+    /**
+     * Mescla a agenda gravada com uma agenda já existente, no upsert dos lotes e na reconstrução.
+     */
+    static final String MERGE_ON_CONFLICT = " ON CONFLICT (doctor_id, day) DO UPDATE SET appointments = " + MERGE_APPOINTMENTS
+            + ", updated_at = now()";
+
+    static final String UPSERT_SQL = "INSERT INTO tb_doctor_agenda (doctor_id, day, appointments, updated_at) "
+            + "VALUES (?, ?, ?::jsonb, now())" + MERGE_ON_CONFLICT;
+
+    static final String FIND_SQL = "SELECT appointments::text FROM tb_doctor_agenda WHERE doctor_id = ? AND day = ?";
+
+    /**
+     * Monta as agendas a partir de "tb_schedules", com as consultas no mesmo formato gravado pelo upsert.
+     */
+    private static final String REBUILD_SQL = "INSERT INTO tb_doctor_agenda (doctor_id, day, appointments, updated_at) "
+            + "SELECT doctor_id, scheduled_at::date, jsonb_agg(jsonb_build_object('id', id, 'time', to_char(scheduled_at, 'HH24:MI'), "
+            + "'name', name, 'phone', phone, 'email', email) ORDER BY scheduled_at, id), now() "
+            + "FROM tb_schedules WHERE doctor_id IS NOT NULL AND scheduled_at IS NOT NULL";
+
+    /**
+     * Agrupa por médico e dia e grava as agendas na mesma ordem do upsert dos lotes; uma agenda gravada por um lote
+     * depois do {@code DELETE} é mesclada, e não causa violação da chave primária.
+     */
+    static final String REBUILD_GROUP_BY = " GROUP BY doctor_id, scheduled_at::date ORDER BY doctor_id, scheduled_at::date"
+            + MERGE_ON_CONFLICT;
+
+    /**
+     * Chave do advisory lock que impede duas reconstruções simultâneas.
+     */
+    private static final long REBUILD_LOCK = 0x7462_5f61_6765_6e64L;
+
+    private static final TypeReference<List<AgendaEntryDTO>> ENTRIES = new TypeReference<>() {
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Acrescenta um lote de agendamentos já gravados às agendas dos médicos.
+     * <p>
+     * Agendamentos sem médico ou sem horário não aparecem na agenda. As agendas são gravadas em ordem de médico e dia,
+     * para que consumidores concorrentes travem as linhas sempre na mesma ordem e não entrem em deadlock.
+     *
+     * @param schedules Os agendamentos gravados, já com o ID gerado.
+     */
+    @Transactional
+    public void record(List<SchedulesModel> schedules) {
+        Map<AgendaKey, ArrayNode> agendas = new TreeMap<>(Comparator.comparing(AgendaKey::doctorId).thenComparing(AgendaKey::day));
+        schedules.stream()
+                .filter(schedule -> schedule.getDoctorId() != null && schedule.getScheduledAt() != null)
+                .sorted(Comparator.comparing(SchedulesModel::getScheduledAt).thenComparing(schedule -> Objects.toString(schedule.getId())))
+                .forEach(schedule -> agendas
+                        .computeIfAbsent(new AgendaKey(schedule.getDoctorId(), schedule.getScheduledAt().toLocalDate()),
+                                key -> objectMapper.createArrayNode())
+                        .add(toEntry(schedule)));
+        if (agendas.isEmpty()) return;
+
+        List<Object[]> rows = agendas.entrySet().stream()
+                .map(agenda -> new Object[]{agenda.getKey().doctorId(), agenda.getKey().day(), agenda.getValue().toString()})
+                .toList();
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+    }
+
+    /**
+     * Busca a agenda de um médico em um dia.
+     *
+     * @param doctorId O ID do médico.
+     * @param day      O dia.
+     * @return A agenda do dia; sem consultas se o médico não tiver agendamentos no dia.
+     */
+    public DoctorAgendaDTO findAgenda(String doctorId, LocalDate day) {
+        List<String> agenda = jdbcTemplate.queryForList(FIND_SQL, String.class, doctorId, day);
+        return new DoctorAgendaDTO(doctorId, day, agenda.isEmpty() ? List.of() : parse(agenda.get(0)));
+    }
+
+    /**
+     * Reconstrói as agendas a partir de "tb_schedules".
+     * <p>
+     * As agendas são apagadas com {@code DELETE}, e não {@code TRUNCATE}, para que as leituras continuem vendo a
+     * versão anterior até o fim da reconstrução. Lotes recebidos durante a reconstrução esperam pelos locks das linhas
+     * e são mesclados depois, sem duplicar consultas; e a agenda que um lote gravar entre o {@code DELETE} e a
+     * reconstrução é mesclada pela própria reconstrução ({@code ON CONFLICT DO UPDATE}), com a mesma regra do upsert.
+     *
+     * @param doctorId O ID do médico, ou {@code null} para reconstruir as agendas de todos os médicos.
+     * @return A quantidade de agendas gravadas e o tempo gasto.
+     */
+    @Transactional
+    public AgendaRebuildDTO rebuild(String doctorId) {
+        long start = System.nanoTime();
+        jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, REBUILD_LOCK);
+        int days;
+        if (doctorId == null) {
+            jdbcTemplate.update("DELETE FROM tb_doctor_agenda");
+            days = jdbcTemplate.update(REBUILD_SQL + REBUILD_GROUP_BY);
+        } else {
+            jdbcTemplate.update("DELETE FROM tb_doctor_agenda WHERE doctor_id = ?", doctorId);
+            days = jdbcTemplate.update(REBUILD_SQL + " AND doctor_id = ?" + REBUILD_GROUP_BY, doctorId);
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("Doctor agendas rebuilt: {} in {} ms", days, elapsedMillis);
+        return new AgendaRebuildDTO(doctorId, days, elapsedMillis);
+    }
+
+    /**
+     * Converte um agendamento na consulta gravada na agenda.
+     *
+     * @param schedule O agendamento.
+     * @return A consulta em JSON.
+     */
+    private ObjectNode toEntry(SchedulesModel schedule) {
+        ObjectNode entry = objectMapper.createObjectNode();
+        entry.put("id", Objects.toString(schedule.getId(), null));
+        entry.put("time", schedule.getScheduledAt().format(TIME_FORMAT));
+        entry.put("name", schedule.getName());
+        entry.put("phone", schedule.getPhone());
+        entry.put("email", schedule.getEmail());
+        return entry;
+    }
+
+    /**
+     * Lê as consultas gravadas em uma agenda.
+     *
+     * @param appointments O array jsonb da agenda.
+     * @return As consultas.
+     */
+    private List<AgendaEntryDTO> parse(String appointments) {
+        try {
+            return objectMapper.readValue(appointments, ENTRIES);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalid doctor agenda: " + appointments, e);
+        }
+    }
+
+    /**
+     * Chave de uma agenda: médico e dia.
+     */
+    private record AgendaKey(String doctorId, LocalDate day) {
+    }
+}
@@ -0,0 +1,200 @@
+package br.com.ewerton.serviceschedules.service;
+
+import br.com.ewerton.serviceschedules.configuration.RabbitMQConfig;
+import br.com.ewerton.serviceschedules.configuration.SchedulesRetryRecoverer;
+import br.com.ewerton.serviceschedules.dto.ParkingLotReplayDTO;
+import br.com.ewerton.serviceschedules.service.exceptions.ReplayInProgress;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.GetResponse;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serviço de reprocessamento das mensagens da fila de estacionamento.
+ * <p>
+ * As mensagens são devolvidas à fila principal em lotes, com a contagem de tentativas zerada, respeitando uma taxa
+ * máxima de mensagens por segundo para não sobrecarregar o banco de dados depois de uma falha prolongada. Cada lote é
+ * movido em uma transação do canal do RabbitMQ: a publicação na fila principal e a confirmação na fila de
+ * estacionamento são efetivadas juntas.
+ * <p>
+ * Apenas um reprocessamento é executado por vez entre todas as instâncias: além da flag local, o reprocessamento
+ * segura um advisory lock de sessão do PostgreSQL, em uma conexão dedicada, até terminar. Se a instância cair no meio
+ * do reprocessamento, a conexão é encerrada e o lock é liberado pelo próprio banco de dados. O lock não é de
+ * transação para que os lotes do RabbitMQ não sejam sincronizados com uma transação do banco.
+ */
+@Service
+public class ParkingLotService {
+
+    private static final Logger log = LoggerFactory.getLogger(ParkingLotService.class);
+
+    /**
+     * Chave do advisory lock que impede dois reprocessamentos simultâneos entre instâncias.
+     */
+    private static final long REPLAY_LOCK = 0x7462_5f70_6172_6b6cL;
+
+    private final AtomicBoolean replaying = new AtomicBoolean();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Autowired
+    private RabbitAdmin rabbitAdmin;
+
+    /**
+     * Quantidade de mensagens movidas em cada transação.
+     */
+    @Value("${schedules.retry.replay.batch-size:100}")
+    private int batchSize;
+
+    /**
+     * Quantidade máxima de mensagens devolvidas por segundo.
+     */
+    @Value("${schedules.retry.replay.rate:200}")
+    private int rate;
+
+    /**
+     * Quantidade máxima de mensagens devolvidas em uma chamada.
+     */
+    @Value("${schedules.retry.replay.max-messages:10000}")
+    private int maxMessages;
+
+    private RabbitTemplate transactionalTemplate;
+
+    /**
+     * Cria o template com canais transacionais usado para mover as mensagens.
+     */
+    @PostConstruct
+    void init() {
+        transactionalTemplate = new RabbitTemplate(connectionFactory);
+        transactionalTemplate.setChannelTransacted(true);
+    }
+
+    /**
+     * Devolve mensagens da fila de estacionamento à fila principal.
+     *
+     * @param limit A quantidade máxima de mensagens, limitada a "max-messages"; 0 ou menos usa o máximo.
+     * @return A quantidade de mensagens devolvidas e a quantidade restante na fila de estacionamento.
+     * @throws ReplayInProgress Se outro reprocessamento estiver em andamento, nesta ou em outra instância.
+     */
+    public ParkingLotReplayDTO replay(int limit) {
+        if (!replaying.compareAndSet(false, true)) {
+            throw new ReplayInProgress("A parking lot replay is already running");
+        }
+        try {
+            return jdbcTemplate.execute((ConnectionCallback<ParkingLotReplayDTO>) connection -> {
+                if (!advisoryLock(connection, "SELECT pg_try_advisory_lock(?)")) {
+                    throw new ReplayInProgress("A parking lot replay is already running on another instance");
+                }
+                try {
+                    return moveMessages(limit);
+                } finally {
+                    advisoryLock(connection, "SELECT pg_advisory_unlock(?)");
+                }
+            });
+        } finally {
+            replaying.set(false);
+        }
+    }
+
+    private ParkingLotReplayDTO moveMessages(int limit) {
+        int target = limit <= 0 ? maxMessages : Math.min(limit, maxMessages);
+        long start = System.nanoTime();
+        int replayed = 0;
+        while (replayed < target) {
+            int size = Math.min(batchSize, target - replayed);
+            Integer moved = transactionalTemplate.execute(channel -> moveBatch(channel, size));
+            replayed += moved == null ? 0 : moved;
+            if (moved == null || moved < size || !throttle(start, replayed)) break;
+        }
+        log.info("Parking lot replayed: {} messages", replayed);
+        return new ParkingLotReplayDTO(replayed, remaining());
+    }
+
+    /**
+     * Executa uma função de advisory lock de sessão na conexão informada.
+     *
+     * @param connection A conexão que segura o lock.
+     * @param sql        A consulta da função ("pg_try_advisory_lock" ou "pg_advisory_unlock").
+     * @return O resultado da função.
+     */
+    private static boolean advisoryLock(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, REPLAY_LOCK);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+
+    /**
+     * Move até {@code size} mensagens da fila de estacionamento para a fila principal, na transação do canal.
+     *
+     * @param channel O canal transacional.
+     * @param size    A quantidade máxima de mensagens.
+     * @return A quantidade de mensagens movidas.
+     */
+    private static int moveBatch(Channel channel, int size) throws IOException {
+        int moved = 0;
+        while (moved < size) {
+            GetResponse response = channel.basicGet(RabbitMQConfig.PARKING_LOT_QUEUE, false);
+            if (response == null) break;
+            AMQP.BasicProperties properties = response.getProps();
+            Map<String, Object> headers = properties.getHeaders() == null ? new HashMap<>() : new HashMap<>(properties.getHeaders());
+            headers.remove(SchedulesRetryRecoverer.ATTEMPT_HEADER);
+            headers.remove(SchedulesRetryRecoverer.EXCEPTION_HEADER);
+            channel.basicPublish("", RabbitMQConfig.SCHEDULES_QUEUE, properties.builder().headers(headers).build(), response.getBody());
+            channel.basicAck(response.getEnvelope().getDeliveryTag(), false);
+            moved++;
+        }
+        return moved;
+    }
+
+    /**
+     * Aguarda o necessário para que a taxa de mensagens por segundo não seja ultrapassada.
+     *
+     * @param start    O início do reprocessamento, em nanossegundos.
+     * @param replayed A quantidade de mensagens já devolvidas.
+     * @return {@code false} se a thread foi interrompida.
+     */
+    private boolean throttle(long start, int replayed) {
+        long due = start + TimeUnit.SECONDS.toNanos(replayed) / rate;
+        long wait = due - System.nanoTime();
+        if (wait <= 0) return true;
+        try {
+            TimeUnit.NANOSECONDS.sleep(wait);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private long remaining() {
+        QueueInformation queue = rabbitAdmin.getQueueInfo(RabbitMQConfig.PARKING_LOT_QUEUE);
+        return queue == null ? 0 : queue.getMessageCount();
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.ewerton.serviceschedules.service;
+
+import br.com.ewerton.serviceschedules.service.exceptions.InvalidCursor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Codifica e decodifica o cursor opaco usado na paginação por keyset das consultas.
+ * <p>
+ * O cursor carrega o horário e o ID da última consulta entregue; a próxima página começa na primeira consulta
+ * posterior a esse par na ordem "(scheduled_at, id)", que é a ordem dos índices de "tb_schedules".
+ *
+ * @param scheduledAt O horário da última consulta entregue.
+ * @param id          O ID da última consulta entregue.
+ */
+record ScheduleCursor(LocalDateTime scheduledAt, UUID id) {
+
+    /**
+     * Menor UUID possível, usado como ID do cursor da primeira página: todas as consultas no início da janela
+     * ficam depois dele.
+     */
+    static final UUID MIN_ID = new UUID(0L, 0L);
+
+    /**
+     * Cria o cursor da primeira página de uma janela.
+     *
+     * @param from O início da janela.
+     * @return O cursor que antecede todas as consultas a partir de {@code from}.
+     */
+    static ScheduleCursor first(LocalDateTime from) {
+        return new ScheduleCursor(from, MIN_ID);
+    }
+
+    /**
+     * Gera o cursor codificado.
+     *
+     * @return O cursor codificado em Base64 (URL safe).
+     */
+    String encode() {
+        String value = scheduledAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Recupera o horário e o ID contidos no cursor.
+     *
+     * @param cursor O cursor recebido do cliente.
+     * @return O cursor decodificado.
+     * @throws InvalidCursor Se o cursor não puder ser decodificado.
+     */
+    static ScheduleCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 2) throw new InvalidCursor("Invalid cursor: " + cursor);
+            return new ScheduleCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException exception) {
+            throw new InvalidCursor("Invalid cursor: " + cursor);
+        }
+    }
+}
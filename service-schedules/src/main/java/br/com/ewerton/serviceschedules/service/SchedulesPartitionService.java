@@ -0,0 +1,232 @@
+package br.com.ewerton.serviceschedules.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Mantém as partições mensais de "tb_schedules".
+ * <p>
+ * Quando a aplicação fica pronta e diariamente, o serviço:
+ * <ul>
+ *     <li>cria as partições do mês atual e dos próximos meses, e dos meses que tiverem linhas na partição padrão
+ *     (agendamentos recebidos antes de a partição existir), movendo essas linhas para a nova partição;</li>
+ *     <li>desanexa as partições mais antigas que o período de retenção e as move, inteiras, para o schema
+ *     {@value #ARCHIVE_SCHEMA} (ou as remove, se configurado), sem apagar linha a linha.</li>
+ * </ul>
+ * Cada partição é tratada em uma transação própria, protegida por um advisory lock do PostgreSQL, para que várias
+ * instâncias possam executar a manutenção ao mesmo tempo sem conflito e sem segurar locks da tabela por muito tempo.
+ * A falha em uma partição é registrada no log e não impede a manutenção das demais, que é tentada outra vez na
+ * próxima execução.
+ */
+@Service
+public class SchedulesPartitionService {
+
+    private static final Logger log = LoggerFactory.getLogger(SchedulesPartitionService.class);
+
+    static final String PARENT_TABLE = "tb_schedules";
+
+    static final String DEFAULT_PARTITION = "tb_schedules_default";
+
+    static final String ARCHIVE_SCHEMA = "schedules_archive";
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("tb_schedules_p(\\d{4})_(\\d{2})");
+
+    /**
+     * Chave do advisory lock que serializa as alterações de partições entre instâncias.
+     */
+    private static final long PARTITION_LOCK = 0x7462_5f73_6368_6564L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Quantidade de meses futuros com partição criada antecipadamente.
+     */
+    @Value("${schedules.partitions.premake-months:3}")
+    private int premakeMonths;
+
+    /**
+     * Quantidade de meses anteriores ao atual mantidos em "tb_schedules".
+     */
+    @Value("${schedules.partitions.retention-months:24}")
+    private int retentionMonths;
+
+    /**
+     * Indica se as partições arquivadas devem ser removidas em vez de movidas para o schema de arquivo.
+     */
+    @Value("${schedules.partitions.drop-archived:false}")
+    private boolean dropArchived;
+
+    /**
+     * Cria as partições que faltam e arquiva as partições antigas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${schedules.partitions.maintenance-cron:0 30 2 * * *}")
+    public void maintainPartitions() {
+        Plan plan = plan(YearMonth.now(), existingPartitions(), monthsInDefaultPartition());
+        for (YearMonth month : plan.create()) {
+            try {
+                createPartition(month);
+            } catch (RuntimeException exception) {
+                log.error("Could not create partition {}", partitionName(month), exception);
+            }
+        }
+        for (YearMonth month : plan.archive()) {
+            try {
+                archivePartition(month);
+            } catch (RuntimeException exception) {
+                log.error("Could not archive partition {}", partitionName(month), exception);
+            }
+        }
+    }
+
+    /**
+     * Decide quais partições criar e quais arquivar.
+     *
+     * @param current   O mês atual.
+     * @param existing  Os meses que já têm partição.
+     * @param inDefault Os meses com linhas na partição padrão.
+     * @return As partições a criar e a arquivar, em ordem cronológica.
+     */
+    Plan plan(YearMonth current, Set<YearMonth> existing, Set<YearMonth> inDefault) {
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+
+        SortedSet<YearMonth> create = new TreeSet<>(inDefault);
+        for (int i = 0; i <= premakeMonths; i++) {
+            create.add(current.plusMonths(i));
+        }
+        create.removeAll(existing);
+
+        // Meses antigos ainda na partição padrão também ganham partição, para serem arquivados em bloco
+        SortedSet<YearMonth> archive = new TreeSet<>(existing);
+        archive.addAll(create);
+        archive.removeIf(month -> !month.isBefore(oldestKept));
+        return new Plan(List.copyOf(create), List.copyOf(archive));
+    }
+
+    /**
+     * Cria a partição de um mês, move para ela as linhas do mês que estão na partição padrão e a anexa à tabela.
+     * A partição é preenchida antes de ser anexada, e o PostgreSQL cria nela os índices particionados.
+     *
+     * @param month O mês da partição.
+     */
+    void createPartition(YearMonth month) {
+        String name = partitionName(month);
+        Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!tryLock() || exists(name)) return;
+            jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE " + PARENT_TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            jdbcTemplate.update("INSERT INTO " + name + " SELECT * FROM " + DEFAULT_PARTITION
+                    + " WHERE scheduled_at >= ? AND scheduled_at < ?", from, to);
+            jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE scheduled_at >= ? AND scheduled_at < ?", from, to);
+            jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " ATTACH PARTITION " + name
+                    + " FOR VALUES FROM ('" + from.toLocalDateTime() + "') TO ('" + to.toLocalDateTime() + "')");
+            log.info("Partition created: {}", name);
+        });
+    }
+
+    /**
+     * Desanexa a partição de um mês e a move para o schema de arquivo (ou a remove).
+     * <p>
+     * Se o mês já foi arquivado antes (a partição foi recriada porque chegaram agendamentos antigos à partição
+     * padrão), as linhas são copiadas para a tabela já arquivada e a partição é removida.
+     *
+     * @param month O mês da partição.
+     */
+    void archivePartition(YearMonth month) {
+        String name = partitionName(month);
+        String archived = ARCHIVE_SCHEMA + "." + name;
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!tryLock() || !exists(name)) return;
+            jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + name);
+            if (dropArchived) {
+                jdbcTemplate.execute("DROP TABLE " + name);
+            } else if (exists(archived)) {
+                jdbcTemplate.execute("INSERT INTO " + archived + " SELECT * FROM " + name);
+                jdbcTemplate.execute("DROP TABLE " + name);
+            } else {
+                jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + ARCHIVE_SCHEMA);
+                jdbcTemplate.execute("ALTER TABLE " + name + " SET SCHEMA " + ARCHIVE_SCHEMA);
+            }
+            log.info("Partition archived: {}", name);
+        });
+    }
+
+    /**
+     * Retorna os meses que já têm partição anexada a "tb_schedules".
+     *
+     * @return Os meses das partições existentes.
+     */
+    Set<YearMonth> existingPartitions() {
+        List<String> names = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = ?::regclass",
+                String.class, PARENT_TABLE);
+        return names.stream()
+                .map(PARTITION_NAME::matcher)
+                .filter(Matcher::matches)
+                .map(matcher -> YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Retorna os meses com linhas na partição padrão.
+     *
+     * @return Os meses encontrados na partição padrão.
+     */
+    Set<YearMonth> monthsInDefaultPartition() {
+        List<LocalDateTime> months = jdbcTemplate.queryForList(
+                "SELECT DISTINCT date_trunc('month', scheduled_at) FROM " + DEFAULT_PARTITION + " WHERE scheduled_at IS NOT NULL",
+                LocalDateTime.class);
+        return months.stream().map(YearMonth::from).collect(Collectors.toSet());
+    }
+
+    /**
+     * Gera o nome da partição de um mês, no formato "tb_schedules_pAAAA_MM".
+     *
+     * @param month O mês.
+     * @return O nome da partição.
+     */
+    static String partitionName(YearMonth month) {
+        return String.format("%s_p%04d_%02d", PARENT_TABLE, month.getYear(), month.getMonthValue());
+    }
+
+    private boolean tryLock() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, PARTITION_LOCK));
+    }
+
+    private boolean exists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, table));
+    }
+
+    /**
+     * Partições a criar e a arquivar em uma execução da manutenção.
+     *
+     * @param create  Os meses cujas partições serão criadas.
+     * @param archive Os meses cujas partições serão arquivadas.
+     */
+    record Plan(List<YearMonth> create, List<YearMonth> archive) {
+    }
+}
@@ -0,0 +1,126 @@
+package br.com.ewerton.serviceschedules.service;
+
+import br.com.ewerton.serviceschedules.dto.ScheduleDTO;
+import br.com.ewerton.serviceschedules.dto.SchedulePageDTO;
+import br.com.ewerton.serviceschedules.repository.SchedulesRepository;
+import br.com.ewerton.serviceschedules.service.exceptions.InvalidTimeWindow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Serviço de leitura das consultas agendadas.
+ * <p>
+ * As consultas podem ser listadas por paciente, por médico ou por janela de tempo, sempre em ordem cronológica e
+ * paginadas por keyset: é buscado um registro a mais que o tamanho da página para saber se existe uma próxima
+ * página, sem {@code count()} nem {@code OFFSET}.
+ */
+@Service
+public class SchedulesService {
+
+    /**
+     * Tamanho de página usado quando o cliente não informa um valor válido.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    /**
+     * Tamanho máximo de página aceito nas listagens de consultas.
+     */
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * Tamanho da janela usada quando o cliente não informa o fim da janela.
+     */
+    public static final int DEFAULT_WINDOW_DAYS = 365;
+
+    @Autowired
+    private SchedulesRepository schedulesRepository;
+
+    /**
+     * Retorna uma página das consultas de um paciente.
+     *
+     * @param email  O e-mail do paciente.
+     * @param from   O início da janela (inclusivo), ou {@code null} para o momento atual.
+     * @param to     O fim da janela (exclusivo), ou {@code null} para {@value #DEFAULT_WINDOW_DAYS} dias após o início.
+     * @param cursor O cursor opaco devolvido pela página anterior, ou {@code null} para a primeira página.
+     * @param size   O tamanho da página, limitado a {@link #MAX_PAGE_SIZE}.
+     * @return A página de consultas e o cursor da próxima página.
+     */
+    @Transactional(readOnly = true)
+    public SchedulePageDTO findByPatient(String email, LocalDateTime from, LocalDateTime to, String cursor, int size) {
+        return page(from, to, cursor, size, (after, end, limit) ->
+                schedulesRepository.findByPatient(email, after.scheduledAt(), after.id(), end, limit));
+    }
+
+    /**
+     * Retorna uma página das consultas de um médico.
+     *
+     * @param doctorId O ID do médico.
+     * @param from     O início da janela (inclusivo), ou {@code null} para o momento atual.
+     * @param to       O fim da janela (exclusivo), ou {@code null} para {@value #DEFAULT_WINDOW_DAYS} dias após o início.
+     * @param cursor   O cursor opaco devolvido pela página anterior, ou {@code null} para a primeira página.
+     * @param size     O tamanho da página, limitado a {@link #MAX_PAGE_SIZE}.
+     * @return A página de consultas e o cursor da próxima página.
+     */
+    @Transactional(readOnly = true)
+    public SchedulePageDTO findByDoctor(String doctorId, LocalDateTime from, LocalDateTime to, String cursor, int size) {
+        return page(from, to, cursor, size, (after, end, limit) ->
+                schedulesRepository.findByDoctor(doctorId, after.scheduledAt(), after.id(), end, limit));
+    }
+
+    /**
+     * Retorna uma página de todas as consultas de uma janela de tempo.
+     *
+     * @param from   O início da janela (inclusivo).
+     * @param to     O fim da janela (exclusivo).
+     * @param cursor O cursor opaco devolvido pela página anterior, ou {@code null} para a primeira página.
+     * @param size   O tamanho da página, limitado a {@link #MAX_PAGE_SIZE}.
+     * @return A página de consultas e o cursor da próxima página.
+     */
+    @Transactional(readOnly = true)
+    public SchedulePageDTO findByWindow(LocalDateTime from, LocalDateTime to, String cursor, int size) {
+        return page(from, to, cursor, size, (after, end, limit) ->
+                schedulesRepository.findByWindow(after.scheduledAt(), after.id(), end, limit));
+    }
+
+    /**
+     * Monta uma página a partir da consulta informada.
+     *
+     * @param from   O início da janela, ou {@code null} para o momento atual.
+     * @param to     O fim da janela, ou {@code null} para a janela padrão.
+     * @param cursor O cursor da página anterior, ou {@code null}.
+     * @param size   O tamanho da página solicitado.
+     * @param query  A consulta, que recebe o cursor de partida, o fim da janela e o limite de registros.
+     * @return A página de consultas.
+     * @throws InvalidTimeWindow Se a janela terminar antes ou no mesmo instante em que inicia.
+     */
+    private SchedulePageDTO page(LocalDateTime from, LocalDateTime to, String cursor, int size,
+                                 PageQuery query) {
+        LocalDateTime start = from == null ? LocalDateTime.now() : from;
+        LocalDateTime end = to == null ? start.plusDays(DEFAULT_WINDOW_DAYS) : to;
+        if (!end.isAfter(start)) {
+            throw new InvalidTimeWindow("Time window must end after it starts: " + start + " - " + to);
+        }
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        ScheduleCursor after = cursor == null || cursor.isBlank() ? ScheduleCursor.first(start) : ScheduleCursor.decode(cursor);
+
+        List<ScheduleDTO> schedules = query.find(after, end, Limit.of(pageSize + 1));
+        boolean hasNext = schedules.size() > pageSize;
+        List<ScheduleDTO> content = hasNext ? schedules.subList(0, pageSize) : schedules;
+        ScheduleDTO last = hasNext ? content.get(content.size() - 1) : null;
+        return new SchedulePageDTO(content, last == null ? null : new ScheduleCursor(last.scheduledAt(), last.id()).encode());
+    }
+
+    /**
+     * Consulta de uma página a partir de um cursor, até o fim da janela.
+     */
+    @FunctionalInterface
+    private interface PageQuery {
+
+        List<ScheduleDTO> find(ScheduleCursor after, LocalDateTime to, Limit limit);
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.ewerton.serviceschedules.service.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando o cursor de paginação informado pelo cliente não pode ser decodificado.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursor extends RuntimeException {
+
+    public InvalidCursor(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.ewerton.serviceschedules.service.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando a janela de tempo de uma consulta termina antes ou no mesmo instante em que inicia.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidTimeWindow extends RuntimeException {
+
+    public InvalidTimeWindow(String msg) {
+        super(msg);
+    }
+}
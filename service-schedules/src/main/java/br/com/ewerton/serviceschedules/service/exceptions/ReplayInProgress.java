@@ -0,0 +1,15 @@
+package br.com.ewerton.serviceschedules.service.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando um reprocessamento da fila de estacionamento é solicitado enquanto outro está em andamento.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ReplayInProgress extends RuntimeException {
+
+    public ReplayInProgress(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,61 @@
+-- Esquema de "tb_schedules", particionada por mês em "scheduled_at" (particionamento declarativo do PostgreSQL).
+-- O Hibernate não gerencia esta tabela (spring.jpa.hibernate.ddl-auto: none); as partições mensais são criadas e
+-- arquivadas pelo SchedulesPartitionService. Todas as instruções são idempotentes e executadas a cada inicialização.
+-- As instruções são separadas por ";;" (spring.sql.init.separator) por causa dos blocos DO.
+
+-- Uma "tb_schedules" comum, criada pelo Hibernate em versões anteriores, é renomeada para ser migrada abaixo.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class
+               WHERE relname = 'tb_schedules' AND relkind = 'r' AND relnamespace = current_schema()::regnamespace) THEN
+        ALTER TABLE tb_schedules RENAME TO tb_schedules_legacy;
+    END IF;
+END
+$$;;
+
+-- Não há chave primária: em uma tabela particionada ela teria de incluir "scheduled_at", que pode ser nulo em
+-- agendamentos antigos. Os IDs são UUIDs gerados pela aplicação.
+CREATE TABLE IF NOT EXISTS tb_schedules (
+    id           uuid NOT NULL,
+    name         varchar(255),
+    phone        varchar(255),
+    address      varchar(255),
+    email        varchar(255),
+    doctor_id    varchar(255),
+    scheduled_at timestamp(6)
+) PARTITION BY RANGE (scheduled_at);;
+
+-- Recebe os agendamentos sem horário e os de meses que ainda não têm partição; o SchedulesPartitionService cria a
+-- partição do mês e move essas linhas para ela.
+CREATE TABLE IF NOT EXISTS tb_schedules_default PARTITION OF tb_schedules DEFAULT;;
+
+-- A tabela das primeiras versões não tinha "doctor_id" nem "scheduled_at"; as colunas são criadas antes da cópia.
+DO $$
+BEGIN
+    IF to_regclass('tb_schedules_legacy') IS NOT NULL THEN
+        ALTER TABLE tb_schedules_legacy
+            ADD COLUMN IF NOT EXISTS doctor_id varchar(255),
+            ADD COLUMN IF NOT EXISTS scheduled_at timestamp(6);
+        INSERT INTO tb_schedules (id, name, phone, address, email, doctor_id, scheduled_at)
+        SELECT id, name, phone, address, email, doctor_id, scheduled_at FROM tb_schedules_legacy;
+        DROP TABLE tb_schedules_legacy;
+    END IF;
+END
+$$;;
+
+-- Índices particionados: criados em todas as partições, inclusive nas que forem anexadas depois.
+CREATE INDEX IF NOT EXISTS idx_schedules_email_scheduled_at ON tb_schedules (email, scheduled_at, id);;
+CREATE INDEX IF NOT EXISTS idx_schedules_doctor_scheduled_at ON tb_schedules (doctor_id, scheduled_at, id);;
+CREATE INDEX IF NOT EXISTS idx_schedules_scheduled_at ON tb_schedules (scheduled_at, id);;
+CREATE INDEX IF NOT EXISTS idx_schedules_id ON tb_schedules (id);;
+
+-- Agenda diária de cada médico, mantida pelo DoctorAgendaService a partir dos agendamentos recebidos: uma linha por
+-- médico e dia com as consultas do dia em um array jsonb ordenado por horário, lida com uma única busca pela chave.
+-- Pode ser reconstruída a qualquer momento a partir de "tb_schedules".
+CREATE TABLE IF NOT EXISTS tb_doctor_agenda (
+    doctor_id    varchar(255) NOT NULL,
+    day          date         NOT NULL,
+    appointments jsonb        NOT NULL,
+    updated_at   timestamp(6) NOT NULL,
+    PRIMARY KEY (doctor_id, day)
+);;
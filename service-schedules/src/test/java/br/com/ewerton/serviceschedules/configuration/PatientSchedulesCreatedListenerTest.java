@@ -0,0 +1,59 @@
+package br.com.ewerton.serviceschedules.configuration;
+
+import br.com.ewerton.serviceschedules.dto.PatientDTO;
+import br.com.ewerton.serviceschedules.model.SchedulesModel;
+import br.com.ewerton.serviceschedules.repository.SchedulesRepository;
+import br.com.ewerton.serviceschedules.service.DoctorAgendaService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PatientSchedulesCreatedListenerTest {
+
+    @Mock
+    private SchedulesRepository schedulesRepository;
+
+    @Mock
+    private DoctorAgendaService doctorAgendaService;
+
+    @InjectMocks
+    private PatientSchedulesCreatedListener patientSchedulesCreatedListener;
+
+    @Test
+    void testBatchIsSavedWithSingleSaveAll() {
+        List<PatientDTO> batch = List.of(
+                new PatientDTO("John Doe", "1234567890", "123 Main St", "john@example.com"),
+                new PatientDTO("Jane Doe", "0987654321", "456 Main St", "jane@example.com", "doctor-1", LocalDateTime.of(2030, 1, 7, 9, 0)));
+
+        // Chama o método a ser testado
+        patientSchedulesCreatedListener.onPatientSchedulesCreated(batch);
+
+        // Verifica se o lote inteiro foi salvo em uma única chamada
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<SchedulesModel>> captor = ArgumentCaptor.forClass(List.class);
+        verify(schedulesRepository, times(1)).saveAll(captor.capture());
+        verifyNoMoreInteractions(schedulesRepository);
+
+        List<SchedulesModel> saved = captor.getValue();
+        assertEquals(2, saved.size());
+        assertEquals("Jane Doe", saved.get(1).getName());
+        assertEquals("0987654321", saved.get(1).getPhone());
+        assertEquals("456 Main St", saved.get(1).getAddress());
+        assertEquals("jane@example.com", saved.get(1).getEmail());
+        assertEquals("doctor-1", saved.get(1).getDoctorId());
+        assertEquals(LocalDateTime.of(2030, 1, 7, 9, 0), saved.get(1).getScheduledAt());
+
+        // Verifica se as agendas dos médicos foram atualizadas com o mesmo lote
+        verify(doctorAgendaService, times(1)).record(saved);
+    }
+}
@@ -0,0 +1,116 @@
+package br.com.ewerton.serviceschedules.configuration;
+
+import br.com.ewerton.serviceschedules.dto.PatientDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SchedulesRetryRecovererTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private Jackson2JsonMessageConverter messageConverter;
+
+    @Mock
+    private PatientSchedulesCreatedListener patientSchedulesCreatedListener;
+
+    @InjectMocks
+    private SchedulesRetryRecoverer recoverer;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(recoverer, "initialDelay", 1000L);
+        ReflectionTestUtils.setField(recoverer, "multiplier", 5.0);
+        ReflectionTestUtils.setField(recoverer, "maxAttempts", 4);
+        recoverer.init();
+    }
+
+    @Test
+    void testFirstFailureGoesToFirstRetryQueue() {
+        Message message = message("{}", null);
+
+        recoverer.recover(List.of(message), new QueryTimeoutException("timeout"));
+
+        // Verifica se a mensagem foi para a fila de 1s com a primeira tentativa registrada
+        Message sent = captureSent(RabbitMQConfig.SCHEDULES_QUEUE + ".retry-1000ms");
+        assertEquals(1, (Integer) sent.getMessageProperties().getHeader(SchedulesRetryRecoverer.ATTEMPT_HEADER));
+    }
+
+    @Test
+    void testExhaustedAttemptsGoToParkingLot() {
+        Message message = message("{}", 4);
+
+        recoverer.recover(List.of(message), new QueryTimeoutException("timeout"));
+
+        // Verifica se a mensagem foi estacionada com a exceção no cabeçalho
+        Message sent = captureSent(RabbitMQConfig.PARKING_LOT_QUEUE);
+        String exception = sent.getMessageProperties().getHeader(SchedulesRetryRecoverer.EXCEPTION_HEADER);
+        assertTrue(exception.contains("QueryTimeoutException"));
+    }
+
+    @Test
+    void testUnreadableMessageGoesToDeadLetter() {
+        Message message = message("{}", null);
+
+        recoverer.recover(List.of(message), new MessageConversionException("invalid json"));
+
+        captureSent(RabbitMQConfig.DEAD_LETTER_QUEUE);
+    }
+
+    @Test
+    void testBatchIsSplitAndOnlyFailingMessageIsRouted() {
+        Message good = message("john", null);
+        Message bad = message("jane", null);
+        PatientDTO goodPatient = new PatientDTO("John Doe", "1234567890", "123 Main St", "john@example.com", null, null);
+        PatientDTO badPatient = new PatientDTO("Jane Doe", "0987654321", "456 Main St", "jane@example.com", null, null);
+        when(messageConverter.fromMessage(eq(good), any())).thenReturn(goodPatient);
+        when(messageConverter.fromMessage(eq(bad), any())).thenReturn(badPatient);
+        doThrow(new DataIntegrityViolationException("duplicate"))
+                .when(patientSchedulesCreatedListener).onPatientSchedulesCreated(List.of(badPatient));
+
+        recoverer.recover(List.of(good, bad), new DataIntegrityViolationException("duplicate"));
+
+        // Verifica se cada mensagem foi processada isoladamente e apenas a que falhou seguiu para a retentativa
+        verify(patientSchedulesCreatedListener).onPatientSchedulesCreated(List.of(goodPatient));
+        verify(patientSchedulesCreatedListener).onPatientSchedulesCreated(List.of(badPatient));
+        Message sent = captureSent(RabbitMQConfig.SCHEDULES_QUEUE + ".retry-1000ms");
+        assertEquals("jane", new String(sent.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private Message message(String body, Integer attempt) {
+        MessageProperties properties = new MessageProperties();
+        if (attempt != null) properties.setHeader(SchedulesRetryRecoverer.ATTEMPT_HEADER, attempt);
+        return new Message(body.getBytes(StandardCharsets.UTF_8), properties);
+    }
+
+    private Message captureSent(String queue) {
+        ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate, times(1)).send(eq(""), eq(queue), captor.capture());
+        verifyNoMoreInteractions(rabbitTemplate);
+        return captor.getValue();
+    }
+}
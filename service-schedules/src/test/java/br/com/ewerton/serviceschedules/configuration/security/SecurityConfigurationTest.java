@@ -0,0 +1,50 @@
+package br.com.ewerton.serviceschedules.configuration.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SecurityConfigurationTest {
+
+    @Test
+    void testDoctorAccessesOnlyOwnAppointments() {
+        Authentication doctor = doctor("doctor-1", "ROLE_USER");
+
+        assertTrue(granted(doctor, "doctor-1"));
+        assertFalse(granted(doctor, "doctor-2"));
+    }
+
+    @Test
+    void testAdminAccessesAnyDoctor() {
+        assertTrue(granted(doctor("doctor-1", "ROLE_ADMIN", "ROLE_USER"), "doctor-2"));
+    }
+
+    @Test
+    void testTokenWithoutDoctorIdOrAnonymousIsDenied() {
+        assertFalse(granted(doctor(null, "ROLE_USER"), "doctor-1"));
+        assertFalse(granted(new AnonymousAuthenticationToken("key", "anonymous", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")), "doctor-1"));
+    }
+
+    // Autenticação montada pelo SecurityFilter, com o ID do médico nos detalhes
+    private static Authentication doctor(String doctorId, String... roles) {
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken("doctor@example.com", null, AuthorityUtils.createAuthorityList(roles));
+        authentication.setDetails(doctorId);
+        return authentication;
+    }
+
+    private static boolean granted(Authentication authentication, String doctorId) {
+        RequestAuthorizationContext context = new RequestAuthorizationContext(
+                new MockHttpServletRequest("GET", "/schedules-service/doctors/" + doctorId + "/appointments"), Map.of("doctorId", doctorId));
+        return SecurityConfiguration.ownDoctorOrAdmin(() -> authentication, context).isGranted();
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.ewerton.serviceschedules.configuration.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.algorithms.Algorithm;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SecurityFilterTest {
+
+    private static final String SECRET = "test-secret-with-at-least-32-characters";
+
+    private SecurityFilter securityFilter;
+
+    @BeforeEach
+    void setUp() {
+        // Usa o TokenService real, para que a audiência e a assinatura sejam de fato verificadas
+        TokenService tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", SECRET);
+        tokenService.init();
+        securityFilter = new SecurityFilter();
+        ReflectionTestUtils.setField(securityFilter, "tokenService", tokenService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testDoctorTokenAuthenticatesWithSignedRoles() throws Exception {
+        // Token emitido pelo "service-doctor" para as duas audiências
+        String token = token("service-doctor", "service-schedules").withClaim(TokenService.ROLES_CLAIM, List.of("ROLE_ADMIN", "ROLE_USER"))
+                .sign(Algorithm.HMAC256(SECRET));
+
+        Authentication authentication = filter(token);
+
+        assertNotNull(authentication);
+        assertEquals("admin@example.com", authentication.getName());
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"),
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    void testDoctorIdClaimIsKeptInAuthenticationDetails() throws Exception {
+        String token = token("service-doctor", "service-schedules").withClaim(TokenService.ROLES_CLAIM, List.of("ROLE_USER"))
+                .withClaim(TokenService.DOCTOR_ID_CLAIM, "doctor-1")
+                .sign(Algorithm.HMAC256(SECRET));
+
+        // O ID assinado é usado para liberar ao médico apenas as próprias consultas
+        assertEquals("doctor-1", filter(token).getDetails());
+    }
+
+    @Test
+    void testTokenForAnotherAudienceIsRejected() throws Exception {
+        // Token de paciente, ou emitido apenas para o "service-doctor", assinado com a mesma chave
+        assertNull(filter(token("service-patient").withClaim(TokenService.ROLES_CLAIM, List.of("ROLE_ADMIN")).sign(Algorithm.HMAC256(SECRET))));
+        assertNull(filter(token("service-doctor").withClaim(TokenService.ROLES_CLAIM, List.of("ROLE_ADMIN")).sign(Algorithm.HMAC256(SECRET))));
+    }
+
+    @Test
+    void testTokenWithoutRolesOrWithAnotherKeyIsRejected() throws Exception {
+        // Sem cadastro de usuários, um token sem autoridades não autentica
+        assertNull(filter(token("service-schedules").sign(Algorithm.HMAC256(SECRET))));
+        assertNull(filter(token("service-schedules").withClaim(TokenService.ROLES_CLAIM, List.of("ROLE_ADMIN"))
+                .sign(Algorithm.HMAC256("another-secret-with-at-least-32-chars"))));
+    }
+
+    @Test
+    void testShortSecretIsRejected() {
+        TokenService tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secret", "short");
+
+        assertThrows(IllegalStateException.class, tokenService::init);
+    }
+
+    private static JWTCreator.Builder token(String... audience) {
+        return JWT.create()
+                .withIssuer("auth-api")
+                .withAudience(audience)
+                .withSubject("admin@example.com")
+                .withExpiresAt(Instant.now().plusSeconds(60));
+    }
+
+    // Executa o filtro com o token informado; a cadeia de filtros deve continuar em todos os casos
+    private Authentication filter(String token) throws ServletException, IOException {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/schedules-service/appointments");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockFilterChain chain = new MockFilterChain();
+
+        securityFilter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertSame(request, chain.getRequest());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
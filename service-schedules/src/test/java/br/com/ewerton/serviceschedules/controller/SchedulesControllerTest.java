@@ -0,0 +1,51 @@
+package br.com.ewerton.serviceschedules.controller;
+
+import br.com.ewerton.serviceschedules.dto.ScheduleDTO;
+import br.com.ewerton.serviceschedules.dto.SchedulePageDTO;
+import br.com.ewerton.serviceschedules.service.SchedulesService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class SchedulesControllerTest {
+
+    @Mock
+    private SchedulesService schedulesService;
+
+    @InjectMocks
+    private SchedulesController schedulesController;
+
+    @Test
+    void testByDoctor() {
+        LocalDateTime scheduledAt = LocalDateTime.of(2030, 1, 7, 9, 0);
+        SchedulePageDTO page = new SchedulePageDTO(List.of(
+                new ScheduleDTO(UUID.randomUUID(), "John Doe", null, null, "john@example.com", "doctor-1", scheduledAt)), "next");
+        when(schedulesService.findByDoctor("doctor-1", null, null, null, 50)).thenReturn(page);
+
+        ResponseEntity<SchedulePageDTO> response = schedulesController.byDoctor("doctor-1", null, null, null, 50);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals(page, response.getBody());
+    }
+
+    @Test
+    void testByPatient() {
+        SchedulePageDTO page = new SchedulePageDTO(List.of(), null);
+        when(schedulesService.findByPatient("john@example.com", null, null, null, 50)).thenReturn(page);
+
+        ResponseEntity<SchedulePageDTO> response = schedulesController.byPatient("john@example.com", null, null, null, 50);
+
+        assertEquals(page, response.getBody());
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.ewerton.serviceschedules.service;
+
+import br.com.ewerton.serviceschedules.dto.AgendaEntryDTO;
+import br.com.ewerton.serviceschedules.dto.AgendaRebuildDTO;
+import br.com.ewerton.serviceschedules.dto.DoctorAgendaDTO;
+import br.com.ewerton.serviceschedules.model.SchedulesModel;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DoctorAgendaServiceTest {
+
+    private static final UUID FIRST = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID SECOND = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Spy
+    private ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @InjectMocks
+    private DoctorAgendaService doctorAgendaService;
+
+    @Test
+    void testRecordUpsertsOneAgendaPerDoctorAndDay() {
+        LocalDate day = LocalDate.of(2030, 1, 7);
+        List<SchedulesModel> batch = List.of(
+                schedule(SECOND, "doctor-2", day.atTime(10, 0)),
+                schedule(UUID.randomUUID(), "doctor-1", day.plusDays(1).atTime(8, 0)),
+                schedule(FIRST, "doctor-2", day.atTime(9, 30)),
+                schedule(UUID.randomUUID(), null, day.atTime(9, 0)),
+                schedule(UUID.randomUUID(), "doctor-1", null));
+
+        doctorAgendaService.record(batch);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(eq(DoctorAgendaService.UPSERT_SQL), captor.capture());
+
+        // Uma agenda por médico e dia, em ordem de médico e dia; agendamentos sem médico ou horário ficam de fora
+        List<Object[]> rows = captor.getValue();
+        assertEquals(2, rows.size());
+        assertEquals("doctor-1", rows.get(0)[0]);
+        assertEquals(day.plusDays(1), rows.get(0)[1]);
+        assertEquals("doctor-2", rows.get(1)[0]);
+        assertEquals(day, rows.get(1)[1]);
+
+        // As consultas do dia são gravadas em ordem de horário
+        assertEquals("[{\"id\":\"" + FIRST + "\",\"time\":\"09:30\",\"name\":\"John Doe\",\"phone\":\"1234567890\",\"email\":\"john@example.com\"},"
+                + "{\"id\":\"" + SECOND + "\",\"time\":\"10:00\",\"name\":\"John Doe\",\"phone\":\"1234567890\",\"email\":\"john@example.com\"}]", rows.get(1)[2]);
+    }
+
+    @Test
+    void testRecordWithoutDoctorAppointmentsDoesNotTouchTheDatabase() {
+        doctorAgendaService.record(List.of(schedule(FIRST, null, null)));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void testFindAgendaReadsTheStoredAppointments() {
+        LocalDate day = LocalDate.of(2030, 1, 7);
+        when(jdbcTemplate.queryForList(DoctorAgendaService.FIND_SQL, String.class, "doctor-1", day)).thenReturn(List.of(
+                "[{\"id\": \"" + FIRST + "\", \"time\": \"09:30\", \"name\": \"John Doe\", \"phone\": null, \"email\": \"john@example.com\"}]"));
+
+        DoctorAgendaDTO agenda = doctorAgendaService.findAgenda("doctor-1", day);
+
+        assertEquals(List.of(new AgendaEntryDTO(FIRST, LocalTime.of(9, 30), "John Doe", null, "john@example.com")), agenda.appointments());
+    }
+
+    @Test
+    void testFindAgendaOfADayWithoutAppointments() {
+        when(jdbcTemplate.queryForList(eq(DoctorAgendaService.FIND_SQL), eq(String.class), any(), any())).thenReturn(List.of());
+
+        assertTrue(doctorAgendaService.findAgenda("doctor-1", LocalDate.of(2030, 1, 7)).appointments().isEmpty());
+    }
+
+    @Test
+    void testRebuildOfOneDoctorReplacesOnlyItsAgendas() {
+        when(jdbcTemplate.update(anyString(), eq("doctor-1"))).thenReturn(3);
+
+        AgendaRebuildDTO result = doctorAgendaService.rebuild("doctor-1");
+
+        assertEquals(3, result.days());
+        verify(jdbcTemplate).update("DELETE FROM tb_doctor_agenda WHERE doctor_id = ?", "doctor-1");
+        verify(jdbcTemplate).update(endsWith(" AND doctor_id = ?" + DoctorAgendaService.REBUILD_GROUP_BY), eq("doctor-1"));
+        verify(jdbcTemplate, never()).update("DELETE FROM tb_doctor_agenda");
+    }
+
+    @Test
+    void testRebuildMergesAgendaWrittenByConcurrentBatch() {
+        doctorAgendaService.rebuild(null);
+
+        // Um lote gravado entre o DELETE e a reconstrução é mesclado com a mesma regra do upsert, sem violar a chave
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(2)).update(sql.capture());
+        assertEquals("DELETE FROM tb_doctor_agenda", sql.getAllValues().get(0));
+        assertTrue(sql.getAllValues().get(1).endsWith(DoctorAgendaService.MERGE_ON_CONFLICT));
+        assertTrue(DoctorAgendaService.UPSERT_SQL.endsWith(DoctorAgendaService.MERGE_ON_CONFLICT));
+    }
+
+    private static SchedulesModel schedule(UUID id, String doctorId, LocalDateTime scheduledAt) {
+        SchedulesModel schedule = new SchedulesModel(id, "John Doe", "1234567890", "123 Main St", "john@example.com");
+        schedule.setDoctorId(doctorId);
+        schedule.setScheduledAt(scheduledAt);
+        return schedule;
+    }
+}
@@ -0,0 +1,93 @@
+package br.com.ewerton.serviceschedules.service;
+
+import br.com.ewerton.serviceschedules.dto.ParkingLotReplayDTO;
+import br.com.ewerton.serviceschedules.service.exceptions.ReplayInProgress;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ParkingLotServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private RabbitAdmin rabbitAdmin;
+
+    @Mock
+    private RabbitTemplate transactionalTemplate;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement tryLock;
+
+    @Mock
+    private PreparedStatement unlock;
+
+    @Mock
+    private ResultSet lockResult;
+
+    @InjectMocks
+    private ParkingLotService parkingLotService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ReflectionTestUtils.setField(parkingLotService, "transactionalTemplate", transactionalTemplate);
+        ReflectionTestUtils.setField(parkingLotService, "batchSize", 100);
+        ReflectionTestUtils.setField(parkingLotService, "rate", 200);
+        ReflectionTestUtils.setField(parkingLotService, "maxMessages", 10000);
+
+        // Executa o callback da conexão com a conexão simulada
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(invocation ->
+                invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+        when(connection.prepareStatement("SELECT pg_try_advisory_lock(?)")).thenReturn(tryLock);
+        when(tryLock.executeQuery()).thenReturn(lockResult);
+        when(lockResult.next()).thenReturn(true);
+    }
+
+    @Test
+    void testReplayHoldsTheAdvisoryLockUntilDone() throws Exception {
+        when(lockResult.getBoolean(1)).thenReturn(true);
+        when(connection.prepareStatement("SELECT pg_advisory_unlock(?)")).thenReturn(unlock);
+        when(unlock.executeQuery()).thenReturn(lockResult);
+        // A fila de estacionamento está vazia
+        when(transactionalTemplate.execute(any(ChannelCallback.class))).thenReturn(0);
+
+        ParkingLotReplayDTO result = parkingLotService.replay(0);
+
+        // O lock é liberado na mesma conexão depois do reprocessamento
+        assertEquals(new ParkingLotReplayDTO(0, 0), result);
+        verify(unlock, times(1)).executeQuery();
+    }
+
+    @Test
+    void testReplayIsRejectedWhileAnotherInstanceHoldsTheLock() throws Exception {
+        when(lockResult.getBoolean(1)).thenReturn(false);
+
+        // Outra instância está reprocessando: nenhuma mensagem é movida
+        assertThrows(ReplayInProgress.class, () -> parkingLotService.replay(0));
+        verifyNoInteractions(transactionalTemplate);
+        verify(connection, never()).prepareStatement("SELECT pg_advisory_unlock(?)");
+    }
+}
@@ -0,0 +1,137 @@
+package br.com.ewerton.serviceschedules.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SchedulesPartitionServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private SchedulesPartitionService schedulesPartitionService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(schedulesPartitionService, "premakeMonths", 2);
+        ReflectionTestUtils.setField(schedulesPartitionService, "retentionMonths", 12);
+
+        // Executa o callback da transação diretamente
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void testPlanCreatesUpcomingAndDefaultMonthsAndArchivesOldOnes() {
+        YearMonth current = YearMonth.of(2030, 6);
+        Set<YearMonth> existing = Set.of(YearMonth.of(2029, 5), YearMonth.of(2029, 6), YearMonth.of(2030, 6));
+        Set<YearMonth> inDefault = Set.of(YearMonth.of(2028, 1), YearMonth.of(2031, 3));
+
+        SchedulesPartitionService.Plan plan = schedulesPartitionService.plan(current, existing, inDefault);
+
+        // Meses à frente e meses com linhas na partição padrão ganham partição; o mês atual já existe
+        assertEquals(List.of(YearMonth.of(2028, 1), YearMonth.of(2030, 7), YearMonth.of(2030, 8), YearMonth.of(2031, 3)), plan.create());
+        // São mantidos 12 meses anteriores ao atual (a partir de 2029-06)
+        assertEquals(List.of(YearMonth.of(2028, 1), YearMonth.of(2029, 5)), plan.archive());
+    }
+
+    @Test
+    void testCreatePartitionMovesDefaultRowsBeforeAttaching() {
+        when(jdbcTemplate.queryForObject(eq("SELECT pg_try_advisory_xact_lock(?)"), eq(Boolean.class), anyLong())).thenReturn(true);
+        when(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, "tb_schedules_p2030_07")).thenReturn(false);
+
+        schedulesPartitionService.createPartition(YearMonth.of(2030, 7));
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).execute("CREATE TABLE tb_schedules_p2030_07 (LIKE tb_schedules INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        order.verify(jdbcTemplate).update(startsWith("INSERT INTO tb_schedules_p2030_07 SELECT * FROM tb_schedules_default"), any(), any());
+        order.verify(jdbcTemplate).update(startsWith("DELETE FROM tb_schedules_default"), any(), any());
+        order.verify(jdbcTemplate).execute("ALTER TABLE tb_schedules ATTACH PARTITION tb_schedules_p2030_07 "
+                + "FOR VALUES FROM ('2030-07-01T00:00') TO ('2030-08-01T00:00')");
+    }
+
+    @Test
+    void testCreatePartitionSkipsWhenAnotherInstanceHoldsTheLock() {
+        when(jdbcTemplate.queryForObject(eq("SELECT pg_try_advisory_xact_lock(?)"), eq(Boolean.class), anyLong())).thenReturn(false);
+
+        schedulesPartitionService.createPartition(YearMonth.of(2030, 7));
+
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    void testArchivePartitionMovesItToArchiveSchema() {
+        when(jdbcTemplate.queryForObject(eq("SELECT pg_try_advisory_xact_lock(?)"), eq(Boolean.class), anyLong())).thenReturn(true);
+        when(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, "tb_schedules_p2028_01")).thenReturn(true);
+
+        schedulesPartitionService.archivePartition(YearMonth.of(2028, 1));
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).execute("ALTER TABLE tb_schedules DETACH PARTITION tb_schedules_p2028_01");
+        order.verify(jdbcTemplate).execute("ALTER TABLE tb_schedules_p2028_01 SET SCHEMA schedules_archive");
+        verify(jdbcTemplate, never()).execute("DROP TABLE tb_schedules_p2028_01");
+    }
+
+    @Test
+    void testArchivePartitionMergesIntoExistingArchive() {
+        when(jdbcTemplate.queryForObject(eq("SELECT pg_try_advisory_xact_lock(?)"), eq(Boolean.class), anyLong())).thenReturn(true);
+        when(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, "tb_schedules_p2028_01")).thenReturn(true);
+        when(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, "schedules_archive.tb_schedules_p2028_01")).thenReturn(true);
+
+        schedulesPartitionService.archivePartition(YearMonth.of(2028, 1));
+
+        // O mês recriado a partir da partição padrão é copiado para a tabela já arquivada
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).execute("ALTER TABLE tb_schedules DETACH PARTITION tb_schedules_p2028_01");
+        order.verify(jdbcTemplate).execute("INSERT INTO schedules_archive.tb_schedules_p2028_01 SELECT * FROM tb_schedules_p2028_01");
+        order.verify(jdbcTemplate).execute("DROP TABLE tb_schedules_p2028_01");
+        verify(jdbcTemplate, never()).execute("ALTER TABLE tb_schedules_p2028_01 SET SCHEMA schedules_archive");
+    }
+
+    @Test
+    void testMaintainPartitionsContinuesAfterFailedPartition() {
+        ReflectionTestUtils.setField(schedulesPartitionService, "retentionMonths", 0);
+        YearMonth current = YearMonth.now();
+        String oldest = SchedulesPartitionService.partitionName(current.minusMonths(2));
+        String older = SchedulesPartitionService.partitionName(current.minusMonths(1));
+        when(jdbcTemplate.queryForList(startsWith("SELECT c.relname"), eq(String.class), any())).thenReturn(List.of(oldest, older));
+        when(jdbcTemplate.queryForList(startsWith("SELECT DISTINCT"), eq(LocalDateTime.class))).thenReturn(List.of());
+        when(jdbcTemplate.queryForObject(eq("SELECT pg_try_advisory_xact_lock(?)"), eq(Boolean.class), anyLong())).thenReturn(true);
+        when(jdbcTemplate.queryForObject(eq("SELECT to_regclass(?) IS NOT NULL"), eq(Boolean.class), anyString())).thenAnswer(invocation ->
+                invocation.getArgument(2).equals(oldest) || invocation.getArgument(2).equals(older));
+        doThrow(new DataAccessResourceFailureException("lock timeout"))
+                .when(jdbcTemplate).execute("ALTER TABLE tb_schedules DETACH PARTITION " + oldest);
+
+        schedulesPartitionService.maintainPartitions();
+
+        // A falha ao arquivar o mês mais antigo não impede o arquivamento do mês seguinte
+        verify(jdbcTemplate).execute("ALTER TABLE tb_schedules DETACH PARTITION " + older);
+        verify(jdbcTemplate).execute("ALTER TABLE " + older + " SET SCHEMA schedules_archive");
+    }
+}
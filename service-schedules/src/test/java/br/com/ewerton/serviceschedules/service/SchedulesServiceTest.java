@@ -0,0 +1,100 @@
+package br.com.ewerton.serviceschedules.service;
+
+import br.com.ewerton.serviceschedules.dto.ScheduleDTO;
+import br.com.ewerton.serviceschedules.dto.SchedulePageDTO;
+import br.com.ewerton.serviceschedules.repository.SchedulesRepository;
+import br.com.ewerton.serviceschedules.service.exceptions.InvalidCursor;
+import br.com.ewerton.serviceschedules.service.exceptions.InvalidTimeWindow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class SchedulesServiceTest {
+
+    @Mock
+    private SchedulesRepository schedulesRepository;
+
+    @InjectMocks
+    private SchedulesService schedulesService;
+
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private ScheduleDTO first;
+    private ScheduleDTO second;
+
+    @BeforeEach
+    void setUp() {
+        from = LocalDateTime.of(2030, 1, 7, 0, 0);
+        to = LocalDateTime.of(2030, 1, 8, 0, 0);
+        first = new ScheduleDTO(UUID.randomUUID(), "John Doe", null, null, "john@example.com", "doctor-1", from.withHour(9));
+        second = new ScheduleDTO(UUID.randomUUID(), "Jane Doe", null, null, "jane@example.com", "doctor-1", from.withHour(10));
+    }
+
+    @Test
+    void testFindByDoctorPagesWithCursor() {
+        // Primeira página: começa no início da janela, antes de qualquer ID
+        when(schedulesRepository.findByDoctor("doctor-1", from, ScheduleCursor.MIN_ID, to, Limit.of(2))).thenReturn(List.of(first, second));
+
+        SchedulePageDTO page = schedulesService.findByDoctor("doctor-1", from, to, null, 1);
+
+        assertEquals(List.of(first), page.content());
+        assertNotNull(page.nextCursor());
+
+        // Segunda página: começa depois do par (horário, ID) da última consulta entregue
+        when(schedulesRepository.findByDoctor("doctor-1", first.scheduledAt(), first.id(), to, Limit.of(2))).thenReturn(List.of(second));
+
+        SchedulePageDTO next = schedulesService.findByDoctor("doctor-1", from, to, page.nextCursor(), 1);
+
+        assertEquals(List.of(second), next.content());
+        assertNull(next.nextCursor());
+    }
+
+    @Test
+    void testFindByPatientUsesDefaultWindow() {
+        when(schedulesRepository.findByPatient(eq("john@example.com"), eq(from), eq(ScheduleCursor.MIN_ID),
+                eq(from.plusDays(SchedulesService.DEFAULT_WINDOW_DAYS)), eq(Limit.of(SchedulesService.DEFAULT_PAGE_SIZE + 1))))
+                .thenReturn(List.of(first));
+
+        SchedulePageDTO page = schedulesService.findByPatient("john@example.com", from, null, null, 0);
+
+        assertEquals(List.of(first), page.content());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void testFindByWindowLimitsPageSize() {
+        when(schedulesRepository.findByWindow(from, ScheduleCursor.MIN_ID, to, Limit.of(SchedulesService.MAX_PAGE_SIZE + 1))).thenReturn(List.of());
+
+        SchedulePageDTO page = schedulesService.findByWindow(from, to, null, 10_000);
+
+        assertTrue(page.content().isEmpty());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void testInvalidWindowIsRejected() {
+        assertThrows(InvalidTimeWindow.class, () -> schedulesService.findByWindow(to, from, null, 10));
+        verifyNoInteractions(schedulesRepository);
+    }
+
+    @Test
+    void testInvalidCursorIsRejected() {
+        assertThrows(InvalidCursor.class, () -> schedulesService.findByDoctor("doctor-1", from, to, "%%%", 10));
+        assertThrows(InvalidCursor.class, () -> schedulesService.findByDoctor("doctor-1", from, to, "bm90LWEtY3Vyc29y", 10));
+        verify(schedulesRepository, never()).findByDoctor(any(), any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,78 @@
+-- Benchmark das consultas da API de leitura de "tb_schedules" com 10 milhões de linhas.
+--
+-- Uso (banco descartável, com o schema já criado pela aplicação):
+--   psql -d agendamento_consultas -f schedules-read-api.sql
+--
+-- Meta: p99 abaixo de 20 ms por página de 50 consultas em cada caminho de acesso. Com "tb_schedules" particionada
+-- por mês, o EXPLAIN deve listar apenas as partições dos meses consultados. Para medir o p99, rode as
+-- consultas do final com pgbench (ver comando ao fim do arquivo); o EXPLAIN confirma que cada página é um
+-- Index Scan limitado, sem Sort nem leitura proporcional ao tamanho da tabela.
+
+\timing on
+
+-- Partições mensais do período do benchmark (as mesmas que o SchedulesPartitionService criaria).
+DO $$
+DECLARE
+    month date;
+BEGIN
+    FOR month IN SELECT generate_series(date '2030-01-01', date '2031-12-01', interval '1 month')::date LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF tb_schedules FOR VALUES FROM (%L) TO (%L)',
+                       'tb_schedules_p' || to_char(month, 'YYYY_MM'), month, (month + interval '1 month')::date);
+    END LOOP;
+END
+$$;
+
+-- 10M consultas: 200 mil pacientes, 2 mil médicos, distribuídas em dois anos a partir de 2030-01-01.
+TRUNCATE tb_schedules;
+INSERT INTO tb_schedules (id, name, phone, address, email, doctor_id, scheduled_at)
+SELECT gen_random_uuid(),
+       'Patient ' || (n % 200000),
+       '11999999999',
+       'Street ' || (n % 1000),
+       'patient' || (n % 200000) || '@example.com',
+       'doctor-' || (n % 2000),
+       timestamp '2030-01-01' + ((n * 7919) % (2 * 365 * 96)) * interval '15 minutes'
+FROM generate_series(1, 10000000) AS n;
+ANALYZE tb_schedules;
+
+-- Por paciente (idx_schedules_email_scheduled_at)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, name, phone, address, email, doctor_id, scheduled_at FROM tb_schedules
+WHERE email = 'patient4242@example.com'
+  AND scheduled_at >= '2030-01-01' AND (scheduled_at > '2030-01-01' OR id > '00000000-0000-0000-0000-000000000000')
+  AND scheduled_at < '2031-01-01'
+ORDER BY scheduled_at, id LIMIT 51;
+
+-- Por médico (idx_schedules_doctor_scheduled_at)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, name, phone, address, email, doctor_id, scheduled_at FROM tb_schedules
+WHERE doctor_id = 'doctor-42'
+  AND scheduled_at >= '2030-06-01' AND (scheduled_at > '2030-06-01' OR id > '00000000-0000-0000-0000-000000000000')
+  AND scheduled_at < '2031-06-01'
+ORDER BY scheduled_at, id LIMIT 51;
+
+-- Por janela de tempo, em uma página profunda (idx_schedules_scheduled_at)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, name, phone, address, email, doctor_id, scheduled_at FROM tb_schedules
+WHERE scheduled_at >= '2031-03-15 10:00' AND (scheduled_at > '2031-03-15 10:00' OR id > '80000000-0000-0000-0000-000000000000')
+  AND scheduled_at < '2031-03-16'
+ORDER BY scheduled_at, id LIMIT 51;
+
+-- p99 com pgbench (uma consulta por transação, 16 clientes, 60 s):
+--   pgbench -n -c 16 -T 60 -r -P 10 --log --sampling-rate=1 -f by-doctor.pgbench agendamento_consultas
+-- onde by-doctor.pgbench contém:
+--   \set d random(0, 1999)
+--   SELECT id, scheduled_at FROM tb_schedules WHERE doctor_id = 'doctor-' || :d
+--     AND scheduled_at >= '2030-06-01' AND scheduled_at < '2031-06-01' ORDER BY scheduled_at, id LIMIT 51;
+-- e o p99 é calculado sobre a coluna de latência dos logs gerados.
+
+-- Agenda diária materializada: reconstrução a partir das 10M consultas e leitura de um dia de um médico
+-- (uma busca pela chave primária de "tb_doctor_agenda"), comparada à leitura do mesmo dia em "tb_schedules".
+-- POST /schedules-service/agendas/rebuild
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT appointments FROM tb_doctor_agenda WHERE doctor_id = 'doctor-42' AND day = date '2030-06-03';
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id, name, phone, email, scheduled_at FROM tb_schedules
+WHERE doctor_id = 'doctor-42' AND scheduled_at >= '2030-06-03' AND scheduled_at < '2030-06-04'
+ORDER BY scheduled_at, id;